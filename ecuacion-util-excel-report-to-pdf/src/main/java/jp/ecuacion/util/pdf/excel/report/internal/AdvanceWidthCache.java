@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import java.util.Arrays;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Caches the advance width of each code point of a font, in 1/1000 em units.
+ *
+ * <p>Text is measured one code point at a time by summing cached widths, instead of calling
+ * {@code PDType0Font.getStringWidth} for every (sub)string, which encodes the whole string and
+ * allocates on every call. Summing the widths in order gives exactly the value
+ * {@code getStringWidth} returns, because it also sums the glyph widths without kerning.</p>
+ *
+ * <p>The widths are stored in pages of 256 code points, allocated when a code point in the page
+ * is first measured.</p>
+ */
+final class AdvanceWidthCache {
+
+  /** Width used for a code point the font cannot encode: one em. */
+  static final float UNKNOWN_WIDTH = 1000f;
+
+  private static final int PAGE_SHIFT = 8;
+  private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+
+  private final PDType0Font font;
+  private final float[] @Nullable [] pages =
+      new float[(Character.MAX_CODE_POINT >> PAGE_SHIFT) + 1][];
+
+  AdvanceWidthCache(PDType0Font font) {
+    this.font = font;
+  }
+
+  /**
+   * Returns the advance width of {@code codePoint} in 1/1000 em units,
+   * or {@link #UNKNOWN_WIDTH} if the font cannot encode it.
+   *
+   * @param codePoint Unicode code point
+   * @return advance width
+   */
+  float get(int codePoint) {
+    if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+      return UNKNOWN_WIDTH;
+    }
+    float[] page = pages[codePoint >> PAGE_SHIFT];
+    if (page == null) {
+      page = new float[PAGE_MASK + 1];
+      Arrays.fill(page, Float.NaN);
+      pages[codePoint >> PAGE_SHIFT] = page;
+    }
+    float width = page[codePoint & PAGE_MASK];
+    if (Float.isNaN(width)) {
+      width = measure(codePoint);
+      page[codePoint & PAGE_MASK] = width;
+    }
+    return width;
+  }
+
+  private float measure(int codePoint) {
+    try {
+      return font.getStringWidth(new String(Character.toChars(codePoint)));
+    } catch (Exception e) { // NOPMD - unencodable characters are estimated as one em
+      return UNKNOWN_WIDTH;
+    }
+  }
+}
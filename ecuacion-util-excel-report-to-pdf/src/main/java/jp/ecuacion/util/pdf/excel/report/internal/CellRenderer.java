@@ -24,10 +24,8 @@ import org.apache.pdfbox.pdmodel.font.PDType0Font;
 import org.apache.pdfbox.util.Matrix;
 import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.DifferentialStyleProvider;
-import org.apache.poi.ss.usermodel.FillPatternType;
 import org.apache.poi.ss.usermodel.Font;
 import org.apache.poi.ss.usermodel.HorizontalAlignment;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -36,17 +34,11 @@ import org.apache.poi.ss.usermodel.TableStyleType;
 import org.apache.poi.ss.usermodel.VerticalAlignment;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFColor;
-import org.apache.poi.xssf.usermodel.XSSFFont;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFTable;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.apache.poi.xssf.usermodel.extensions.XSSFCellBorder;
 import org.jspecify.annotations.Nullable;
-import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTBorder;
-import org.openxmlformats.schemas.spreadsheetml.x2006.main.STHorizontalAlignment;
-import org.openxmlformats.schemas.spreadsheetml.x2006.main.STVerticalAlignment;
 
 /** Renders Excel cells (background, text, borders) and resolves table styles. */
 class CellRenderer {
@@ -54,16 +46,41 @@ class CellRenderer {
   private static final float CELL_PADDING = 2f;
   private static final float INDENT_WIDTH_PT = 7f * (72f / 96f);
 
+  // Dash patterns are only written out by PDPageContentStream, never modified, so they are shared.
+  private static final float[] SOLID_PATTERN = {};
+  private static final float[] DASHED_PATTERN = {4f, 3f};
+  private static final float[] DOTTED_PATTERN = {1f, 2f};
+  private static final float[] DASH_DOT_PATTERN = {4f, 2f, 1f, 2f};
+  private static final float[] DASH_DOT_DOT_PATTERN = {4f, 2f, 1f, 2f, 1f, 2f};
+
   private final FontManager fontManager;
   private final CellValueFormatter formatter;
   /** Set at the start of each render pass; used for theme colour resolution. */
   @Nullable XSSFWorkbook currentWorkbook;
+  /** Resolved styles of the workbook being rendered; replaced when the workbook changes. */
+  private @Nullable CellStyleCache styleCache;
 
   CellRenderer(FontManager fontManager, CellValueFormatter formatter) {
     this.fontManager = fontManager;
     this.formatter = formatter;
   }
 
+  /**
+   * Returns the resolved style of {@code cell}, cached per workbook and style index.
+   *
+   * @param cell cell
+   * @return resolved style
+   */
+  ResolvedCellStyle resolveStyle(Cell cell) {
+    Workbook workbook = cell.getSheet().getWorkbook();
+    CellStyleCache cache = styleCache;
+    if (cache == null || cache.workbook() != workbook) {
+      cache = new CellStyleCache(workbook);
+      styleCache = cache;
+    }
+    return cache.get(cell.getCellStyle());
+  }
+
   /** Renders background fill only (pass 1 of the two-pass row rendering). */
   void renderBackground(PDPageContentStream cs, @Nullable Cell cell, float x, float y,
       float width, float height, @Nullable TableCellStyle tableStyle) throws IOException {
@@ -74,9 +91,8 @@ class CellRenderer {
       cs.fill();
     }
 
-    CellStyle style = (cell != null) ? cell.getCellStyle() : null;
-    if (style != null) {
-      Color bgColor = getBackgroundColor(style);
+    if (cell != null) {
+      Color bgColor = resolveStyle(cell).backgroundColor();
       if (bgColor != null) {
         cs.setNonStrokingColor(bgColor);
         cs.addRect(x, y, width, height);
@@ -95,11 +111,12 @@ class CellRenderer {
       float width, float height, float scaleFactor, @Nullable TableCellStyle tableStyle,
       float overflowWidth) throws IOException {
 
-    if (cell != null) {
+    ResolvedCellStyle style = (cell != null) ? resolveStyle(cell) : null;
+    if (cell != null && style != null) {
       String value = formatter.getCellDisplayValue(cell);
       if (value != null && !value.isBlank()) {
-        if (cell.getCellStyle().getRotation() == 255) {
-          renderVerticalText(cs, cell, value, x, y, width, height, scaleFactor);
+        if (style.rotation() == 255) {
+          renderVerticalText(cs, style, value, x, y, width, height, scaleFactor);
         } else {
           Color tableFontColor = (tableStyle != null) ? tableStyle.fontColor() : null;
           boolean tableFontBold = (tableStyle != null) && tableStyle.fontBold();
@@ -108,20 +125,19 @@ class CellRenderer {
             cs.saveGraphicsState();
             cs.addRect(x, y - 2, overflowWidth, height + 4); // +4 for descent/ascent safety
             cs.clip();
-            renderText(cs, cell, value, x, y, overflowWidth, height, scaleFactor,
+            renderText(cs, cell, style, value, x, y, overflowWidth, height, scaleFactor,
                 tableFontColor, tableFontBold);
             cs.restoreGraphicsState();
           } else {
-            renderText(cs, cell, value, x, y, width, height, scaleFactor,
+            renderText(cs, cell, style, value, x, y, width, height, scaleFactor,
                 tableFontColor, tableFontBold);
           }
         }
       }
     }
 
-    CellStyle style = (cell != null) ? cell.getCellStyle() : null;
-    if (style != null && cell != null) {
-      renderBorders(cs, style, cell.getSheet(), x, y, width, height);
+    if (style != null) {
+      renderBorders(cs, style, x, y, width, height);
     }
 
     if (tableStyle != null) {
@@ -148,54 +164,33 @@ class CellRenderer {
   // Text rendering
   // -------------------------------------------------------------------------
 
-  private void renderText(PDPageContentStream cs, Cell cell, String value, float x, float y,
-      float width, float height, float scaleFactor, @Nullable Color tableFontColor,
-      boolean tableFontBold) throws IOException {
-
-    CellStyle style = cell.getCellStyle();
-    Font poiFont = cell.getSheet().getWorkbook().getFontAt(style.getFontIndex());
-
-    boolean bold = tableFontBold || poiFont.getBold();
-    final boolean italic = poiFont.getItalic();
-    final boolean strikeout = poiFont.getStrikeout();
-    final boolean underline = poiFont.getUnderline() == Font.U_SINGLE
-        || poiFont.getUnderline() == Font.U_SINGLE_ACCOUNTING;
-    final boolean doubleUnderline = poiFont.getUnderline() == Font.U_DOUBLE
-        || poiFont.getUnderline() == Font.U_DOUBLE_ACCOUNTING;
-    final boolean accountingUnderline = poiFont.getUnderline() == Font.U_SINGLE_ACCOUNTING
-        || poiFont.getUnderline() == Font.U_DOUBLE_ACCOUNTING;
-    final short typeOffset = poiFont.getTypeOffset();
-    float fontSize = poiFont.getFontHeightInPoints() * scaleFactor;
-    String fontName = poiFont.getFontName();
+  private void renderText(PDPageContentStream cs, Cell cell, ResolvedCellStyle style,
+      String value, float x, float y, float width, float height, float scaleFactor,
+      @Nullable Color tableFontColor, boolean tableFontBold) throws IOException {
+
+    boolean bold = tableFontBold || style.bold();
+    final boolean italic = style.italic();
+    final boolean strikeout = style.strikeout();
+    final boolean underline = style.underline();
+    final boolean doubleUnderline = style.doubleUnderline();
+    final boolean accountingUnderline = style.accountingUnderline();
+    final short typeOffset = style.typeOffset();
+    float fontSize = style.fontHeightInPoints() * scaleFactor;
+    String fontName = style.fontName();
     PDType0Font font = fontManager.getFont(fontName, bold);
 
-    Color textColor = Color.BLACK;
-    if (poiFont instanceof XSSFFont xssfFont) {
-      XSSFColor color = xssfFont.getXSSFColor();
-      if (color != null) {
-        Color c = toAwtColor(color);
-        if (c != null) {
-          textColor = c;
-        }
-      }
-    }
-    if (tableFontColor != null) {
-      textColor = tableFontColor;
-    }
+    Color textColor = (tableFontColor != null) ? tableFontColor : style.textColor();
 
     // CELL_PADDING is defined in unscaled points; scale it so padding stays proportionate
     // when the sheet is rendered smaller than 100% (e.g. "fit to page" print settings).
     float padding = CELL_PADDING * scaleFactor;
 
-    if (style.getShrinkToFit() && !style.getWrapText()) {
+    if (style.shrinkToFit() && !style.wrapText()) {
       float available = width - 2 * padding;
-      try {
-        float naturalWidth = font.getStringWidth(value) / 1000f * fontSize;
-        if (naturalWidth > available && available > 0) {
-          fontSize = fontSize * available / naturalWidth;
-        }
-      } catch (Exception ignored) {
-        // keep original size
+      float naturalWidth =
+          fontManager.getStringWidthWithFallback(fontName, value, bold, fontSize);
+      if (naturalWidth > available && available > 0) {
+        fontSize = fontSize * available / naturalWidth;
       }
     }
 
@@ -210,9 +205,9 @@ class CellRenderer {
     float lineHeight = ascent - descent;
 
     List<String> lines;
-    if (style.getWrapText()) {
+    if (style.wrapText()) {
       float maxLineWidth = width - 2 * padding;
-      lines = wrapTextToLines(value, font, effectiveFontSize, maxLineWidth);
+      lines = wrapTextToLines(value, fontName, bold, effectiveFontSize, maxLineWidth);
     } else {
       lines = List.of(value);
     }
@@ -220,7 +215,7 @@ class CellRenderer {
     float totalTextHeight = lines.size() * lineHeight;
 
     float startY;
-    VerticalAlignment vertAlign = getVerticalAlignment(cell, style);
+    VerticalAlignment vertAlign = style.verticalAlignment();
     if (vertAlign == VerticalAlignment.TOP) {
       startY = y + height - padding - ascent;
     } else if (vertAlign == VerticalAlignment.CENTER) {
@@ -256,8 +251,8 @@ class CellRenderer {
       float textWidth =
           fontManager.getStringWidthWithFallback(fontName, line, bold, effectiveFontSize);
       final float textX =
-          calculateTextX(getHorizontalAlignment(cell, style), cell, x, width, textWidth,
-              style.getIndention(), scaleFactor);
+          calculateTextX(style.horizontalAlignment(), cell, x, width, textWidth,
+              style.indention(), scaleFactor);
 
       cs.beginText();
       cs.setNonStrokingColor(textColor);
@@ -310,26 +305,13 @@ class CellRenderer {
     }
   }
 
-  private void renderVerticalText(PDPageContentStream cs, Cell cell, String value, float x, float y,
-      float width, float height, float scaleFactor) throws IOException {
-
-    CellStyle style = cell.getCellStyle();
-    Font poiFont = cell.getSheet().getWorkbook().getFontAt(style.getFontIndex());
-
-    boolean bold = poiFont.getBold();
-    float fontSize = poiFont.getFontHeightInPoints() * scaleFactor;
-    String fontName = poiFont.getFontName();
+  private void renderVerticalText(PDPageContentStream cs, ResolvedCellStyle style, String value,
+      float x, float y, float width, float height, float scaleFactor) throws IOException {
 
-    Color textColor = Color.BLACK;
-    if (poiFont instanceof XSSFFont xssfFont) {
-      XSSFColor color = xssfFont.getXSSFColor();
-      if (color != null) {
-        Color c = toAwtColor(color);
-        if (c != null) {
-          textColor = c;
-        }
-      }
-    }
+    boolean bold = style.bold();
+    float fontSize = style.fontHeightInPoints() * scaleFactor;
+    String fontName = style.fontName();
+    Color textColor = style.textColor();
 
     float ascent = fontManager.getTypoAscent(fontName) / 1000f * fontSize;
     float descent = fontManager.getTypoDescent(fontName) / 1000f * fontSize;
@@ -344,12 +326,7 @@ class CellRenderer {
       int cp = value.codePointAt(i);
       String ch = new String(Character.toChars(cp));
       PDType0Font charFont = fontManager.selectFont(fontName, cp, bold);
-      float charWidth;
-      try {
-        charWidth = charFont.getStringWidth(ch) / 1000f * fontSize;
-      } catch (Exception ignored) { // NOPMD
-        charWidth = fontSize;
-      }
+      float charWidth = fontManager.getAdvanceWidth(fontName, cp, bold) / 1000f * fontSize;
       cs.beginText();
       cs.setFont(charFont, fontSize);
       cs.setNonStrokingColor(textColor);
@@ -368,39 +345,51 @@ class CellRenderer {
    * text (no word spaces), the break is inserted before the character that would
    * cause the line to exceed {@code maxWidth}. For Latin text with spaces, the break
    * tries to fall on the last space that fits.</p>
+   *
+   * <p>The line width is accumulated from the cached advance width of each code point
+   * (measured with the font that renders it, fallback fonts included), so a paragraph is
+   * wrapped in linear time. After a break only the carried-over characters are re-measured.
+   * A line always keeps at least one code point, even if it alone is wider than
+   * {@code maxWidth}.</p>
    */
-  private List<String> wrapTextToLines(String text, PDType0Font font, float fontSize,
-      float maxWidth) {
+  List<String> wrapTextToLines(String text, String fontName, boolean bold,
+      float fontSize, float maxWidth) {
     List<String> result = new ArrayList<>();
     for (String para : text.split("\n", -1)) {
       if (para.isEmpty()) {
         result.add("");
         continue;
       }
-      StringBuilder current = new StringBuilder();
-      int lastSpaceInCurrent = -1;
-      for (int i = 0; i < para.length(); i++) {
-        char ch = para.charAt(i);
-        current.append(ch);
-        if (ch == ' ') {
-          lastSpaceInCurrent = current.length() - 1;
+      // The current line is para[start, i + charCount); widthUnits is its width in 1/1000 em.
+      int start = 0;
+      int lastSpace = -1;
+      float widthUnits = 0f;
+      for (int i = 0; i < para.length();) {
+        int cp = para.codePointAt(i);
+        int next = i + Character.charCount(cp);
+        if (cp == ' ') {
+          lastSpace = i;
         }
-        float lineWidth;
-        try {
-          lineWidth = font.getStringWidth(current.toString()) / 1000f * fontSize;
-        } catch (Exception e) {
-          lineWidth = 0f;
-        }
-        if (lineWidth > maxWidth && current.length() > 1) {
-          int breakAt = (lastSpaceInCurrent > 0) ? lastSpaceInCurrent : current.length() - 1;
-          result.add(current.substring(0, breakAt));
-          String rest = current.substring(breakAt).stripLeading();
-          current = new StringBuilder(rest);
-          lastSpaceInCurrent = -1;
+        widthUnits += fontManager.getAdvanceWidth(fontName, cp, bold);
+        if (widthUnits / 1000f * fontSize > maxWidth && i > start) {
+          int breakAt = (lastSpace > start) ? lastSpace : i;
+          result.add(para.substring(start, breakAt));
+          start = breakAt;
+          while (start < next && Character.isWhitespace(para.charAt(start))) {
+            start++;
+          }
+          widthUnits = 0f;
+          for (int j = start; j < next;) {
+            int carried = para.codePointAt(j);
+            widthUnits += fontManager.getAdvanceWidth(fontName, carried, bold);
+            j += Character.charCount(carried);
+          }
+          lastSpace = -1;
         }
+        i = next;
       }
-      if (!current.isEmpty()) {
-        result.add(current.toString());
+      if (start < para.length()) {
+        result.add(para.substring(start));
       }
     }
     return result;
@@ -425,88 +414,6 @@ class CellRenderer {
     };
   }
 
-  /**
-   * Returns the effective vertical alignment for a cell.
-   *
-   * <p>Apache POI returns {@link VerticalAlignment#BOTTOM} when the {@code xf}'s
-   * {@code applyAlignment} attribute is absent, even if the {@code <alignment>} element
-   * has an explicit {@code vertical} attribute. This method works around that by reading
-   * the raw {@link org.openxmlformats.schemas.spreadsheetml.x2006.main.CTXf}.</p>
-   */
-  private VerticalAlignment getVerticalAlignment(Cell cell, CellStyle style) {
-    VerticalAlignment vertAlign = style.getVerticalAlignment();
-    if (vertAlign != VerticalAlignment.BOTTOM) {
-      return vertAlign;
-    }
-    if (style instanceof XSSFCellStyle xssfStyle
-        && cell.getSheet().getWorkbook() instanceof XSSFWorkbook xssfWb) {
-      int idx = (int) xssfStyle.getIndex();
-      var ctXf = xssfWb.getStylesSource().getCellXfAt(idx);
-      var rawAlign = ctXf.getAlignment();
-      if (rawAlign != null && rawAlign.isSetVertical()) {
-        var sv = rawAlign.getVertical();
-        if (sv == STVerticalAlignment.TOP) {
-          return VerticalAlignment.TOP;
-        }
-        if (sv == STVerticalAlignment.CENTER) {
-          return VerticalAlignment.CENTER;
-        }
-        if (sv == STVerticalAlignment.JUSTIFY) {
-          return VerticalAlignment.JUSTIFY;
-        }
-        if (sv == STVerticalAlignment.DISTRIBUTED) {
-          return VerticalAlignment.DISTRIBUTED;
-        }
-      }
-    }
-    return vertAlign;
-  }
-
-  /**
-   * Returns the effective horizontal alignment for a cell.
-   *
-   * <p>Same workaround as {@link #getVerticalAlignment}: when {@code applyAlignment} is absent
-   * Apache POI returns {@link HorizontalAlignment#GENERAL}, ignoring an explicit
-   * {@code horizontal} attribute.</p>
-   */
-  HorizontalAlignment getHorizontalAlignment(Cell cell, CellStyle style) {
-    HorizontalAlignment halign = style.getAlignment();
-    if (halign != HorizontalAlignment.GENERAL) {
-      return halign;
-    }
-    if (style instanceof XSSFCellStyle xssfStyle
-        && cell.getSheet().getWorkbook() instanceof XSSFWorkbook xssfWb) {
-      int idx = (int) xssfStyle.getIndex();
-      var ctXf = xssfWb.getStylesSource().getCellXfAt(idx);
-      var rawAlign = ctXf.getAlignment();
-      if (rawAlign != null && rawAlign.isSetHorizontal()) {
-        var sh = rawAlign.getHorizontal();
-        if (sh == STHorizontalAlignment.LEFT) {
-          return HorizontalAlignment.LEFT;
-        }
-        if (sh == STHorizontalAlignment.RIGHT) {
-          return HorizontalAlignment.RIGHT;
-        }
-        if (sh == STHorizontalAlignment.CENTER) {
-          return HorizontalAlignment.CENTER;
-        }
-        if (sh == STHorizontalAlignment.FILL) {
-          return HorizontalAlignment.FILL;
-        }
-        if (sh == STHorizontalAlignment.JUSTIFY) {
-          return HorizontalAlignment.JUSTIFY;
-        }
-        if (sh == STHorizontalAlignment.CENTER_CONTINUOUS) {
-          return HorizontalAlignment.CENTER_SELECTION;
-        }
-        if (sh == STHorizontalAlignment.DISTRIBUTED) {
-          return HorizontalAlignment.DISTRIBUTED;
-        }
-      }
-    }
-    return halign;
-  }
-
   // -------------------------------------------------------------------------
   // Border rendering
   // -------------------------------------------------------------------------
@@ -526,49 +433,27 @@ class CellRenderer {
     cs.lineTo(x2, y2);
     cs.stroke();
     if (dash != null) {
-      cs.setLineDashPattern(new float[] {}, 0);
+      cs.setLineDashPattern(SOLID_PATTERN, 0);
     }
   }
 
-  private void renderBorders(PDPageContentStream cs, CellStyle style, Sheet sheet, float x, float y,
+  private void renderBorders(PDPageContentStream cs, ResolvedCellStyle style, float x, float y,
       float width, float height) throws IOException {
-    XSSFCellStyle xssfStyle = (style instanceof XSSFCellStyle s) ? s : null;
-
-    renderBorderLine(cs, style.getBorderTop(),
-        xssfColorToAwt(xssfStyle != null ? xssfStyle.getTopBorderXSSFColor() : null),
+    renderBorderLine(cs, style.borderTop(), style.borderTopColor(),
         x, y + height, x + width, y + height);
-    renderBorderLine(cs, style.getBorderBottom(),
-        xssfColorToAwt(xssfStyle != null ? xssfStyle.getBottomBorderXSSFColor() : null),
+    renderBorderLine(cs, style.borderBottom(), style.borderBottomColor(),
         x, y, x + width, y);
-    renderBorderLine(cs, style.getBorderLeft(),
-        xssfColorToAwt(xssfStyle != null ? xssfStyle.getLeftBorderXSSFColor() : null),
+    renderBorderLine(cs, style.borderLeft(), style.borderLeftColor(),
         x, y, x, y + height);
-    renderBorderLine(cs, style.getBorderRight(),
-        xssfColorToAwt(xssfStyle != null ? xssfStyle.getRightBorderXSSFColor() : null),
+    renderBorderLine(cs, style.borderRight(), style.borderRightColor(),
         x + width, y, x + width, y + height);
-    if (xssfStyle != null) {
-      renderDiagonalBorders(cs, xssfStyle, sheet, x, y, width, height);
-    }
-  }
-
-  private void renderDiagonalBorders(PDPageContentStream cs, XSSFCellStyle style, Sheet sheet,
-      float x, float y, float width, float height) throws IOException {
-    if (!(sheet.getWorkbook() instanceof XSSFWorkbook xssfWb)) {
-      return;
-    }
-    int borderId = (int) style.getCoreXf().getBorderId();
-    XSSFCellBorder cellBorder = xssfWb.getStylesSource().getBorderAt(borderId);
-    BorderStyle diagStyle = cellBorder.getBorderStyle(XSSFCellBorder.BorderSide.DIAGONAL);
-    if (diagStyle == BorderStyle.NONE) {
-      return;
+    if (style.diagonalDown()) {
+      renderBorderLine(cs, style.borderDiagonal(), style.borderDiagonalColor(),
+          x, y + height, x + width, y);
     }
-    Color color = xssfColorToAwt(cellBorder.getBorderColor(XSSFCellBorder.BorderSide.DIAGONAL));
-    CTBorder ctBorder = cellBorder.getCTBorder();
-    if (ctBorder.getDiagonalDown()) {
-      renderBorderLine(cs, diagStyle, color, x, y + height, x + width, y);
-    }
-    if (ctBorder.getDiagonalUp()) {
-      renderBorderLine(cs, diagStyle, color, x, y, x + width, y + height);
+    if (style.diagonalUp()) {
+      renderBorderLine(cs, style.borderDiagonal(), style.borderDiagonalColor(),
+          x, y, x + width, y + height);
     }
   }
 
@@ -590,10 +475,10 @@ class CellRenderer {
 
   private float @Nullable [] getDashPattern(BorderStyle style) {
     return switch (style) {
-      case DASHED, MEDIUM_DASHED -> new float[] {4f, 3f};
-      case DOTTED -> new float[] {1f, 2f};
-      case DASH_DOT, MEDIUM_DASH_DOT, SLANTED_DASH_DOT -> new float[] {4f, 2f, 1f, 2f};
-      case DASH_DOT_DOT, MEDIUM_DASH_DOT_DOT -> new float[] {4f, 2f, 1f, 2f, 1f, 2f};
+      case DASHED, MEDIUM_DASHED -> DASHED_PATTERN;
+      case DOTTED -> DOTTED_PATTERN;
+      case DASH_DOT, MEDIUM_DASH_DOT, SLANTED_DASH_DOT -> DASH_DOT_PATTERN;
+      case DASH_DOT_DOT, MEDIUM_DASH_DOT_DOT -> DASH_DOT_DOT_PATTERN;
       default -> null;
     };
   }
@@ -602,7 +487,7 @@ class CellRenderer {
   // Color utilities
   // -------------------------------------------------------------------------
 
-  Color xssfColorToAwt(@Nullable XSSFColor xssfColor) {
+  static Color xssfColorToAwt(@Nullable XSSFColor xssfColor) {
     if (xssfColor == null) {
       return Color.BLACK;
     }
@@ -610,7 +495,7 @@ class CellRenderer {
     return (c != null) ? c : Color.BLACK;
   }
 
-  @Nullable Color toAwtColor(org.apache.poi.ss.usermodel.Color poiColor) {
+  static @Nullable Color toAwtColor(org.apache.poi.ss.usermodel.@Nullable Color poiColor) {
     if (poiColor instanceof XSSFColor xssfColor) {
       byte[] rgb = xssfColor.getRGBWithTint();
       if (rgb == null) {
@@ -647,13 +532,6 @@ class CellRenderer {
     return new Color(rgb[0] & 0xFF, rgb[1] & 0xFF, rgb[2] & 0xFF);
   }
 
-  @Nullable Color getBackgroundColor(CellStyle style) {
-    if (style.getFillPattern() != FillPatternType.SOLID_FOREGROUND) {
-      return null;
-    }
-    return toAwtColor(style.getFillForegroundColorColor());
-  }
-
   // -------------------------------------------------------------------------
   // Table style resolution
   // -------------------------------------------------------------------------
@@ -724,138 +602,135 @@ class CellRenderer {
     return result;
   }
 
-  @Nullable TableCellStyle getTableCellStyle(List<TableRenderInfo> tables, int row, int col) {
-    for (TableRenderInfo info : tables) {
-      if (!info.area().isInRange(row, col)) {
-        continue;
-      }
+  /**
+   * Resolves the style a table contributes to a cell at {@code position}.
+   *
+   * @param info table containing the cell
+   * @param position position flags of the cell, see {@link TableStyleIndex#position}
+   * @return table cell style
+   */
+  TableCellStyle resolveTableCellStyle(TableRenderInfo info, int position) {
+    final boolean isHeader = (position & TableStyleIndex.HEADER) != 0;
+    final boolean isLastRow = (position & TableStyleIndex.LAST_ROW) != 0;
+    final boolean isFirstCol = (position & TableStyleIndex.FIRST_COLUMN) != 0;
+    final boolean isLastCol = (position & TableStyleIndex.LAST_COLUMN) != 0;
+    final boolean isFirstDataRow = (position & TableStyleIndex.FIRST_DATA_ROW) != 0;
 
-      final boolean isHeader = row >= info.headerFirstRow() && row <= info.headerLastRow();
-      final boolean isLastRow = row == info.area().getLastRow();
-      final boolean isFirstCol = col == info.area().getFirstColumn();
-      final boolean isLastCol = col == info.area().getLastColumn();
-      final boolean isFirstDataRow = row == info.headerLastRow() + 1;
+    List<DifferentialStyleProvider> providers = new ArrayList<>();
+    if (info.wholeTable() != null) {
+      providers.add(info.wholeTable());
+    }
 
-      List<DifferentialStyleProvider> providers = new ArrayList<>();
-      if (info.wholeTable() != null) {
-        providers.add(info.wholeTable());
+    if (!isHeader && info.showRowStripes() && info.firstRowStripe() != null) {
+      if ((position & TableStyleIndex.FIRST_STRIPE) != 0) {
+        providers.add(info.firstRowStripe());
+      } else if (info.secondRowStripe() != null) {
+        providers.add(info.secondRowStripe());
       }
+    }
 
-      if (!isHeader && info.showRowStripes() && info.firstRowStripe() != null) {
-        int dataRow = row - info.headerLastRow() - 1;
-        int cycle = info.firstStripeSize() + info.secondStripeSize();
-        boolean inFirstStripe = (dataRow % cycle) < info.firstStripeSize();
-        if (inFirstStripe) {
-          providers.add(info.firstRowStripe());
-        } else if (info.secondRowStripe() != null) {
-          providers.add(info.secondRowStripe());
+    if (info.showFirstColumn() && isFirstCol && info.firstColumn() != null) {
+      providers.add(info.firstColumn());
+    }
+    if (info.showLastColumn() && isLastCol && info.lastColumn() != null) {
+      providers.add(info.lastColumn());
+    }
+    if (isHeader && info.headerRow() != null) {
+      providers.add(info.headerRow());
+    }
+
+    Color fill = null;
+    Color fontColor = null;
+    boolean fontBold = false;
+    BorderStyle topStyle = null;
+    Color topColor = null;
+    BorderStyle bottomStyle = null;
+    Color bottomColor = null;
+    BorderStyle leftStyle = null;
+    Color leftColor = null;
+    BorderStyle rightStyle = null;
+    Color rightColor = null;
+
+    for (var p : providers) {
+      var pf = p.getPatternFormatting();
+      if (pf != null) {
+        Color c = poiColorToAwt(pf.getFillForegroundColorColor());
+        if (c != null) {
+          fill = c;
         }
       }
 
-      if (info.showFirstColumn() && isFirstCol && info.firstColumn() != null) {
-        providers.add(info.firstColumn());
-      }
-      if (info.showLastColumn() && isLastCol && info.lastColumn() != null) {
-        providers.add(info.lastColumn());
-      }
-      if (isHeader && info.headerRow() != null) {
-        providers.add(info.headerRow());
+      var ff = p.getFontFormatting();
+      if (ff != null) {
+        Color fc = poiColorToAwt(ff.getFontColor());
+        if (fc != null) {
+          fontColor = fc;
+        }
+        if (ff.isBold()) {
+          fontBold = true;
+        }
       }
 
-      Color fill = null;
-      Color fontColor = null;
-      boolean fontBold = false;
-      BorderStyle topStyle = null;
-      Color topColor = null;
-      BorderStyle bottomStyle = null;
-      Color bottomColor = null;
-      BorderStyle leftStyle = null;
-      Color leftColor = null;
-      BorderStyle rightStyle = null;
-      Color rightColor = null;
-
-      for (var p : providers) {
-        var pf = p.getPatternFormatting();
-        if (pf != null) {
-          Color c = poiColorToAwt(pf.getFillForegroundColorColor());
-          if (c != null) {
-            fill = c;
-          }
+      var bf = p.getBorderFormatting();
+      if (bf != null) {
+        BorderStyle hs = bf.getBorderHorizontal();
+        Color hc = poiColorToAwt(bf.getHorizontalBorderColorColor());
+        if (hs != null && hs != BorderStyle.NONE) {
+          bottomStyle = hs;
+          bottomColor = hc;
         }
-
-        var ff = p.getFontFormatting();
-        if (ff != null) {
-          Color fc = poiColorToAwt(ff.getFontColor());
-          if (fc != null) {
-            fontColor = fc;
-          }
-          if (ff.isBold()) {
-            fontBold = true;
+        if (isHeader || isFirstDataRow) {
+          BorderStyle ts = bf.getBorderTop();
+          Color tc = poiColorToAwt(bf.getTopBorderColorColor());
+          if (ts != null && ts != BorderStyle.NONE) {
+            topStyle = ts;
+            topColor = tc;
           }
         }
-
-        var bf = p.getBorderFormatting();
-        if (bf != null) {
-          BorderStyle hs = bf.getBorderHorizontal();
-          Color hc = poiColorToAwt(bf.getHorizontalBorderColorColor());
-          if (hs != null && hs != BorderStyle.NONE) {
-            bottomStyle = hs;
-            bottomColor = hc;
-          }
-          if (isHeader || isFirstDataRow) {
-            BorderStyle ts = bf.getBorderTop();
-            Color tc = poiColorToAwt(bf.getTopBorderColorColor());
-            if (ts != null && ts != BorderStyle.NONE) {
-              topStyle = ts;
-              topColor = tc;
-            }
+        if (isLastRow) {
+          BorderStyle bs = bf.getBorderBottom();
+          Color bc = poiColorToAwt(bf.getBottomBorderColorColor());
+          if (bs != null && bs != BorderStyle.NONE) {
+            bottomStyle = bs;
+            bottomColor = bc;
           }
-          if (isLastRow) {
-            BorderStyle bs = bf.getBorderBottom();
-            Color bc = poiColorToAwt(bf.getBottomBorderColorColor());
-            if (bs != null && bs != BorderStyle.NONE) {
-              bottomStyle = bs;
-              bottomColor = bc;
-            }
-          }
-          if (isFirstCol) {
-            BorderStyle ls = bf.getBorderLeft();
-            Color lc = poiColorToAwt(bf.getLeftBorderColorColor());
-            if (ls != null && ls != BorderStyle.NONE) {
-              leftStyle = ls;
-              leftColor = lc;
-            }
+        }
+        if (isFirstCol) {
+          BorderStyle ls = bf.getBorderLeft();
+          Color lc = poiColorToAwt(bf.getLeftBorderColorColor());
+          if (ls != null && ls != BorderStyle.NONE) {
+            leftStyle = ls;
+            leftColor = lc;
           }
-          if (isLastCol) {
-            BorderStyle rs = bf.getBorderRight();
-            Color rc = poiColorToAwt(bf.getRightBorderColorColor());
-            if (rs != null && rs != BorderStyle.NONE) {
-              rightStyle = rs;
-              rightColor = rc;
-            }
+        }
+        if (isLastCol) {
+          BorderStyle rs = bf.getBorderRight();
+          Color rc = poiColorToAwt(bf.getRightBorderColorColor());
+          if (rs != null && rs != BorderStyle.NONE) {
+            rightStyle = rs;
+            rightColor = rc;
           }
         }
       }
+    }
 
-      boolean isStructural = isHeader
-          || (info.showFirstColumn() && isFirstCol)
-          || (info.showLastColumn() && isLastCol);
+    boolean isStructural = isHeader
+        || (info.showFirstColumn() && isFirstCol)
+        || (info.showLastColumn() && isLastCol);
 
-      if (isHeader && fontColor == null && fill != null) {
-        double lum = (0.2126 * fill.getRed() + 0.7152 * fill.getGreen()
-            + 0.0722 * fill.getBlue()) / 255.0;
-        if (lum < 0.5) {
-          fontColor = Color.WHITE;
-        }
+    if (isHeader && fontColor == null && fill != null) {
+      double lum = (0.2126 * fill.getRed() + 0.7152 * fill.getGreen()
+          + 0.0722 * fill.getBlue()) / 255.0;
+      if (lum < 0.5) {
+        fontColor = Color.WHITE;
       }
-      Color effectiveFontColor = isStructural ? fontColor : null;
-      boolean effectiveFontBold = isStructural && fontBold;
-
-      return new TableCellStyle(fill,
-          topStyle, topColor, bottomStyle, bottomColor,
-          leftStyle, leftColor, rightStyle, rightColor,
-          effectiveFontColor, effectiveFontBold);
     }
-    return null;
+    Color effectiveFontColor = isStructural ? fontColor : null;
+    boolean effectiveFontBold = isStructural && fontBold;
+
+    return new TableCellStyle(fill,
+        topStyle, topColor, bottomStyle, bottomColor,
+        leftStyle, leftColor, rightStyle, rightColor,
+        effectiveFontColor, effectiveFontBold);
   }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import java.util.Arrays;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Caches {@link ResolvedCellStyle}s of one workbook by style index.
+ *
+ * <p>A workbook typically has a few dozen distinct styles shared by thousands of cells,
+ *     so each style is resolved on first use and later lookups are an array access.
+ *     The workbook must not be modified while the cache is in use.</p>
+ */
+final class CellStyleCache {
+
+  private final Workbook workbook;
+  private @Nullable ResolvedCellStyle[] styles;
+
+  /**
+   * Constructs a new empty cache.
+   *
+   * @param workbook workbook whose styles are cached
+   */
+  CellStyleCache(Workbook workbook) {
+    this.workbook = workbook;
+    this.styles = new ResolvedCellStyle[Math.max(workbook.getNumCellStyles(), 1)];
+  }
+
+  /**
+   * Returns the workbook whose styles are cached.
+   *
+   * @return workbook
+   */
+  Workbook workbook() {
+    return workbook;
+  }
+
+  /**
+   * Returns the resolved form of {@code style}, resolving it on first use.
+   *
+   * @param style cell style belonging to {@link #workbook()}
+   * @return resolved style
+   */
+  ResolvedCellStyle get(CellStyle style) {
+    int index = Short.toUnsignedInt(style.getIndex());
+    if (index >= styles.length) {
+      styles = Arrays.copyOf(styles, Math.max(index + 1, styles.length * 2));
+    }
+    ResolvedCellStyle resolved = styles[index];
+    if (resolved == null) {
+      resolved = ResolvedCellStyle.of(style, workbook);
+      styles[index] = resolved;
+    }
+    return resolved;
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.fontbox.ttf.CmapLookup;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.font.PDCIDFontType2;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The set of Unicode code points a font has a glyph for, built once from the font's cmap.
+ *
+ * <p>The set is a bit set split into pages of 4096 code points; pages with no covered code point
+ * are not allocated, so a Latin font costs a few pages and a CJK font a few dozen.
+ * {@link #contains(int)} is a bit test with no allocation, replacing the
+ * encode-and-catch probe of {@code PDType0Font.getStringWidth} for every character.</p>
+ *
+ * <p>A code point is covered when the Unicode cmap used by {@link PDCIDFontType2#encode(int)}
+ * maps it to a glyph other than {@code .notdef} (gid 0), which is exactly when encoding succeeds
+ * for the embedded Identity-H fonts created by {@code PDType0Font.load}.</p>
+ */
+final class CodePointCoverage {
+
+  private static final int PAGE_SHIFT = 12;
+  private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+  private static final int PAGE_COUNT = (Character.MAX_CODE_POINT >> PAGE_SHIFT) + 1;
+
+  private final long[] @Nullable [] pages = new long[PAGE_COUNT][];
+  private int size;
+
+  private CodePointCoverage() {}
+
+  /**
+   * Builds the coverage of {@code font} from the cmap of its embedded TrueType font.
+   *
+   * @param font font
+   * @return coverage, or {@code null} if the font is not a TrueType-based font with a Unicode cmap
+   */
+  static @Nullable CodePointCoverage of(PDType0Font font) {
+    if (!(font.getDescendantFont() instanceof PDCIDFontType2 cidFont)) {
+      return null;
+    }
+    try {
+      TrueTypeFont ttf = cidFont.getTrueTypeFont();
+      CmapLookup cmap = ttf.getUnicodeCmapLookup(false);
+      if (cmap == null) {
+        return null;
+      }
+      // Walking glyph ids visits each cmap entry once; walking all 0x110000 code points
+      // would cost a map lookup per code point instead.
+      CodePointCoverage coverage = new CodePointCoverage();
+      int numberOfGlyphs = ttf.getNumberOfGlyphs();
+      for (int gid = 1; gid < numberOfGlyphs; gid++) {
+        List<Integer> codes = cmap.getCharCodes(gid);
+        if (codes != null) {
+          for (int code : codes) {
+            coverage.add(code);
+          }
+        }
+      }
+      return coverage;
+    } catch (IOException | RuntimeException e) { // NOPMD - callers fall back to encoding
+      return null;
+    }
+  }
+
+  private void add(int codePoint) {
+    if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+      return;
+    }
+    long[] page = pages[codePoint >> PAGE_SHIFT];
+    if (page == null) {
+      page = new long[(PAGE_MASK + 1) >> 6];
+      pages[codePoint >> PAGE_SHIFT] = page;
+    }
+    int offset = codePoint & PAGE_MASK;
+    long bit = 1L << offset;
+    if ((page[offset >> 6] & bit) == 0) {
+      page[offset >> 6] |= bit;
+      size++;
+    }
+  }
+
+  /**
+   * Returns whether the font has a glyph for {@code codePoint}.
+   *
+   * @param codePoint Unicode code point
+   * @return {@code true} if the code point is covered
+   */
+  boolean contains(int codePoint) {
+    if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+      return false;
+    }
+    long[] page = pages[codePoint >> PAGE_SHIFT];
+    return page != null && (page[(codePoint & PAGE_MASK) >> 6] & (1L << codePoint)) != 0;
+  }
+
+  /**
+   * Returns the number of covered code points.
+   *
+   * @return the number of covered code points
+   */
+  int size() {
+    return size;
+  }
+}
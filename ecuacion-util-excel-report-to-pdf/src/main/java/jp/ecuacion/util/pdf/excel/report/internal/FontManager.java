@@ -21,6 +21,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -80,6 +81,12 @@ public class FontManager {
   /** Lazily-resolved, per-cell font families, keyed by font name. Populated on first use. */
   private final Map<String, FontFamily> namedFamilyCache = new HashMap<>();
 
+  /** Code point coverage of each font, keyed by identity; {@code null} when it can't be built. */
+  private final Map<PDType0Font, @Nullable CodePointCoverage> coverages = new IdentityHashMap<>();
+
+  /** Advance width cache of each font, keyed by identity. */
+  private final Map<PDType0Font, AdvanceWidthCache> advanceWidths = new IdentityHashMap<>();
+
   /**
    * Constructs a {@code FontManager} loading fonts from file paths.
    *
@@ -428,7 +435,24 @@ public class FontManager {
         fallbackDescription.toString());
   }
 
-  private static boolean canEncode(PDType0Font font, int codePoint) {
+  /**
+   * Returns whether {@code font} has a glyph for {@code codePoint}, by a bit test on the font's
+   * {@link CodePointCoverage}, which is built on the first call for each font. Fonts whose
+   * coverage cannot be built are probed by encoding the character.
+   */
+  private boolean canEncode(PDType0Font font, int codePoint) {
+    CodePointCoverage coverage = coverages.get(font);
+    if (coverage == null && !coverages.containsKey(font)) {
+      coverage = CodePointCoverage.of(font);
+      coverages.put(font, coverage);
+    }
+    if (coverage != null) {
+      return coverage.contains(codePoint);
+    }
+    return canEncodeByEncoding(font, codePoint);
+  }
+
+  private static boolean canEncodeByEncoding(PDType0Font font, int codePoint) {
     try {
       font.getStringWidth(new String(Character.toChars(codePoint)));
       return true;
@@ -551,16 +575,38 @@ public class FontManager {
         i += Character.charCount(cp);
         continue;
       }
-      try {
-        total += font.getStringWidth(new String(Character.toChars(cp))) / 1000f * fontSize;
-      } catch (Exception e) {
-        total += fontSize;
-      }
+      total += getAdvanceWidthCache(font).get(cp) / 1000f * fontSize;
       i += Character.charCount(cp);
     }
     return total;
   }
 
+  /**
+   * Returns the advance width of {@code codePoint} in 1/1000 em units, measured with the font
+   * {@link #selectFont(String, int, boolean)} selects for it, from a per-font cache. Unlike
+   * {@code selectFont}, a character no configured font can render does not throw; one em
+   * ({@code 1000}) is returned instead, the same estimate
+   * {@link #getStringWidthWithFallback(String, String, boolean, float)} uses.
+   *
+   * @param fontName  the cell's font family name (e.g. from {@code Font.getFontName()})
+   * @param codePoint the Unicode code point to measure
+   * @param bold      {@code true} for bold weight
+   * @return advance width in 1/1000 em units
+   */
+  public float getAdvanceWidth(String fontName, int codePoint, boolean bold) {
+    PDType0Font font;
+    try {
+      font = selectFontFromFamily(getFamily(fontName), codePoint, bold);
+    } catch (PdfGenerateException e) {
+      return AdvanceWidthCache.UNKNOWN_WIDTH;
+    }
+    return getAdvanceWidthCache(font).get(codePoint);
+  }
+
+  private AdvanceWidthCache getAdvanceWidthCache(PDType0Font font) {
+    return advanceWidths.computeIfAbsent(font, AdvanceWidthCache::new);
+  }
+
   /**
    * Returns the typographic ascent in 1/1000 em units (from TTF OS/2 sTypoAscender), from the
    * workbook's default font. Use this for text positioning to match Excel's rendering.
@@ -0,0 +1,454 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.imageio.ImageIO;
+import jp.ecuacion.util.pdf.excel.report.constant.Constants;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSBoolean;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSFloat;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNull;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.poi.xssf.usermodel.XSSFPictureData;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Creates the image XObjects of one PDF document, once per distinct picture content.
+ *
+ * <p>Pictures are keyed by the SHA-256 digest of their bytes, so a logo placed on every sheet
+ *     (or pasted several times) is decoded, encoded and embedded only once and every page refers
+ *     to the same XObject.</p>
+ *
+ * <p>When a maximum resolution is set, a picture whose resolution at its size on the page exceeds
+ *     it is downsampled before it is embedded. One XObject is then created per picture and target
+ *     pixel size.</p>
+ *
+ * <p>Optionally, the encoded image streams are also kept in a process-wide cache shared by all
+ *     documents, so that rendering the same template repeatedly skips decoding and encoding
+ *     altogether. The cache is bounded by the total bytes of the encoded data it holds, and the
+ *     least recently used images are evicted first.</p>
+ */
+final class ImageXObjectCache {
+
+  /**
+   * Upper bound of embedded-image pixel area (width × height) rendered into the PDF.
+   * 50M pixels ≈ an A4 page at 600 DPI; anything larger is treated as a decompression bomb.
+   */
+  private static final long MAX_IMAGE_PIXELS = 50_000_000L;
+
+  /** Encoded images shared by documents by digest, in least-recently-used order. */
+  private static final Map<String, EncodedImage> SHARED_CACHE =
+      new LinkedHashMap<>(16, 0.75f, true);
+
+  /** Total bytes of the encoded data in {@link #SHARED_CACHE}, guarded by it. */
+  private static long sharedCacheBytes;
+
+  /** Number of images taken from {@link #SHARED_CACHE}, guarded by it. */
+  private static long sharedCacheHitCount;
+
+  private final PDDocument document;
+
+  /** Maximum resolution in dots per inch, or {@code null} to keep the original resolution. */
+  private final @Nullable Integer maxImageDpi;
+
+  private final float jpegQuality;
+
+  /** Maximum bytes of encoded data kept in the shared cache; {@code 0} disables it. */
+  private final long sharedCacheMaxBytes;
+
+  /** Images created so far by key; empty for pictures that are not rendered. */
+  private final Map<String, Optional<PDImageXObject>> images = new HashMap<>();
+
+  /** Pixel sizes read from the picture headers by digest; empty when unreadable. */
+  private final Map<String, Optional<Dimension>> imageSizes = new HashMap<>();
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param document document the XObjects are created in
+   * @param maxImageDpi maximum resolution in dots per inch, or {@code null} to keep the original
+   *     resolution
+   * @param jpegQuality quality used to re-encode downsampled JPEG images
+   * @param sharedCacheMaxBytes maximum bytes of encoded data kept in the cache shared by
+   *     documents ({@code 0} = not shared)
+   */
+  ImageXObjectCache(PDDocument document, @Nullable Integer maxImageDpi, float jpegQuality,
+      long sharedCacheMaxBytes) {
+    this.document = document;
+    this.maxImageDpi = maxImageDpi;
+    this.jpegQuality = jpegQuality;
+    this.sharedCacheMaxBytes = sharedCacheMaxBytes;
+  }
+
+  /**
+   * Returns the image XObject of {@code picData} drawn at the given size, creating it on first
+   * use.
+   *
+   * @param picData picture data
+   * @param widthPt width of the picture on the page in points
+   * @param heightPt height of the picture on the page in points
+   * @return image XObject, or {@code null} if the picture cannot or must not be rendered
+   * @throws IOException if the image cannot be encoded
+   */
+  @Nullable PDImageXObject get(XSSFPictureData picData, float widthPt, float heightPt)
+      throws IOException {
+    byte[] imageBytes = picData.getData();
+    String digest = digest(imageBytes);
+    Dimension target = getTargetSize(digest, imageBytes, widthPt, heightPt);
+    String key = (target == null) ? digest
+        : digest + "@" + target.width + "x" + target.height + "q" + jpegQuality;
+    Optional<PDImageXObject> image = images.get(key);
+    if (image == null) {
+      image = Optional.ofNullable(create(key, imageBytes, picData.getMimeType(), target));
+      images.put(key, image);
+    }
+    return image.orElse(null);
+  }
+
+  /**
+   * Returns the pixel size to downsample the picture to, or {@code null} when it is embedded at
+   * its original resolution.
+   */
+  private @Nullable Dimension getTargetSize(String digest, byte[] imageBytes, float widthPt,
+      float heightPt) {
+    if (maxImageDpi == null) {
+      return null;
+    }
+    Dimension size =
+        imageSizes.computeIfAbsent(digest, d -> Optional.ofNullable(readSize(imageBytes)))
+            .orElse(null);
+    if (size == null) {
+      return null;
+    }
+    int width = pixelsFor(widthPt);
+    int height = pixelsFor(heightPt);
+    if (width >= size.width && height >= size.height) {
+      return null;
+    }
+    return new Dimension(Math.min(width, size.width), Math.min(height, size.height));
+  }
+
+  private int pixelsFor(float lengthPt) {
+    double pixels = Math.ceil(lengthPt / Constants.POINTS_PER_INCH * maxImageDpi);
+    return (int) Math.max(1, Math.min(pixels, Integer.MAX_VALUE));
+  }
+
+  private @Nullable PDImageXObject create(String key, byte[] imageBytes, @Nullable String mime,
+      @Nullable Dimension target) throws IOException {
+    if (sharedCacheMaxBytes > 0) {
+      EncodedImage encoded = getShared(key);
+      if (encoded != null) {
+        return new PDImageXObject(new PDStream(encoded.toStream(document)), null);
+      }
+    }
+
+    if (exceedsPixelLimit(imageBytes)) {
+      return null;
+    }
+    boolean jpeg = "image/jpeg".equalsIgnoreCase(mime) || "image/jpg".equalsIgnoreCase(mime);
+    PDImageXObject pdImage;
+    if (jpeg && target == null) {
+      pdImage = JPEGFactory.createFromByteArray(document, imageBytes);
+    } else {
+      BufferedImage bi = jpeg ? readJpeg(imageBytes)
+          : ImageIO.read(new ByteArrayInputStream(imageBytes));
+      if (bi == null) {
+        // JPEGs that ImageIO cannot decode (e.g. CMYK) are embedded as they are.
+        return jpeg ? JPEGFactory.createFromByteArray(document, imageBytes) : null;
+      }
+      if (target != null) {
+        bi = downscale(bi, target.width, target.height);
+      }
+      pdImage = (jpeg && !bi.getColorModel().hasAlpha())
+          ? JPEGFactory.createFromImage(document, bi, jpegQuality)
+          : LosslessFactory.createFromImage(document, bi);
+    }
+
+    if (sharedCacheMaxBytes > 0) {
+      EncodedImage encoded = EncodedImage.of(pdImage.getCOSObject());
+      if (encoded != null) {
+        putShared(key, encoded, sharedCacheMaxBytes);
+      }
+    }
+    return pdImage;
+  }
+
+  /**
+   * Returns {@code true} when the image's declared dimensions exceed {@link #MAX_IMAGE_PIXELS}.
+   *
+   * <p>A decompression bomb (a small file declaring a huge pixel area) would otherwise make
+   * {@code ImageIO.read} allocate gigabytes of heap. The dimensions are read from the image
+   * header only, without decoding pixel data.</p>
+   */
+  private static boolean exceedsPixelLimit(byte[] imageBytes) {
+    Dimension size = readSize(imageBytes);
+    return size != null && (long) size.width * size.height > MAX_IMAGE_PIXELS;
+  }
+
+  /**
+   * Returns the pixel size declared in the image header, or {@code null} if it cannot be read.
+   * The pixel data is not decoded.
+   */
+  private static @Nullable Dimension readSize(byte[] imageBytes) {
+    try (var iis = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+      var readers = ImageIO.getImageReaders(iis);
+      if (!readers.hasNext()) {
+        return null;
+      }
+      var reader = readers.next();
+      try {
+        reader.setInput(iis, true, true);
+        return new Dimension(reader.getWidth(0), reader.getHeight(0));
+      } finally {
+        reader.dispose();
+      }
+    } catch (IOException e) {
+      // Let the subsequent decode report the failure in its usual way.
+      return null;
+    }
+  }
+
+  private static @Nullable BufferedImage readJpeg(byte[] imageBytes) {
+    try {
+      return ImageIO.read(new ByteArrayInputStream(imageBytes));
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Scales {@code source} down to {@code width} × {@code height} pixels.
+   *
+   * <p>The image is halved repeatedly with bilinear interpolation before the last step, since a
+   * single bilinear step skips most source pixels when the reduction is large.</p>
+   */
+  static BufferedImage downscale(BufferedImage source, int width, int height) {
+    int type;
+    if (source.getColorModel().hasAlpha()) {
+      type = BufferedImage.TYPE_INT_ARGB;
+    } else if (source.getType() == BufferedImage.TYPE_BYTE_GRAY) {
+      type = BufferedImage.TYPE_BYTE_GRAY;
+    } else {
+      type = BufferedImage.TYPE_INT_RGB;
+    }
+    BufferedImage current = source;
+    int w = source.getWidth();
+    int h = source.getHeight();
+    do {
+      w = Math.max(w / 2, width);
+      h = Math.max(h / 2, height);
+      BufferedImage next = new BufferedImage(w, h, type);
+      Graphics2D g = next.createGraphics();
+      try {
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+            RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(current, 0, 0, w, h, null);
+      } finally {
+        g.dispose();
+      }
+      current = next;
+    } while (w != width || h != height);
+    return current;
+  }
+
+  private static String digest(byte[] bytes) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  // -------------------------------------------------------------------------
+  // Shared cache
+  // -------------------------------------------------------------------------
+
+  private static @Nullable EncodedImage getShared(String key) {
+    synchronized (SHARED_CACHE) {
+      EncodedImage encoded = SHARED_CACHE.get(key);
+      if (encoded != null) {
+        sharedCacheHitCount++;
+      }
+      return encoded;
+    }
+  }
+
+  /**
+   * Puts {@code encoded} into the shared cache, then evicts the least recently used images until
+   * the total size is within {@code maxBytes}. An image larger than {@code maxBytes} by itself is
+   * not kept.
+   */
+  private static void putShared(String key, EncodedImage encoded, long maxBytes) {
+    long size = encoded.size();
+    if (size > maxBytes) {
+      return;
+    }
+    synchronized (SHARED_CACHE) {
+      EncodedImage previous = SHARED_CACHE.put(key, encoded);
+      sharedCacheBytes += size - (previous == null ? 0 : previous.size());
+      var it = SHARED_CACHE.values().iterator();
+      while (sharedCacheBytes > maxBytes) {
+        sharedCacheBytes -= it.next().size();
+        it.remove();
+      }
+    }
+  }
+
+  /** Returns the total bytes of the encoded data in the shared cache. */
+  static long getSharedCacheBytes() {
+    synchronized (SHARED_CACHE) {
+      return sharedCacheBytes;
+    }
+  }
+
+  /** Returns the number of images taken from the shared cache since it was last cleared. */
+  static long getSharedCacheHitCount() {
+    synchronized (SHARED_CACHE) {
+      return sharedCacheHitCount;
+    }
+  }
+
+  /** Clears the shared cache and its hit count. */
+  static void clearSharedCache() {
+    synchronized (SHARED_CACHE) {
+      SHARED_CACHE.clear();
+      sharedCacheBytes = 0;
+      sharedCacheHitCount = 0;
+    }
+  }
+
+  /**
+   * An encoded image stream detached from any document: the stream dictionary, the still-encoded
+   * data, and the soft mask if the image has one.
+   */
+  private record EncodedImage(COSDictionary dictionary, byte[] rawData,
+      @Nullable EncodedImage softMask) {
+
+    /**
+     * Captures {@code stream}, or returns {@code null} when its dictionary refers to other
+     * objects (such as an ICC profile stream) that cannot be copied to another document as is.
+     */
+    static @Nullable EncodedImage of(COSStream stream) throws IOException {
+      COSDictionary dictionary = new COSDictionary();
+      EncodedImage softMask = null;
+      for (Map.Entry<COSName, COSBase> entry : stream.entrySet()) {
+        COSName name = entry.getKey();
+        if (COSName.LENGTH.equals(name)) {
+          continue;
+        }
+        if (COSName.SMASK.equals(name)) {
+          if (!(stream.getDictionaryObject(COSName.SMASK) instanceof COSStream maskStream)) {
+            return null;
+          }
+          softMask = of(maskStream);
+          if (softMask == null) {
+            return null;
+          }
+          continue;
+        }
+        COSBase value = copy(entry.getValue());
+        if (value == null) {
+          return null;
+        }
+        dictionary.setItem(name, value);
+      }
+      byte[] rawData;
+      try (InputStream in = stream.createRawInputStream()) {
+        rawData = in.readAllBytes();
+      }
+      return new EncodedImage(dictionary, rawData, softMask);
+    }
+
+    /** Creates a new stream in {@code document} with the captured dictionary and data. */
+    COSStream toStream(PDDocument document) throws IOException {
+      COSStream stream = document.getDocument().createCOSStream();
+      for (Map.Entry<COSName, COSBase> entry : dictionary.entrySet()) {
+        stream.setItem(entry.getKey(), copy(entry.getValue()));
+      }
+      try (OutputStream out = stream.createRawOutputStream()) {
+        out.write(rawData);
+      }
+      if (softMask != null) {
+        stream.setItem(COSName.SMASK, softMask.toStream(document));
+      }
+      return stream;
+    }
+
+    /** Returns the bytes of the encoded data, including the soft mask. */
+    long size() {
+      return rawData.length + (softMask == null ? 0 : softMask.size());
+    }
+
+    /** Deep-copies a direct object, or returns {@code null} for references and streams. */
+    private static @Nullable COSBase copy(@Nullable COSBase value) {
+      if (value instanceof COSName || value instanceof COSInteger || value instanceof COSFloat
+          || value instanceof COSBoolean || value instanceof COSNull) {
+        return value;
+      }
+      if (value instanceof COSString string) {
+        return new COSString(string.getBytes());
+      }
+      if (value instanceof COSArray array) {
+        COSArray result = new COSArray();
+        for (int i = 0; i < array.size(); i++) {
+          COSBase item = copy(array.get(i));
+          if (item == null) {
+            return null;
+          }
+          result.add(item);
+        }
+        return result;
+      }
+      if (value instanceof COSDictionary dict && !(value instanceof COSStream)) {
+        COSDictionary result = new COSDictionary();
+        for (Map.Entry<COSName, COSBase> entry : dict.entrySet()) {
+          COSBase item = copy(entry.getValue());
+          if (item == null) {
+            return null;
+          }
+          result.setItem(entry.getKey(), item);
+        }
+        return result;
+      }
+      return null;
+    }
+  }
+}
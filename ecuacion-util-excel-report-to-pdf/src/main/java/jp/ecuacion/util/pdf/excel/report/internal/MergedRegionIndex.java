@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Looks up the merged region covering a cell.
+ *
+ * <p>The rows are split into bands at the first row and the row next to the last row
+ * of every region, so the same regions cross all the rows of a band.
+ * For each band, the regions crossing it are kept as column intervals sorted by first column.
+ * A lookup is a binary search over the bands followed by a binary search over the band's
+ * intervals, with no allocation. Memory is proportional to the number of (region, band) pairs,
+ * so a merged block costs the same however many rows it spans.</p>
+ */
+final class MergedRegionIndex {
+
+  /**
+   * Sorted first rows of the bands. Band {@code i} is the rows
+   * from {@code boundaries[i]} to {@code boundaries[i + 1] - 1}.
+   */
+  private final int[] boundaries;
+
+  /**
+   * Start of the regions of band {@code i} in {@link #regions},
+   * which end at {@code offsets[i + 1]}.
+   */
+  private final int[] offsets;
+
+  /** Regions crossing each band, sorted by first column within the band. */
+  private final CellRangeAddress[] regions;
+
+  /** First columns of {@link #regions}. */
+  private final int[] firstColumns;
+
+  private MergedRegionIndex(int[] boundaries, int[] offsets, CellRangeAddress[] regions,
+      int[] firstColumns) {
+    this.boundaries = boundaries;
+    this.offsets = offsets;
+    this.regions = regions;
+    this.firstColumns = firstColumns;
+  }
+
+  /**
+   * Builds the index of {@code regions}.
+   *
+   * <p>The regions are sorted by first row and swept from the top band to the bottom one,
+   * adding the regions starting at a band and dropping those ending above it.
+   * Within a band, regions with the same first column keep the order of {@code regions}.</p>
+   *
+   * @param regions merged regions of a sheet
+   * @return index
+   */
+  static MergedRegionIndex of(List<CellRangeAddress> regions) {
+    int size = regions.size();
+    // (first row, index) pairs, so that sorting them sorts the regions by first row.
+    long[] byFirstRow = new long[size];
+    int[] rowBoundaries = new int[size * 2];
+    for (int i = 0; i < size; i++) {
+      CellRangeAddress region = regions.get(i);
+      byFirstRow[i] = ((long) region.getFirstRow() << 32) | i;
+      rowBoundaries[i * 2] = region.getFirstRow();
+      rowBoundaries[i * 2 + 1] = region.getLastRow() + 1;
+    }
+    Arrays.sort(byFirstRow);
+    int[] boundaries = Arrays.stream(rowBoundaries).sorted().distinct().toArray();
+
+    int bandCount = Math.max(0, boundaries.length - 1);
+    int[] offsets = new int[bandCount + 1];
+    int[] active = new int[size];
+    int activeCount = 0;
+    long[] bandKeys = new long[size];
+    int[] entries = new int[size];
+    int entryCount = 0;
+    int next = 0;
+    for (int band = 0; band < bandCount; band++) {
+      int bandFirstRow = boundaries[band];
+
+      int kept = 0;
+      for (int k = 0; k < activeCount; k++) {
+        if (regions.get(active[k]).getLastRow() >= bandFirstRow) {
+          active[kept++] = active[k];
+        }
+      }
+      activeCount = kept;
+      while (next < size && (int) (byFirstRow[next] >>> 32) == bandFirstRow) {
+        active[activeCount++] = (int) byFirstRow[next++];
+      }
+
+      // (first column, index) pairs, so that sorting them keeps the input order on ties.
+      for (int k = 0; k < activeCount; k++) {
+        bandKeys[k] = ((long) regions.get(active[k]).getFirstColumn() << 32) | active[k];
+      }
+      Arrays.sort(bandKeys, 0, activeCount);
+
+      offsets[band] = entryCount;
+      if (entries.length < entryCount + activeCount) {
+        entries = Arrays.copyOf(entries, Math.max(entries.length * 2, entryCount + activeCount));
+      }
+      for (int k = 0; k < activeCount; k++) {
+        entries[entryCount++] = (int) bandKeys[k];
+      }
+    }
+    offsets[bandCount] = entryCount;
+
+    CellRangeAddress[] bandRegions = new CellRangeAddress[entryCount];
+    int[] firstColumns = new int[entryCount];
+    for (int k = 0; k < entryCount; k++) {
+      bandRegions[k] = regions.get(entries[k]);
+      firstColumns[k] = bandRegions[k].getFirstColumn();
+    }
+    return new MergedRegionIndex(boundaries, offsets, bandRegions, firstColumns);
+  }
+
+  /**
+   * Returns the merged region covering the cell.
+   *
+   * @param row 0-based row index
+   * @param col 0-based column index
+   * @return the region, or {@code null} if the cell is not merged
+   */
+  @Nullable
+  CellRangeAddress get(int row, int col) {
+    int pos = Arrays.binarySearch(boundaries, row);
+    int band = pos >= 0 ? pos : -pos - 2;
+    if (band < 0 || band >= offsets.length - 1) {
+      return null;
+    }
+    // Find the last region whose first column is <= col.
+    int low = offsets[band];
+    int high = offsets[band + 1] - 1;
+    int found = -1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (firstColumns[mid] <= col) {
+        found = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    if (found < 0 || regions[found].getLastColumn() < col) {
+      return null;
+    }
+    return regions[found];
+  }
+
+  /**
+   * Returns whether the cell is in a merged region.
+   *
+   * @param row 0-based row index
+   * @param col 0-based column index
+   * @return {@code true} if the cell is merged
+   */
+  boolean contains(int row, int col) {
+    return get(row, col) != null;
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import java.awt.Color;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.apache.poi.xssf.usermodel.XSSFFont;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.usermodel.extensions.XSSFCellBorder;
+import org.jspecify.annotations.Nullable;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTBorder;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCellAlignment;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STHorizontalAlignment;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STVerticalAlignment;
+
+/**
+ * Everything {@link CellRenderer} needs from a cell style, resolved once per style.
+ *
+ * <p>Font attributes, colours (theme and tint applied), alignment (including the raw
+ * {@code CTXf} fallback) and borders are read from the workbook when the style is first used;
+ * see {@link CellStyleCache}.</p>
+ */
+record ResolvedCellStyle(
+    String fontName,
+    short fontHeightInPoints,
+    boolean bold,
+    boolean italic,
+    boolean strikeout,
+    boolean underline,
+    boolean doubleUnderline,
+    boolean accountingUnderline,
+    short typeOffset,
+    Color textColor,
+    @Nullable Color backgroundColor,
+    HorizontalAlignment horizontalAlignment,
+    VerticalAlignment verticalAlignment,
+    short indention,
+    boolean wrapText,
+    boolean shrinkToFit,
+    short rotation,
+    BorderStyle borderTop, Color borderTopColor,
+    BorderStyle borderBottom, Color borderBottomColor,
+    BorderStyle borderLeft, Color borderLeftColor,
+    BorderStyle borderRight, Color borderRightColor,
+    BorderStyle borderDiagonal, Color borderDiagonalColor,
+    boolean diagonalDown,
+    boolean diagonalUp
+) {
+
+  /**
+   * Resolves {@code style}.
+   *
+   * @param style cell style
+   * @param workbook workbook that owns {@code style}
+   * @return resolved style
+   */
+  static ResolvedCellStyle of(CellStyle style, Workbook workbook) {
+    Font poiFont = workbook.getFontAt(style.getFontIndex());
+    byte underlineType = poiFont.getUnderline();
+
+    Color textColor = Color.BLACK;
+    if (poiFont instanceof XSSFFont xssfFont) {
+      XSSFColor color = xssfFont.getXSSFColor();
+      if (color != null) {
+        Color c = CellRenderer.toAwtColor(color);
+        if (c != null) {
+          textColor = c;
+        }
+      }
+    }
+
+    Color backgroundColor = (style.getFillPattern() == FillPatternType.SOLID_FOREGROUND)
+        ? CellRenderer.toAwtColor(style.getFillForegroundColorColor()) : null;
+
+    XSSFCellStyle xssfStyle = (style instanceof XSSFCellStyle s) ? s : null;
+    XSSFWorkbook xssfWb = (workbook instanceof XSSFWorkbook wb) ? wb : null;
+    CTCellAlignment rawAlign = (xssfStyle != null && xssfWb != null)
+        ? xssfWb.getStylesSource().getCellXfAt((int) xssfStyle.getIndex()).getAlignment()
+        : null;
+
+    BorderStyle diagonal = BorderStyle.NONE;
+    Color diagonalColor = Color.BLACK;
+    boolean diagonalDown = false;
+    boolean diagonalUp = false;
+    if (xssfStyle != null && xssfWb != null) {
+      int borderId = (int) xssfStyle.getCoreXf().getBorderId();
+      XSSFCellBorder cellBorder = xssfWb.getStylesSource().getBorderAt(borderId);
+      diagonal = cellBorder.getBorderStyle(XSSFCellBorder.BorderSide.DIAGONAL);
+      if (diagonal != BorderStyle.NONE) {
+        diagonalColor = CellRenderer.xssfColorToAwt(
+            cellBorder.getBorderColor(XSSFCellBorder.BorderSide.DIAGONAL));
+        CTBorder ctBorder = cellBorder.getCTBorder();
+        diagonalDown = ctBorder.getDiagonalDown();
+        diagonalUp = ctBorder.getDiagonalUp();
+      }
+    }
+
+    return new ResolvedCellStyle(
+        poiFont.getFontName(),
+        poiFont.getFontHeightInPoints(),
+        poiFont.getBold(),
+        poiFont.getItalic(),
+        poiFont.getStrikeout(),
+        underlineType == Font.U_SINGLE || underlineType == Font.U_SINGLE_ACCOUNTING,
+        underlineType == Font.U_DOUBLE || underlineType == Font.U_DOUBLE_ACCOUNTING,
+        underlineType == Font.U_SINGLE_ACCOUNTING || underlineType == Font.U_DOUBLE_ACCOUNTING,
+        poiFont.getTypeOffset(),
+        textColor,
+        backgroundColor,
+        getHorizontalAlignment(style, rawAlign),
+        getVerticalAlignment(style, rawAlign),
+        style.getIndention(),
+        style.getWrapText(),
+        style.getShrinkToFit(),
+        style.getRotation(),
+        style.getBorderTop(),
+        CellRenderer.xssfColorToAwt(xssfStyle != null ? xssfStyle.getTopBorderXSSFColor() : null),
+        style.getBorderBottom(),
+        CellRenderer.xssfColorToAwt(
+            xssfStyle != null ? xssfStyle.getBottomBorderXSSFColor() : null),
+        style.getBorderLeft(),
+        CellRenderer.xssfColorToAwt(xssfStyle != null ? xssfStyle.getLeftBorderXSSFColor() : null),
+        style.getBorderRight(),
+        CellRenderer.xssfColorToAwt(
+            xssfStyle != null ? xssfStyle.getRightBorderXSSFColor() : null),
+        diagonal, diagonalColor, diagonalDown, diagonalUp);
+  }
+
+  /**
+   * Returns the effective vertical alignment for a cell.
+   *
+   * <p>Apache POI returns {@link VerticalAlignment#BOTTOM} when the {@code xf}'s
+   * {@code applyAlignment} attribute is absent, even if the {@code <alignment>} element
+   * has an explicit {@code vertical} attribute. This method works around that by reading
+   * the raw {@link org.openxmlformats.schemas.spreadsheetml.x2006.main.CTXf}.</p>
+   */
+  private static VerticalAlignment getVerticalAlignment(CellStyle style,
+      @Nullable CTCellAlignment rawAlign) {
+    VerticalAlignment vertAlign = style.getVerticalAlignment();
+    if (vertAlign != VerticalAlignment.BOTTOM) {
+      return vertAlign;
+    }
+    if (rawAlign != null && rawAlign.isSetVertical()) {
+      var sv = rawAlign.getVertical();
+      if (sv == STVerticalAlignment.TOP) {
+        return VerticalAlignment.TOP;
+      }
+      if (sv == STVerticalAlignment.CENTER) {
+        return VerticalAlignment.CENTER;
+      }
+      if (sv == STVerticalAlignment.JUSTIFY) {
+        return VerticalAlignment.JUSTIFY;
+      }
+      if (sv == STVerticalAlignment.DISTRIBUTED) {
+        return VerticalAlignment.DISTRIBUTED;
+      }
+    }
+    return vertAlign;
+  }
+
+  /**
+   * Returns the effective horizontal alignment for a cell.
+   *
+   * <p>Same workaround as {@link #getVerticalAlignment}: when {@code applyAlignment} is absent
+   * Apache POI returns {@link HorizontalAlignment#GENERAL}, ignoring an explicit
+   * {@code horizontal} attribute.</p>
+   */
+  private static HorizontalAlignment getHorizontalAlignment(CellStyle style,
+      @Nullable CTCellAlignment rawAlign) {
+    HorizontalAlignment halign = style.getAlignment();
+    if (halign != HorizontalAlignment.GENERAL) {
+      return halign;
+    }
+    if (rawAlign != null && rawAlign.isSetHorizontal()) {
+      var sh = rawAlign.getHorizontal();
+      if (sh == STHorizontalAlignment.LEFT) {
+        return HorizontalAlignment.LEFT;
+      }
+      if (sh == STHorizontalAlignment.RIGHT) {
+        return HorizontalAlignment.RIGHT;
+      }
+      if (sh == STHorizontalAlignment.CENTER) {
+        return HorizontalAlignment.CENTER;
+      }
+      if (sh == STHorizontalAlignment.FILL) {
+        return HorizontalAlignment.FILL;
+      }
+      if (sh == STHorizontalAlignment.JUSTIFY) {
+        return HorizontalAlignment.JUSTIFY;
+      }
+      if (sh == STHorizontalAlignment.CENTER_CONTINUOUS) {
+        return HorizontalAlignment.CENTER_SELECTION;
+      }
+      if (sh == STHorizontalAlignment.DISTRIBUTED) {
+        return HorizontalAlignment.DISTRIBUTED;
+      }
+    }
+    return halign;
+  }
+}
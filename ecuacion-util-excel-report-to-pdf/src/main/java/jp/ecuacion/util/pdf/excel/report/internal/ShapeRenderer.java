@@ -17,23 +17,17 @@ package jp.ecuacion.util.pdf.excel.report.internal;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.List;
-import javax.imageio.ImageIO;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType0Font;
-import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
-import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.usermodel.XSSFClientAnchor;
 import org.apache.poi.xssf.usermodel.XSSFDrawing;
 import org.apache.poi.xssf.usermodel.XSSFPicture;
-import org.apache.poi.xssf.usermodel.XSSFPictureData;
 import org.apache.poi.xssf.usermodel.XSSFShape;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFSimpleShape;
@@ -53,18 +47,14 @@ class ShapeRenderer {
   private static final float PX_TO_PT = 72f / 96f;
   private static final float CELL_PADDING = 2f;
 
-  /**
-   * Upper bound of embedded-image pixel area (width × height) rendered into the PDF.
-   * 50M pixels ≈ an A4 page at 600 DPI; anything larger is treated as a decompression bomb.
-   */
-  private static final long MAX_IMAGE_PIXELS = 50_000_000L;
-
-  private final PDDocument document;
   private final FontManager fontManager;
+  private final ImageXObjectCache imageCache;
 
-  ShapeRenderer(PDDocument document, FontManager fontManager) {
-    this.document = document;
+  ShapeRenderer(PDDocument document, FontManager fontManager, @Nullable Integer maxImageDpi,
+      float jpegQuality, long sharedImageCacheBytes) {
     this.fontManager = fontManager;
+    this.imageCache =
+        new ImageXObjectCache(document, maxImageDpi, jpegQuality, sharedImageCacheBytes);
   }
 
   void renderShapes(Sheet sheet, PDPageContentStream cs, PDRectangle pageSize,
@@ -178,52 +168,13 @@ class ShapeRenderer {
 
   private void renderPicture(PDPageContentStream cs, XSSFPicture picture, float x, float y,
       float width, float height) throws IOException {
-    XSSFPictureData picData = picture.getPictureData();
-    byte[] imageBytes = picData.getData();
-    if (exceedsPixelLimit(imageBytes)) {
+    PDImageXObject pdImage = imageCache.get(picture.getPictureData(), width, height);
+    if (pdImage == null) {
       return;
     }
-    String mime = picData.getMimeType();
-    PDImageXObject pdImage;
-    if ("image/jpeg".equalsIgnoreCase(mime) || "image/jpg".equalsIgnoreCase(mime)) {
-      pdImage = JPEGFactory.createFromByteArray(document, imageBytes);
-    } else {
-      BufferedImage bi = ImageIO.read(new ByteArrayInputStream(imageBytes));
-      if (bi == null) {
-        return;
-      }
-      pdImage = LosslessFactory.createFromImage(document, bi);
-    }
     cs.drawImage(pdImage, x, y, width, height);
   }
 
-  /**
-   * Returns {@code true} when the image's declared dimensions exceed {@link #MAX_IMAGE_PIXELS}.
-   *
-   * <p>A decompression bomb (a small file declaring a huge pixel area) would otherwise make
-   * {@code ImageIO.read} allocate gigabytes of heap. The dimensions are read from the image
-   * header only, without decoding pixel data.</p>
-   */
-  private static boolean exceedsPixelLimit(byte[] imageBytes) {
-    try (var iis = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
-      var readers = ImageIO.getImageReaders(iis);
-      if (!readers.hasNext()) {
-        return false;
-      }
-      var reader = readers.next();
-      try {
-        reader.setInput(iis, true, true);
-        long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
-        return pixels > MAX_IMAGE_PIXELS;
-      } finally {
-        reader.dispose();
-      }
-    } catch (IOException e) {
-      // Let the subsequent decode report the failure in its usual way.
-      return false;
-    }
-  }
-
   private void renderShape(PDPageContentStream cs, XSSFSimpleShape shape, float x, float y,
       float width, float height, float scaleFactor) throws IOException {
 
@@ -19,20 +19,18 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
 import jp.ecuacion.util.pdf.excel.report.exception.PdfGenerateException;
 import jp.ecuacion.util.pdf.excel.report.exception.SheetHasNoPrintAreaException;
+import jp.ecuacion.util.pdf.excel.report.options.PdfGenerateOptions;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.HorizontalAlignment;
@@ -42,11 +40,12 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.util.Units;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.jspecify.annotations.Nullable;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCol;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCols;
 
 /**
  * Renders an Excel sheet into one or more PDF pages in a {@link PDDocument}.
@@ -99,12 +98,52 @@ public class SheetRenderer {
    */
   public SheetRenderer(PDDocument document, FontManager fontManager, @Nullable Path sourcePath,
       Locale dateLocale, int mdw) {
+    this(document, fontManager, sourcePath, dateLocale, mdw, null,
+        PdfGenerateOptions.DEFAULT_JPEG_QUALITY);
+  }
+
+  /**
+   * Constructs a {@code SheetRenderer} with an explicitly supplied MDW and image resolution.
+   *
+   * @param document the target PDF document
+   * @param fontManager the font manager providing embedded fonts
+   * @param sourcePath the source Excel file path, used for {@code &F} and {@code &Z} codes
+   * @param dateLocale the locale used to resolve locale-sensitive built-in date formats
+   * @param mdw maximum digit width in pixels at 96 DPI (0 = use POI default)
+   * @param maxImageDpi maximum resolution of embedded images in dots per inch of their size on
+   *     the page ({@code null} = original resolution)
+   * @param jpegQuality quality used to re-encode downsampled JPEG images, from 0 to 1
+   */
+  public SheetRenderer(PDDocument document, FontManager fontManager, @Nullable Path sourcePath,
+      Locale dateLocale, int mdw, @Nullable Integer maxImageDpi, float jpegQuality) {
+    this(document, fontManager, sourcePath, dateLocale, mdw, maxImageDpi, jpegQuality, 0);
+  }
+
+  /**
+   * Constructs a {@code SheetRenderer} with an explicitly supplied MDW, image resolution and
+   * shared image cache size.
+   *
+   * @param document the target PDF document
+   * @param fontManager the font manager providing embedded fonts
+   * @param sourcePath the source Excel file path, used for {@code &F} and {@code &Z} codes
+   * @param dateLocale the locale used to resolve locale-sensitive built-in date formats
+   * @param mdw maximum digit width in pixels at 96 DPI (0 = use POI default)
+   * @param maxImageDpi maximum resolution of embedded images in dots per inch of their size on
+   *     the page ({@code null} = original resolution)
+   * @param jpegQuality quality used to re-encode downsampled JPEG images, from 0 to 1
+   * @param sharedImageCacheBytes maximum bytes of encoded images kept for later documents
+   *     (0 = not kept)
+   */
+  public SheetRenderer(PDDocument document, FontManager fontManager, @Nullable Path sourcePath,
+      Locale dateLocale, int mdw, @Nullable Integer maxImageDpi, float jpegQuality,
+      long sharedImageCacheBytes) {
     this.document = document;
     this.mdw = mdw;
     CellValueFormatter formatter =
         new CellValueFormatter(new DataFormatter(Locale.US), dateLocale);
     this.cellRenderer = new CellRenderer(fontManager, formatter);
-    this.shapeRenderer = new ShapeRenderer(document, fontManager);
+    this.shapeRenderer = new ShapeRenderer(document, fontManager, maxImageDpi, jpegQuality,
+        sharedImageCacheBytes);
     this.headerFooterRenderer = new HeaderFooterRenderer(fontManager, sourcePath);
   }
 
@@ -120,7 +159,8 @@ public class SheetRenderer {
     Sheet sheet = workbook.getSheetAt(sheetIndex);
     cellRenderer.currentWorkbook = (workbook instanceof XSSFWorkbook xssfWb) ? xssfWb : null;
 
-    final List<TableRenderInfo> tableInfos = cellRenderer.collectTableRenderInfos(sheet, workbook);
+    final TableStyleIndex tableStyles = TableStyleIndex.of(cellRenderer::resolveTableCellStyle,
+        cellRenderer.collectTableRenderInfos(sheet, workbook));
 
     int[] bounds = getPrintAreaBounds(workbook, sheet, sheetIndex);
     int firstRow = bounds[0];
@@ -144,11 +184,9 @@ public class SheetRenderer {
     float printableHeight = pageSize.getHeight() - topMargin - bottomMargin;
 
     // Compute natural (unscaled) column widths once — reused by scale computation and rendering.
-    float[] naturalColWidths = new float[lastCol - firstCol + 1];
+    float[] naturalColWidths = getColumnNaturalWidthsInPt(sheet, firstCol, lastCol, mdw);
     float naturalColTotal = 0f;
-    for (int c = firstCol; c <= lastCol; c++) {
-      float w = getColumnNaturalWidthInPt(sheet, c);
-      naturalColWidths[c - firstCol] = w;
+    for (float w : naturalColWidths) {
       naturalColTotal += w;
     }
 
@@ -192,7 +230,7 @@ public class SheetRenderer {
       rowHeights[i] = naturalRowHeights[i] * scaleFactor;
     }
 
-    final Map<String, CellRangeAddress> mergedRegionMap = buildMergedRegionMap(sheet);
+    final MergedRegionIndex mergedRegionIndex = buildMergedRegionIndex(sheet);
 
     // Detect print title rows (rows that repeat at the top of every page).
     CellRangeAddress repeatingRowsRef = sheet.getRepeatingRows();
@@ -307,10 +345,10 @@ public class SheetRenderer {
       for (int[] rowPage : rowPages) {
         renderPage(sheet, pageSize, leftMargin, rightMargin, topMargin,
             headerMarginPt, footerMarginPt, contentLeftMargin, rowPage[0], rowPage[1], colPage[0],
-            colPage[1], firstRow, firstCol, rowHeights, colWidths, scaleFactor, mergedRegionMap,
+            colPage[1], firstRow, firstCol, rowHeights, colWidths, scaleFactor, mergedRegionIndex,
             repeatFirst,
             repeatLast, repeatFirstCol, repeatLastCol, repeatingColsWidth, preambleLastRow,
-            pageNumber, totalPages, tableInfos);
+            pageNumber, totalPages, tableStyles);
         pageNumber++;
       }
     }
@@ -467,49 +505,94 @@ public class SheetRenderer {
   }
 
   /**
-   * Returns the natural (unscaled) width of the specified column in points.
+   * Returns the natural (unscaled) widths of the columns {@code firstCol..lastCol} in points.
    *
    * <p>For XSSF sheets whose column has no explicit custom width, Apache POI falls back to its
    * built-in default of 8 characters rather than reading the {@code defaultColWidth} attribute
    * from the sheet XML. This method corrects that by reading the XML attribute directly and
    * computing the column width as {@code defaultColWidth × 7px/char × PX_TO_PT}, which matches
    * Excel's rendering for sheets that use a narrow default column width.</p>
+   *
+   * <p>The {@code <col>} definitions are decoded in one pass into per-column arrays, so the cost
+   * is linear in the number of definitions plus the number of columns, instead of scanning every
+   * definition for every column.</p>
+   *
+   * @param mdw maximum digit width in pixels at 96 DPI (0 = use POI default)
    */
-  private float getColumnNaturalWidthInPt(Sheet sheet, int col) {
-    if (sheet instanceof XSSFSheet xssfSheet) {
-      var ws = xssfSheet.getCTWorksheet();
-      for (var ctCols : ws.getColsArray()) {
-        for (CTCol ctCol : ctCols.getColList()) {
-          if (ctCol.isSetCustomWidth() && ctCol.getCustomWidth() && ctCol.getMin() <= col + 1
-              && col + 1 <= ctCol.getMax()) {
-            if (mdw > 0) {
-              // OOXML spec §18.3.1.13:
-              //   pixel = Truncate(((256 × width + Truncate(128/MDW)) / 256) × MDW)
-              // getColumnWidth() returns width in 256ths of a character.
-              // roundingCorrection = Truncate(128/MDW) via integer division — intentional.
-              int roundingCorrection = 128 / mdw;
-              int px = (int) (((sheet.getColumnWidth(col) + roundingCorrection) / 256.0) * mdw);
-              return px * PX_TO_PT;
-            }
-            return sheet.getColumnWidthInPixels(col) * PX_TO_PT;
+  static float[] getColumnNaturalWidthsInPt(Sheet sheet, int firstCol, int lastCol, int mdw) {
+    float[] widths = new float[lastCol - firstCol + 1];
+    if (!(sheet instanceof XSSFSheet xssfSheet)) {
+      for (int c = firstCol; c <= lastCol; c++) {
+        widths[c - firstCol] = sheet.getColumnWidthInPixels(c) * PX_TO_PT;
+      }
+      return widths;
+    }
+
+    var ws = xssfSheet.getCTWorksheet();
+    // customWidth[i]: a <col customWidth="1"> in any <cols> covers the column.
+    // widthCol[i]: the first <col> of the first <cols> covering the column, which is the one
+    // XSSFSheet.getColumnWidth reads.
+    boolean[] customWidth = new boolean[widths.length];
+    @Nullable CTCol[] widthCol = new CTCol[widths.length];
+    CTCols[] colsArray = ws.getColsArray();
+    for (int k = 0; k < colsArray.length; k++) {
+      for (CTCol ctCol : colsArray[k].getColArray()) {
+        boolean custom = ctCol.isSetCustomWidth() && ctCol.getCustomWidth();
+        long from = Math.max(ctCol.getMin(), firstCol + 1L);
+        long to = Math.min(ctCol.getMax(), lastCol + 1L);
+        for (long col1 = from; col1 <= to; col1++) {
+          int i = (int) (col1 - 1 - firstCol);
+          if (k == 0 && widthCol[i] == null) {
+            widthCol[i] = ctCol;
           }
+          customWidth[i] |= custom;
         }
       }
-      if (ws.isSetSheetFormatPr()) {
-        double dcw = ws.getSheetFormatPr().getDefaultColWidth();
-        if (dcw > 0) {
-          if (mdw > 0) {
-            // Same spec formula; dcw is in char units so multiply by 256 first.
-            int roundingCorrection = 128 / mdw;
-            int px = (int) (((dcw * 256 + roundingCorrection) / 256.0) * mdw);
-            return px * PX_TO_PT;
-          }
+    }
+
+    float defaultWidth = Float.NaN;
+    if (ws.isSetSheetFormatPr()) {
+      double dcw = ws.getSheetFormatPr().getDefaultColWidth();
+      if (dcw > 0) {
+        if (mdw > 0) {
+          // Same spec formula as below; dcw is in char units so multiply by 256 first.
+          int roundingCorrection = 128 / mdw;
+          int px = (int) (((dcw * 256 + roundingCorrection) / 256.0) * mdw);
+          defaultWidth = px * PX_TO_PT;
+        } else {
           // 7px is the standard MDW for Calibri 11pt at 96 DPI
-          return (float) (dcw * 7.0 * PX_TO_PT);
+          defaultWidth = (float) (dcw * 7.0 * PX_TO_PT);
         }
       }
     }
-    return sheet.getColumnWidthInPixels(col) * PX_TO_PT;
+
+    int poiDefaultWidth = sheet.getDefaultColumnWidth();
+    for (int c = firstCol; c <= lastCol; c++) {
+      int i = c - firstCol;
+      if (!customWidth[i] && !Float.isNaN(defaultWidth)) {
+        widths[i] = defaultWidth;
+        continue;
+      }
+
+      // The width in 256ths of a character, computed from widthCol as
+      // XSSFSheet.getColumnWidth() does, without its scan of the <col> definitions per column.
+      CTCol ctCol = widthCol[i];
+      double width = (ctCol != null && ctCol.isSetWidth()) ? ctCol.getWidth() : poiDefaultWidth;
+      int columnWidth = Math.toIntExact(Math.round(width * 256));
+      if (customWidth[i] && mdw > 0) {
+        // OOXML spec §18.3.1.13:
+        //   pixel = Truncate(((256 × width + Truncate(128/MDW)) / 256) × MDW)
+        // roundingCorrection = Truncate(128/MDW) via integer division — intentional.
+        int roundingCorrection = 128 / mdw;
+        int px = (int) (((columnWidth + roundingCorrection) / 256.0) * mdw);
+        widths[i] = px * PX_TO_PT;
+      } else {
+        // Same as XSSFSheet.getColumnWidthInPixels()
+        float px = (float) (columnWidth / 256.0 * Units.DEFAULT_CHARACTER_WIDTH);
+        widths[i] = px * PX_TO_PT;
+      }
+    }
+    return widths;
   }
 
   // -------------------------------------------------------------------------
@@ -563,19 +646,11 @@ public class SheetRenderer {
   }
 
   // -------------------------------------------------------------------------
-  // Merged region map
+  // Merged region index
   // -------------------------------------------------------------------------
 
-  private Map<String, CellRangeAddress> buildMergedRegionMap(Sheet sheet) {
-    Map<String, CellRangeAddress> map = new HashMap<>();
-    for (CellRangeAddress region : sheet.getMergedRegions()) {
-      for (int r = region.getFirstRow(); r <= region.getLastRow(); r++) {
-        for (int c = region.getFirstColumn(); c <= region.getLastColumn(); c++) {
-          map.put(r + "," + c, region);
-        }
-      }
-    }
-    return map;
+  private MergedRegionIndex buildMergedRegionIndex(Sheet sheet) {
+    return MergedRegionIndex.of(sheet.getMergedRegions());
   }
 
   // -------------------------------------------------------------------------
@@ -586,9 +661,9 @@ public class SheetRenderer {
       float topMargin, float headerMarginPt, float footerMarginPt, float contentLeftMargin,
       int firstPageRow, int lastPageRow, int firstPageCol, int lastPageCol, int printFirstRow,
       int printFirstCol, float[] rowHeights, float[] colWidths, float scaleFactor,
-      Map<String, CellRangeAddress> mergedRegionMap, int repeatFirst, int repeatLast,
+      MergedRegionIndex mergedRegionIndex, int repeatFirst, int repeatLast,
       int repeatFirstCol, int repeatLastCol, float repeatingColsWidth, int preambleLastRow,
-      int pageNumber, int totalPages, List<TableRenderInfo> tableInfos)
+      int pageNumber, int totalPages, TableStyleIndex tableStyles)
       throws IOException {
 
     PDPage page = new PDPage(pageSize);
@@ -602,15 +677,16 @@ public class SheetRenderer {
         for (int r = printFirstRow; r <= preambleLastRow; r++) {
           if (repeatFirstCol >= 0) {
             renderRowCells(cs, sheet, r, repeatFirstCol, repeatLastCol, printFirstRow,
-                printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionMap, currentY,
-                contentLeftMargin, printFirstRow, preambleLastRow, tableInfos);
+                printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionIndex, currentY,
+                contentLeftMargin, printFirstRow, preambleLastRow, tableStyles);
             currentY = renderRowCells(cs, sheet, r, firstPageCol, lastPageCol, printFirstRow,
-                printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionMap, currentY,
-                contentLeftMargin + repeatingColsWidth, printFirstRow, preambleLastRow, tableInfos);
+                printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionIndex, currentY,
+                contentLeftMargin + repeatingColsWidth, printFirstRow, preambleLastRow,
+                tableStyles);
           } else {
             currentY = renderRowCells(cs, sheet, r, firstPageCol, lastPageCol, printFirstRow,
-                printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionMap, currentY,
-                contentLeftMargin, printFirstRow, preambleLastRow, tableInfos);
+                printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionIndex, currentY,
+                contentLeftMargin, printFirstRow, preambleLastRow, tableStyles);
           }
         }
       }
@@ -620,15 +696,15 @@ public class SheetRenderer {
         for (int r = repeatFirst; r <= repeatLast; r++) {
           if (repeatFirstCol >= 0) {
             renderRowCells(cs, sheet, r, repeatFirstCol, repeatLastCol, printFirstRow,
-                printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionMap, currentY,
-                contentLeftMargin, repeatFirst, repeatLast, tableInfos);
+                printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionIndex, currentY,
+                contentLeftMargin, repeatFirst, repeatLast, tableStyles);
             currentY = renderRowCells(cs, sheet, r, firstPageCol, lastPageCol, printFirstRow,
-                printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionMap, currentY,
-                contentLeftMargin + repeatingColsWidth, repeatFirst, repeatLast, tableInfos);
+                printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionIndex, currentY,
+                contentLeftMargin + repeatingColsWidth, repeatFirst, repeatLast, tableStyles);
           } else {
             currentY = renderRowCells(cs, sheet, r, firstPageCol, lastPageCol, printFirstRow,
-                printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionMap, currentY,
-                contentLeftMargin, repeatFirst, repeatLast, tableInfos);
+                printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionIndex, currentY,
+                contentLeftMargin, repeatFirst, repeatLast, tableStyles);
           }
         }
       }
@@ -636,15 +712,15 @@ public class SheetRenderer {
       for (int r = firstPageRow; r <= lastPageRow; r++) {
         if (repeatFirstCol >= 0) {
           renderRowCells(cs, sheet, r, repeatFirstCol, repeatLastCol, printFirstRow, printFirstCol,
-              rowHeights, colWidths, scaleFactor, mergedRegionMap, currentY, contentLeftMargin,
-              firstPageRow, lastPageRow, tableInfos);
+              rowHeights, colWidths, scaleFactor, mergedRegionIndex, currentY, contentLeftMargin,
+              firstPageRow, lastPageRow, tableStyles);
           currentY = renderRowCells(cs, sheet, r, firstPageCol, lastPageCol, printFirstRow,
-              printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionMap, currentY,
-              contentLeftMargin + repeatingColsWidth, firstPageRow, lastPageRow, tableInfos);
+              printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionIndex, currentY,
+              contentLeftMargin + repeatingColsWidth, firstPageRow, lastPageRow, tableStyles);
         } else {
           currentY = renderRowCells(cs, sheet, r, firstPageCol, lastPageCol, printFirstRow,
-              printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionMap, currentY,
-              contentLeftMargin, firstPageRow, lastPageRow, tableInfos);
+              printFirstCol, rowHeights, colWidths, scaleFactor, mergedRegionIndex, currentY,
+              contentLeftMargin, firstPageRow, lastPageRow, tableStyles);
         }
       }
 
@@ -667,8 +743,8 @@ public class SheetRenderer {
 
   private float renderRowCells(PDPageContentStream cs, Sheet sheet, int r, int firstPageCol,
       int lastPageCol, int printFirstRow, int printFirstCol, float[] rowHeights, float[] colWidths,
-      float scaleFactor, Map<String, CellRangeAddress> mergedRegionMap, float currentY,
-      float leftMargin, int pageFirstRow, int pageLastRow, List<TableRenderInfo> tableInfos)
+      float scaleFactor, MergedRegionIndex mergedRegionIndex, float currentY,
+      float leftMargin, int pageFirstRow, int pageLastRow, TableStyleIndex tableStyles)
       throws IOException {
     float rowHeight = rowHeights[r - printFirstRow];
     Row row = sheet.getRow(r);
@@ -677,7 +753,7 @@ public class SheetRenderer {
     float currentX = leftMargin;
     for (int c = firstPageCol; c <= lastPageCol; c++) {
       float colWidth = colWidths[c - printFirstCol];
-      CellRangeAddress region = mergedRegionMap.get(r + "," + c);
+      CellRangeAddress region = mergedRegionIndex.get(r, c);
       if (region != null && (region.getFirstRow() != r || region.getFirstColumn() != c)) {
         currentX += colWidth;
         continue;
@@ -688,7 +764,7 @@ public class SheetRenderer {
           printFirstRow, rowHeight);
       Cell cell = (row != null) ? row.getCell(c) : null;
       float cellBottomY = currentY - cellHeight;
-      TableCellStyle tableStyle = cellRenderer.getTableCellStyle(tableInfos, r, c);
+      TableCellStyle tableStyle = tableStyles.get(r, c);
       cellRenderer.renderBackground(cs, cell, currentX, cellBottomY, cellWidth, cellHeight,
           tableStyle);
       currentX += colWidth;
@@ -698,7 +774,7 @@ public class SheetRenderer {
     currentX = leftMargin;
     for (int c = firstPageCol; c <= lastPageCol; c++) {
       float colWidth = colWidths[c - printFirstCol];
-      CellRangeAddress region = mergedRegionMap.get(r + "," + c);
+      CellRangeAddress region = mergedRegionIndex.get(r, c);
       if (region != null && (region.getFirstRow() != r || region.getFirstColumn() != c)) {
         currentX += colWidth;
         continue;
@@ -709,19 +785,17 @@ public class SheetRenderer {
           printFirstRow, rowHeight);
       Cell cell = (row != null) ? row.getCell(c) : null;
       float cellBottomY = currentY - cellHeight;
-      TableCellStyle tableStyle = cellRenderer.getTableCellStyle(tableInfos, r, c);
+      TableCellStyle tableStyle = tableStyles.get(r, c);
       float overflowWidth = computeTextOverflowWidth(row, cell, c, lastPageCol,
-          printFirstCol, colWidths, mergedRegionMap, cellWidth, region);
+          printFirstCol, colWidths, mergedRegionIndex, cellWidth, region);
       cellRenderer.renderForeground(cs, cell, currentX, cellBottomY, cellWidth, cellHeight,
           scaleFactor, tableStyle, overflowWidth);
       // Merged cell boundary borders.
       if (region != null && region.getLastColumn() > region.getFirstColumn()) {
         Cell rightBoundary = (row != null) ? row.getCell(region.getLastColumn()) : null;
         if (rightBoundary != null) {
-          CellStyle rightStyle = rightBoundary.getCellStyle();
-          XSSFCellStyle rxssf = (rightStyle instanceof XSSFCellStyle s) ? s : null;
-          cellRenderer.renderBorderLine(cs, rightStyle.getBorderRight(),
-              cellRenderer.xssfColorToAwt(rxssf != null ? rxssf.getRightBorderXSSFColor() : null),
+          ResolvedCellStyle rightStyle = cellRenderer.resolveStyle(rightBoundary);
+          cellRenderer.renderBorderLine(cs, rightStyle.borderRight(), rightStyle.borderRightColor(),
               currentX + cellWidth, cellBottomY, currentX + cellWidth, cellBottomY + cellHeight);
         }
       }
@@ -730,10 +804,9 @@ public class SheetRenderer {
         Cell bottomBoundary =
             (lastMergeRow != null) ? lastMergeRow.getCell(region.getFirstColumn()) : null;
         if (bottomBoundary != null) {
-          CellStyle bottomStyle = bottomBoundary.getCellStyle();
-          XSSFCellStyle bxssf = (bottomStyle instanceof XSSFCellStyle s) ? s : null;
-          cellRenderer.renderBorderLine(cs, bottomStyle.getBorderBottom(),
-              cellRenderer.xssfColorToAwt(bxssf != null ? bxssf.getBottomBorderXSSFColor() : null),
+          ResolvedCellStyle bottomStyle = cellRenderer.resolveStyle(bottomBoundary);
+          cellRenderer.renderBorderLine(cs, bottomStyle.borderBottom(),
+              bottomStyle.borderBottomColor(),
               currentX, cellBottomY, currentX + cellWidth, cellBottomY);
         }
       }
@@ -780,18 +853,18 @@ public class SheetRenderer {
    */
   private float computeTextOverflowWidth(@Nullable Row row, @Nullable Cell cell, int col,
       int lastPageCol, int printFirstCol, float[] colWidths,
-      Map<String, CellRangeAddress> mergedRegionMap, float cellWidth,
+      MergedRegionIndex mergedRegionIndex, float cellWidth,
       @Nullable CellRangeAddress cellRegion) {
     // Only non-empty text cells can overflow. Merged cells use their full merged width as-is.
     if (cell == null || cellRegion != null) {
       return cellWidth;
     }
-    CellStyle style = cell.getCellStyle();
-    if (style.getWrapText() || style.getShrinkToFit()) {
+    ResolvedCellStyle style = cellRenderer.resolveStyle(cell);
+    if (style.wrapText() || style.shrinkToFit()) {
       return cellWidth;
     }
     // Only LEFT / GENERAL alignment overflows to the right.
-    HorizontalAlignment align = cellRenderer.getHorizontalAlignment(cell, style);
+    HorizontalAlignment align = style.horizontalAlignment();
     // GENERAL-aligned numeric/boolean cells are effectively right-aligned (matching
     // calculateTextX behaviour), so they must not overflow into adjacent empty cells.
     if (align == HorizontalAlignment.GENERAL) {
@@ -810,7 +883,7 @@ public class SheetRenderer {
     float totalWidth = cellWidth;
     int rowNum = cell.getRowIndex();
     for (int c = col + 1; c <= lastPageCol; c++) {
-      if (mergedRegionMap.containsKey(rowNum + "," + c)) {
+      if (mergedRegionIndex.contains(rowNum, c)) {
         break; // merged cell area — stop overflow
       }
       Cell adjCell = (row != null) ? row.getCell(c) : null;
@@ -0,0 +1,602 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.fontbox.ttf.NamingTable;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeCollection;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Is an index of the names of all the font files in the system font directories,
+ *     built by one scan of the directories.
+ *
+ * <p>Each font file is opened only once while the index is built, in parallel.
+ *     The family names, full names (localized ones included), bold flag and
+ *     {@link SystemFontLocator#getRegularStyleScore(NamingTable) regular style score}
+ *     of every font in the file are stored, so a font name is searched
+ *     without opening any font file.</p>
+ *
+ * <p>The index can be saved to a file with the last modified time of every scanned directory.
+ *     Adding, removing or renaming a font file changes the last modified time of its directory,
+ *     so a saved index is reused only when none of them has changed.</p>
+ */
+final class SystemFontIndex {
+
+  /** Is "EFIX", which identifies the index file. */
+  private static final int MAGIC = 0x45464958;
+
+  /** Is the version of the format, which needs to be incremented when the format changes. */
+  private static final int FORMAT_VERSION = 1;
+
+  /** Is the maximum number of threads which build the index. */
+  private static final int MAX_PARALLELISM = 8;
+
+  /** Is the depth of the font directories to scan. */
+  private static final int MAX_DEPTH = 3;
+
+  /**
+   * Is how a font name matches a font.
+   *
+   * <p>{@code EXACT} means the family or full name equals the font name,
+   *     and {@code BROAD} means the family name is a prefix of the font name or vice versa.</p>
+   */
+  enum NameMatchType { EXACT, BROAD, NONE }
+
+  /**
+   * Stores the last modified time of a scanned directory, {@code -1} when it doesn't exist.
+   */
+  record DirectoryStamp(String path, long lastModified) {}
+
+  /**
+   * Stores the names of a font in a font file.
+   *
+   * @param families lowercased family names (nameId=1, 16)
+   * @param names lowercased family and full names (nameId=1, 4, 16)
+   * @param bold whether the subfamily (nameId=2) contains "bold"
+   * @param regularStyleScore regular style score
+   */
+  record FaceEntry(List<String> families, List<String> names, boolean bold,
+      int regularStyleScore) {}
+
+  /**
+   * Stores a font file and the fonts in it.
+   */
+  record FontFileEntry(String path, List<FaceEntry> faces) {}
+
+  /**
+   * Stores the result of walking a font directory.
+   */
+  private record DirectoryScan(List<DirectoryStamp> directories, List<Path> fontFiles) {}
+
+  private final List<String> roots;
+  private final List<DirectoryStamp> directories;
+  private final List<FontFileEntry> fontFiles;
+
+  private SystemFontIndex(List<String> roots, List<DirectoryStamp> directories,
+      List<FontFileEntry> fontFiles) {
+    this.roots = roots;
+    this.directories = directories;
+    this.fontFiles = fontFiles;
+  }
+
+  /**
+   * Builds the index by scanning {@code rootDirectories}.
+   *
+   * <p>The directories are walked and the font files are parsed in parallel
+   *     by at most {@value #MAX_PARALLELISM} threads, so the I/O is not serialized
+   *     while the number of files read at a time is bounded.
+   *     The order of the font files in the index is the order of the scan
+   *     and does not depend on the order in which the threads finish.</p>
+   *
+   * <p>Unreadable directories and files which cannot be parsed as a font are skipped.</p>
+   *
+   * @param rootDirectories font directories, which may not exist
+   * @return index
+   */
+  static SystemFontIndex build(List<Path> rootDirectories) {
+    int parallelism =
+        Math.max(1, Math.min(MAX_PARALLELISM, Runtime.getRuntime().availableProcessors()));
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+      Thread thread = new Thread(runnable, "ecuacion-system-font-index");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    try {
+      List<Future<DirectoryScan>> scans = new ArrayList<>();
+      for (Path root : rootDirectories) {
+        scans.add(executor.submit(() -> scan(root)));
+      }
+
+      List<String> roots = new ArrayList<>();
+      List<DirectoryStamp> directories = new ArrayList<>();
+      List<Future<@Nullable FontFileEntry>> entries = new ArrayList<>();
+      for (int i = 0; i < rootDirectories.size(); i++) {
+        DirectoryScan scan = getResult(scans.get(i));
+        roots.add(rootDirectories.get(i).toString());
+        directories.addAll(scan.directories());
+        for (Path fontFile : scan.fontFiles()) {
+          entries.add(executor.submit(() -> readFontFile(fontFile)));
+        }
+      }
+
+      List<FontFileEntry> fontFiles = new ArrayList<>(entries.size());
+      for (Future<@Nullable FontFileEntry> future : entries) {
+        FontFileEntry entry = getResult(future);
+        if (entry != null) {
+          fontFiles.add(entry);
+        }
+      }
+
+      return new SystemFontIndex(roots, directories, fontFiles);
+
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Walks a font directory and returns the scanned directories and the font files in it.
+   */
+  private static DirectoryScan scan(Path root) {
+    List<DirectoryStamp> directories = new ArrayList<>();
+    List<Path> fontFiles = new ArrayList<>();
+    if (!Files.isDirectory(root)) {
+      directories.add(new DirectoryStamp(root.toString(), -1));
+      return new DirectoryScan(directories, fontFiles);
+    }
+
+    try {
+      // Directories at MAX_DEPTH are passed to visitFile, so preVisitDirectory receives
+      // exactly the directories whose entries are scanned.
+      Files.walkFileTree(root, EnumSet.noneOf(FileVisitOption.class), MAX_DEPTH,
+          new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+              directories.add(new DirectoryStamp(dir.toString(), lastModified(dir)));
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+              if (isFontFile(file)) {
+                fontFiles.add(file);
+              }
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+              return FileVisitResult.CONTINUE;
+            }
+          });
+    } catch (IOException e) { // NOPMD - silently skip unreadable directories
+    }
+
+    return new DirectoryScan(directories, fontFiles);
+  }
+
+  private static <T> T getResult(Future<T> future) {
+    try {
+      return future.get();
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /**
+   * Returns whether the index was built from {@code rootDirectories}
+   *     and none of the scanned directories has changed since then.
+   *
+   * @param rootDirectories font directories
+   * @return whether the index is up to date
+   */
+  boolean isUpToDate(List<Path> rootDirectories) {
+    if (rootDirectories.size() != roots.size()) {
+      return false;
+    }
+    for (int i = 0; i < roots.size(); i++) {
+      if (!rootDirectories.get(i).toString().equals(roots.get(i))) {
+        return false;
+      }
+    }
+
+    for (DirectoryStamp stamp : directories) {
+      Path dir = Path.of(stamp.path());
+      long current = Files.isDirectory(dir) ? lastModified(dir) : -1;
+      if (current != stamp.lastModified()) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns the number of indexed font files.
+   *
+   * @return the number of indexed font files
+   */
+  int size() {
+    return fontFiles.size();
+  }
+
+  /**
+   * Searches the font file whose family name matches {@code fontName}.
+   *
+   * <p>A file with a font whose family or full name equals {@code fontName} is preferred
+   *     to a file with a font whose family name is a prefix of {@code fontName} or vice versa.
+   *     When a name ends with " Bold", only bold fonts match; otherwise only non-bold fonts match.
+   *     Among the files of the same match type,
+   *     the one with the lowest regular style score is returned.</p>
+   *
+   * @param fontName font family name
+   * @return path to the matching font file, or empty if not found
+   */
+  Optional<Path> find(String fontName) {
+    String target = fontName.toLowerCase(Locale.ENGLISH);
+    boolean targetIsBold = target.endsWith(" bold");
+    String targetBase = targetIsBold ? target.substring(0, target.length() - 5).trim() : target;
+
+    @Nullable FontFileEntry bestExact = null;
+    int bestExactScore = Integer.MAX_VALUE;
+    @Nullable FontFileEntry bestBroad = null;
+    int bestBroadScore = Integer.MAX_VALUE;
+    for (FontFileEntry file : fontFiles) {
+      NameMatchType type = NameMatchType.NONE;
+      int score = 0;
+      for (FaceEntry face : file.faces()) {
+        NameMatchType faceType = match(face, targetBase, targetIsBold);
+        if (faceType == NameMatchType.EXACT) {
+          type = NameMatchType.EXACT;
+          score = face.regularStyleScore();
+          break;
+        }
+        if (faceType == NameMatchType.BROAD && type == NameMatchType.NONE) {
+          type = NameMatchType.BROAD;
+          score = face.regularStyleScore();
+        }
+      }
+
+      if (type == NameMatchType.EXACT && score < bestExactScore) {
+        bestExact = file;
+        bestExactScore = score;
+      } else if (type == NameMatchType.BROAD && score < bestBroadScore) {
+        bestBroad = file;
+        bestBroadScore = score;
+      }
+    }
+
+    @Nullable FontFileEntry found = bestExact != null ? bestExact : bestBroad;
+    return found == null ? Optional.empty() : Optional.of(Path.of(found.path()));
+  }
+
+  /**
+   * Returns how {@code fontName} matches {@code face}.
+   *
+   * <p>It's the only rule of matching font names, used both for searching the index
+   *     and for selecting a font in a TrueType Collection,
+   *     where the face is read by {@link #readFace(TrueTypeFont)}.</p>
+   *
+   * @param face face
+   * @param fontName font name, ending with " Bold" for bold fonts
+   * @return match type
+   */
+  static NameMatchType match(FaceEntry face, String fontName) {
+    String target = fontName.toLowerCase(Locale.ENGLISH);
+    boolean targetIsBold = target.endsWith(" bold");
+    String targetBase = targetIsBold ? target.substring(0, target.length() - 5).trim() : target;
+    return match(face, targetBase, targetIsBold);
+  }
+
+  private static NameMatchType match(FaceEntry face, String targetBase, boolean targetIsBold) {
+    if (face.bold() != targetIsBold) {
+      return NameMatchType.NONE;
+    }
+    if (face.names().contains(targetBase)) {
+      return NameMatchType.EXACT;
+    }
+    for (String family : face.families()) {
+      if (targetBase.startsWith(family + " ") || family.startsWith(targetBase + " ")) {
+        return NameMatchType.BROAD;
+      }
+    }
+    return NameMatchType.NONE;
+  }
+
+  // -------------------------------------------------------------------------
+  // Font file parsing
+  // -------------------------------------------------------------------------
+
+  static boolean isFontFile(Path path) {
+    if (!Files.isRegularFile(path)) {
+      return false;
+    }
+    String name = path.getFileName().toString().toLowerCase(Locale.ENGLISH);
+    return name.endsWith(".ttf") || name.endsWith(".ttc");
+  }
+
+  /**
+   * Reads the names of all the fonts in a font file.
+   *
+   * <p>The naming table is fully parsed because {@code parseTableHeaders}
+   *     only extracts English name records, and localized names like "游ゴシック" are needed.</p>
+   *
+   * <p>It's called by multiple threads at the same time, so it keeps no state.</p>
+   *
+   * @return entry, or {@code null} if the file cannot be parsed
+   */
+  static @Nullable FontFileEntry readFontFile(Path fontFile) {
+    List<FaceEntry> faces = new ArrayList<>();
+    String lower = fontFile.getFileName().toString().toLowerCase(Locale.ENGLISH);
+    try {
+      if (lower.endsWith(".ttc")) {
+        try (TrueTypeCollection ttc = new TrueTypeCollection(fontFile.toFile())) {
+          @Nullable IOException[] failure = {null};
+          ttc.processAllFonts(ttf -> {
+            try {
+              faces.add(readFace(ttf));
+            } catch (IOException e) {
+              failure[0] = e;
+            }
+          });
+          IOException failed = failure[0];
+          if (failed != null) {
+            throw failed;
+          }
+        }
+      } else {
+        TrueTypeFont ttf =
+            new TTFParser().parse(new RandomAccessReadBufferedFile(fontFile.toFile()));
+        try {
+          faces.add(readFace(ttf));
+        } finally {
+          ttf.close();
+        }
+      }
+    } catch (IOException | RuntimeException e) { // NOPMD - a broken font file is skipped
+      return null;
+    }
+
+    return new FontFileEntry(fontFile.toString(), faces);
+  }
+
+  /**
+   * Reads the names of a font.
+   *
+   * @param ttf font
+   * @return face
+   * @throws IOException IOException
+   */
+  static FaceEntry readFace(TrueTypeFont ttf) throws IOException {
+    NamingTable naming = ttf.getNaming();
+    if (naming == null) {
+      return new FaceEntry(List.of(), List.of(), false, 2);
+    }
+
+    List<String> families = new ArrayList<>();
+    List<String> names = new ArrayList<>();
+    boolean bold = false;
+    for (var record : naming.getNameRecords()) {
+      int nameId = record.getNameId();
+      String value = record.getString();
+      if (value == null) {
+        continue;
+      }
+      String lower = value.toLowerCase(Locale.ENGLISH);
+      // "Bold Italic" also indicates a bold font, so use contains() not equals().
+      if (nameId == 2 && lower.contains("bold")) {
+        bold = true;
+      }
+      if ((nameId == 1 || nameId == 16) && !families.contains(lower)) {
+        families.add(lower);
+      }
+      if ((nameId == 1 || nameId == 4 || nameId == 16) && !names.contains(lower)) {
+        names.add(lower);
+      }
+    }
+
+    return new FaceEntry(families, names, bold, SystemFontLocator.getRegularStyleScore(naming));
+  }
+
+  private static long lastModified(Path dir) {
+    try {
+      return Files.getLastModifiedTime(dir).toMillis();
+    } catch (IOException e) {
+      return -1;
+    }
+  }
+
+  // -------------------------------------------------------------------------
+  // Index file
+  // -------------------------------------------------------------------------
+
+  /**
+   * Saves the index to {@code indexFile}.
+   *
+   * <p>The index is written to a temporary file first and moved to {@code indexFile},
+   *     so other processes never see a half-written index.</p>
+   *
+   * @param indexFile indexFile
+   * @throws IOException IOException
+   */
+  void save(Path indexFile) throws IOException {
+    Path dir = indexFile.toAbsolutePath().getParent();
+    Files.createDirectories(dir);
+    Path tmp = Files.createTempFile(dir, indexFile.getFileName().toString(), ".tmp");
+    try {
+      try (DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        writeStrings(out, roots);
+        out.writeInt(directories.size());
+        for (DirectoryStamp stamp : directories) {
+          out.writeUTF(stamp.path());
+          out.writeLong(stamp.lastModified());
+        }
+        out.writeInt(fontFiles.size());
+        for (FontFileEntry file : fontFiles) {
+          out.writeUTF(file.path());
+          out.writeInt(file.faces().size());
+          for (FaceEntry face : file.faces()) {
+            writeStrings(out, face.families());
+            writeStrings(out, face.names());
+            out.writeBoolean(face.bold());
+            out.writeInt(face.regularStyleScore());
+          }
+        }
+      }
+
+      Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  /**
+   * Loads the index saved by {@link #save(Path)}.
+   *
+   * <p>The paths in the index file are used to open font files,
+   *     so the file is not loaded when it's not owned by the current user
+   *     or a stored path is not under one of the stored root directories.
+   *     Whether the loaded index is up to date, including whether the root directories
+   *     are the ones to scan, needs to be checked by {@link #isUpToDate(List)}.</p>
+   *
+   * @param indexFile indexFile
+   * @return index, or {@code null} if the file does not exist or is not a valid index file
+   */
+  static @Nullable SystemFontIndex load(Path indexFile) {
+    if (!Files.isRegularFile(indexFile) || !isOwnedByCurrentUser(indexFile)) {
+      return null;
+    }
+
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+        return null;
+      }
+
+      List<String> roots = readStrings(in);
+      int directoryCount = in.readInt();
+      List<DirectoryStamp> directories = new ArrayList<>(directoryCount);
+      for (int i = 0; i < directoryCount; i++) {
+        directories.add(new DirectoryStamp(in.readUTF(), in.readLong()));
+      }
+      int fileCount = in.readInt();
+      List<FontFileEntry> fontFiles = new ArrayList<>(fileCount);
+      for (int i = 0; i < fileCount; i++) {
+        String path = in.readUTF();
+        int faceCount = in.readInt();
+        List<FaceEntry> faces = new ArrayList<>(faceCount);
+        for (int j = 0; j < faceCount; j++) {
+          faces.add(new FaceEntry(readStrings(in), readStrings(in), in.readBoolean(),
+              in.readInt()));
+        }
+        fontFiles.add(new FontFileEntry(path, faces));
+      }
+
+      for (DirectoryStamp stamp : directories) {
+        if (!isUnderRoots(stamp.path(), roots)) {
+          return null;
+        }
+      }
+      for (FontFileEntry file : fontFiles) {
+        if (!isUnderRoots(file.path(), roots)) {
+          return null;
+        }
+      }
+
+      return new SystemFontIndex(roots, directories, fontFiles);
+
+    } catch (IOException | RuntimeException e) { // NOPMD - a broken index file is rebuilt
+      return null;
+    }
+  }
+
+  private static boolean isOwnedByCurrentUser(Path file) {
+    try {
+      UserPrincipal currentUser = file.getFileSystem().getUserPrincipalLookupService()
+          .lookupPrincipalByName(System.getProperty("user.name", ""));
+      return currentUser.equals(Files.getOwner(file));
+
+    } catch (IOException | RuntimeException e) { // NOPMD - an unverifiable file is not used
+      return false;
+    }
+  }
+
+  private static boolean isUnderRoots(String path, List<String> roots) {
+    Path normalized = Path.of(path).normalize();
+    for (String root : roots) {
+      if (normalized.startsWith(Path.of(root).normalize())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void writeStrings(DataOutputStream out, List<String> strings)
+      throws IOException {
+    out.writeInt(strings.size());
+    for (String string : strings) {
+      out.writeUTF(string);
+    }
+  }
+
+  private static List<String> readStrings(DataInputStream in) throws IOException {
+    int size = in.readInt();
+    if (size < 0) {
+      throw new IOException("Negative size: " + size);
+    }
+    List<String> strings = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      strings.add(in.readUTF());
+    }
+    return strings;
+  }
+}
@@ -16,16 +16,14 @@
 package jp.ecuacion.util.pdf.excel.report.internal;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import org.apache.fontbox.ttf.FontHeaders;
+import jp.ecuacion.util.pdf.excel.report.internal.SystemFontIndex.NameMatchType;
 import org.apache.fontbox.ttf.NamingTable;
 import org.apache.fontbox.ttf.TTFParser;
 import org.apache.fontbox.ttf.TrueTypeCollection;
@@ -49,7 +47,11 @@ public class SystemFontLocator {
   // Fonts are not expected to change during a JVM session.
   private static final Map<String, Optional<Path>> FONT_FILE_CACHE = new ConcurrentHashMap<>();
 
-  private enum NameMatchType { EXACT, BROAD, NONE }
+  /** Is the system property to specify the file which stores the index of system fonts. */
+  static final String FONT_INDEX_FILE_PROPERTY =
+      "jp.ecuacion.util.pdf.excel.report.systemFontIndexFile";
+
+  private static volatile @Nullable SystemFontIndex fontIndex;
 
   private SystemFontLocator() {}
 
@@ -73,6 +75,9 @@ public class SystemFontLocator {
    *       exact match exists.</li>
    * </ol>
    *
+   * <p>The search is done against the index of the system font files built by
+   * {@link #getFontIndex()}, so no font file is opened here.</p>
+   *
    * @param fontName font family name (e.g. {@code "Meiryo UI"}, {@code "Calibri"})
    * @return path to the matching font file, or empty if not found
    */
@@ -81,145 +86,71 @@ public class SystemFontLocator {
   }
 
   private static Optional<Path> findFontFileUncached(String fontName) {
-    // Single pass over all directories: collect exact and broad matches simultaneously.
-    // This avoids the double-walk that the original two-pass approach required.
-    // Cross-directory ranking is preserved so Medium weight beats Regular/Light globally.
-    List<Path> exactMatches = new ArrayList<>();
-    List<Path> broadMatches = new ArrayList<>();
-    for (Path dir : getSystemFontDirectories()) {
-      if (!Files.isDirectory(dir)) {
-        continue;
-      }
-      try (var stream = Files.walk(dir, 3)) {
-        stream.filter(SystemFontLocator::isFontFile).forEach(p -> {
-          NameMatchType type = classifyFontFile(p, fontName);
-          if (type == NameMatchType.EXACT) {
-            exactMatches.add(p);
-          } else if (type == NameMatchType.BROAD) {
-            broadMatches.add(p);
-          }
-        });
-      } catch (IOException e) { // NOPMD - silently skip unreadable directories
-      }
-    }
-    List<Path> candidates = !exactMatches.isEmpty() ? exactMatches : broadMatches;
-    return candidates.stream()
-        .min(Comparator.comparingInt(p -> getRegularStyleScore(p, fontName)));
+    return getFontIndex().find(fontName);
   }
 
   /**
-   * Opens a font file once and classifies it as an exact match, broad match, or no match.
+   * Returns the index of the system font files, which is built once per process.
    *
-   * <p>For ASCII font names, {@code parseTableHeaders} / {@code processAllFontHeaders} is used:
-   * it reads only the naming-table header entries (nameId 1, 2 in English), which is much faster
-   * than a full parse that loads glyph and cmap data. For non-ASCII names (e.g. "游ゴシック"),
-   * {@code parseTableHeaders} omits non-English records, so a full parse is required.</p>
+   * <p>The index is loaded from the file specified by the system property
+   *     {@value #FONT_INDEX_FILE_PROPERTY} ({@code .ecuacion/system-font-index.bin}
+   *     in {@code user.home} by default) when no font directory has changed since it was saved.
+   *     Otherwise the font directories are scanned and the index is saved to the file.
+   *     An empty value of the property disables the file.</p>
    */
-  private static NameMatchType classifyFontFile(Path fontFile, String targetName) {
-    try {
-      boolean isAscii = targetName.chars().allMatch(c -> c < 128);
-      if (isAscii) {
-        return classifyFontFileByHeaders(fontFile, targetName);
+  static SystemFontIndex getFontIndex() {
+    SystemFontIndex index = fontIndex;
+    if (index == null) {
+      synchronized (SystemFontLocator.class) {
+        index = fontIndex;
+        if (index == null) {
+          index = loadOrBuildFontIndex(getSystemFontDirectories(), getFontIndexFile());
+          fontIndex = index;
+        }
       }
-      return classifyFontFileFullParse(fontFile, targetName);
-    } catch (IOException e) { // NOPMD
-      return NameMatchType.NONE;
     }
+    return index;
   }
 
   /**
-   * Fast-path classification using {@code parseTableHeaders} / {@code processAllFontHeaders}.
-   * Reads only the English naming-table entries; suitable for ASCII font names only.
+   * Loads the index from {@code indexFile} if it's up to date, or builds and saves it.
    */
-  private static NameMatchType classifyFontFileByHeaders(Path fontFile, String targetName)
-      throws IOException {
-    String fileName = fontFile.getFileName().toString().toLowerCase(Locale.ENGLISH);
-    String targetLower = targetName.toLowerCase(Locale.ENGLISH);
-    boolean targetIsBold = targetLower.endsWith(" bold");
-    String targetBase =
-        targetIsBold ? targetLower.substring(0, targetLower.length() - 5).trim() : targetLower;
-    if (fileName.endsWith(".ttc")) {
-      NameMatchType[] result = {NameMatchType.NONE};
-      TrueTypeCollection.processAllFontHeaders(fontFile.toFile(), headers -> {
-        if (result[0] != NameMatchType.EXACT) {
-          NameMatchType m = matchFontHeaders(headers, targetBase, targetIsBold);
-          if (m == NameMatchType.EXACT) {
-            result[0] = NameMatchType.EXACT;
-          } else if (m == NameMatchType.BROAD && result[0] == NameMatchType.NONE) {
-            result[0] = NameMatchType.BROAD;
-          }
-        }
-      });
-      return result[0];
-    } else {
-      FontHeaders headers =
-          new TTFParser().parseTableHeaders(new RandomAccessReadBufferedFile(fontFile.toFile()));
-      return matchFontHeaders(headers, targetBase, targetIsBold);
+  static SystemFontIndex loadOrBuildFontIndex(List<Path> fontDirectories,
+      @Nullable Path indexFile) {
+    if (indexFile != null) {
+      SystemFontIndex loaded = SystemFontIndex.load(indexFile);
+      if (loaded != null && loaded.isUpToDate(fontDirectories)) {
+        return loaded;
+      }
     }
-  }
 
-  private static NameMatchType matchFontHeaders(FontHeaders headers, String targetBase,
-      boolean targetIsBold) {
-    String subfam = headers.getFontSubFamily();
-    boolean isBold = subfam != null && subfam.toLowerCase(Locale.ENGLISH).contains("bold");
-    if (targetIsBold != isBold) {
-      return NameMatchType.NONE;
-    }
-    String family = headers.getFontFamily();
-    if (family == null || family.isEmpty()) {
-      return NameMatchType.NONE;
-    }
-    String familyLower = family.toLowerCase(Locale.ENGLISH);
-    if (familyLower.equals(targetBase)) {
-      return NameMatchType.EXACT;
-    }
-    if (targetBase.startsWith(familyLower + " ") || familyLower.startsWith(targetBase + " ")) {
-      return NameMatchType.BROAD;
+    SystemFontIndex built = SystemFontIndex.build(fontDirectories);
+    if (indexFile != null) {
+      try {
+        built.save(indexFile);
+      } catch (IOException e) { // NOPMD - the index is rebuilt next time if it cannot be saved
+      }
     }
-    return NameMatchType.NONE;
+    return built;
   }
 
   /**
-   * Full-parse classification. Needed for non-ASCII font names because
-   * {@code parseTableHeaders} only extracts English (languageId=0x0409/Unicode) name records.
+   * Returns the index file, which is in the home directory of the user by default
+   *     so that it's not shared with or replaced by other users.
    */
-  private static NameMatchType classifyFontFileFullParse(Path fontFile, String targetName)
-      throws IOException {
-    String lower = fontFile.getFileName().toString().toLowerCase(Locale.ENGLISH);
-    if (lower.endsWith(".ttc")) {
-      try (TrueTypeCollection ttc = new TrueTypeCollection(fontFile.toFile())) {
-        NameMatchType[] result = {NameMatchType.NONE};
-        ttc.processAllFonts(ttf -> {
-          if (result[0] != NameMatchType.EXACT) {
-            if (matchesFontNameExact(ttf, targetName)) {
-              result[0] = NameMatchType.EXACT;
-            } else if (result[0] == NameMatchType.NONE && matchesFontName(ttf, targetName)) {
-              result[0] = NameMatchType.BROAD;
-            }
-          }
-        });
-        return result[0];
-      }
-    } else {
-      TrueTypeFont ttf =
-          new TTFParser().parse(new RandomAccessReadBufferedFile(fontFile.toFile()));
-      try {
-        if (matchesFontNameExact(ttf, targetName)) {
-          return NameMatchType.EXACT;
-        }
-        if (matchesFontName(ttf, targetName)) {
-          return NameMatchType.BROAD;
-        }
-        return NameMatchType.NONE;
-      } finally {
-        ttf.close();
-      }
+  static @Nullable Path getFontIndexFile() {
+    String value = System.getProperty(FONT_INDEX_FILE_PROPERTY);
+    if (value == null) {
+      String userHome = System.getProperty("user.home", "");
+      return userHome.isEmpty() ? null
+          : Path.of(userHome).resolve(".ecuacion").resolve("system-font-index.bin");
     }
+    return value.isEmpty() ? null : Path.of(value);
   }
 
   /**
-   * Returns a preference score for a font file when choosing among multiple files that all
-   * contain a font matching {@code fontName}.
+   * Returns a preference score for a font when choosing among multiple files that all
+   * contain a font matching the searched name.
    *
    * <p>CJK font families (e.g. 游ゴシック) often ship separate files for each weight
    * (Light, Medium, Regular, Bold), all sharing the same family name. Excel on macOS renders
@@ -235,52 +166,40 @@ public class SystemFontLocator {
    * </ul>
    * </p>
    */
-  static int getRegularStyleScore(Path fontFile, String fontName) {
-    try {
-      TrueTypeFont ttf = loadTrueTypeFont(fontFile, fontName);
-      if (ttf == null) {
-        return 2;
-      }
-      NamingTable naming = ttf.getNaming();
-      if (naming == null) {
-        return 2;
-      }
-      // nameId=2 (Subfamily/Style) is "Regular" for ALL Yu Gothic weight variants
-      // (Light, Medium, Regular, Bold all store "Regular" in nameId=2), so it cannot
-      // be used to distinguish weights.  Instead, check nameId=4 (Full Name) which
-      // carries the explicit weight descriptor (e.g. "Yu Gothic Medium"), then fall
-      // back to nameId=1 (Family Name, e.g. "Yu Gothic Light") if nameId=4 is absent.
-      for (int targetId : new int[] {4, 2, 1}) {
-        for (var record : naming.getNameRecords()) {
-          if (record.getNameId() == targetId) {
-            String value = record.getString();
-            if (value == null) {
-              continue;
-            }
-            String lower = value.toLowerCase(Locale.ENGLISH);
-            // Strongly penalise italic and bold — this function is for regular (upright) weight.
-            if (lower.contains("italic")) {
-              return 20;
-            }
-            if (lower.contains("bold")) {
-              return 10;
-            }
-            if (lower.contains("medium")) {
-              return 0;
-            }
-            if (lower.contains("regular")) {
-              return 1;
-            }
-            if (lower.contains("light")) {
-              return 3;
-            }
+  static int getRegularStyleScore(NamingTable naming) {
+    // nameId=2 (Subfamily/Style) is "Regular" for ALL Yu Gothic weight variants
+    // (Light, Medium, Regular, Bold all store "Regular" in nameId=2), so it cannot
+    // be used to distinguish weights.  Instead, check nameId=4 (Full Name) which
+    // carries the explicit weight descriptor (e.g. "Yu Gothic Medium"), then fall
+    // back to nameId=1 (Family Name, e.g. "Yu Gothic Light") if nameId=4 is absent.
+    for (int targetId : new int[] {4, 2, 1}) {
+      for (var record : naming.getNameRecords()) {
+        if (record.getNameId() == targetId) {
+          String value = record.getString();
+          if (value == null) {
+            continue;
+          }
+          String lower = value.toLowerCase(Locale.ENGLISH);
+          // Strongly penalise italic and bold — this function is for regular (upright) weight.
+          if (lower.contains("italic")) {
+            return 20;
+          }
+          if (lower.contains("bold")) {
+            return 10;
+          }
+          if (lower.contains("medium")) {
+            return 0;
+          }
+          if (lower.contains("regular")) {
+            return 1;
+          }
+          if (lower.contains("light")) {
+            return 3;
           }
         }
       }
-      return 2;
-    } catch (Exception e) { // NOPMD - font scoring failure is non-fatal
-      return 2;
     }
+    return 2;
   }
 
   /**
@@ -417,7 +336,7 @@ public class SystemFontLocator {
    * <p>For TTC files, matching is attempted in this order:
    * <ol>
    *   <li>PostScript name via {@code getFontByName()} (e.g. "MeiryoUI")</li>
-   *   <li>Family/full name via {@link #matchesFontName} (e.g. nameId=1 "Meiryo UI")</li>
+   *   <li>Family/full name via {@link #matchFontName} (e.g. nameId=1 "Meiryo UI")</li>
    *   <li>First font in the collection as a last resort</li>
    * </ol>
    * Using only {@code getFontByName} is insufficient: Meiryo UI's PostScript name is
@@ -450,14 +369,14 @@ public class SystemFontLocator {
       var fonts = new ArrayList<TrueTypeFont>();
       new TrueTypeCollection(fontFile.toFile()).processAllFonts(fonts::add);
       for (TrueTypeFont f : fonts) {
-        if (matchesFontNameExact(f, fontName)) {
+        if (matchFontName(f, fontName) == NameMatchType.EXACT) {
           return f;
         }
       }
       // 2b. Prefix/broad match — fallback for fonts where the family name is a prefix of
       //     the target (e.g. "Meiryo" family file matching search for "Meiryo").
       for (TrueTypeFont f : fonts) {
-        if (matchesFontName(f, fontName)) {
+        if (matchFontName(f, fontName) != NameMatchType.NONE) {
           return f;
         }
       }
@@ -525,103 +444,15 @@ public class SystemFontLocator {
     return dirs;
   }
 
-  private static boolean isFontFile(Path path) {
-    if (!Files.isRegularFile(path)) {
-      return false;
-    }
-    String name = path.getFileName().toString().toLowerCase(Locale.ENGLISH);
-    return name.endsWith(".ttf") || name.endsWith(".ttc");
-  }
-
   /**
-   * Returns {@code true} if the font's family name (nameId=1, 4, or 16) exactly equals
-   * {@code targetName} (case-insensitive). Unlike {@link #matchesFontName}, no prefix matching
-   * is performed, so "Meiryo" will NOT match the target "Meiryo UI".
+   * Returns how {@code targetName} matches the font, by the same rule as the index.
+   * See {@link SystemFontIndex#match(SystemFontIndex.FaceEntry, String)}.
    */
-  private static boolean matchesFontNameExact(TrueTypeFont ttf, String targetName) {
-    try {
-      NamingTable naming = ttf.getNaming();
-      if (naming == null) {
-        return false;
-      }
-      String target = targetName.toLowerCase(Locale.ENGLISH);
-      boolean targetIsBold = target.endsWith(" bold");
-      String targetBase = targetIsBold ? target.substring(0, target.length() - 5).trim() : target;
-
-      boolean fontHasBoldStyle = false;
-      java.util.Set<String> names = new java.util.HashSet<>();
-      for (var record : naming.getNameRecords()) {
-        int nameId = record.getNameId();
-        String value = record.getString();
-        if (value == null) {
-          continue;
-        }
-        String lower = value.toLowerCase(Locale.ENGLISH);
-        // "Bold Italic" also indicates a bold font, so use contains() not equals().
-        if (nameId == 2 && lower.contains("bold")) {
-          fontHasBoldStyle = true;
-        }
-        if (nameId == 1 || nameId == 4 || nameId == 16) {
-          names.add(lower);
-        }
-      }
-      if (targetIsBold != fontHasBoldStyle) {
-        return false;
-      }
-      return names.contains(targetBase);
-    } catch (IOException e) {
-      return false;
-    }
-  }
-
-  private static boolean matchesFontName(TrueTypeFont ttf, String targetName) {
+  private static NameMatchType matchFontName(TrueTypeFont ttf, String targetName) {
     try {
-      NamingTable naming = ttf.getNaming();
-      if (naming == null) {
-        return false;
-      }
-      String target = targetName.toLowerCase(Locale.ENGLISH);
-      // "Meiryo UI Bold" → targetIsBold=true, targetBase="meiryo ui"
-      boolean targetIsBold = target.endsWith(" bold");
-      String targetBase = targetIsBold ? target.substring(0, target.length() - 5).trim() : target;
-
-      // Collect family names (nameId 1 = Family, 16 = Preferred Family) and
-      // whether this font variant is bold (nameId 2 = Subfamily/Style = "Bold").
-      boolean fontHasBoldStyle = false;
-      java.util.Set<String> families = new java.util.HashSet<>();
-      for (var record : naming.getNameRecords()) {
-        int nameId = record.getNameId();
-        String value = record.getString();
-        if (value == null) {
-          continue;
-        }
-        String lower = value.toLowerCase(Locale.ENGLISH);
-        // nameId 2 (Subfamily) = "Bold" or "Bold Italic" indicates a bold font. Use contains()
-        // because bold-italic fonts have nameId 2 = "Bold Italic", not just "Bold".
-        if (nameId == 2 && lower.contains("bold")) {
-          fontHasBoldStyle = true;
-        }
-        if (nameId == 1 || nameId == 16) {
-          families.add(lower);
-        }
-      }
-
-      // Bold/regular must match: do not return a bold font for a regular search or vice versa.
-      if (targetIsBold != fontHasBoldStyle) {
-        return false;
-      }
-
-      // Family name: exact or prefix match (handles "Meiryo" matching "Meiryo UI").
-      for (String family : families) {
-        if (family.equals(targetBase)
-            || targetBase.startsWith(family + " ")
-            || family.startsWith(targetBase + " ")) {
-          return true;
-        }
-      }
-      return false;
+      return SystemFontIndex.match(SystemFontIndex.readFace(ttf), targetName);
     } catch (IOException e) {
-      return false;
+      return NameMatchType.NONE;
     }
   }
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Looks up the table style of a cell on one sheet.
+ *
+ * <p>The rows of the sheet are split into bands at every table's first row and after every
+ *     table's last row, so the tables crossing a band are the same for all of its rows. A lookup
+ *     is a binary search over the bands followed by a range check of the band's few tables.</p>
+ *
+ * <p>Within a table, the resolved style depends only on the position flags below (header row,
+ *     stripe, first/last column and so on), so each table resolves at most one
+ *     {@link TableCellStyle} per combination of flags and shares it between cells.</p>
+ */
+final class TableStyleIndex {
+
+  /** The cell is in the header row. */
+  static final int HEADER = 1;
+  /** The cell is in the last row of the table. */
+  static final int LAST_ROW = 1 << 1;
+  /** The cell is in the row just below the header. */
+  static final int FIRST_DATA_ROW = 1 << 2;
+  /** The cell is a data row in the first row stripe. */
+  static final int FIRST_STRIPE = 1 << 3;
+  /** The cell is in the first column of the table. */
+  static final int FIRST_COLUMN = 1 << 4;
+  /** The cell is in the last column of the table. */
+  static final int LAST_COLUMN = 1 << 5;
+
+  private static final int POSITION_COUNT = 1 << 6;
+
+  /** Resolves the style a table contributes to a cell at the given position flags. */
+  @FunctionalInterface
+  interface Resolver {
+
+    /**
+     * Resolves the style of a table position.
+     *
+     * @param info table containing the cell
+     * @param position position flags of the cell
+     * @return table cell style
+     */
+    TableCellStyle resolve(TableRenderInfo info, int position);
+  }
+
+  private final Resolver resolver;
+  private final List<TableRenderInfo> tables;
+
+  /** Sorted first rows of the bands; band {@code i} ends just before {@code bandStarts[i + 1]}. */
+  private final int[] bandStarts;
+
+  /** Indexes into {@code tables} of the tables crossing each band, in list order. */
+  private final int[][] tablesByBand;
+
+  /** Styles resolved so far, by table index and position flags. */
+  private final @Nullable TableCellStyle[][] styles;
+
+  private TableStyleIndex(Resolver resolver, List<TableRenderInfo> tables,
+      int[] bandStarts, int[][] tablesByBand) {
+    this.resolver = resolver;
+    this.tables = tables;
+    this.bandStarts = bandStarts;
+    this.tablesByBand = tablesByBand;
+    this.styles = new TableCellStyle[tables.size()][];
+  }
+
+  /**
+   * Builds the index of {@code tables}.
+   *
+   * @param resolver resolves the style of a table position, called once per table and position
+   * @param tables tables of a sheet; when tables overlap the first one wins
+   * @return index
+   */
+  static TableStyleIndex of(Resolver resolver, List<TableRenderInfo> tables) {
+    TreeSet<Integer> boundaries = new TreeSet<>();
+    for (TableRenderInfo info : tables) {
+      boundaries.add(info.area().getFirstRow());
+      boundaries.add(info.area().getLastRow() + 1);
+    }
+    int[] bandStarts = boundaries.stream().mapToInt(Integer::intValue).toArray();
+    int[][] tablesByBand = new int[bandStarts.length][];
+    for (int b = 0; b < bandStarts.length; b++) {
+      List<Integer> crossing = new ArrayList<>();
+      for (int t = 0; t < tables.size(); t++) {
+        CellRangeAddress area = tables.get(t).area();
+        if (area.getFirstRow() <= bandStarts[b] && bandStarts[b] <= area.getLastRow()) {
+          crossing.add(t);
+        }
+      }
+      tablesByBand[b] = crossing.stream().mapToInt(Integer::intValue).toArray();
+    }
+    return new TableStyleIndex(resolver, List.copyOf(tables), bandStarts, tablesByBand);
+  }
+
+  /**
+   * Returns the table style of the cell, or {@code null} if the cell is not in a table.
+   *
+   * @param row 0-based row index
+   * @param col 0-based column index
+   * @return table style of the cell
+   */
+  @Nullable TableCellStyle get(int row, int col) {
+    int pos = Arrays.binarySearch(bandStarts, row);
+    int band = (pos >= 0) ? pos : -pos - 2;
+    if (band < 0) {
+      return null;
+    }
+    for (int t : tablesByBand[band]) {
+      TableRenderInfo info = tables.get(t);
+      CellRangeAddress area = info.area();
+      if (col < area.getFirstColumn() || col > area.getLastColumn()) {
+        continue;
+      }
+      TableCellStyle[] tableStyles = styles[t];
+      if (tableStyles == null) {
+        tableStyles = new TableCellStyle[POSITION_COUNT];
+        styles[t] = tableStyles;
+      }
+      int position = position(info, row, col);
+      TableCellStyle style = tableStyles[position];
+      if (style == null) {
+        style = resolver.resolve(info, position);
+        tableStyles[position] = style;
+      }
+      return style;
+    }
+    return null;
+  }
+
+  /**
+   * Returns the position flags of a cell inside {@code info}'s area.
+   *
+   * @param info table containing the cell
+   * @param row 0-based row index
+   * @param col 0-based column index
+   * @return position flags
+   */
+  static int position(TableRenderInfo info, int row, int col) {
+    int position = 0;
+    boolean isHeader = row >= info.headerFirstRow() && row <= info.headerLastRow();
+    if (isHeader) {
+      position |= HEADER;
+    } else {
+      int dataRow = row - info.headerLastRow() - 1;
+      int cycle = info.firstStripeSize() + info.secondStripeSize();
+      if ((dataRow % cycle) < info.firstStripeSize()) {
+        position |= FIRST_STRIPE;
+      }
+    }
+    if (row == info.area().getLastRow()) {
+      position |= LAST_ROW;
+    }
+    if (row == info.headerLastRow() + 1) {
+      position |= FIRST_DATA_ROW;
+    }
+    if (col == info.area().getFirstColumn()) {
+      position |= FIRST_COLUMN;
+    }
+    if (col == info.area().getLastColumn()) {
+      position |= LAST_COLUMN;
+    }
+    return position;
+  }
+}
@@ -50,6 +50,9 @@ import org.jspecify.annotations.Nullable;
  */
 public class PdfGenerateOptions {
 
+  /** The JPEG quality used when {@link Builder#jpegQuality(float)} is not called. */
+  public static final float DEFAULT_JPEG_QUALITY = 0.85f;
+
   private final List<Path> regularFontPaths;
 
   private final List<Path> boldFontPaths;
@@ -72,6 +75,21 @@ public class PdfGenerateOptions {
   @Nullable
   private final Locale dateLocale;
 
+  /**
+   * The maximum resolution of embedded images in dots per inch of the printed size.
+   * When {@code null}, images are embedded at their original resolution.
+   */
+  @Nullable
+  private final Integer maxImageDpi;
+
+  private final float jpegQuality;
+
+  /**
+   * The maximum bytes of encoded images kept in memory for later PDFs.
+   * When {@code 0}, encoded images are not kept.
+   */
+  private final long sharedImageCacheBytes;
+
   private PdfGenerateOptions(Builder builder) {
     this.useSystemFonts = builder.useSystemFonts;
     this.regularFontPaths = List.copyOf(builder.regularFontPaths);
@@ -80,6 +98,9 @@ public class PdfGenerateOptions {
     this.pdfPassword = builder.pdfPassword;
     this.pdfOwnerPassword = builder.pdfOwnerPassword;
     this.dateLocale = builder.dateLocale;
+    this.maxImageDpi = builder.maxImageDpi;
+    this.jpegQuality = builder.jpegQuality;
+    this.sharedImageCacheBytes = builder.sharedImageCacheBytes;
   }
 
   /**
@@ -155,6 +176,37 @@ public class PdfGenerateOptions {
     return dateLocale;
   }
 
+  /**
+   * Returns the maximum resolution of embedded images in dots per inch of their size on the
+   * page, or {@code null} if images are embedded at their original resolution.
+   *
+   * @return maximum image resolution, or {@code null}
+   */
+  @Nullable
+  public Integer getMaxImageDpi() {
+    return maxImageDpi;
+  }
+
+  /**
+   * Returns the quality, from {@code 0} (smallest) to {@code 1} (best), used to re-encode
+   * downsampled JPEG images.
+   *
+   * @return JPEG quality
+   */
+  public float getJpegQuality() {
+    return jpegQuality;
+  }
+
+  /**
+   * Returns the maximum bytes of encoded images kept in memory for later PDFs, or {@code 0} if
+   * encoded images are not kept.
+   *
+   * @return maximum bytes of the shared image cache
+   */
+  public long getSharedImageCacheBytes() {
+    return sharedImageCacheBytes;
+  }
+
   /**
    * Returns a new {@link Builder} configured to resolve the rendering font from the OS font
    * directories (see {@link #isUseSystemFonts()}). Fonts registered via {@link
@@ -206,6 +258,13 @@ public class PdfGenerateOptions {
     @Nullable
     private Locale dateLocale;
 
+    @Nullable
+    private Integer maxImageDpi;
+
+    private float jpegQuality = DEFAULT_JPEG_QUALITY;
+
+    private long sharedImageCacheBytes = 0;
+
     private Builder() {}
 
     /**
@@ -298,6 +357,71 @@ public class PdfGenerateOptions {
       return this;
     }
 
+    /**
+     * Sets the maximum resolution of embedded images, in dots per inch of their size on the page.
+     *
+     * <p>Pictures are often pasted into templates at a far higher resolution than their printed
+     * size needs (e.g. a 4000-pixel photo shown in a 3 cm box). When this is set, such images
+     * are downsampled to this resolution before they are embedded, which makes the PDF much
+     * smaller and faster to write. Images already at or below this resolution are embedded as
+     * they are. When not set, all images are embedded at their original resolution.</p>
+     *
+     * @param maxImageDpi maximum image resolution, greater than {@code 0}, or {@code null}
+     * @return this builder
+     */
+    public Builder maxImageDpi(@Nullable Integer maxImageDpi) {
+      if (maxImageDpi != null && maxImageDpi <= 0) {
+        throw new RuntimeException(
+            "maxImageDpi must be greater than 0. maxImageDpi: " + maxImageDpi);
+      }
+      this.maxImageDpi = maxImageDpi;
+      return this;
+    }
+
+    /**
+     * Sets the quality used to re-encode JPEG images downsampled by {@link #maxImageDpi(Integer)},
+     * from {@code 0} (smallest) to {@code 1} (best). Defaults to
+     * {@link PdfGenerateOptions#DEFAULT_JPEG_QUALITY}.
+     *
+     * <p>Only photographs stored as JPEG are affected. Other images (e.g. PNG logos and
+     * screenshots) stay lossless after downsampling, and images that are not downsampled are
+     * embedded unchanged.</p>
+     *
+     * @param jpegQuality JPEG quality, from {@code 0} to {@code 1}
+     * @return this builder
+     */
+    public Builder jpegQuality(float jpegQuality) {
+      if (!(jpegQuality >= 0f && jpegQuality <= 1f)) {
+        throw new RuntimeException(
+            "jpegQuality must be between 0 and 1. jpegQuality: " + jpegQuality);
+      }
+      this.jpegQuality = jpegQuality;
+      return this;
+    }
+
+    /**
+     * Sets the maximum bytes of encoded images kept in memory for later PDFs. Defaults to
+     * {@code 0}, which keeps none.
+     *
+     * <p>Images with the same content are always embedded only once per PDF. When this is set,
+     * their encoded data is also kept in a cache shared by all PDFs generated in this process,
+     * so that rendering the same template repeatedly (e.g. a logo on every invoice) skips
+     * decoding and encoding the images. When the total size of the kept images would exceed
+     * this value, the least recently used images are dropped.</p>
+     *
+     * @param sharedImageCacheBytes maximum bytes of the shared image cache, {@code 0} or greater
+     * @return this builder
+     */
+    public Builder sharedImageCacheBytes(long sharedImageCacheBytes) {
+      if (sharedImageCacheBytes < 0) {
+        throw new RuntimeException(
+            "sharedImageCacheBytes must be 0 or greater. sharedImageCacheBytes: "
+                + sharedImageCacheBytes);
+      }
+      this.sharedImageCacheBytes = sharedImageCacheBytes;
+      return this;
+    }
+
     /**
      * Builds a new {@link PdfGenerateOptions} instance.
      *
@@ -173,7 +173,8 @@ public class ExcelToPdfUtil {
 
       Locale dateLocale = options.getDateLocale() != null ? options.getDateLocale()
           : LocaleUtil.getFallbackLocale();
-      SheetRenderer renderer = new SheetRenderer(document, fontManager, excelPath, dateLocale, mdw);
+      SheetRenderer renderer = new SheetRenderer(document, fontManager, excelPath, dateLocale, mdw,
+          options.getMaxImageDpi(), options.getJpegQuality(), options.getSharedImageCacheBytes());
 
       for (String sheetName : sheetNames) {
         int sheetIndex = workbook.getSheetIndex(sheetName);
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CellRenderer")
+class CellRendererTest {
+
+  private static CellRenderer newRenderer(PDDocument doc) throws Exception {
+    Path font = Path.of(CellRendererTest.class
+        .getResource("/fonts/NotoSansJP/NotoSansJP-Regular.ttf").toURI());
+    var fontManager = new FontManager(doc, List.of(font), List.of());
+    return new CellRenderer(fontManager,
+        new CellValueFormatter(new DataFormatter(Locale.US), Locale.US));
+  }
+
+  @Nested
+  @DisplayName("wrapTextToLines")
+  class WrapTextToLines {
+
+    @Test
+    @DisplayName("1 文字で最大幅を超える → 空行を作らず 1 文字ずつの行になる")
+    void charWiderThanMaxWidth() throws Exception {
+      try (PDDocument doc = new PDDocument()) {
+        List<String> lines =
+            newRenderer(doc).wrapTextToLines("山田", "Noto Sans JP", false, 11f, 1f);
+
+        assertThat(lines).containsExactly("山", "田");
+      }
+    }
+
+    @Test
+    @DisplayName("サロゲートペアの文字で最大幅を超える → 空行を作らずペアが分割されない")
+    void surrogatePairWiderThanMaxWidth() throws Exception {
+      try (PDDocument doc = new PDDocument()) {
+        List<String> lines =
+            newRenderer(doc).wrapTextToLines("𠮷田", "Noto Sans JP", false, 11f, 1f);
+
+        assertThat(lines).containsExactly("𠮷", "田");
+      }
+    }
+
+    @Test
+    @DisplayName("サロゲートペアの途中で幅を超える → ペアの前で改行される")
+    void breakBeforeSurrogatePair() throws Exception {
+      try (PDDocument doc = new PDDocument()) {
+        CellRenderer renderer = newRenderer(doc);
+        // 1 em of 11pt is 11pt, so two full-width characters fit within 25pt but three do not.
+        List<String> lines = renderer.wrapTextToLines("山田𠮷郎", "Noto Sans JP", false,
+            11f, 25f);
+
+        assertThat(lines).containsExactly("山田", "𠮷郎");
+      }
+    }
+  }
+}
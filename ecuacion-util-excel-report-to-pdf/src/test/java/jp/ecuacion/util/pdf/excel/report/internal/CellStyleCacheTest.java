@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.awt.Color;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STHorizontalAlignment;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STVerticalAlignment;
+
+@DisplayName("CellStyleCache")
+class CellStyleCacheTest {
+
+  @Test
+  @DisplayName("same style index — resolved once and shared")
+  void sameInstance() throws Exception {
+    try (var wb = new XSSFWorkbook()) {
+      XSSFCellStyle style = wb.createCellStyle();
+      var cache = new CellStyleCache(wb);
+
+      assertThat(cache.get(style)).isSameAs(cache.get(style));
+      assertThat(cache.get(style)).isNotSameAs(cache.get(wb.getCellStyleAt(0)));
+    }
+  }
+
+  @Test
+  @DisplayName("style created after the cache — resolved as well")
+  void styleAddedLater() throws Exception {
+    try (var wb = new XSSFWorkbook()) {
+      var cache = new CellStyleCache(wb);
+      XSSFCellStyle style = null;
+      for (int i = 0; i < 10; i++) {
+        style = wb.createCellStyle();
+      }
+      style.setWrapText(true);
+
+      assertThat(cache.get(style).wrapText()).isTrue();
+    }
+  }
+
+  @Test
+  @DisplayName("font, fill and borders — resolved from the workbook")
+  void resolved() throws Exception {
+    try (var wb = new XSSFWorkbook()) {
+      var font = wb.createFont();
+      font.setBold(true);
+      font.setFontHeightInPoints((short) 14);
+      font.setColor(new XSSFColor(new byte[] {(byte) 200, 0, 0}, null));
+      XSSFCellStyle style = wb.createCellStyle();
+      style.setFont(font);
+      style.setFillForegroundColor(new XSSFColor(new byte[] {0, (byte) 128, 0}, null));
+      style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+      style.setBorderTop(BorderStyle.DASHED);
+      style.setTopBorderColor(new XSSFColor(new byte[] {0, 0, (byte) 255}, null));
+
+      var resolved = new CellStyleCache(wb).get(style);
+
+      assertThat(resolved.bold()).isTrue();
+      assertThat(resolved.fontHeightInPoints()).isEqualTo((short) 14);
+      assertThat(resolved.textColor()).isEqualTo(new Color(200, 0, 0));
+      assertThat(resolved.backgroundColor()).isEqualTo(new Color(0, 128, 0));
+      assertThat(resolved.borderTop()).isEqualTo(BorderStyle.DASHED);
+      assertThat(resolved.borderTopColor()).isEqualTo(Color.BLUE);
+      assertThat(resolved.borderBottom()).isEqualTo(BorderStyle.NONE);
+      assertThat(resolved.diagonalUp()).isFalse();
+    }
+  }
+
+  @Test
+  @DisplayName("applyAlignment absent — alignment read from the raw xf")
+  void rawAlignment() throws Exception {
+    try (var wb = new XSSFWorkbook()) {
+      XSSFCellStyle style = wb.createCellStyle();
+      var align = style.getCoreXf().addNewAlignment();
+      align.setHorizontal(STHorizontalAlignment.RIGHT);
+      align.setVertical(STVerticalAlignment.TOP);
+
+      var resolved = new CellStyleCache(wb).get(style);
+
+      assertThat(resolved.horizontalAlignment()).isEqualTo(HorizontalAlignment.RIGHT);
+      assertThat(resolved.verticalAlignment()).isEqualTo(VerticalAlignment.TOP);
+    }
+  }
+}
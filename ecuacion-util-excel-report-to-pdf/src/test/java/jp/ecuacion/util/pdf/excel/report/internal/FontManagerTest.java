@@ -355,5 +355,77 @@ class FontManagerTest {
         assertThat(width).isCloseTo(12f, within(0.01f));
       }
     }
+
+    @Test
+    @DisplayName("cached per-char widths — sum equals getStringWidth of the whole string")
+    void equalsStringWidthOfWholeString() throws Exception {
+      try (PDDocument doc = new PDDocument()) {
+        var fm = new FontManager(doc, List.of(regularFont()), List.of());
+        String text = "Hello, 世界! Wrap me";
+        for (int i = 0; i < 2; i++) {
+          float width = fm.getStringWidthWithFallback(text, false, 11f);
+          float units = 0f;
+          for (int cp : text.codePoints().toArray()) {
+            units += fm.getAdvanceWidth("", cp, false);
+          }
+          assertThat(width)
+              .isCloseTo(fm.getFont(false).getStringWidth(text) / 1000f * 11f, within(0.01f));
+          assertThat(units).isCloseTo(fm.getFont(false).getStringWidth(text), within(0.01f));
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("getAdvanceWidth, unencodable char — 1000 (1em), no exception")
+    void advanceWidthOfUnencodableChar() throws Exception {
+      try (PDDocument doc = new PDDocument()) {
+        var fm = new FontManager(doc, List.of(regularFont()), List.of());
+        assertThat(fm.getAdvanceWidth("", 0xE000, false)).isEqualTo(1000f);
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("CodePointCoverage")
+  class Coverage {
+
+    @Test
+    @DisplayName("NotoSansJP — coverage agrees with encoding for every BMP code point")
+    void agreesWithEncoding() throws Exception {
+      try (PDDocument doc = new PDDocument()) {
+        var font = new FontManager(doc, List.of(regularFont()), List.of()).getFont(false);
+        var coverage = Objects.requireNonNull(CodePointCoverage.of(font));
+
+        assertThat(coverage.size()).isGreaterThan(10000);
+        for (int cp = 0; cp <= 0xFFFF; cp++) {
+          if (Character.isSurrogate((char) cp)) {
+            continue;
+          }
+          boolean encodable;
+          try {
+            font.getStringWidth(new String(Character.toChars(cp)));
+            encodable = true;
+          } catch (Exception e) {
+            encodable = false;
+          }
+          assertThat(coverage.contains(cp)).as("U+%04X", cp).isEqualTo(encodable);
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("out-of-range code points — not covered")
+    void outOfRange() throws Exception {
+      try (PDDocument doc = new PDDocument()) {
+        var font = new FontManager(doc, List.of(regularFont()), List.of()).getFont(false);
+        var coverage = Objects.requireNonNull(CodePointCoverage.of(font));
+
+        assertThat(coverage.contains('A')).isTrue();
+        assertThat(coverage.contains('\u3042')).isTrue();
+        assertThat(coverage.contains(-1)).isFalse();
+        assertThat(coverage.contains(Character.MAX_CODE_POINT + 1)).isFalse();
+        assertThat(coverage.contains(0x10FFFD)).isFalse();
+      }
+    }
   }
 }
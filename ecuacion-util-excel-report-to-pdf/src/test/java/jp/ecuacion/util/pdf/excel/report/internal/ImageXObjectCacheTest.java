@@ -0,0 +1,222 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.imageio.ImageIO;
+import jp.ecuacion.util.pdf.excel.report.options.PdfGenerateOptions;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFPictureData;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ImageXObjectCache")
+class ImageXObjectCacheTest {
+
+  @AfterEach
+  void tearDown() {
+    ImageXObjectCache.clearSharedCache();
+  }
+
+  private static ImageXObjectCache newCache(PDDocument doc) {
+    return newCache(doc, 0);
+  }
+
+  private static ImageXObjectCache newCache(PDDocument doc, long sharedCacheMaxBytes) {
+    return new ImageXObjectCache(doc, null, PdfGenerateOptions.DEFAULT_JPEG_QUALITY,
+        sharedCacheMaxBytes);
+  }
+
+  private static byte[] image(String format, boolean alpha) throws IOException {
+    return image(format, alpha, 40, 30);
+  }
+
+  private static byte[] image(String format, boolean alpha, int width, int height)
+      throws IOException {
+    var bi = new BufferedImage(width, height,
+        alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+    var g = bi.createGraphics();
+    g.setColor(new Color(200, 40, 40, alpha ? 128 : 255));
+    g.fillRect(5, 5, 20, 10);
+    g.dispose();
+    var out = new ByteArrayOutputStream();
+    ImageIO.write(bi, format, out);
+    return out.toByteArray();
+  }
+
+  private static XSSFPictureData picture(XSSFWorkbook wb, byte[] bytes, int type) {
+    return wb.getAllPictures().get(wb.addPicture(bytes, type));
+  }
+
+  private static byte[] rawData(PDImageXObject image) throws IOException {
+    try (InputStream in = image.getCOSObject().createRawInputStream()) {
+      return in.readAllBytes();
+    }
+  }
+
+  @Test
+  @DisplayName("same picture content — one XObject per document")
+  void samePictureSameXObject() throws Exception {
+    byte[] png = image("png", false);
+    try (var wb = new XSSFWorkbook(); var doc = new PDDocument()) {
+      var first = picture(wb, png, Workbook.PICTURE_TYPE_PNG);
+      var other = picture(wb, image("png", true), Workbook.PICTURE_TYPE_PNG);
+      var cache = newCache(doc);
+
+      PDImageXObject image = cache.get(first, 30f, 30f);
+
+      assertThat(image).isNotNull();
+      assertThat(cache.get(first, 30f, 30f)).isSameAs(image);
+      assertThat(cache.get(other, 30f, 30f)).isNotNull().isNotSameAs(image);
+    }
+  }
+
+  @Test
+  @DisplayName("undecodable picture — null, also on later calls")
+  void undecodable() throws Exception {
+    try (var wb = new XSSFWorkbook(); var doc = new PDDocument()) {
+      var broken = picture(wb, new byte[] {1, 2, 3, 4}, Workbook.PICTURE_TYPE_PNG);
+      var cache = newCache(doc);
+
+      assertThat(cache.get(broken, 30f, 30f)).isNull();
+      assertThat(cache.get(broken, 30f, 30f)).isNull();
+    }
+  }
+
+  @Test
+  @DisplayName("shared cache enabled — another document reuses the encoded streams")
+  void sharedCache() throws Exception {
+    byte[] png = image("png", true);
+    byte[] jpeg = image("jpg", false);
+    try (var wb = new XSSFWorkbook(); var doc1 = new PDDocument();
+        var doc2 = new PDDocument()) {
+      var pngData = picture(wb, png, Workbook.PICTURE_TYPE_PNG);
+      var jpegData = picture(wb, jpeg, Workbook.PICTURE_TYPE_JPEG);
+
+      PDImageXObject png1 = newCache(doc1, 1 << 20).get(pngData, 30f, 30f);
+      PDImageXObject jpeg1 = newCache(doc1, 1 << 20).get(jpegData, 30f, 30f);
+      assertThat(ImageXObjectCache.getSharedCacheHitCount()).isZero();
+
+      PDImageXObject png2 = newCache(doc2, 1 << 20).get(pngData, 30f, 30f);
+      PDImageXObject jpeg2 = newCache(doc2, 1 << 20).get(jpegData, 30f, 30f);
+
+      assertThat(ImageXObjectCache.getSharedCacheHitCount()).isEqualTo(2);
+      assertThat(png2.getCOSObject()).isNotSameAs(png1.getCOSObject());
+      assertThat(rawData(png2)).isEqualTo(rawData(png1));
+      assertThat(png2.getSoftMask()).isNotNull();
+      assertThat(rawData(png2.getSoftMask())).isEqualTo(rawData(png1.getSoftMask()));
+      assertThat(png2.getImage().getRGB(10, 10)).isEqualTo(png1.getImage().getRGB(10, 10));
+      assertThat(rawData(jpeg2)).isEqualTo(rawData(jpeg1)).isEqualTo(jpeg);
+      assertThat(jpeg2.getWidth()).isEqualTo(40);
+    }
+  }
+
+  @Test
+  @DisplayName("shared cache disabled — nothing kept for another document")
+  void sharedCacheDisabled() throws Exception {
+    byte[] jpeg = image("jpg", false);
+    try (var wb = new XSSFWorkbook(); var doc1 = new PDDocument();
+        var doc2 = new PDDocument()) {
+      var jpegData = picture(wb, jpeg, Workbook.PICTURE_TYPE_JPEG);
+
+      newCache(doc1).get(jpegData, 30f, 30f);
+      newCache(doc2).get(jpegData, 30f, 30f);
+
+      assertThat(ImageXObjectCache.getSharedCacheBytes()).isZero();
+      assertThat(ImageXObjectCache.getSharedCacheHitCount()).isZero();
+    }
+  }
+
+  @Test
+  @DisplayName("shared cache bounded by bytes — least recently used images evicted")
+  void sharedCacheBoundedByBytes() throws Exception {
+    byte[] jpeg1 = image("jpg", false, 40, 30);
+    byte[] jpeg2 = image("jpg", false, 41, 30);
+    byte[] jpeg3 = image("jpg", false, 42, 30);
+    // Unscaled JPEGs are embedded as they are, so their encoded size is the file size.
+    long maxBytes = jpeg2.length + jpeg3.length;
+    try (var wb = new XSSFWorkbook(); var doc1 = new PDDocument();
+        var doc2 = new PDDocument()) {
+      var data1 = picture(wb, jpeg1, Workbook.PICTURE_TYPE_JPEG);
+      var data2 = picture(wb, jpeg2, Workbook.PICTURE_TYPE_JPEG);
+      var data3 = picture(wb, jpeg3, Workbook.PICTURE_TYPE_JPEG);
+      var cache1 = newCache(doc1, maxBytes);
+      cache1.get(data1, 30f, 30f);
+      cache1.get(data2, 30f, 30f);
+      cache1.get(data3, 30f, 30f);
+
+      assertThat(ImageXObjectCache.getSharedCacheBytes()).isEqualTo(maxBytes);
+
+      var cache2 = newCache(doc2, maxBytes);
+      cache2.get(data2, 30f, 30f);
+      cache2.get(data3, 30f, 30f);
+      assertThat(ImageXObjectCache.getSharedCacheHitCount()).isEqualTo(2);
+      cache2.get(data1, 30f, 30f);
+      assertThat(ImageXObjectCache.getSharedCacheHitCount()).isEqualTo(2);
+      assertThat(ImageXObjectCache.getSharedCacheBytes()).isLessThanOrEqualTo(maxBytes);
+    }
+  }
+
+  @Test
+  @DisplayName("maxImageDpi set — oversized pictures downsampled to the size on the page")
+  void downsampled() throws Exception {
+    byte[] jpeg = image("jpg", false, 2400, 1600);
+    byte[] png = image("png", true, 2400, 1600);
+    try (var wb = new XSSFWorkbook(); var doc = new PDDocument()) {
+      var jpegData = picture(wb, jpeg, Workbook.PICTURE_TYPE_JPEG);
+      var pngData = picture(wb, png, Workbook.PICTURE_TYPE_PNG);
+      var cache = new ImageXObjectCache(doc, 150, 0.5f, 0);
+
+      // 72pt x 48pt = 1in x 2/3in, i.e. 150 x 100 pixels at 150 DPI.
+      PDImageXObject jpegImage = cache.get(jpegData, 72f, 48f);
+      PDImageXObject pngImage = cache.get(pngData, 72f, 48f);
+
+      assertThat(jpegImage.getWidth()).isEqualTo(150);
+      assertThat(jpegImage.getHeight()).isEqualTo(100);
+      assertThat(jpegImage.getSuffix()).isEqualTo("jpg");
+      assertThat(pngImage.getWidth()).isEqualTo(150);
+      assertThat(pngImage.getHeight()).isEqualTo(100);
+      assertThat(pngImage.getSuffix()).isEqualTo("png");
+      assertThat(pngImage.getSoftMask()).isNotNull();
+      assertThat(cache.get(jpegData, 72f, 48f)).isSameAs(jpegImage);
+      assertThat(cache.get(jpegData, 144f, 96f).getWidth()).isEqualTo(300);
+    }
+  }
+
+  @Test
+  @DisplayName("maxImageDpi set — pictures within the resolution embedded unchanged")
+  void notDownsampled() throws Exception {
+    byte[] jpeg = image("jpg", false, 100, 50);
+    try (var wb = new XSSFWorkbook(); var doc = new PDDocument()) {
+      var jpegData = picture(wb, jpeg, Workbook.PICTURE_TYPE_JPEG);
+      var cache = new ImageXObjectCache(doc, 150, 0.5f, 0);
+
+      PDImageXObject image = cache.get(jpegData, 72f, 48f);
+
+      assertThat(image.getWidth()).isEqualTo(100);
+      assertThat(rawData(image)).isEqualTo(jpeg);
+    }
+  }
+}
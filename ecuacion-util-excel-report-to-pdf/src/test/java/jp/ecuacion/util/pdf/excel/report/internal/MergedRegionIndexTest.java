@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.List;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MergedRegionIndex")
+class MergedRegionIndexTest {
+
+  @Test
+  @DisplayName("cells inside a region — the region; cells outside any region — null")
+  void lookup() {
+    var a = new CellRangeAddress(1, 3, 1, 2);
+    var b = new CellRangeAddress(2, 2, 4, 6);
+    var c = new CellRangeAddress(10, 10, 0, 0);
+    var index = MergedRegionIndex.of(List.of(b, c, a));
+
+    assertThat(index.get(1, 1)).isSameAs(a);
+    assertThat(index.get(3, 2)).isSameAs(a);
+    assertThat(index.get(2, 4)).isSameAs(b);
+    assertThat(index.get(2, 6)).isSameAs(b);
+    assertThat(index.get(10, 0)).isSameAs(c);
+
+    assertThat(index.get(0, 1)).isNull();
+    assertThat(index.get(2, 0)).isNull();
+    assertThat(index.get(2, 3)).isNull();
+    assertThat(index.get(2, 7)).isNull();
+    assertThat(index.get(4, 1)).isNull();
+    assertThat(index.contains(2, 5)).isTrue();
+    assertThat(index.contains(9, 0)).isFalse();
+  }
+
+  @Test
+  @DisplayName("regions spanning the whole sheet — found in every row, with short regions between")
+  void tallRegions() {
+    var tall = new CellRangeAddress(0, 1_048_575, 0, 1);
+    var right = new CellRangeAddress(5, 1_000_000, 3, 3);
+    var shortOne = new CellRangeAddress(7, 8, 2, 2);
+    var index = MergedRegionIndex.of(List.of(shortOne, right, tall));
+
+    assertThat(index.get(0, 1)).isSameAs(tall);
+    assertThat(index.get(1_048_575, 0)).isSameAs(tall);
+    assertThat(index.get(500_000, 3)).isSameAs(right);
+    assertThat(index.get(8, 2)).isSameAs(shortOne);
+    assertThat(index.get(8, 1)).isSameAs(tall);
+    assertThat(index.get(8, 3)).isSameAs(right);
+
+    assertThat(index.get(9, 2)).isNull();
+    assertThat(index.get(4, 3)).isNull();
+    assertThat(index.get(1_000_001, 3)).isNull();
+    assertThat(index.get(1_048_576, 0)).isNull();
+  }
+
+  @Test
+  @DisplayName("overlapping regions with the same first column — the later one in the list wins")
+  void overlappingRegions() {
+    var first = new CellRangeAddress(0, 5, 0, 3);
+    var second = new CellRangeAddress(2, 3, 0, 1);
+    var index = MergedRegionIndex.of(List.of(first, second));
+
+    assertThat(index.get(1, 2)).isSameAs(first);
+    assertThat(index.get(2, 1)).isSameAs(second);
+    assertThat(index.get(2, 2)).isNull();
+    assertThat(index.get(4, 2)).isSameAs(first);
+  }
+
+  @Test
+  @DisplayName("no merged regions — every lookup returns null")
+  void empty() {
+    var index = MergedRegionIndex.of(List.of());
+
+    assertThat(index.get(0, 0)).isNull();
+    assertThat(index.contains(5, 5)).isFalse();
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCol;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCols;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTSheetFormatPr;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorksheet;
+
+@DisplayName("SheetRenderer")
+class SheetRendererTest {
+
+  private static final float PX_TO_PT = 72f / 96f;
+
+  private static void addCol(CTCols cols, long min, long max, double width, boolean custom) {
+    CTCol col = cols.addNewCol();
+    col.setMin(min);
+    col.setMax(max);
+    col.setWidth(width);
+    col.setCustomWidth(custom);
+  }
+
+  /**
+   * Creates a sheet whose {@code <col>} definitions overlap and are split into two
+   * {@code <cols>} blocks, which POI does not normalize when they are added after the sheet
+   * has been created.
+   */
+  private static XSSFSheet createSheetWithOverlappingCols(XSSFWorkbook wb) {
+    XSSFSheet sheet = createSheetWithOverlappingColsWithoutDefaultWidth(wb);
+    CTWorksheet ws = sheet.getCTWorksheet();
+    (ws.isSetSheetFormatPr() ? ws.getSheetFormatPr() : ws.addNewSheetFormatPr())
+        .setDefaultColWidth(9.0);
+    return sheet;
+  }
+
+  /**
+   * Creates the same sheet as {@link #createSheetWithOverlappingCols(XSSFWorkbook)} without the
+   * {@code defaultColWidth} attribute, which is common in files saved by Excel.
+   */
+  private static XSSFSheet createSheetWithOverlappingColsWithoutDefaultWidth(XSSFWorkbook wb) {
+    XSSFSheet sheet = wb.createSheet("Sheet1");
+    CTWorksheet ws = sheet.getCTWorksheet();
+    while (ws.sizeOfColsArray() > 0) {
+      ws.removeCols(0);
+    }
+    CTCols first = ws.addNewCols();
+    addCol(first, 1, 3, 10.5, true);
+    // overlaps columns 2-3 of the previous definition
+    addCol(first, 2, 4, 20.25, true);
+    addCol(first, 6, 6, 3.0, false);
+    CTCols second = ws.addNewCols();
+    // overlaps column 4 of the first block and makes column 6 custom, while its width is
+    // still read from the first block
+    addCol(second, 4, 6, 30.0, true);
+    addCol(second, 8, 8, 15.0, true);
+    CTSheetFormatPr pr = ws.isSetSheetFormatPr() ? ws.getSheetFormatPr() : ws.addNewSheetFormatPr();
+    if (pr.isSetDefaultColWidth()) {
+      pr.unsetDefaultColWidth();
+    }
+    pr.setBaseColWidth(10);
+    return sheet;
+  }
+
+  @Nested
+  @DisplayName("getColumnNaturalWidthsInPt")
+  class GetColumnNaturalWidthsInPt {
+
+    @Test
+    @DisplayName("重なる <col> と複数の <cols> → 列ごとの XSSFSheet.getColumnWidth と同じ幅")
+    void overlappingColsWithMdw() throws Exception {
+      int mdw = 7;
+      try (XSSFWorkbook wb = new XSSFWorkbook()) {
+        XSSFSheet sheet = createSheetWithOverlappingCols(wb);
+
+        float[] widths = SheetRenderer.getColumnNaturalWidthsInPt(sheet, 0, 8, mdw);
+
+        for (int c : new int[] {0, 1, 2, 3, 4, 5, 7}) {
+          int px = (int) (((sheet.getColumnWidth(c) + 128 / mdw) / 256.0) * mdw);
+          assertThat(widths[c]).as("column %d", c).isEqualTo(px * PX_TO_PT);
+        }
+        // No custom width: defaultColWidth of the sheet is used.
+        int defaultPx = (int) (((9.0 * 256 + 128 / mdw) / 256.0) * mdw);
+        assertThat(widths[6]).isEqualTo(defaultPx * PX_TO_PT);
+      }
+    }
+
+    @Test
+    @DisplayName("mdw = 0 → 列ごとの XSSFSheet.getColumnWidthInPixels と同じ幅")
+    void overlappingColsWithoutMdw() throws Exception {
+      try (XSSFWorkbook wb = new XSSFWorkbook()) {
+        XSSFSheet sheet = createSheetWithOverlappingCols(wb);
+
+        float[] widths = SheetRenderer.getColumnNaturalWidthsInPt(sheet, 2, 7, 0);
+
+        for (int c : new int[] {2, 3, 4, 5, 7}) {
+          assertThat(widths[c - 2]).as("column %d", c)
+              .isEqualTo(sheet.getColumnWidthInPixels(c) * PX_TO_PT);
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("defaultColWidth なし → カスタム幅でない列は XSSFSheet.getColumnWidthInPixels と同じ幅")
+    void withoutDefaultColWidth() throws Exception {
+      int mdw = 7;
+      try (XSSFWorkbook wb = new XSSFWorkbook()) {
+        XSSFSheet sheet = createSheetWithOverlappingColsWithoutDefaultWidth(wb);
+
+        float[] widths = SheetRenderer.getColumnNaturalWidthsInPt(sheet, 0, 9, mdw);
+        float[] widthsWithoutMdw = SheetRenderer.getColumnNaturalWidthsInPt(sheet, 0, 9, 0);
+
+        for (int c : new int[] {6, 8, 9}) {
+          float expected = sheet.getColumnWidthInPixels(c) * PX_TO_PT;
+          assertThat(widths[c]).as("column %d", c).isEqualTo(expected);
+          assertThat(widthsWithoutMdw[c]).as("column %d", c).isEqualTo(expected);
+        }
+        for (int c : new int[] {0, 1, 2, 3, 4, 5, 7}) {
+          int px = (int) (((sheet.getColumnWidth(c) + 128 / mdw) / 256.0) * mdw);
+          assertThat(widths[c]).as("column %d", c).isEqualTo(px * PX_TO_PT);
+          assertThat(widthsWithoutMdw[c]).as("column %d", c)
+              .isEqualTo(sheet.getColumnWidthInPixels(c) * PX_TO_PT);
+        }
+      }
+    }
+  }
+}
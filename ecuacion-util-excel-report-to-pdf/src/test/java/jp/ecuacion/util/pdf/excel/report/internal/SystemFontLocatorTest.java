@@ -16,9 +16,16 @@
 package jp.ecuacion.util.pdf.excel.report.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.fontbox.ttf.TrueTypeFont;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -37,6 +44,16 @@ class SystemFontLocatorTest {
     return Path.of(url.toURI());
   }
 
+  private static int getRegularStyleScore(Path fontFile, String fontName) throws IOException {
+    TrueTypeFont ttf = SystemFontLocator.loadTrueTypeFont(fontFile, fontName);
+    assertThat(ttf).isNotNull();
+    try {
+      return SystemFontLocator.getRegularStyleScore(ttf.getNaming());
+    } finally {
+      ttf.close();
+    }
+  }
+
   @Nested
   @DisplayName("computeMdw")
   class ComputeMdw {
@@ -158,7 +175,7 @@ class SystemFontLocatorTest {
 
     @Test
     @DisplayName("游ゴシック search returns Medium over Light and Regular (Word/Excel install)")
-    void prefersYuGothicMediumOverLight() {
+    void prefersYuGothicMediumOverLight() throws IOException {
       var result = SystemFontLocator.findFontFile("游ゴシック");
       org.junit.jupiter.api.Assumptions.assumeTrue(result.isPresent(),
           "游ゴシック not found — skipping weight-preference test");
@@ -167,7 +184,7 @@ class SystemFontLocatorTest {
       // Light (score=3).  Excel ships only YuGothR (Regular) in its DFonts, while Word
       // ships YuGothM (Medium) as well.  The cross-directory ranking must pick Medium
       // over Regular so that our PDF matches the heavier weight Excel uses via CoreText.
-      int score = SystemFontLocator.getRegularStyleScore(result.get(), "游ゴシック");
+      int score = getRegularStyleScore(result.get(), "游ゴシック");
       assertThat(score)
           .as("游ゴシック should resolve to Medium (score=0), not Regular (1) or Light (3)")
           .isEqualTo(0);
@@ -180,23 +197,166 @@ class SystemFontLocatorTest {
 
     @Test
     @DisplayName("NotoSansJP Regular → score 1")
-    void regularFontReturnsScore1() throws URISyntaxException {
+    void regularFontReturnsScore1() throws Exception {
       Path fontPath = notoSansJpRegularPath();
 
-      int score = SystemFontLocator.getRegularStyleScore(fontPath, "Noto Sans JP");
+      int score = getRegularStyleScore(fontPath, "Noto Sans JP");
 
       assertThat(score).isEqualTo(1);
     }
 
     @Test
     @DisplayName("NotoSansJP Bold → score 10 (bold heavily penalised)")
-    void boldFontReturnsScore10() throws URISyntaxException {
+    void boldFontReturnsScore10() throws Exception {
       var url = SystemFontLocatorTest.class.getResource("/fonts/NotoSansJP/NotoSansJP-Bold.ttf");
       Path fontPath = Path.of(url.toURI());
 
-      int score = SystemFontLocator.getRegularStyleScore(fontPath, "Noto Sans JP Bold");
+      int score = getRegularStyleScore(fontPath, "Noto Sans JP Bold");
 
       assertThat(score).isEqualTo(10);
     }
   }
+
+  @Nested
+  @DisplayName("SystemFontIndex")
+  class FontIndex {
+
+    private Path createFontDirectory(Path tempDir) throws Exception {
+      Path fontDir = tempDir.resolve("fonts");
+      Files.createDirectories(fontDir.resolve("noto"));
+      Files.copy(notoSansJpRegularPath(), fontDir.resolve("noto").resolve("Regular.ttf"));
+      var url = SystemFontLocatorTest.class.getResource("/fonts/NotoSansJP/NotoSansJP-Bold.ttf");
+      Files.copy(Path.of(url.toURI()), fontDir.resolve("noto").resolve("Bold.ttf"));
+      return fontDir;
+    }
+
+    @Test
+    @DisplayName("regular / bold の名前がそれぞれのファイルに解決される")
+    void findsRegularAndBold(@TempDir Path tempDir) throws Exception {
+      Path fontDir = createFontDirectory(tempDir);
+
+      SystemFontIndex index = SystemFontIndex.build(List.of(fontDir, tempDir.resolve("none")));
+
+      assertThat(index.size()).isEqualTo(2);
+      assertThat(index.find("Noto Sans JP"))
+          .hasValue(fontDir.resolve("noto").resolve("Regular.ttf"));
+      assertThat(index.find("Noto Sans JP Bold"))
+          .hasValue(fontDir.resolve("noto").resolve("Bold.ttf"));
+      assertThat(index.find("__NonExistentFontXyz123__")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("保存した index → ディレクトリに変更がなければ読み込まれ、フォント追加で再構築される")
+    void savedIndexIsReusedUntilDirectoryChanges(@TempDir Path tempDir) throws Exception {
+      Path fontDir = createFontDirectory(tempDir);
+      Path indexFile = tempDir.resolve("index.bin");
+      List<Path> dirs = List.of(fontDir);
+
+      SystemFontLocator.loadOrBuildFontIndex(dirs, indexFile);
+      SystemFontIndex loaded = SystemFontIndex.load(indexFile);
+
+      assertThat(loaded).isNotNull();
+      assertThat(loaded.isUpToDate(dirs)).isTrue();
+      assertThat(loaded.find("Noto Sans JP"))
+          .hasValue(fontDir.resolve("noto").resolve("Regular.ttf"));
+      assertThat(loaded.isUpToDate(List.of(fontDir, tempDir))).isFalse();
+
+      Path noto = fontDir.resolve("noto");
+      Files.delete(noto.resolve("Bold.ttf"));
+      Files.setLastModifiedTime(noto, FileTime.fromMillis(
+          Files.getLastModifiedTime(noto).toMillis() + 2000));
+
+      assertThat(loaded.isUpToDate(dirs)).isFalse();
+      SystemFontIndex rebuilt = SystemFontLocator.loadOrBuildFontIndex(dirs, indexFile);
+      assertThat(rebuilt.size()).isEqualTo(1);
+      assertThat(rebuilt.find("Noto Sans JP Bold")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("複数ディレクトリの多数のファイル → 並列に読み込まれ、同点ならスキャン順で先のファイルが選ばれる")
+    void manyFilesInMultipleDirectories(@TempDir Path tempDir) throws Exception {
+      Path first = tempDir.resolve("first");
+      Path second = tempDir.resolve("second");
+      for (Path dir : List.of(first, second)) {
+        for (int i = 0; i < 10; i++) {
+          Path sub = Files.createDirectories(dir.resolve("sub" + i));
+          Files.copy(notoSansJpRegularPath(), sub.resolve("Regular.ttf"));
+        }
+      }
+      Files.write(first.resolve("broken.ttf"), new byte[] {0, 1, 0, 0});
+
+      SystemFontIndex index = SystemFontIndex.build(List.of(first, second));
+
+      assertThat(index.size()).isEqualTo(20);
+      assertThat(index.find("Noto Sans JP").orElseThrow()).startsWith(first);
+    }
+
+    @Test
+    @DisplayName("ルートディレクトリ外のパスを含む index ファイル → null")
+    void pathOutsideRoots(@TempDir Path tempDir) throws Exception {
+      Path fontDir = createFontDirectory(tempDir);
+      Path indexFile = tempDir.resolve("index.bin");
+      SystemFontIndex.build(List.of(fontDir)).save(indexFile);
+      assertThat(SystemFontIndex.load(indexFile)).isNotNull();
+
+      // Replaces only the root, which is stored first, with a sibling of the same length.
+      byte[] bytes = Files.readAllBytes(indexFile);
+      byte[] root = fontDir.toString().getBytes(StandardCharsets.UTF_8);
+      byte[] sibling = tempDir.resolve("fontz").toString().getBytes(StandardCharsets.UTF_8);
+      int pos = indexOf(bytes, root);
+      System.arraycopy(sibling, 0, bytes, pos, sibling.length);
+      Files.write(indexFile, bytes);
+
+      assertThat(SystemFontIndex.load(indexFile)).isNull();
+    }
+
+    private int indexOf(byte[] bytes, byte[] target) {
+      for (int i = 0; i + target.length <= bytes.length; i++) {
+        if (Arrays.equals(bytes, i, i + target.length, target, 0, target.length)) {
+          return i;
+        }
+      }
+      throw new AssertionError("not found");
+    }
+
+    @Test
+    @DisplayName("index ファイルの既定の場所 → user.home 配下")
+    void defaultIndexFileIsInUserHome() {
+      assumeTrue(System.getProperty(SystemFontLocator.FONT_INDEX_FILE_PROPERTY) == null);
+
+      Path indexFile = SystemFontLocator.getFontIndexFile();
+
+      assertThat(indexFile).isNotNull();
+      assertThat(indexFile.startsWith(Path.of(System.getProperty("user.home")))).isTrue();
+    }
+
+    @Test
+    @DisplayName("TTC 内のフォント選択 → index と同じ規則で名前が照合される")
+    void sameMatchingRuleAsIndex() throws Exception {
+      var url = SystemFontLocatorTest.class.getResource("/fonts/NotoSansJP/NotoSansJP-Bold.ttf");
+      TrueTypeFont bold = SystemFontLocator.loadTrueTypeFont(Path.of(url.toURI()), "Noto Sans JP");
+      assertThat(bold).isNotNull();
+      try {
+        SystemFontIndex.FaceEntry face = SystemFontIndex.readFace(bold);
+
+        assertThat(SystemFontIndex.match(face, "Noto Sans JP Bold"))
+            .isEqualTo(SystemFontIndex.NameMatchType.EXACT);
+        assertThat(SystemFontIndex.match(face, "Noto Sans Bold"))
+            .isEqualTo(SystemFontIndex.NameMatchType.BROAD);
+        assertThat(SystemFontIndex.match(face, "Noto Sans JP"))
+            .isEqualTo(SystemFontIndex.NameMatchType.NONE);
+      } finally {
+        bold.close();
+      }
+    }
+
+    @Test
+    @DisplayName("壊れた index ファイル → null")
+    void brokenIndexFile(@TempDir Path tempDir) throws Exception {
+      Path indexFile = tempDir.resolve("index.bin");
+      Files.write(indexFile, new byte[] {1, 2, 3});
+
+      assertThat(SystemFontIndex.load(indexFile)).isNull();
+    }
+  }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.pdf.excel.report.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TableStyleIndex")
+class TableStyleIndexTest {
+
+  private static TableRenderInfo table(int firstRow, int lastRow, int firstCol, int lastCol) {
+    return new TableRenderInfo(new CellRangeAddress(firstRow, lastRow, firstCol, lastCol),
+        firstRow, firstRow, true, false, false, null, null, null, null, null, null, 1, 1);
+  }
+
+  private static TableCellStyle newStyle() {
+    return new TableCellStyle(null, null, null, null, null, null, null, null, null, null, false);
+  }
+
+  @Test
+  @DisplayName("cells inside a table — resolved with that table; cells outside — null")
+  void lookup() {
+    var a = table(1, 5, 1, 3);
+    var b = table(3, 8, 5, 6);
+    List<TableRenderInfo> resolved = new ArrayList<>();
+    var index = TableStyleIndex.of((info, position) -> {
+      resolved.add(info);
+      return newStyle();
+    }, List.of(a, b));
+
+    assertThat(index.get(1, 1)).isNotNull();
+    assertThat(index.get(4, 6)).isNotNull();
+    assertThat(resolved).containsExactly(a, b);
+
+    assertThat(index.get(0, 1)).isNull();
+    assertThat(index.get(2, 5)).isNull();
+    assertThat(index.get(4, 4)).isNull();
+    assertThat(index.get(6, 2)).isNull();
+    assertThat(index.get(9, 5)).isNull();
+  }
+
+  @Test
+  @DisplayName("cells with the same position flags — resolved once and shared")
+  void sharedByPosition() {
+    var t = table(0, 10, 0, 4);
+    List<Integer> positions = new ArrayList<>();
+    var index = TableStyleIndex.of((info, position) -> {
+      positions.add(position);
+      return newStyle();
+    }, List.of(t));
+
+    // Rows 3 and 5 are both in the first stripe; columns 1 and 2 are inner columns.
+    assertThat(index.get(3, 1)).isSameAs(index.get(5, 2));
+    assertThat(index.get(3, 1)).isNotSameAs(index.get(4, 1));
+    assertThat(positions).containsExactly(TableStyleIndex.FIRST_STRIPE, 0);
+
+    assertThat(TableStyleIndex.position(t, 0, 0))
+        .isEqualTo(TableStyleIndex.HEADER | TableStyleIndex.FIRST_COLUMN);
+    assertThat(TableStyleIndex.position(t, 1, 4)).isEqualTo(TableStyleIndex.FIRST_DATA_ROW
+        | TableStyleIndex.FIRST_STRIPE | TableStyleIndex.LAST_COLUMN);
+    assertThat(TableStyleIndex.position(t, 10, 2)).isEqualTo(TableStyleIndex.LAST_ROW);
+  }
+}
@@ -16,6 +16,7 @@
 package jp.ecuacion.util.pdf.excel.report.options;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import org.junit.jupiter.api.DisplayName;
@@ -119,4 +120,46 @@ public class PdfGenerateOptionsTest {
       assertThat(opts.getRegularFontPaths()).isEmpty();
     }
   }
+
+  @Nested
+  @DisplayName("Builder: maxImageDpi / jpegQuality / sharedImageCacheBytes")
+  class ImageSettings {
+
+    @Test
+    @DisplayName("not set → no maxImageDpi, default jpegQuality, no shared images")
+    void defaults() {
+      PdfGenerateOptions opts = PdfGenerateOptions.builderForSystemFonts().build();
+
+      assertThat(opts.getMaxImageDpi()).isNull();
+      assertThat(opts.getJpegQuality()).isEqualTo(PdfGenerateOptions.DEFAULT_JPEG_QUALITY);
+      assertThat(opts.getSharedImageCacheBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("image settings are stored and returned by the getters")
+    void stored() {
+      PdfGenerateOptions opts = PdfGenerateOptions.builderForSystemFonts()
+          .maxImageDpi(150)
+          .jpegQuality(0.6f)
+          .sharedImageCacheBytes(1_000_000L)
+          .build();
+
+      assertThat(opts.getMaxImageDpi()).isEqualTo(150);
+      assertThat(opts.getJpegQuality()).isEqualTo(0.6f);
+      assertThat(opts.getSharedImageCacheBytes()).isEqualTo(1_000_000L);
+    }
+
+    @Test
+    @DisplayName("out-of-range image settings → RuntimeException")
+    void invalid() {
+      var builder = PdfGenerateOptions.builderForSystemFonts();
+
+      assertThatThrownBy(() -> builder.maxImageDpi(0)).isInstanceOf(RuntimeException.class);
+      assertThatThrownBy(() -> builder.jpegQuality(1.5f)).isInstanceOf(RuntimeException.class);
+      assertThatThrownBy(() -> builder.jpegQuality(Float.NaN))
+          .isInstanceOf(RuntimeException.class);
+      assertThatThrownBy(() -> builder.sharedImageCacheBytes(-1))
+          .isInstanceOf(RuntimeException.class);
+    }
+  }
 }
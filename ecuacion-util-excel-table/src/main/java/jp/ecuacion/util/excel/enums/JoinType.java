@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.enums;
+
+/**
+ * Has the kinds of joins between two tables.
+ */
+public enum JoinType {
+
+  /**
+   * means that only the rows with a matching key in the other table are returned.
+   */
+  INNER,
+
+  /**
+   * means that all the rows are returned,
+   *     with {@code null} as the matching row when the key is not found in the other table.
+   */
+  LEFT;
+}
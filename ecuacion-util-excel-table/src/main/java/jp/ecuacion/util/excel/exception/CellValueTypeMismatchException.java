@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.exception;
+
+/**
+ * Thrown when the value of a cell cannot be read as the type the caller expects,
+ *     e.g. a text which is not a number in a column read as numbers.
+ */
+public class CellValueTypeMismatchException extends ExcelTableException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs an instance.
+   *
+   * @param sheetName the sheet name
+   * @param cellAddress the address of the cell, e.g. {@code "A1"}
+   * @param expectedType the name of the expected type, e.g. {@code "number"}
+   */
+  public CellValueTypeMismatchException(String sheetName, String cellAddress,
+      String expectedType) {
+    super("jp.ecuacion.util.excel.reader.CellValueTypeMismatch.message", sheetName, cellAddress,
+        expectedType);
+  }
+}
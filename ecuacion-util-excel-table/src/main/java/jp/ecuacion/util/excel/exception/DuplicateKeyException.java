@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.exception;
+
+/**
+ * Thrown when the key column of a table has the same value in multiple rows
+ *     where the value is expected to be unique, e.g. when a table index is built.
+ */
+public class DuplicateKeyException extends ExcelTableException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs an instance.
+   *
+   * @param sheetName the sheet name
+   * @param key the duplicated key value in {@code String} format
+   * @param firstRowNumber the row number where the key first appears, starting with 1
+   * @param duplicateRowNumber the row number where the key appears again, starting with 1
+   */
+  public DuplicateKeyException(String sheetName, String key, int firstRowNumber,
+      int duplicateRowNumber) {
+    super("jp.ecuacion.util.excel.reader.DuplicateKey.message", sheetName, key,
+        String.valueOf(firstRowNumber), String.valueOf(duplicateRowNumber));
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.exception;
+
+/**
+ * Thrown when the defined name specified as the table name does not refer to
+ *     a single rectangular area of cells, like a formula or a constant.
+ */
+public class TableNameNotAreaException extends ExcelTableException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs an instance.
+   *
+   * @param tableName the table name
+   * @param refersToFormula the formula the defined name refers to
+   */
+  public TableNameNotAreaException(String tableName, String refersToFormula) {
+    super("jp.ecuacion.util.excel.TableNameNotArea.message", tableName, refersToFormula);
+  }
+}
@@ -21,10 +21,24 @@ import java.util.Objects;
 import jp.ecuacion.lib.core.util.ObjectsUtil;
 import jp.ecuacion.util.excel.exception.ExcelTableException;
 import jp.ecuacion.util.excel.exception.FarLeftHeaderLabelNotFoundException;
+import jp.ecuacion.util.excel.exception.TableNameNotAreaException;
+import jp.ecuacion.util.excel.exception.TableNameNotExistException;
 import jp.ecuacion.util.excel.table.reader.IfExcelTableReader;
+import jp.ecuacion.util.excel.table.reader.StringDedupPool;
+import jp.ecuacion.util.excel.util.ExcelReadUtil;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Name;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.AreaReference;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFTable;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -70,6 +84,18 @@ public abstract class ExcelTable<T> implements IfExcelTable<T> {
   @Min(1)
   protected int tableStartColumnNumber;
 
+  /**
+   * Is the name of the Excel table ({@code XSSFTable}) or the defined name
+   *     which designates the position of the table.
+   *
+   * <p>{@code null} means the table is located by {@code sheetName},
+   *     {@code tableStartRowNumber} and {@code tableStartColumnNumber}.<br>
+   *     When it's set, the position is obtained from the workbook
+   *     every time a workbook is read or written, and they are not used.
+   *     They are not changed either. See {@link #locateNamedTable(Workbook)}.</p>
+   */
+  protected @Nullable String tableName;
+
   protected boolean ignoresAdditionalColumnsOfHeaderData;
 
   protected boolean isVerticalAndHorizontalOpposite;
@@ -110,6 +136,15 @@ public abstract class ExcelTable<T> implements IfExcelTable<T> {
     return ObjectsUtil.requireNonNull(sheetName);
   }
 
+  /**
+   * Returns the table name.
+   *
+   * @return table name, may be {@code null}.
+   */
+  public @Nullable String getTableName() {
+    return tableName;
+  }
+
   /**
    * Returns the row number at which the table starts.
    *
@@ -137,40 +172,176 @@ public abstract class ExcelTable<T> implements IfExcelTable<T> {
       return Objects.requireNonNull(tableStartRowNumber) - 1;
     }
 
-    for (int i = 0; i < 100; i++) {
-      Cell cell;
+    int rowNumber = findPoiBasisFarLeftHeaderRowNumber(sheet, poiBasisTableStartColumnNumber, 0,
+        100);
+    if (rowNumber >= 0) {
+      return rowNumber;
+    }
 
-      if (isVerticalAndHorizontalOpposite) {
-        Row row = sheet.getRow(poiBasisTableStartColumnNumber);
+    throw new FarLeftHeaderLabelNotFoundException(sheet.getSheetName(), tableStartColumnNumber,
+        getFarLeftAndTopHeaderLabel());
+  }
 
-        if (row == null) {
-          break;
-        }
+  /**
+   * Returns the first row number from {@code poiBasisFromRowNumber}
+   *     to {@code poiBasisToRowNumber} (exclusive) whose cell in the table start column
+   *     is the far left header label, in poi basis.
+   *
+   * <p>The value of a cell is obtained by {@link ExcelReadUtil#getStringFromCell(Cell)},
+   *     so a label obtained by a formula or stored as a number is also found.
+   *     Cells with errors are skipped.<br>
+   *     When {@code isVerticalAndHorizontalOpposite} is {@code true},
+   *     rows and columns are read in the opposite way.</p>
+   *
+   * @param sheet excel sheet
+   * @param poiBasisTableStartColumnNumber the column number the table starts, in poi basis
+   * @param poiBasisFromRowNumber the row number the search starts, in poi basis
+   * @param poiBasisToRowNumber the row number the search ends (exclusive), in poi basis
+   * @return the row number, or {@code -1} when not found.
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  public int findPoiBasisFarLeftHeaderRowNumber(Sheet sheet, int poiBasisTableStartColumnNumber,
+      int poiBasisFromRowNumber, int poiBasisToRowNumber) throws ExcelTableException {
+    Row oppositeRow = isVerticalAndHorizontalOpposite ? sheet.getRow(poiBasisTableStartColumnNumber)
+        : null;
+    int lastRowNumber = isVerticalAndHorizontalOpposite
+        ? (oppositeRow == null ? -1 : oppositeRow.getLastCellNum() - 1)
+        : sheet.getLastRowNum();
 
-        cell = row.getCell(i);
+    for (int i = poiBasisFromRowNumber; i < poiBasisToRowNumber && i <= lastRowNumber; i++) {
+      Row row = isVerticalAndHorizontalOpposite ? oppositeRow : sheet.getRow(i);
+      Cell cell = row == null ? null
+          : row.getCell(isVerticalAndHorizontalOpposite ? i : poiBasisTableStartColumnNumber);
 
-      } else {
-        Row row = sheet.getRow(i);
-        if (row == null) {
-          continue;
-        }
+      if (cell == null || cell.getCellType() == CellType.ERROR
+          || (cell.getCellType() == CellType.FORMULA
+              && cell.getCachedFormulaResultType() == CellType.ERROR)) {
+        continue;
+      }
 
-        cell = row.getCell(poiBasisTableStartColumnNumber);
+      if (getFarLeftAndTopHeaderLabel().equals(ExcelReadUtil.getStringFromCell(cell))) {
+        return i;
       }
+    }
 
-      if (cell == null) {
-        continue;
+    return -1;
+  }
+
+  /**
+   * Locates the table by {@code tableName}.
+   *
+   * <p>An Excel table ({@code XSSFTable}) is looked up first,
+   *     and then a defined name whose scope is the workbook. Names are case-insensitive.</p>
+   *
+   * <p>The data lines of an Excel table are the rows between its header rows
+   *     and its totals rows, and the header lines of this table are the rows just above them.
+   *     So the Excel table's header row is the header of a table with one header line,
+   *     and a table without header lines starts at the first data row.<br>
+   *     The area of a defined name is the whole table including the header lines.
+   *     When {@code isVerticalAndHorizontalOpposite} is {@code true},
+   *     the rows of the area are the columns of the table.<br>
+   *     When the area is whole columns (like {@code Sheet1!$A:$D}) or whole rows,
+   *     the size of the table in that direction is not fixed by the area
+   *     and determined in the same way as a table without {@code tableName}.</p>
+   *
+   * <p>It's called every time a workbook is read or written,
+   *     and does not change the fields of this object.</p>
+   *
+   * @param workbook workbook
+   * @return the location of the table, or {@code null} when {@code tableName} is {@code null}.
+   * @throws ExcelTableException when the name does not exist
+   *     or the defined name does not refer to a single area of cells
+   */
+  public @Nullable NamedTableLocation locateNamedTable(Workbook workbook)
+      throws ExcelTableException {
+    String name = tableName;
+    if (name == null) {
+      return null;
+    }
+
+    XSSFTable table = findXssfTable(workbook, name);
+    if (table != null) {
+      if (isVerticalAndHorizontalOpposite) {
+        throw new RuntimeException("An Excel table cannot be read or written with "
+            + "isVerticalAndHorizontalOpposite = true. tableName: " + name);
       }
 
-      String value = cell.getStringCellValue();
+      int firstDataRow = table.getStartRowIndex() + table.getHeaderRowCount();
+      int lastDataRow = table.getEndRowIndex() - table.getTotalsRowCount();
+      return new NamedTableLocation(table.getSheetName(),
+          new CellRangeAddress(firstDataRow - getNumberOfHeaderLines(), lastDataRow,
+              table.getStartColIndex(), table.getEndColIndex()));
+    }
 
-      if (value.equals(getFarLeftAndTopHeaderLabel())) {
-        return i;
+    Name definedName = findWorkbookScopedName(workbook, name);
+    String formula = definedName == null ? null : definedName.getRefersToFormula();
+    if (formula == null) {
+      throw new TableNameNotExistException(name);
+    }
+
+    SpreadsheetVersion version = workbook.getSpreadsheetVersion();
+    AreaReference ref;
+    try {
+      ref = new AreaReference(formula, version);
+    } catch (IllegalArgumentException ex) {
+      // A formula like OFFSET(...), a constant or non-contiguous areas
+      throw new TableNameNotAreaException(name, formula);
+    }
+
+    CellReference first = ref.getFirstCell();
+    CellReference last = ref.getLastCell();
+    if (first.getSheetName() == null) {
+      throw new TableNameNotAreaException(name, formula);
+    }
+
+    // Whole columns like "$A:$D" have no row, and whole rows like "$1:$5" have no column.
+    // Areas like "$A$1:$D$1048576" written by some tools are whole columns as well.
+    boolean isWholeColumns = first.getRow() == -1
+        || (first.getRow() == 0 && last.getRow() == version.getLastRowIndex());
+    boolean isWholeRows = first.getCol() == -1
+        || (first.getCol() == 0 && last.getCol() == version.getLastColumnIndex());
+    int firstRow = isWholeColumns ? 0 : first.getRow();
+    int lastRow = isWholeColumns ? version.getLastRowIndex() : last.getRow();
+    int firstCol = isWholeRows ? 0 : first.getCol();
+    int lastCol = isWholeRows ? version.getLastColumnIndex() : last.getCol();
+
+    return isVerticalAndHorizontalOpposite
+        ? new NamedTableLocation(first.getSheetName(),
+            new CellRangeAddress(firstCol, lastCol, firstRow, lastRow), isWholeRows,
+            isWholeColumns)
+        : new NamedTableLocation(first.getSheetName(),
+            new CellRangeAddress(firstRow, lastRow, firstCol, lastCol), isWholeColumns,
+            isWholeRows);
+  }
+
+  /*
+   * Returns the defined name whose scope is the workbook.
+   * Names with the same text can exist for each sheet scope.
+   */
+  private static @Nullable Name findWorkbookScopedName(Workbook workbook, String name) {
+    for (Name definedName : workbook.getNames(name)) {
+      if (definedName.getSheetIndex() == -1) {
+        return definedName;
       }
     }
 
-    throw new FarLeftHeaderLabelNotFoundException(sheet.getSheetName(), tableStartColumnNumber,
-        getFarLeftAndTopHeaderLabel());
+    return null;
+  }
+
+  private static @Nullable XSSFTable findXssfTable(Workbook workbook, String name) {
+    if (!(workbook instanceof XSSFWorkbook xssfWorkbook)) {
+      return null;
+    }
+
+    for (Sheet sheet : xssfWorkbook) {
+      for (XSSFTable table : ((XSSFSheet) sheet).getTables()) {
+        if (name.equalsIgnoreCase(table.getName())) {
+          return table;
+        }
+      }
+    }
+
+    return null;
   }
 
   /**
@@ -187,6 +358,71 @@ public abstract class ExcelTable<T> implements IfExcelTable<T> {
     return tableStartColumnNumber - 1;
   }
 
+  /**
+   * Stores the location of the table obtained by {@link ExcelTable#locateNamedTable(Workbook)}.
+   */
+  public static class NamedTableLocation {
+    public final String sheetName;
+
+    /**
+     * Is the area of the table in poi basis,
+     *     where the rows and the columns are the ones of the table.
+     */
+    public final CellRangeAddress area;
+
+    private final boolean isRowSizeOpenEnded;
+
+    private final boolean isColumnSizeOpenEnded;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param sheetName sheetName
+     * @param area area
+     */
+    public NamedTableLocation(String sheetName, CellRangeAddress area) {
+      this(sheetName, area, false, false);
+    }
+
+    /**
+     * Constructs a new instance with the directions in which the area reaches
+     *     the end of the sheet.
+     *
+     * @param sheetName sheetName
+     * @param area area
+     * @param isRowSizeOpenEnded whether the rows of the area reach the end of the sheet,
+     *     like whole columns
+     * @param isColumnSizeOpenEnded whether the columns of the area reach the end of the sheet,
+     *     like whole rows
+     */
+    public NamedTableLocation(String sheetName, CellRangeAddress area,
+        boolean isRowSizeOpenEnded, boolean isColumnSizeOpenEnded) {
+      this.sheetName = sheetName;
+      this.area = area;
+      this.isRowSizeOpenEnded = isRowSizeOpenEnded;
+      this.isColumnSizeOpenEnded = isColumnSizeOpenEnded;
+    }
+
+    /**
+     * Returns the number of the rows of the table, including the header lines.
+     *
+     * @return row size, or {@code null} when the rows of the area reach the end of the sheet
+     */
+    public @Nullable Integer getRowSize() {
+      return isRowSizeOpenEnded ? null : area.getLastRow() - area.getFirstRow() + 1;
+    }
+
+    /**
+     * Returns the number of the columns of the table.
+     *
+     * @return column size,
+     *     or {@code null} when the columns of the area reach the end of the sheet
+     */
+    public @Nullable Integer getColumnSize() {
+      return isColumnSizeOpenEnded ? null : area.getLastColumn() - area.getFirstColumn() + 1;
+    }
+  }
+
   /**
    * Stores context data.
    */
@@ -197,6 +433,9 @@ public abstract class ExcelTable<T> implements IfExcelTable<T> {
     public final @Nullable Integer tableRowSize;
     public final @Nullable Integer tableColumnSize;
 
+    /** Is the pool which deduplicates the values read with this context, may be {@code null}. */
+    public final @Nullable StringDedupPool stringDedupPool;
+
     public static final int max = 10000;
 
     /**
@@ -211,11 +450,29 @@ public abstract class ExcelTable<T> implements IfExcelTable<T> {
     public ContextContainer(Sheet sheet, int poiBasisTableStartRowNumber,
         int poiBasisTableStartColumnNumber, @Nullable Integer tableRowSize,
         @Nullable Integer tableColumnSize) {
+      this(sheet, poiBasisTableStartRowNumber, poiBasisTableStartColumnNumber, tableRowSize,
+          tableColumnSize, null);
+    }
+
+    /**
+     * Constructs a new instance with the pool which deduplicates the read values.
+     * 
+     * @param sheet sheet
+     * @param poiBasisTableStartColumnNumber poiBasisTableStartColumnNumber
+     * @param poiBasisTableStartRowNumber poiBasisTableStartRowNumber
+     * @param tableColumnSize tableColumnSize
+     * @param tableRowSize tableRowSize
+     * @param stringDedupPool stringDedupPool, may be {@code null}.
+     */
+    public ContextContainer(Sheet sheet, int poiBasisTableStartRowNumber,
+        int poiBasisTableStartColumnNumber, @Nullable Integer tableRowSize,
+        @Nullable Integer tableColumnSize, @Nullable StringDedupPool stringDedupPool) {
       this.sheet = sheet;
       this.poiBasisTableStartRowNumber = poiBasisTableStartRowNumber;
       this.poiBasisTableStartColumnNumber = poiBasisTableStartColumnNumber;
       this.tableRowSize = tableRowSize;
       this.tableColumnSize = tableColumnSize;
+      this.stringDedupPool = stringDedupPool;
     }
   }
 
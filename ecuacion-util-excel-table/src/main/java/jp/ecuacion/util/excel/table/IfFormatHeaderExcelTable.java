@@ -15,6 +15,7 @@
  */
 package jp.ecuacion.util.excel.table;
 
+import java.util.Arrays;
 import jp.ecuacion.lib.core.util.ObjectsUtil;
 
 /**
@@ -46,6 +47,87 @@ public interface IfFormatHeaderExcelTable<T>
   }
 
 
+  /**
+   * Returns the 0-based position of the column whose header labels match {@code labels}.
+   *
+   * <p>Labels are matched in the same way as
+   *     {@link jp.ecuacion.util.excel.table.bean.ExcelColumn}:
+   *     pass one label per header row (top to bottom), or a single label
+   *     which matches the column having the same label in every header row.</p>
+   *
+   * @param labels header labels of the column
+   * @return 0-based column position, or {@code -1} if not found
+   */
+  public default int getColumnIndex(String... labels) {
+    String[][] headerLabels2d = getHeaderLabelData();
+    String[] lastHeaderLabels = headerLabels2d[headerLabels2d.length - 1];
+
+    for (int colIdx = 0; colIdx < lastHeaderLabels.length; colIdx++) {
+      if (labels.length == 1) {
+        // Single label: match if all header rows have the same value.
+        boolean matches = true;
+        for (String[] headerRow : headerLabels2d) {
+          if (!labels[0].equals(headerRow[colIdx])) {
+            matches = false;
+            break;
+          }
+        }
+        if (matches) {
+          return colIdx;
+        }
+
+      } else if (labels.length == headerLabels2d.length) {
+        boolean matches = true;
+        for (int rowIdx = 0; rowIdx < headerLabels2d.length; rowIdx++) {
+          if (!labels[rowIdx].equals(headerLabels2d[rowIdx][colIdx])) {
+            matches = false;
+            break;
+          }
+        }
+        if (matches) {
+          return colIdx;
+        }
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Returns the 0-based position of the column whose header labels match {@code labels},
+   *     and throws an exception when it's not found.
+   *
+   * @param labels header labels of the column. See {@link #getColumnIndex(String...)}.
+   * @return 0-based column position
+   * @throws RuntimeException when the column is not found
+   */
+  public default int requireColumnIndex(String... labels) {
+    int colIdx = getColumnIndex(labels);
+    if (colIdx < 0) {
+      throw new RuntimeException("Column " + Arrays.toString(labels)
+          + " not found in headerLabels of " + getSheetName() + ".");
+    }
+
+    return colIdx;
+  }
+
+  /**
+   * Returns the 0-based positions of the columns, one for each header label,
+   *     and throws an exception when any of them is not found.
+   *
+   * @param labels header labels of the columns, one label for each column
+   * @return 0-based column positions
+   * @throws RuntimeException when any of the columns is not found
+   */
+  public default int[] requireColumnIndexes(String[] labels) {
+    int[] columnIndexes = new int[labels.length];
+    for (int i = 0; i < labels.length; i++) {
+      columnIndexes[i] = requireColumnIndex(labels[i]);
+    }
+
+    return columnIndexes;
+  }
+
   @Override
   public default String getFarLeftAndTopHeaderLabel() {
 
@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.util.Arrays;
+import jp.ecuacion.util.excel.exception.ExcelTableException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+
+/**
+ * Stores the values of one column of a table in a growable {@code double[]}.
+ *
+ * <p>Numeric cells are stored as they are.
+ *     String cells are parsed with {@link Double#parseDouble(String)}
+ *     so that numbers stored as text can also be read.</p>
+ */
+public class DoubleColumn extends PrimitiveColumn {
+
+  private double[] values = new double[INITIAL_CAPACITY];
+
+  /**
+   * Constructs a new instance.
+   */
+  DoubleColumn() {}
+
+  /**
+   * Returns the value at {@code index}.
+   *
+   * @param index 0-based data row position in the table
+   * @return the value, {@code 0} when {@link #isNull(int)} is {@code true}
+   */
+  public double get(int index) {
+    checkIndex(index);
+    return values[index];
+  }
+
+  /**
+   * Returns the sum of the values. {@code null} values are ignored.
+   *
+   * @return sum
+   */
+  public double sum() {
+    double sum = 0;
+    for (int i = 0; i < size; i++) {
+      sum += values[i];
+    }
+
+    return sum;
+  }
+
+  /**
+   * Returns a copy of the values, whose length is equal to {@link #size()}.
+   *
+   * @return values
+   */
+  public double[] toArray() {
+    return Arrays.copyOf(values, size);
+  }
+
+  @Override
+  protected void addZero() {
+    ensureCapacity();
+    values[size] = 0;
+  }
+
+  @Override
+  protected void addValue(Cell cell, CellType cellType) throws ExcelTableException {
+    ensureCapacity();
+    values[size] = toDouble(cell, cellType);
+  }
+
+  /**
+   * Returns the numeric value of a non-blank cell.
+   *
+   * @param cell cell
+   * @param cellType the cell type, which is the cached result type for formula cells
+   * @return the value
+   * @throws ExcelTableException when the value is not a number
+   */
+  static double toDouble(Cell cell, CellType cellType) throws ExcelTableException {
+    if (cellType == CellType.NUMERIC) {
+      return cell.getNumericCellValue();
+
+    } else if (cellType == CellType.STRING) {
+      try {
+        return Double.parseDouble(cell.getStringCellValue().trim());
+      } catch (NumberFormatException ex) {
+        throw typeMismatch(cell, "number").cause(ex);
+      }
+
+    } else {
+      throw typeMismatch(cell, "number");
+    }
+  }
+
+  private void ensureCapacity() {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, values.length * 2);
+    }
+  }
+}
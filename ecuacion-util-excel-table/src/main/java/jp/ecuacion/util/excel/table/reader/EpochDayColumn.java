@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import jp.ecuacion.util.excel.exception.ExcelTableException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Stores the date values of one column of a table in a growable {@code int[]}
+ *     as epoch days ({@link LocalDate#toEpochDay()}).
+ *
+ * <p>Only numeric cells, which is how Excel stores dates, are accepted.
+ *     The time part of the value is dropped.</p>
+ */
+public class EpochDayColumn extends PrimitiveColumn {
+
+  private int[] values = new int[INITIAL_CAPACITY];
+
+  /**
+   * Constructs a new instance.
+   */
+  EpochDayColumn() {}
+
+  /**
+   * Returns the epoch day at {@code index}.
+   *
+   * @param index 0-based data row position in the table
+   * @return the epoch day, {@code 0} when {@link #isNull(int)} is {@code true}
+   */
+  public int get(int index) {
+    checkIndex(index);
+    return values[index];
+  }
+
+  /**
+   * Returns the value at {@code index} as {@code LocalDate}.
+   *
+   * @param index 0-based data row position in the table
+   * @return the date, {@code null} when {@link #isNull(int)} is {@code true}
+   */
+  public @Nullable LocalDate getLocalDate(int index) {
+    return isNull(index) ? null : LocalDate.ofEpochDay(values[index]);
+  }
+
+  /**
+   * Returns a copy of the epoch days, whose length is equal to {@link #size()}.
+   *
+   * @return epoch days
+   */
+  public int[] toArray() {
+    return Arrays.copyOf(values, size);
+  }
+
+  @Override
+  protected void addZero() {
+    ensureCapacity();
+    values[size] = 0;
+  }
+
+  @Override
+  protected void addValue(Cell cell, CellType cellType) throws ExcelTableException {
+    if (cellType != CellType.NUMERIC) {
+      throw typeMismatch(cell, "date");
+    }
+
+    ensureCapacity();
+    values[size] = Math.toIntExact(cell.getLocalDateTimeCellValue().toLocalDate().toEpochDay());
+  }
+
+  private void ensureCapacity() {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, values.length * 2);
+    }
+  }
+}
@@ -20,24 +20,35 @@ import jakarta.validation.Validation;
 import jakarta.validation.ValidatorFactory;
 import jakarta.validation.constraints.Min;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 import jp.ecuacion.lib.core.constant.EclibCoreConstants;
 import jp.ecuacion.lib.core.logging.DetailLogger;
 import jp.ecuacion.lib.core.util.ObjectsUtil;
+import jp.ecuacion.util.excel.enums.JoinType;
 import jp.ecuacion.util.excel.exception.ColumnSizeIsZeroException;
+import jp.ecuacion.util.excel.exception.DuplicateKeyException;
 import jp.ecuacion.util.excel.exception.ExcelTableException;
 import jp.ecuacion.util.excel.exception.LoopBreakException;
 import jp.ecuacion.util.excel.exception.SheetNotExistException;
 import jp.ecuacion.util.excel.table.ExcelTable;
+import jp.ecuacion.util.excel.table.ExcelTable.NamedTableLocation;
 import jp.ecuacion.util.excel.table.IfExcelTable;
 import jp.ecuacion.util.excel.util.ExcelReadUtil;
 import org.apache.poi.EncryptedDocumentException;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -76,6 +87,23 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
   @Min(1)
   protected @Nullable Integer tableColumnSizeGivenByConstructor;
 
+  /**
+   * Stores the row filters added by {@link #withRowFilter(int, Predicate)}.
+   */
+  private final List<RowFilter<T>> rowFilters = new ArrayList<>();
+
+  /**
+   * Stores the indexes built by {@link #getIndex(Workbook, int)} while the workbook is alive.
+   *     Indexes of {@code Cell} readers are not stored
+   *     because their values reference the workbook and would keep it alive.
+   */
+  private final Map<Workbook, Map<Integer, TableIndex<T>>> indexCache = new WeakHashMap<>();
+
+  /**
+   * Stores the cache set by {@link #withReadCache(TableReadCache)}, {@code null} when not set.
+   */
+  private @Nullable TableReadCache readCache;
+
   /**
    * Constructs a new instance with only the sheet name.
    *
@@ -128,11 +156,137 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
   public List<List<T>> read(String filePath) throws EncryptedDocumentException, IOException {
     ObjectsUtil.requireNonNull(filePath);
 
+    // The results of filtered reads are not cached since filters cannot be fingerprinted.
+    TableReadCache cache = rowFilters.isEmpty() ? readCache : null;
+    String cacheKey = null;
+    if (cache != null) {
+      cacheKey = TableReadCache.getKey(filePath, getConfigurationFingerprint());
+      List<List<T>> cached = cache.get(cacheKey);
+      if (cached != null) {
+        return cached;
+      }
+    }
+
+    List<List<T>> rtnData;
+    try (Workbook excel = ExcelReadUtil.openForRead(filePath);) {
+      rtnData = read(excel);
+    }
+
+    if (cache != null && cacheKey != null) {
+      cache.put(cacheKey, rtnData);
+    }
+
+    return rtnData;
+  }
+
+  /**
+   * Reads a table data in an excel file at {@code filePath} in the same way as
+   *     {@link #read(String)} does, keeping the lines in memory up to {@code memoryBudgetBytes}.
+   *
+   * @param filePath filePath
+   * @param memoryBudgetBytes the estimated size of the lines kept in memory
+   * @return table data, which needs to be closed
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   * @see #read(Workbook, long)
+   */
+  public SpillingTableList<T> read(String filePath, long memoryBudgetBytes)
+      throws EncryptedDocumentException, IOException {
+    ObjectsUtil.requireNonNull(filePath);
+
     try (Workbook excel = ExcelReadUtil.openForRead(filePath);) {
-      return read(excel);
+      return read(excel, memoryBudgetBytes);
     }
   }
 
+  /**
+   * Reads a table data from {@code workbook} in the same way as {@link #read(Workbook)} does,
+   *     keeping the lines in memory up to {@code memoryBudgetBytes}.
+   *
+   * <p>Once the estimated size of the lines exceeds the budget,
+   *     the rest of the lines are stored in a temporary file,
+   *     so an unexpectedly large table does not exhaust the heap.
+   *     The workbook itself is still loaded in memory.
+   *     Call {@link SpillingTableList#close()} to delete the temporary file.</p>
+   *
+   * <p>Readers returning {@code Cell} are not supported.</p>
+   *
+   * @param workbook workbook
+   * @param memoryBudgetBytes the estimated size of the lines kept in memory
+   * @return table data, which needs to be closed
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   */
+  public SpillingTableList<T> read(Workbook workbook, long memoryBudgetBytes)
+      throws EncryptedDocumentException, IOException {
+    ObjectsUtil.requireNonNull(workbook);
+
+    // validate the header line
+    validateHeader(workbook);
+
+    ContextContainer context = getReadyToReadTableData(this, workbook, getSheetName(),
+        tableStartColumnNumber, null, false);
+
+    SpillingTableList<T> rtnData = new SpillingTableList<>(memoryBudgetBytes);
+    try {
+      IteratorReader<T> iterator = new IteratorReader<>(this, context, getNumberOfHeaderLines());
+      while (iterator.hasNext()) {
+        rtnData.addLine(iterator.next());
+      }
+      rtnData.finishAdding();
+
+    } catch (IOException | RuntimeException ex) {
+      rtnData.close();
+      throw ex;
+    }
+
+    return rtnData;
+  }
+
+  /**
+   * Reads a table data in an excel file at {@code filePath} in the same way as
+   *     {@link #read(String)} does, using the snapshot file at {@code snapshotPath}.
+   *
+   * <p>The snapshot stores the parsed table column by column with the types of the values.
+   *     When it was written from the same file content with the same settings of the reader,
+   *     the table is loaded from it through a memory-mapped file without parsing the excel file.
+   *     Otherwise the excel file is read and the snapshot is (re)written.
+   *     The excel file is still read once to compute its digest.</p>
+   *
+   * <p>It's meant for reference tables like code lists which are read at every start.
+   *     Readers returning {@code Cell} are not supported.
+   *     With row filters the snapshot is not used.</p>
+   *
+   * @param filePath filePath
+   * @param snapshotPath the path of the snapshot file, whose directory needs to exist
+   * @return table data
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   */
+  public List<List<T>> readWithSnapshot(String filePath, Path snapshotPath)
+      throws EncryptedDocumentException, IOException {
+    ObjectsUtil.requireNonNull(filePath);
+    ObjectsUtil.requireNonNull(snapshotPath);
+
+    if (!rowFilters.isEmpty()) {
+      return read(filePath);
+    }
+
+    String key = TableReadCache.getKey(filePath, getConfigurationFingerprint());
+    List<List<T>> snapshot = TableSnapshot.load(snapshotPath, key);
+    if (snapshot != null) {
+      return snapshot;
+    }
+
+    List<List<T>> rtnData;
+    try (Workbook excel = ExcelReadUtil.openForRead(filePath);) {
+      rtnData = read(excel);
+    }
+
+    TableSnapshot.write(snapshotPath, key, rtnData);
+    return rtnData;
+  }
+
   /**
    * Reads a table data from {@code workbook}
    *     and returns it in the form of {@code List<List<T>>}.
@@ -147,8 +301,7 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
   public List<List<T>> read(Workbook workbook) throws EncryptedDocumentException, IOException {
 
     // validate the header line
-    List<List<T>> headerData = readTableData(workbook, true);
-    validateHeaderData(headerData);
+    validateHeader(workbook);
 
     // obtain data
     List<List<T>> rtnData = readTableData(workbook);
@@ -157,6 +310,46 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
     return rtnData;
   }
 
+  /**
+   * Reads a table data from {@code workbook} in the same way as {@link #read(Workbook)} does,
+   *     and stores the row number of each returned line, <b>starting with 1</b> like Excel.
+   *
+   * <p>Rows rejected by row filters are not returned,
+   *     so the row numbers are needed to tell where each line came from.</p>
+   *
+   * @param workbook workbook
+   * @param rowNumbers the list to which the row numbers are added,
+   *     in the same order as the returned lines
+   * @return table data
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  protected List<List<T>> read(Workbook workbook, List<Integer> rowNumbers)
+      throws ExcelTableException {
+    return readDataLines(getReadyToReadDataLines(workbook), rowNumbers);
+  }
+
+  /**
+   * Reads a table data with the context obtained by
+   *     {@link #getReadyToReadDataLines(Workbook)}
+   *     and stores the row number of each returned line, <b>starting with 1</b> like Excel.
+   *
+   * <p>The context tells the sheet the table is read from,
+   *     which is the located one when {@code tableName} is set.</p>
+   *
+   * @param context context
+   * @param rowNumbers the list to which the row numbers are added,
+   *     in the same order as the returned lines
+   * @return table data
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  List<List<T>> readDataLines(ContextContainer context, List<Integer> rowNumbers)
+      throws ExcelTableException {
+    List<List<T>> rtnData = readTableData(context, rowNumbers);
+    updateAndGetHeaderData(rtnData);
+
+    return rtnData;
+  }
+
   /**
    * Provides an {@code IterableReader} over the data rows of the table.
    *
@@ -172,8 +365,7 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
       throws EncryptedDocumentException, IOException {
 
     // validate the header line
-    List<List<T>> headerData = readTableData(workbook, true);
-    validateHeaderData(headerData);
+    validateHeader(workbook);
 
     // obtain data
     List<List<T>> rtnData = readTableData(workbook);
@@ -206,8 +398,7 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
     boolean ownershipTransferred = false;
     try {
       // validate the header line
-      List<List<T>> headerData = readTableData(workbook, true);
-      validateHeaderData(headerData);
+      validateHeader(workbook);
 
       // obtain data
       List<List<T>> rtnData = readTableData(workbook);
@@ -228,35 +419,543 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
     }
   }
 
+  /**
+   * Provides a {@code RowViewIterable} over the data rows of the table.
+   *
+   * <p>Unlike {@link #getIterable(Workbook)}, the iterator returns the same {@link RowView}
+   *     instance for every row and overwrites it on each advance,
+   *     so reading a row allocates no {@code List} and cell values are converted
+   *     only when the accessors of {@code RowView} are called.
+   *     It suits streaming use where each row is processed and then dropped.</p>
+   *
+   * <p>The caller owns the {@code workbook} and is responsible for closing it.
+   *     Calling {@code close()} on the returned {@link RowViewIterable} is a no-op.</p>
+   *
+   * @param workbook workbook
+   * @return row view iterable
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   */
+  public RowViewIterable<T> getRowViewIterable(Workbook workbook)
+      throws EncryptedDocumentException, IOException {
+
+    // validate the header line
+    validateHeader(workbook);
+
+    ContextContainer context = getReadyToReadTableData(this, workbook, getSheetName(),
+        tableStartColumnNumber, null, false);
+
+    return new RowViewIterable<T>(this, context, getNumberOfHeaderLines());
+  }
+
+  /**
+   * Provides a {@code RowViewIterable} that reads from {@code filePath}.
+   *
+   * <p>The returned {@link RowViewIterable} owns the workbook opened from {@code filePath}
+   *     and closes it on {@link RowViewIterable#close()}. Use try-with-resources to ensure
+   *     the workbook is closed.</p>
+   *
+   * @param filePath filePath
+   * @return row view iterable that owns the workbook
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   * @see #getRowViewIterable(Workbook)
+   */
+  public RowViewIterable<T> getRowViewIterable(String filePath)
+      throws EncryptedDocumentException, IOException {
+    ObjectsUtil.requireNonNull(filePath);
+
+    Workbook workbook = ExcelReadUtil.openForRead(filePath);
+    boolean ownershipTransferred = false;
+    try {
+      // validate the header line
+      validateHeader(workbook);
+
+      ContextContainer context = getReadyToReadTableData(this, workbook, getSheetName(),
+          tableStartColumnNumber, null, false);
+
+      RowViewIterable<T> result =
+          new RowViewIterable<T>(this, context, getNumberOfHeaderLines(), workbook);
+      ownershipTransferred = true;
+      return result;
+    } finally {
+      if (!ownershipTransferred) {
+        workbook.close();
+      }
+    }
+  }
+
+  /**
+   * Reads {@code limit} data lines from the {@code offset}-th data line of the table
+   *     in {@code filePath}.
+   *
+   * @param filePath filePath
+   * @param offset the number of data lines to skip, {@code 0} means the first data line
+   * @param limit the maximum number of data lines to return
+   * @return the data lines in the range, which may be fewer than {@code limit}
+   *     (or empty) when the table ends
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   * @see #readPage(Workbook, int, int)
+   */
+  public List<List<T>> readPage(String filePath, int offset, int limit)
+      throws EncryptedDocumentException, IOException {
+    ObjectsUtil.requireNonNull(filePath);
+
+    try (Workbook excel = ExcelReadUtil.openForRead(filePath);) {
+      return readPage(excel, offset, limit);
+    }
+  }
+
+  /**
+   * Reads {@code limit} data lines from the {@code offset}-th data line of the table.
+   *
+   * <p>The result is equal to {@code read(workbook).subList(offset, offset + limit)}
+   *     (capped at the end of the table), but the cells of the skipped lines are not converted.
+   *     When {@code tableRowSize} is set and no row filter is added,
+   *     the skipped lines are not even looked at.
+   *     Otherwise they are checked only to find the end of the table
+   *     (and evaluated by row filters),
+   *     so the time to read a page does not depend on the total size of the table.</p>
+   *
+   * @param workbook workbook
+   * @param offset the number of data lines to skip, {@code 0} means the first data line
+   * @param limit the maximum number of data lines to return
+   * @return the data lines in the range, which may be fewer than {@code limit}
+   *     (or empty) when the table ends
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  public List<List<T>> readPage(Workbook workbook, int offset, int limit)
+      throws ExcelTableException {
+    if (offset < 0 || limit < 0) {
+      throw new RuntimeException(
+          "offset and limit must be 0 or greater. offset: " + offset + ", limit: " + limit);
+    }
+
+    // validate the header line
+    validateHeader(workbook);
+
+    ContextContainer context = getReadyToReadTableData(this, workbook, getSheetName(),
+        tableStartColumnNumber, null, false);
+    int rowNumber = context.poiBasisTableStartRowNumber + getNumberOfHeaderLines();
+
+    // skip the lines before offset
+    if (context.tableRowSize != null && rowFilters.isEmpty()) {
+      rowNumber = (int) Math.min((long) rowNumber + offset,
+          context.poiBasisTableStartRowNumber + Objects.requireNonNull(context.tableRowSize));
+
+    } else {
+      for (int skipped = 0; skipped < offset; rowNumber++) {
+        if (isOutOfTable(this, context, rowNumber)) {
+          return new ArrayList<>();
+        }
+
+        if (acceptsRow(this, context, rowNumber)) {
+          skipped++;
+        }
+      }
+    }
+
+    List<List<T>> rowList = new ArrayList<>();
+    try {
+      for (; rowList.size() < limit; rowNumber++) {
+        List<T> colList = readTableLine(this, context, rowNumber);
+        if (colList != null) {
+          rowList.add(colList);
+        }
+      }
+    } catch (LoopBreakException ex) {
+      // do nothing, just finish the loop.
+    }
+
+    return rowList;
+  }
+
+  /**
+   * Counts the rows and sums the columns of the table in {@code filePath},
+   *     grouped by the values of the group-by columns.
+   *
+   * @param filePath filePath
+   * @param groupByColumnIndexes 0-based column positions of the group-by columns,
+   *     may be empty to aggregate the whole table
+   * @param sumColumnIndexes 0-based column positions of the columns to sum, may be empty
+   * @return aggregation result
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   * @see #aggregate(Workbook, int[], int[])
+   */
+  public GroupAggregation<T> aggregate(String filePath, int[] groupByColumnIndexes,
+      int[] sumColumnIndexes) throws EncryptedDocumentException, IOException {
+    ObjectsUtil.requireNonNull(filePath);
+
+    try (Workbook excel = ExcelReadUtil.openForRead(filePath);) {
+      return aggregate(excel, groupByColumnIndexes, sumColumnIndexes);
+    }
+  }
+
+  /**
+   * Counts the rows and sums the columns of the table,
+   *     grouped by the values of the group-by columns.
+   *
+   * <p>The rows are read one by one with a {@link RowView} and added to the accumulators
+   *     of their group, so no line is stored and only the group-by and sum columns
+   *     are converted.
+   *     Row filters added by {@link #withRowFilter(int, Predicate)} are applied
+   *     and empty rows within a fixed {@code tableRowSize} are skipped.</p>
+   *
+   * @param workbook workbook
+   * @param groupByColumnIndexes 0-based column positions of the group-by columns,
+   *     may be empty to aggregate the whole table
+   * @param sumColumnIndexes 0-based column positions of the columns to sum, may be empty
+   * @return aggregation result
+   * @throws ExcelTableException when an Excel parsing error occurs,
+   *     including a non-numeric value in a sum column
+   */
+  public GroupAggregation<T> aggregate(Workbook workbook, int[] groupByColumnIndexes,
+      int[] sumColumnIndexes) throws ExcelTableException {
+    GroupAggregation<T> aggregation = new GroupAggregation<>(
+        ObjectsUtil.requireNonNull(groupByColumnIndexes),
+        ObjectsUtil.requireNonNull(sumColumnIndexes));
+
+    // validate the header line
+    validateHeader(workbook);
+
+    ContextContainer context = getReadyToReadTableData(this, workbook, getSheetName(),
+        tableStartColumnNumber, null, false);
+    aggregation.checkColumnIndexes(Objects.requireNonNull(context.tableColumnSize));
+
+    RowViewIterator<T> iterator = new RowViewIterator<>(this, context, getNumberOfHeaderLines());
+    while (iterator.hasNext()) {
+      RowView<T> view = iterator.next();
+      // Empty rows within a fixed tableRowSize are not a group.
+      if (view.isEmptyRow()) {
+        continue;
+      }
+
+      aggregation.add(view);
+    }
+
+    return aggregation;
+  }
+
+  /**
+   * Reads the table and builds a hash index of the lines keyed by the value of the key column.
+   *
+   * @param workbook workbook
+   * @param keyColumnIndex 0-based column position of the key column in the table
+   * @return index
+   * @throws DuplicateKeyException when the same key appears in multiple lines
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see TableIndex
+   */
+  public TableIndex<T> buildIndex(Workbook workbook, int keyColumnIndex)
+      throws ExcelTableException {
+    return TableIndex.build(this, ObjectsUtil.requireNonNull(workbook), keyColumnIndex);
+  }
+
+  /**
+   * Returns the index built by {@link #buildIndex(Workbook, int)},
+   *     which is built only once for each {@code workbook} and {@code keyColumnIndex}.
+   *
+   * <p>The index is held by this reader while {@code workbook} is alive,
+   *     so the same master table used from multiple joins is read only once.
+   *     It's not rebuilt when the settings of this reader are changed after the first call,
+   *     so call {@link #buildIndex(Workbook, int)} in that case.<br>
+   *     A reader returning {@code Cell} does not hold the index
+   *     since its values reference the workbook, and builds it on every call.</p>
+   *
+   * @param workbook workbook
+   * @param keyColumnIndex 0-based column position of the key column in the table
+   * @return index
+   * @throws DuplicateKeyException when the same key appears in multiple lines
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  public TableIndex<T> getIndex(Workbook workbook, int keyColumnIndex)
+      throws ExcelTableException {
+    if (this instanceof IfDataTypeCellExcelTableReader) {
+      return buildIndex(workbook, keyColumnIndex);
+    }
+
+    synchronized (indexCache) {
+      Map<Integer, TableIndex<T>> indexes =
+          indexCache.computeIfAbsent(ObjectsUtil.requireNonNull(workbook), k -> new HashMap<>());
+      TableIndex<T> index = indexes.get(keyColumnIndex);
+      if (index == null) {
+        index = buildIndex(workbook, keyColumnIndex);
+        indexes.put(keyColumnIndex, index);
+      }
+
+      return index;
+    }
+  }
+
+  /**
+   * Reads the table line by line and passes each line
+   *     with the line of {@code index} which has the same key to {@code action}.
+   *
+   * <p>Each line is looked up from {@code index} by the value of {@code keyColumnIndex},
+   *     so two tables are joined with one pass over this table
+   *     without holding the lines of this table.<br>
+   *     With {@link JoinType#INNER} the lines without the matching line are skipped,
+   *     and with {@link JoinType#LEFT} they are passed with {@code null}.
+   *     Row filters added by {@link #withRowFilter(int, Predicate)} are applied
+   *     and empty rows within a fixed {@code tableRowSize} are skipped
+   *     with both join types.</p>
+   *
+   * @param <U> the type of the values of the lines in {@code index}
+   * @param workbook workbook
+   * @param keyColumnIndex 0-based column position of the key column in this table
+   * @param index the index of the other table
+   * @param joinType joinType
+   * @param action the action which receives the line of this table
+   *     and the matching line of the other table, which is {@code null} when not found
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  public <U> void join(Workbook workbook, int keyColumnIndex, TableIndex<U> index,
+      JoinType joinType, BiConsumer<List<T>, @Nullable List<U>> action)
+      throws ExcelTableException {
+    ObjectsUtil.requireNonNull(index);
+    ObjectsUtil.requireNonNull(joinType);
+    ObjectsUtil.requireNonNull(action);
+
+    // validate the header line
+    validateHeader(workbook);
+
+    ContextContainer context = getReadyToReadTableData(this, workbook, getSheetName(),
+        tableStartColumnNumber, null, false);
+    Objects.checkIndex(keyColumnIndex, Objects.requireNonNull(context.tableColumnSize));
+
+    IteratorReader<T> iterator = new IteratorReader<>(this, context, getNumberOfHeaderLines());
+    while (iterator.hasNext()) {
+      List<T> line = iterator.next();
+      if (line.isEmpty()) {
+        // An empty row within a fixed row size
+        continue;
+      }
+
+      List<U> matched = index.get(line.get(keyColumnIndex));
+      if (matched != null || joinType == JoinType.LEFT) {
+        action.accept(line, matched);
+      }
+    }
+  }
+
+  /**
+   * Reads two versions of the table and returns the inserted, deleted and changed lines,
+   *     where lines are identified by the values of the key columns.
+   *
+   * @param oldFilePath the file path of the old version
+   * @param newFilePath the file path of the new version
+   * @param keyColumnIndexes 0-based column positions of the key columns
+   * @return differences
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   * @see #diff(Workbook, Workbook, int...)
+   */
+  public TableDiff<T> diff(String oldFilePath, String newFilePath, int... keyColumnIndexes)
+      throws EncryptedDocumentException, IOException {
+    ObjectsUtil.requireNonNull(oldFilePath);
+    ObjectsUtil.requireNonNull(newFilePath);
+
+    try (Workbook oldExcel = ExcelReadUtil.openForRead(oldFilePath);
+        Workbook newExcel = ExcelReadUtil.openForRead(newFilePath);) {
+      return diff(oldExcel, newExcel, keyColumnIndexes);
+    }
+  }
+
+  /**
+   * Reads two versions of the table and returns the inserted, deleted and changed lines,
+   *     where lines are identified by the values of the key columns.
+   *
+   * <p>Both tables are read with the settings of this reader,
+   *     including row filters added by {@link #withRowFilter(int, Predicate)}.
+   *     See {@link TableDiff} for how lines are compared.</p>
+   *
+   * @param oldWorkbook the workbook of the old version
+   * @param newWorkbook the workbook of the new version
+   * @param keyColumnIndexes 0-based column positions of the key columns
+   * @return differences
+   * @throws DuplicateKeyException when the same key appears in multiple lines of a table
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  public TableDiff<T> diff(Workbook oldWorkbook, Workbook newWorkbook, int... keyColumnIndexes)
+      throws ExcelTableException {
+    return TableDiff.compute(this, ObjectsUtil.requireNonNull(oldWorkbook),
+        ObjectsUtil.requireNonNull(newWorkbook), ObjectsUtil.requireNonNull(keyColumnIndexes));
+  }
+
+  /**
+   * Reads one column of the table into a {@code double[]} based {@link DoubleColumn}.
+   *
+   * <p>Only the cells of the column are converted.
+   *     The other cells are seen only when the cell of the column is blank
+   *     and {@code tableRowSize} is {@code null}, to find the end of the table.</p>
+   *
+   * @param workbook workbook
+   * @param columnIndex 0-based column position in the table
+   * @return column values
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  public DoubleColumn readDoubleColumn(Workbook workbook, int columnIndex)
+      throws ExcelTableException {
+    return readColumn(workbook, columnIndex, new DoubleColumn());
+  }
+
+  /**
+   * Reads one column of the table into a {@code long[]} based {@link LongColumn}.
+   *
+   * @param workbook workbook
+   * @param columnIndex 0-based column position in the table
+   * @return column values
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see #readDoubleColumn(Workbook, int)
+   */
+  public LongColumn readLongColumn(Workbook workbook, int columnIndex)
+      throws ExcelTableException {
+    return readColumn(workbook, columnIndex, new LongColumn());
+  }
+
+  /**
+   * Reads one column of the table into an epoch-day {@code int[]} based {@link EpochDayColumn}.
+   *
+   * @param workbook workbook
+   * @param columnIndex 0-based column position in the table
+   * @return column values
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see #readDoubleColumn(Workbook, int)
+   */
+  public EpochDayColumn readEpochDayColumn(Workbook workbook, int columnIndex)
+      throws ExcelTableException {
+    return readColumn(workbook, columnIndex, new EpochDayColumn());
+  }
+
+  private <C extends PrimitiveColumn> C readColumn(Workbook workbook, int columnIndex, C column)
+      throws ExcelTableException {
+
+    // validate the header line
+    validateHeader(workbook);
+
+    ContextContainer context = getReadyToReadTableData(this, workbook, getSheetName(),
+        tableStartColumnNumber, null, false);
+    Objects.checkIndex(columnIndex, Objects.requireNonNull(context.tableColumnSize));
+    int poiBasisColumnNumber = context.poiBasisTableStartColumnNumber + columnIndex;
+
+    for (int rowNumber = context.poiBasisTableStartRowNumber
+        + getNumberOfHeaderLines();; rowNumber++) {
+      Cell cell = getTableCell(this, context, rowNumber, poiBasisColumnNumber);
+
+      // A non-empty cell means the row is in the table unless the row size is fixed.
+      boolean needsEndCheck = context.tableRowSize != null
+          || isEmptyCell(this, cell, poiBasisColumnNumber) || rowNumber == ContextContainer.max;
+      if (needsEndCheck && isOutOfTable(this, context, rowNumber)) {
+        break;
+      }
+
+      if (!acceptsRow(this, context, rowNumber)) {
+        continue;
+      }
+
+      column.add(cell);
+    }
+
+    return column;
+  }
+
+  /**
+   * Validates the header lines and returns the context to read the data lines.
+   *
+   * @param workbook workbook
+   * @return context
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  ContextContainer getReadyToReadDataLines(Workbook workbook) throws ExcelTableException {
+
+    // validate the header line
+    validateHeader(workbook);
+
+    return getReadyToReadTableData(this, workbook, getSheetName(), tableStartColumnNumber, null,
+        false);
+  }
+
+  /**
+   * Returns the context to read the header lines.
+   *
+   * <p>When {@code tableName} is set, the sheet and the position of the context are
+   *     the ones located in {@code workbook}.</p>
+   *
+   * @param workbook workbook
+   * @return context
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  protected ContextContainer getReadyToReadHeaderLines(Workbook workbook)
+      throws ExcelTableException {
+    // The header lines are used to validate the header labels,
+    // so ignoresColumnSizeSetInReader should also be true.
+    return getReadyToReadTableData(this, workbook, getSheetName(), tableStartColumnNumber,
+        getNumberOfHeaderLines(), true);
+  }
+
+  /**
+   * Reads the header lines and validates them.
+   *
+   * <p>Override it when the validation needs the information of the workbook.
+   *     Use {@link #getReadyToReadHeaderLines(Workbook)} when the override refers to
+   *     the position of the table.</p>
+   *
+   * @param workbook workbook
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  protected void validateHeader(Workbook workbook) throws ExcelTableException {
+    List<List<T>> headerData = readTableData(workbook, true, null);
+    validateHeaderData(headerData);
+  }
+
   /*
    * get Table Values in the form of the list of the lists.
    */
   private List<List<T>> readTableData(Workbook workbook) {
-    return readTableData(workbook, false);
+    return readTableData(workbook, false, null);
   }
 
   /*
    * get Table Values in the form of the list of the lists.
    */
-  private List<List<T>> readTableData(Workbook workbook, boolean readsHeaderOnly) {
+  private List<List<T>> readTableData(Workbook workbook, boolean readsHeaderOnly,
+      @Nullable List<Integer> dataRowNumbersOrNull) {
 
-    // when readsHeaderOnly == true, return data is used to validate the header labels,
-    // so ignoresColumnSizeSetInReader should also be true.
-    ContextContainer context = getReadyToReadTableData(this, workbook, getSheetName(),
-        tableStartColumnNumber, readsHeaderOnly ? getNumberOfHeaderLines() : null, readsHeaderOnly);
+    ContextContainer context = readsHeaderOnly ? getReadyToReadHeaderLines(workbook)
+        : getReadyToReadTableData(this, workbook, getSheetName(), tableStartColumnNumber, null,
+            false);
 
+    return readTableData(context, dataRowNumbersOrNull);
+  }
+
+  /*
+   * get Table Values in the form of the list of the lists.
+   */
+  private List<List<T>> readTableData(ContextContainer context,
+      @Nullable List<Integer> dataRowNumbersOrNull) {
     List<List<T>> rowList = new ArrayList<>();
     try {
       for (int rowNumber =
           context.poiBasisTableStartRowNumber; rowNumber <= ContextContainer.max; rowNumber++) {
         List<T> colList = readTableLine(this, context, rowNumber);
+        if (colList == null) {
+          // rejected by a row filter
+          continue;
+        }
+
         rowList.add(colList);
+        if (dataRowNumbersOrNull != null
+            && rowNumber >= context.poiBasisTableStartRowNumber + getNumberOfHeaderLines()) {
+          dataRowNumbersOrNull.add(rowNumber + 1);
+        }
       }
     } catch (LoopBreakException ex) {
       // do nothing, just finish the loop.
     }
 
-    detailLog.debug("finishing to read excel file. sheet name :" + getSheetName());
+    detailLog.debug("finishing to read excel file. sheet name :" + context.sheet.getSheetName());
     detailLog.debug(EclibCoreConstants.PARTITION_LARGE);
 
     return rowList;
@@ -342,6 +1041,154 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
     this.tableColumnSizeGivenByConstructor = tableColumnSize;
   }
 
+  /**
+   * Returns whether the values of the column are needed when data lines are read.
+   *
+   * <p>Cells in the columns which return {@code false} are not passed to
+   *     {@link #getCellData(Cell, int)} and stored as {@code null},
+   *     although they are still taken into account to find the end of the table.
+   *     Header lines are always read in full.</p>
+   *
+   * <p>The default implementation returns {@code true}.
+   *     Readers which know that some columns are never used override it.</p>
+   *
+   * @param columnIndex 0-based column position in the table
+   * @return whether the values of the column are needed
+   */
+  protected boolean needsColumnData(int columnIndex) {
+    return true;
+  }
+
+  /**
+   * Returns the value of the cell which is stored into a line read with {@code context}.
+   *
+   * <p>The default implementation returns the value of {@link #getCellData(Cell, int)}.
+   *     Readers which replace the stored values, like the deduplication of
+   *     {@code StringExcelTableReader}, override it.</p>
+   *
+   * @param context context
+   * @param cell cell
+   * @param columnNumber columnNumber
+   * @return the value of the cell, may be {@code null}.
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  protected @Nullable T getCellDataToStore(ContextContainer context, Cell cell, int columnNumber)
+      throws ExcelTableException {
+    return getCellData(cell, columnNumber);
+  }
+
+  /**
+   * Returns a new pool which deduplicates the values of one read, or {@code null}.
+   *
+   * <p>It's called every time the reading of a table is started,
+   *     except for the header lines read to validate them, so a pool is not shared by reads.
+   *     The default implementation returns {@code null}.</p>
+   *
+   * @return pool, may be {@code null}.
+   */
+  protected @Nullable StringDedupPool newStringDedupPool() {
+    return null;
+  }
+
+  /**
+   * Sets the cache of the results of {@link #read(String)}
+   *     and returns {@code this} for method chaining.
+   *
+   * <p>When the same file content has already been read by a reader with the same settings,
+   *     {@link #read(String)} returns the cached result without parsing the file.
+   *     The file is still read once to compute its digest.
+   *     Reads with row filters are not cached.
+   *     See {@link TableReadCache} for details.</p>
+   *
+   * @param cache cache, may be {@code null}, which means the results are not cached.
+   * @return this reader
+   */
+  public ExcelTableReader<T> withReadCache(@Nullable TableReadCache cache) {
+    this.readCache = cache;
+    return this;
+  }
+
+  /**
+   * Returns the string which identifies the settings of the reader affecting the read result.
+   *
+   * <p>It's a part of the key of {@link TableReadCache}.
+   *     Subclasses with additional settings need to override it
+   *     and append them to the result of {@code super.getConfigurationFingerprint()}.</p>
+   *
+   * @return fingerprint
+   */
+  protected String getConfigurationFingerprint() {
+    StringBuilder sb = new StringBuilder(getClass().getName()).append('|').append(tableName)
+        .append('|').append(sheetName)
+        .append('|').append(tableStartRowNumber).append('|').append(tableStartColumnNumber)
+        .append('|').append(tableRowSizeGivenByConstructor).append('|')
+        .append(tableColumnSizeGivenByConstructor).append('|')
+        .append(ignoresAdditionalColumnsOfHeaderData).append('|')
+        .append(isVerticalAndHorizontalOpposite);
+
+    if (getNumberOfHeaderLines() > 0) {
+      for (String[] labels : getHeaderLabelData()) {
+        sb.append('|').append(Arrays.toString(labels));
+      }
+    }
+
+    return sb.toString();
+  }
+
+  /**
+   * Adds a row filter and returns {@code this} for method chaining.
+   *
+   * <p>Each data row is passed to the filters before the other cells are converted.
+   *     Only the cell of {@code columnIndex} is converted (in the same way as
+   *     {@link #read(String)} does) and passed to {@code condition},
+   *     and the row is skipped without converting the rest of it
+   *     when {@code condition} returns {@code false}.
+   *     When multiple filters are added, a row is read only when it passes all of them.</p>
+   *
+   * <p>Filters are applied to {@link #read(String)}, {@link #getIterable(String)},
+   *     {@link #getRowViewIterable(String)} and the single-column reads like
+   *     {@link #readDoubleColumn(Workbook, int)}, and their overloads.
+   *     Header lines are not filtered.</p>
+   *
+   * @param columnIndex 0-based column position in the table
+   * @param condition condition the value of the column must satisfy,
+   *     which receives {@code null} when the cell does not exist
+   * @return this reader
+   */
+  public ExcelTableReader<T> withRowFilter(int columnIndex, Predicate<@Nullable T> condition) {
+    if (columnIndex < 0) {
+      throw new RuntimeException("columnIndex must be 0 or greater. columnIndex: " + columnIndex);
+    }
+
+    rowFilters.add(new RowFilter<>(columnIndex, ObjectsUtil.requireNonNull(condition)));
+    return this;
+  }
+
+  /**
+   * Returns whether the row passes all the row filters.
+   *
+   * <p>Only the cells of the columns the filters refer to are converted.</p>
+   *
+   * @param reader reader
+   * @param context context
+   * @param rowNumber rowNumber
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  static <T> boolean acceptsRow(ExcelTableReader<T> reader, ContextContainer context,
+      int rowNumber) throws ExcelTableException {
+    for (RowFilter<T> filter : reader.rowFilters) {
+      Objects.checkIndex(filter.columnIndex, Objects.requireNonNull(context.tableColumnSize));
+      int columnNumber = context.poiBasisTableStartColumnNumber + filter.columnIndex;
+      Cell cell = getTableCell(reader, context, rowNumber, columnNumber);
+      T value = cell == null ? null : reader.getCellData(cell, columnNumber + 1);
+      if (!filter.condition.test(value)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
   /**
    * Provides common procedure for reading one line of a table.
    *
@@ -351,9 +1198,10 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
    * @param reader reader
    * @param context context
    * @param rowNumber rowNumber
+   * @return the line, or {@code null} when the line is rejected by a row filter
    * @throws ExcelTableException when an Excel parsing error occurs
    */
-  static <T> List<T> readTableLine(ExcelTableReader<T> reader, ContextContainer context,
+  static <T> @Nullable List<T> readTableLine(ExcelTableReader<T> reader, ContextContainer context,
       int rowNumber) throws ExcelTableException {
     detailLog.debug(EclibCoreConstants.PARTITION_MEDIUM);
     detailLog.debug("row number: " + rowNumber);
@@ -367,41 +1215,50 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
       throw new LoopBreakException();
     }
 
+    // Header lines are always read in full since they are validated.
+    boolean isDataLine =
+        rowNumber >= context.poiBasisTableStartRowNumber + reader.getNumberOfHeaderLines();
+
+    // Rows rejected by row filters are skipped before the other cells are converted.
+    if (isDataLine && !acceptsRow(reader, context, rowNumber)) {
+      if (isOutOfTable(reader, context, rowNumber)) {
+        throw new LoopBreakException();
+      }
+
+      return null;
+    }
+
     List<T> colList = new ArrayList<>();
     boolean isEmptyRow = true;
 
     int tableColumnSize = java.util.Objects.requireNonNull(context.tableColumnSize);
     for (int j = context.poiBasisTableStartColumnNumber; j < context.poiBasisTableStartColumnNumber
         + tableColumnSize; j++) {
+      Cell cell = getTableCell(reader, context, rowNumber, j);
 
-      if (reader.isVerticalAndHorizontalOpposite()) {
-        Row row = context.sheet.getRow(j);
-        if (row == null || row.getCell(rowNumber) == null) {
-          colList.add(null);
+      if (cell == null) {
+        colList.add(null);
 
-        } else {
-          Cell cell = row.getCell(rowNumber);
-          T cellData = reader.getCellData(cell, j + 1);
-          colList.add(cellData);
+      } else if (isDataLine
+          && !reader.needsColumnData(j - context.poiBasisTableStartColumnNumber)) {
+        // The value is not stored, but the cell still counts for the end of the table.
+        colList.add(null);
+        if (isEmptyRow && !isEmptyCell(reader, cell, j)) {
+          isEmptyRow = false;
         }
 
       } else {
-        Row row = context.sheet.getRow(rowNumber);
-        if (row == null || row.getCell(j) == null) {
-          colList.add(null);
-
-        } else {
-          Cell cell = row.getCell(j);
-          T cellData = reader.getCellData(cell, j + 1);
-          colList.add(cellData);
-        }
+        T cellData = reader.getCellDataToStore(context, cell, j + 1);
+        colList.add(cellData);
       }
     }
 
-    for (T colData : colList) {
-      if (!reader.isCellDataEmpty(colData)) {
-        isEmptyRow = false;
-        break;
+    if (isEmptyRow) {
+      for (T colData : colList) {
+        if (!reader.isCellDataEmpty(colData)) {
+          isEmptyRow = false;
+          break;
+        }
       }
     }
 
@@ -421,8 +1278,120 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
     return colList;
   }
 
+  /**
+   * Stores the cells of one line of a table into {@code view}.
+   *
+   * <p>Cell values are not stored here, so no object is allocated per row.
+   *     Cells are converted only to judge whether the row is empty,
+   *     until the first non-empty cell is found.</p>
+   *
+   * @param reader reader
+   * @param context context
+   * @param rowNumber rowNumber
+   * @param view the view to overwrite
+   */
+  static <T> void loadRowView(ExcelTableReader<T> reader, ContextContainer context,
+      int rowNumber, RowView<T> view) {
+    @Nullable
+    Cell[] cells = view.cells();
+    boolean isEmptyRow = true;
+    for (int i = 0; i < cells.length; i++) {
+      Cell cell = getTableCell(reader, context, rowNumber,
+          context.poiBasisTableStartColumnNumber + i);
+      cells[i] = cell;
+      if (isEmptyRow && !isEmptyCell(reader, cell, context.poiBasisTableStartColumnNumber + i)) {
+        isEmptyRow = false;
+      }
+    }
+
+    view.update(rowNumber, isEmptyRow);
+  }
+
+  /**
+   * Returns whether {@code rowNumber} is out of the table, 
+   *     judging in the same way as {@link #readTableLine} does
+   *     but without storing cell values.
+   *
+   * @param reader reader
+   * @param context context
+   * @param rowNumber rowNumber
+   */
+  static <T> boolean isOutOfTable(ExcelTableReader<T> reader, ContextContainer context,
+      int rowNumber) {
+    if (rowNumber == ContextContainer.max) {
+      throw new RuntimeException("'max':" + ContextContainer.max + " exceeded.");
+    }
+
+    if (context.tableRowSize != null) {
+      // An empty row within a fixed row size is a part of the table.
+      return rowNumber >= context.poiBasisTableStartRowNumber
+          + Objects.requireNonNull(context.tableRowSize);
+    }
+
+    int tableColumnSize = Objects.requireNonNull(context.tableColumnSize);
+    for (int j = context.poiBasisTableStartColumnNumber; j < context.poiBasisTableStartColumnNumber
+        + tableColumnSize; j++) {
+      if (!isEmptyCell(reader, getTableCell(reader, context, rowNumber, j), j)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns whether the cell is empty in the same way as {@link #readTableLine} judges it,
+   *     which is the rule to find empty rows and the end of the table.
+   *
+   * <p>Blank cells are empty and cells with an error are not, without converting them.
+   *     Other cells are converted with {@link #getCellData(Cell, int)}
+   *     and judged with {@link #isCellDataEmpty(Object)},
+   *     so a cell whose format displays nothing is empty for {@code String} readers.</p>
+   *
+   * @param reader reader
+   * @param cell cell, may be {@code null}.
+   * @param poiBasisColumnNumber the column number of the cell, in poi basis
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  static <T> boolean isEmptyCell(ExcelTableReader<T> reader, @Nullable Cell cell,
+      int poiBasisColumnNumber) throws ExcelTableException {
+    if (cell == null || ExcelReadUtil.isBlankCell(cell)) {
+      return true;
+    }
+
+    CellType cellType = cell.getCellType();
+    if (cellType == CellType.FORMULA) {
+      cellType = cell.getCachedFormulaResultType();
+    }
+
+    if (cellType == CellType.ERROR) {
+      return false;
+    }
+
+    return reader.isCellDataEmpty(reader.getCellData(cell, poiBasisColumnNumber + 1));
+  }
+
+  /*
+   * Returns the cell considering isVerticalAndHorizontalOpposite.
+   */
+  private static <T> @Nullable Cell getTableCell(ExcelTableReader<T> reader,
+      ContextContainer context, int rowNumber, int columnNumber) {
+    Row row = reader.isVerticalAndHorizontalOpposite() ? context.sheet.getRow(columnNumber)
+        : context.sheet.getRow(rowNumber);
+    if (row == null) {
+      return null;
+    }
+
+    return reader.isVerticalAndHorizontalOpposite() ? row.getCell(rowNumber)
+        : row.getCell(columnNumber);
+  }
+
   /**
    * Gets ready to read table data.
+   *
+   * <p>When {@code tableName} of the reader is set, the table is located in {@code workbook}
+   *     and {@code sheetName}, {@code tableStartColumnNumber} and the position and the size
+   *     set in the reader are not used.</p>
    * 
    * @param ignoresColumnSizeSetInReader It is {@code true} means 
    *     that even if the reader determines the column size,
@@ -432,19 +1401,39 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
       Workbook workbook, String sheetName, int tableStartColumnNumber,
       @Nullable Integer numberOfHeaderLinesIfReadsHeaderOnlyOrNull,
       boolean ignoresColumnSizeSetInReader) throws ExcelTableException {
+    NamedTableLocation location = reader.locateNamedTable(workbook);
+    String locatedSheetName = location == null ? sheetName : location.sheetName;
+
     detailLog.debug(EclibCoreConstants.PARTITION_LARGE);
     detailLog.debug("starting to read excel file.");
-    detailLog.debug("sheet name :" + sheetName);
+    detailLog.debug("sheet name :" + locatedSheetName);
 
-    Sheet sheet = workbook.getSheet(sheetName);
+    Sheet sheet = workbook.getSheet(locatedSheetName);
 
     if (sheet == null) {
-      throw new SheetNotExistException(sheetName);
+      throw new SheetNotExistException(locatedSheetName);
     }
 
-    Integer tableRowSize =
-        numberOfHeaderLinesIfReadsHeaderOnlyOrNull == null ? reader.getTableRowSize()
-            : numberOfHeaderLinesIfReadsHeaderOnlyOrNull;
+    Integer tableRowSize = numberOfHeaderLinesIfReadsHeaderOnlyOrNull != null
+        ? numberOfHeaderLinesIfReadsHeaderOnlyOrNull
+        : location == null ? reader.getTableRowSize() : location.getRowSize();
+
+    // Values of the header lines are not stored, so they are not deduplicated.
+    StringDedupPool stringDedupPool =
+        numberOfHeaderLinesIfReadsHeaderOnlyOrNull == null ? reader.newStringDedupPool() : null;
+
+    if (location != null) {
+      // The column size of a named table is exact, so it also applies to the header lines.
+      // When the area reaches the end of the sheet, it's determined from the header
+      // without the column size set in the reader.
+      int firstRow = location.area.getFirstRow();
+      int firstColumn = location.area.getFirstColumn();
+      Integer columnSize = location.getColumnSize();
+      return new ContextContainer(sheet, firstRow, firstColumn, tableRowSize,
+          columnSize != null ? columnSize
+              : reader.getTableColumnSize(sheet, firstRow, firstColumn, true),
+          stringDedupPool);
+    }
 
     // poiBasis means the top-left position is (0, 0)
     // while tableStartRowNumber / tableStartColumnNumber >= 1.
@@ -454,7 +1443,8 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
     ContextContainer context =
         new ContextContainer(sheet, poiBasisTableStartRowNumber, poiBasisTableStartColumnNumber,
             tableRowSize, reader.getTableColumnSize(sheet, poiBasisTableStartRowNumber,
-                poiBasisTableStartColumnNumber, ignoresColumnSizeSetInReader));
+                poiBasisTableStartColumnNumber, ignoresColumnSizeSetInReader),
+            stringDedupPool);
 
     return context;
   }
@@ -520,7 +1510,7 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
 
     private ExcelTableReader<T> reader;
     private ContextContainer context;
-    private boolean hasNext = true;
+    private @Nullable List<T> nextLine;
     private int rowNumber;
 
     /**
@@ -531,31 +1521,173 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
       this.reader = reader;
       this.context = context;
       this.rowNumber = context.poiBasisTableStartRowNumber + numberOfHeaderLines;
+      this.nextLine = readNextLine();
     }
 
     @Override
     public boolean hasNext() {
-      return hasNext;
+      return nextLine != null;
     }
 
     @Override
     public List<T> next() {
-      if (!hasNext) {
+      List<T> rtn = nextLine;
+      if (rtn == null) {
         throw new NoSuchElementException();
       }
 
-      List<T> rtn = readTableLine(reader, context, rowNumber);
+      // The line read ahead for hasNext() is returned, so each line is read only once.
+      nextLine = readNextLine();
 
-      rowNumber++;
+      return rtn;
+    }
 
-      // check for hasNext
+    /*
+     * Returns the next line passing the row filters, or null at the end of the table.
+     */
+    private @Nullable List<T> readNextLine() {
       try {
-        readTableLine(reader, context, rowNumber);
+        while (true) {
+          List<T> line = readTableLine(reader, context, rowNumber++);
+          if (line != null) {
+            return line;
+          }
+        }
       } catch (LoopBreakException ex) {
-        hasNext = false;
+        return null;
       }
+    }
+  }
 
-      return rtn;
+  /**
+   * Provides {@code Iterable} of {@link RowView}.
+   *
+   * <p>When constructed with an {@code ownedWorkbook}, {@link #close()} closes that workbook.
+   *     When constructed without one, {@code close()} is a no-op (the caller owns
+   *     the workbook).</p>
+   *
+   * @param <T> See {@link IfExcelTable}.
+   */
+  public static class RowViewIterable<T> implements Iterable<RowView<T>>, AutoCloseable {
+
+    private RowViewIterator<T> iterator;
+    private @Nullable Workbook ownedWorkbook;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param reader reader
+     * @param context context
+     * @param numberOfHeaderLines numberOfHeaderLines
+     */
+    public RowViewIterable(ExcelTableReader<T> reader, ContextContainer context,
+        int numberOfHeaderLines) {
+      this(reader, context, numberOfHeaderLines, null);
+    }
+
+    /**
+     * Constructs a new instance with an owned workbook to be closed by {@link #close()}.
+     *
+     * @param reader reader
+     * @param context context
+     * @param numberOfHeaderLines numberOfHeaderLines
+     * @param ownedWorkbook the workbook this iterable owns; {@code null} means the caller
+     *     owns it and {@link #close()} is a no-op
+     */
+    public RowViewIterable(ExcelTableReader<T> reader, ContextContainer context,
+        int numberOfHeaderLines, @Nullable Workbook ownedWorkbook) {
+      this.iterator = new RowViewIterator<T>(reader, context, numberOfHeaderLines);
+      this.ownedWorkbook = ownedWorkbook;
+    }
+
+    @Override
+    public Iterator<RowView<T>> iterator() {
+      return iterator;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (ownedWorkbook != null) {
+        Objects.requireNonNull(ownedWorkbook).close();
+      }
+    }
+  }
+
+  /**
+   * Provides Iterator of {@link RowView}.
+   *
+   * <p>{@link #next()} always returns the same {@code RowView} instance
+   *     overwritten with the next row.</p>
+   *
+   * @param <T> See {@link IfExcelTable}.
+   */
+  public static class RowViewIterator<T> implements Iterator<RowView<T>> {
+
+    private ExcelTableReader<T> reader;
+    private ContextContainer context;
+    private RowView<T> view;
+    private boolean hasNext;
+    private int rowNumber;
+
+    /**
+     * Constructs a new instance.
+     */
+    public RowViewIterator(ExcelTableReader<T> reader, ContextContainer context,
+        int numberOfHeaderLines) {
+      this.reader = reader;
+      this.context = context;
+      this.view = new RowView<T>(reader, context.poiBasisTableStartColumnNumber,
+          Objects.requireNonNull(context.tableColumnSize));
+      this.rowNumber = context.poiBasisTableStartRowNumber + numberOfHeaderLines;
+      this.hasNext = seekAcceptedRow();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return hasNext;
+    }
+
+    @Override
+    public RowView<T> next() {
+      if (!hasNext) {
+        throw new NoSuchElementException();
+      }
+
+      loadRowView(reader, context, rowNumber, view);
+
+      rowNumber++;
+      hasNext = seekAcceptedRow();
+
+      return view;
+    }
+
+    /*
+     * Moves rowNumber to the next row passing the row filters
+     * and returns false when the end of the table is reached.
+     */
+    private boolean seekAcceptedRow() {
+      while (!isOutOfTable(reader, context, rowNumber)) {
+        if (acceptsRow(reader, context, rowNumber)) {
+          return true;
+        }
+
+        rowNumber++;
+      }
+
+      return false;
+    }
+  }
+
+  /**
+   * Holds a row filter.
+   */
+  private static class RowFilter<T> {
+    private final int columnIndex;
+    private final Predicate<@Nullable T> condition;
+
+    private RowFilter(int columnIndex, Predicate<@Nullable T> condition) {
+      this.columnIndex = columnIndex;
+      this.condition = condition;
     }
   }
 
@@ -592,6 +1724,32 @@ public abstract class ExcelTableReader<T> extends ExcelTable<T> implements IfExc
     return this;
   }
 
+  /**
+   * Returns {@code tableStartRowNumber}, which {@link MultiTableReader} changes while reading.
+   *
+   * @return tableStartRowNumber, may be {@code null}.
+   */
+  @Nullable
+  Integer getTableStartRowNumber() {
+    return tableStartRowNumber;
+  }
+
+  /**
+   * Sets {@code tableName} and returns {@code this} for method chaining.
+   *
+   * <p>The position and the size of the table are obtained from the Excel table
+   *     or the defined name of the workbook, instead of {@code sheetName},
+   *     {@code tableStartRowNumber}, {@code tableStartColumnNumber}, {@code tableRowSize}
+   *     and {@code tableColumnSize}.</p>
+   *
+   * @param value See {@link ExcelTable#tableName}.
+   * @return this reader
+   */
+  public ExcelTableReader<T> tableName(@Nullable String value) {
+    this.tableName = value;
+    return this;
+  }
+
   /**
    * Sets {@code tableColumnSize} and returns {@code this} for method chaining.
    *
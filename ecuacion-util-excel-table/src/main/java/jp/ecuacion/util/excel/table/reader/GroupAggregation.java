@@ -0,0 +1,199 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import jp.ecuacion.util.excel.exception.ExcelTableException;
+import jp.ecuacion.util.excel.table.IfExcelTable;
+import jp.ecuacion.util.excel.util.ExcelReadUtil;
+import org.apache.poi.ss.usermodel.Cell;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Stores the row counts and the sums of a table grouped by the values of group-by columns.
+ *
+ * <p>It's created by {@link ExcelTableReader#aggregate(String, int[], int[])}.
+ *     Rows are added one by one while the table is read, so no row is kept
+ *     and the memory used is proportional to the number of groups.
+ *     Each group has a {@code long} count and a {@code double[]} of sums.</p>
+ *
+ * <p>A group key is the list of the values of the group-by columns,
+ *     converted in the same way as {@link ExcelTableReader#read(String)} does.
+ *     When no group-by column is specified, all the rows belong to one group
+ *     whose key is an empty list.<br>
+ *     Sum columns are read as numbers in the same way as {@link DoubleColumn} does,
+ *     and blank cells are ignored.</p>
+ *
+ * @param <T> See {@link IfExcelTable}.
+ */
+public class GroupAggregation<T> {
+
+  private final int[] groupByColumnIndexes;
+
+  private final int[] sumColumnIndexes;
+
+  private final Map<List<@Nullable T>, Accumulator> groups = new LinkedHashMap<>();
+
+  /** Is reused to look up the group of each row, so a key is created only per group. */
+  private final List<@Nullable T> probe;
+
+  private long totalCount;
+
+  private final double[] totalSums;
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param groupByColumnIndexes 0-based column positions of the group-by columns
+   * @param sumColumnIndexes 0-based column positions of the sum columns
+   */
+  GroupAggregation(int[] groupByColumnIndexes, int[] sumColumnIndexes) {
+    this.groupByColumnIndexes = groupByColumnIndexes.clone();
+    this.sumColumnIndexes = sumColumnIndexes.clone();
+    this.probe = new ArrayList<>(Collections.nCopies(groupByColumnIndexes.length, null));
+    this.totalSums = new double[sumColumnIndexes.length];
+  }
+
+  /**
+   * Checks the column indexes are within the table.
+   *
+   * @param tableColumnSize tableColumnSize
+   */
+  void checkColumnIndexes(int tableColumnSize) {
+    for (int colIdx : groupByColumnIndexes) {
+      Objects.checkIndex(colIdx, tableColumnSize);
+    }
+
+    for (int colIdx : sumColumnIndexes) {
+      Objects.checkIndex(colIdx, tableColumnSize);
+    }
+  }
+
+  /**
+   * Adds the row to its group.
+   *
+   * @param view the view of the row
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  void add(RowView<T> view) throws ExcelTableException {
+    for (int i = 0; i < groupByColumnIndexes.length; i++) {
+      probe.set(i, view.getValue(groupByColumnIndexes[i]));
+    }
+
+    Accumulator accumulator = groups.get(probe);
+    if (accumulator == null) {
+      accumulator = new Accumulator(sumColumnIndexes.length);
+      groups.put(new ArrayList<>(probe), accumulator);
+    }
+
+    accumulator.count++;
+    totalCount++;
+
+    for (int i = 0; i < sumColumnIndexes.length; i++) {
+      Cell cell = view.getCell(sumColumnIndexes[i]);
+      if (ExcelReadUtil.isBlankCell(cell)) {
+        continue;
+      }
+
+      Cell nonNullCell = Objects.requireNonNull(cell);
+      double value =
+          DoubleColumn.toDouble(nonNullCell, PrimitiveColumn.getResultCellType(nonNullCell));
+      accumulator.sums[i] += value;
+      totalSums[i] += value;
+    }
+  }
+
+  /**
+   * Returns the number of the groups.
+   *
+   * @return the number of the groups
+   */
+  public int size() {
+    return groups.size();
+  }
+
+  /**
+   * Returns the group keys in the order the groups first appear in the table.
+   *
+   * @return unmodifiable set of the group keys
+   */
+  public Set<List<@Nullable T>> getGroupKeys() {
+    return Collections.unmodifiableSet(groups.keySet());
+  }
+
+  /**
+   * Returns the number of the rows of the group.
+   *
+   * @param groupKey group key
+   * @return the number of the rows, {@code 0} when the group does not exist.
+   */
+  public long getCount(List<@Nullable T> groupKey) {
+    Accumulator accumulator = groups.get(groupKey);
+    return accumulator == null ? 0 : accumulator.count;
+  }
+
+  /**
+   * Returns the sum of the sum column of the group.
+   *
+   * @param groupKey group key
+   * @param sumColumnPosition the position of the column in {@code sumColumnIndexes}
+   *     passed to {@link ExcelTableReader#aggregate(String, int[], int[])},
+   *     not the column position in the table
+   * @return the sum, {@code 0} when the group does not exist.
+   */
+  public double getSum(List<@Nullable T> groupKey, int sumColumnPosition) {
+    Objects.checkIndex(sumColumnPosition, sumColumnIndexes.length);
+    Accumulator accumulator = groups.get(groupKey);
+    return accumulator == null ? 0 : accumulator.sums[sumColumnPosition];
+  }
+
+  /**
+   * Returns the number of all the rows.
+   *
+   * @return the number of the rows
+   */
+  public long getTotalCount() {
+    return totalCount;
+  }
+
+  /**
+   * Returns the sum of the sum column over all the rows.
+   *
+   * @param sumColumnPosition See {@link #getSum(List, int)}.
+   * @return the sum
+   */
+  public double getTotalSum(int sumColumnPosition) {
+    return totalSums[sumColumnPosition];
+  }
+
+  /**
+   * Holds the primitive accumulators of a group.
+   */
+  private static class Accumulator {
+    private long count;
+    private final double[] sums;
+
+    private Accumulator(int numberOfSumColumns) {
+      this.sums = new double[numberOfSumColumns];
+    }
+  }
+}
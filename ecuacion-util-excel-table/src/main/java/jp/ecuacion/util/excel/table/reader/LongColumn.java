@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.util.Arrays;
+import jp.ecuacion.util.excel.exception.ExcelTableException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+
+/**
+ * Stores the values of one column of a table in a growable {@code long[]}.
+ *
+ * <p>Values are read in the same way as {@link DoubleColumn}
+ *     and rounded with {@link Math#round(double)}.</p>
+ */
+public class LongColumn extends PrimitiveColumn {
+
+  private long[] values = new long[INITIAL_CAPACITY];
+
+  /**
+   * Constructs a new instance.
+   */
+  LongColumn() {}
+
+  /**
+   * Returns the value at {@code index}.
+   *
+   * @param index 0-based data row position in the table
+   * @return the value, {@code 0} when {@link #isNull(int)} is {@code true}
+   */
+  public long get(int index) {
+    checkIndex(index);
+    return values[index];
+  }
+
+  /**
+   * Returns the sum of the values. {@code null} values are ignored.
+   *
+   * @return sum
+   * @throws ArithmeticException when the sum overflows a {@code long}
+   */
+  public long sum() {
+    long sum = 0;
+    for (int i = 0; i < size; i++) {
+      sum = Math.addExact(sum, values[i]);
+    }
+
+    return sum;
+  }
+
+  /**
+   * Returns a copy of the values, whose length is equal to {@link #size()}.
+   *
+   * @return values
+   */
+  public long[] toArray() {
+    return Arrays.copyOf(values, size);
+  }
+
+  @Override
+  protected void addZero() {
+    ensureCapacity();
+    values[size] = 0;
+  }
+
+  @Override
+  protected void addValue(Cell cell, CellType cellType) throws ExcelTableException {
+    ensureCapacity();
+    values[size] = Math.round(DoubleColumn.toDouble(cell, cellType));
+  }
+
+  private void ensureCapacity() {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, values.length * 2);
+    }
+  }
+}
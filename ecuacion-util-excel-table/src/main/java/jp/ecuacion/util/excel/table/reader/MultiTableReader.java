@@ -0,0 +1,245 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import jp.ecuacion.lib.core.util.ObjectsUtil;
+import jp.ecuacion.util.excel.exception.ExcelTableException;
+import jp.ecuacion.util.excel.exception.FarLeftHeaderLabelNotFoundException;
+import jp.ecuacion.util.excel.exception.LoopBreakException;
+import jp.ecuacion.util.excel.exception.SheetNotExistException;
+import jp.ecuacion.util.excel.table.ExcelTable.ContextContainer;
+import jp.ecuacion.util.excel.util.ExcelReadUtil;
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Reads multiple tables stacked in one sheet, like a header block, detail lines and a summary,
+ *     in one pass from the top of the sheet to the bottom.
+ *
+ * <p>Each table is defined by a reader added by {@link #add(ExcelTableReader)}
+ *     or {@link #add(ExcelTableReader, Consumer)}, in the order the tables appear in the sheet.
+ *     A table is searched from the row next to the end of the previous table,
+ *     so the rows above it are not scanned again.
+ *     When the {@code tableStartRowNumber} of a reader is {@code null},
+ *     the table starts at the first row with its far left header label;
+ *     otherwise it starts at {@code tableStartRowNumber},
+ *     which needs to be below the previous table.</p>
+ *
+ * <p>All the readers need to read the same sheet in the same orientation.
+ *     Row filters of the readers are applied.
+ *     Readers located by {@code tableName} are not supported
+ *     and {@code RuntimeException} is thrown.</p>
+ */
+public class MultiTableReader {
+
+  private final List<Entry<?>> entries = new ArrayList<>();
+
+  /**
+   * Adds a table whose lines are stored in the result.
+   *
+   * @param reader the reader which defines the table
+   * @return this reader
+   */
+  public <T> MultiTableReader add(ExcelTableReader<T> reader) {
+    entries.add(new Entry<>(ObjectsUtil.requireNonNull(reader), null));
+    return this;
+  }
+
+  /**
+   * Adds a table whose lines are passed to {@code consumer} one by one
+   *     and not stored in the result.
+   *
+   * @param reader the reader which defines the table
+   * @param consumer consumer of the lines
+   * @return this reader
+   */
+  public <T> MultiTableReader add(ExcelTableReader<T> reader, Consumer<List<T>> consumer) {
+    entries.add(new Entry<>(ObjectsUtil.requireNonNull(reader),
+        ObjectsUtil.requireNonNull(consumer)));
+    return this;
+  }
+
+  /**
+   * Reads the tables in an excel file at {@code filePath}.
+   *
+   * @param filePath filePath
+   * @return result
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   */
+  public Result read(String filePath) throws EncryptedDocumentException, IOException {
+    ObjectsUtil.requireNonNull(filePath);
+
+    try (Workbook excel = ExcelReadUtil.openForRead(filePath);) {
+      return read(excel);
+    }
+  }
+
+  /**
+   * Reads the tables from {@code workbook}.
+   *
+   * @param workbook workbook
+   * @return result
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  public Result read(Workbook workbook) throws ExcelTableException {
+    ObjectsUtil.requireNonNull(workbook);
+    if (entries.isEmpty()) {
+      throw new RuntimeException("No table is added.");
+    }
+
+    ExcelTableReader<?> first = entries.get(0).reader;
+    for (Entry<?> entry : entries) {
+      if (entry.reader.getTableName() != null) {
+        throw new RuntimeException(
+            "Readers located by tableName are not supported. tableName: "
+                + entry.reader.getTableName());
+      }
+
+      if (!entry.reader.getSheetName().equals(first.getSheetName())
+          || entry.reader.isVerticalAndHorizontalOpposite() != first
+              .isVerticalAndHorizontalOpposite()) {
+        throw new RuntimeException(
+            "All the readers need to read the same sheet in the same orientation.");
+      }
+    }
+
+    Sheet sheet = workbook.getSheet(first.getSheetName());
+    if (sheet == null) {
+      throw new SheetNotExistException(first.getSheetName());
+    }
+
+    Result result = new Result();
+    int nextRowNumber = 0;
+    for (Entry<?> entry : entries) {
+      nextRowNumber = readTable(entry, workbook, sheet, nextRowNumber, result);
+    }
+
+    return result;
+  }
+
+  /*
+   * Reads the table starting at or below fromRowNumber and returns the row next to its end.
+   */
+  private <T> int readTable(Entry<T> entry, Workbook workbook, Sheet sheet, int fromRowNumber,
+      Result result) throws ExcelTableException {
+    ExcelTableReader<T> reader = entry.reader;
+    Integer tableStartRowNumber = reader.getTableStartRowNumber();
+    int startRowNumber = tableStartRowNumber == null ? findHeaderRow(reader, sheet, fromRowNumber)
+        : tableStartRowNumber - 1;
+    if (startRowNumber < fromRowNumber) {
+      throw new RuntimeException("The table overlaps the previous table. sheet: "
+          + sheet.getSheetName() + ", tableStartRowNumber: " + tableStartRowNumber);
+    }
+
+    List<List<T>> lines = new ArrayList<>();
+    int rowNumber;
+    try {
+      // The found position is set to the reader so the header is not searched again.
+      reader.tableStartRowNumber(startRowNumber + 1);
+      reader.validateHeader(workbook);
+      ContextContainer context = ExcelTableReader.getReadyToReadTableData(reader, workbook,
+          reader.getSheetName(), reader.getPoiBasisDeterminedTableStartColumnNumber() + 1, null,
+          false);
+
+      rowNumber = context.poiBasisTableStartRowNumber + reader.getNumberOfHeaderLines();
+      try {
+        for (;; rowNumber++) {
+          List<T> line = ExcelTableReader.readTableLine(reader, context, rowNumber);
+          if (line == null) {
+            continue;
+          }
+
+          if (entry.consumer == null) {
+            lines.add(line);
+
+          } else {
+            entry.consumer.accept(line);
+          }
+        }
+      } catch (LoopBreakException ex) {
+        // end of the table
+      }
+
+    } finally {
+      reader.tableStartRowNumber(tableStartRowNumber);
+    }
+
+    result.tables.put(reader, lines);
+    return rowNumber;
+  }
+
+  private static int findHeaderRow(ExcelTableReader<?> reader, Sheet sheet, int fromRowNumber)
+      throws ExcelTableException {
+    int column = reader.getPoiBasisDeterminedTableStartColumnNumber();
+    int rowNumber = reader.findPoiBasisFarLeftHeaderRowNumber(sheet, column, fromRowNumber,
+        Integer.MAX_VALUE);
+    if (rowNumber < 0) {
+      throw new FarLeftHeaderLabelNotFoundException(sheet.getSheetName(), column + 1,
+          reader.getFarLeftAndTopHeaderLabel());
+    }
+
+    return rowNumber;
+  }
+
+  /**
+   * Holds a reader and the consumer of its lines.
+   */
+  private static class Entry<T> {
+    private final ExcelTableReader<T> reader;
+    private final @Nullable Consumer<List<T>> consumer;
+
+    private Entry(ExcelTableReader<T> reader, @Nullable Consumer<List<T>> consumer) {
+      this.reader = reader;
+      this.consumer = consumer;
+    }
+  }
+
+  /**
+   * Stores the lines of the tables read by {@link MultiTableReader}.
+   */
+  public static class Result {
+
+    private final Map<ExcelTableReader<?>, List<?>> tables = new IdentityHashMap<>();
+
+    private Result() {}
+
+    /**
+     * Returns the lines of the table defined by {@code reader}.
+     *
+     * @param reader the reader added to {@link MultiTableReader}
+     * @return lines, empty when the lines were passed to a consumer.
+     */
+    public <T> List<List<T>> get(ExcelTableReader<T> reader) {
+      List<?> lines = tables.get(reader);
+      if (lines == null) {
+        throw new RuntimeException("The reader is not added to the MultiTableReader.");
+      }
+
+      @SuppressWarnings("unchecked")
+      List<List<T>> rtn = (List<List<T>>) lines;
+      return rtn;
+    }
+  }
+}
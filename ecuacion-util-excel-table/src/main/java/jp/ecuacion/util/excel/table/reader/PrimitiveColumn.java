@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.util.BitSet;
+import java.util.Objects;
+import jp.ecuacion.util.excel.exception.CellContainsErrorException;
+import jp.ecuacion.util.excel.exception.CellValueTypeMismatchException;
+import jp.ecuacion.util.excel.exception.ExcelTableException;
+import jp.ecuacion.util.excel.util.ExcelReadUtil;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Is a parent of the classes which store the values of one column of a table
+ *     in a growable primitive array.
+ *
+ * <p>Blank cells are recorded in a null bit set and their element in the array is {@code 0}.
+ *     No boxed value is created while the column is read.</p>
+ */
+public abstract class PrimitiveColumn {
+
+  /** Is the initial capacity of the primitive array. */
+  protected static final int INITIAL_CAPACITY = 64;
+
+  private final BitSet nulls = new BitSet();
+
+  /** Is the number of the stored values, including nulls. */
+  protected int size;
+
+  /**
+   * Returns the number of the values, including nulls.
+   *
+   * @return size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether the value at {@code index} is {@code null}, that is, the cell is blank.
+   *
+   * @param index 0-based data row position in the table
+   * @return whether the value is {@code null}
+   */
+  public boolean isNull(int index) {
+    checkIndex(index);
+    return nulls.get(index);
+  }
+
+  /**
+   * Returns the number of {@code null} values.
+   *
+   * @return the number of {@code null} values
+   */
+  public int getNullCount() {
+    return nulls.cardinality();
+  }
+
+  /**
+   * Returns a copy of the null bit set, in which the bit of a blank cell is set.
+   *
+   * @return null bit set
+   */
+  public BitSet getNullBitSet() {
+    return (BitSet) nulls.clone();
+  }
+
+  /**
+   * Adds the value of the cell.
+   *
+   * @param cell cell, may be {@code null}.
+   * @throws ExcelTableException when the value cannot be read as the type of the column
+   */
+  void add(@Nullable Cell cell) throws ExcelTableException {
+    if (ExcelReadUtil.isBlankCell(cell)) {
+      nulls.set(size);
+      addZero();
+
+    } else {
+      addValue(Objects.requireNonNull(cell), getResultCellType(cell));
+    }
+
+    size++;
+  }
+
+  /**
+   * Stores {@code 0} at the position {@code size}, growing the array if needed.
+   */
+  protected abstract void addZero();
+
+  /**
+   * Stores the value of the non-blank cell at the position {@code size},
+   *     growing the array if needed.
+   *
+   * @param cell cell
+   * @param cellType the cell type, which is the cached result type for formula cells
+   * @throws ExcelTableException when the value cannot be read as the type of the column
+   */
+  protected abstract void addValue(Cell cell, CellType cellType) throws ExcelTableException;
+
+  /**
+   * Checks the index is within {@code 0} and {@code size - 1}.
+   *
+   * @param index index
+   */
+  protected void checkIndex(int index) {
+    Objects.checkIndex(index, size);
+  }
+
+  /**
+   * Returns an exception which tells the cell value is not the expected type.
+   *
+   * @param cell cell
+   * @param expectedType expectedType
+   * @return exception
+   */
+  protected static ExcelTableException typeMismatch(Cell cell, String expectedType) {
+    return new CellValueTypeMismatchException(cell.getSheet().getSheetName(),
+        cell.getAddress().formatAsString(), expectedType).cell(cell);
+  }
+
+  /**
+   * Returns the cell type, which is the cached result type for formula cells.
+   *
+   * @param cell cell
+   * @return cell type
+   * @throws ExcelTableException when the cell contains an error
+   */
+  static CellType getResultCellType(Cell cell) throws ExcelTableException {
+    CellType cellType = cell.getCellType();
+    if (cellType == CellType.FORMULA) {
+      cellType = cell.getCachedFormulaResultType();
+    }
+
+    if (cellType == CellType.ERROR) {
+      throw new CellContainsErrorException(cell.getSheet().getSheetName(),
+          cell.getAddress().formatAsString(), null);
+    }
+
+    return cellType;
+  }
+}
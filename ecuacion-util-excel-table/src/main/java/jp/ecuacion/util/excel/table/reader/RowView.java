@@ -0,0 +1,237 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.time.LocalDate;
+import jp.ecuacion.util.excel.exception.CellContainsErrorException;
+import jp.ecuacion.util.excel.exception.ExcelTableException;
+import jp.ecuacion.util.excel.table.IfExcelTable;
+import jp.ecuacion.util.excel.util.ExcelReadUtil;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Is a reusable, read-only view over one data row of a table.
+ *
+ * <p>One instance is created per iteration and overwritten every time the iterator advances,
+ *     so no {@code List} is allocated per row.
+ *     Do not keep the instance (or rely on its values) after moving to the next row;
+ *     copy the values you need instead.</p>
+ *
+ * <p>{@code index} arguments are 0-based positions in the table,
+ *     that is, the far left column of the table is {@code 0}.</p>
+ *
+ * @param <T> See {@link IfExcelTable}.
+ */
+public class RowView<T> {
+
+  private final ExcelTableReader<T> reader;
+
+  private final @Nullable Cell[] cells;
+
+  private final int poiBasisTableStartColumnNumber;
+
+  private int rowNumber;
+
+  private boolean isEmptyRow;
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param reader reader, used by {@link #getValue(int)}
+   * @param poiBasisTableStartColumnNumber the column number the table starts, in poi basis
+   * @param tableColumnSize tableColumnSize
+   */
+  RowView(ExcelTableReader<T> reader, int poiBasisTableStartColumnNumber, int tableColumnSize) {
+    this.reader = reader;
+    this.cells = new Cell[tableColumnSize];
+    this.poiBasisTableStartColumnNumber = poiBasisTableStartColumnNumber;
+  }
+
+  /**
+   * Overwrites the cells of the view.
+   *
+   * <p>The cells are stored in {@link #cells} by the caller before this method is called.</p>
+   */
+  void update(int poiBasisRowNumber, boolean isEmptyRow) {
+    this.rowNumber = poiBasisRowNumber + 1;
+    this.isEmptyRow = isEmptyRow;
+  }
+
+  /**
+   * Returns the internal cell array, which the reader overwrites on each advance.
+   */
+  @Nullable
+  Cell[] cells() {
+    return cells;
+  }
+
+  /**
+   * Returns the number of columns of the table.
+   *
+   * @return the number of columns
+   */
+  public int size() {
+    return cells.length;
+  }
+
+  /**
+   * Returns the row number of the current row, <b>starting with 1</b> like Excel.
+   *
+   * <p>When {@code isVerticalAndHorizontalOpposite} is {@code true},
+   *     it's the column number of the current line.</p>
+   *
+   * @return row number
+   */
+  public int getRowNumber() {
+    return rowNumber;
+  }
+
+  /**
+   * Returns whether all the cells of the current row are empty.
+   *
+   * <p>Cells are judged in the same way as {@link ExcelTableReader#read(String)} does,
+   *     so a row is empty here exactly when {@code read} returns an empty line for it.</p>
+   *
+   * <p>It can be {@code true} only when {@code tableRowSize} is set,
+   *     because a blank row means the end of the table otherwise.</p>
+   *
+   * @return whether the row is empty
+   */
+  public boolean isEmptyRow() {
+    return isEmptyRow;
+  }
+
+  /**
+   * Returns the cell at {@code index}.
+   *
+   * @param index 0-based column position in the table
+   * @return cell, may be {@code null} when the cell does not exist.
+   */
+  public @Nullable Cell getCell(int index) {
+    return cells[index];
+  }
+
+  /**
+   * Returns whether the cell at {@code index} is blank.
+   *
+   * @param index 0-based column position in the table
+   * @return whether the cell is blank
+   * @see ExcelReadUtil#isBlankCell(Cell)
+   */
+  public boolean isBlank(int index) {
+    return ExcelReadUtil.isBlankCell(cells[index]);
+  }
+
+  /**
+   * Returns the value converted in the same way as {@link ExcelTableReader#read(String)} does.
+   *
+   * @param index 0-based column position in the table
+   * @return the value, may be {@code null}.
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  public @Nullable T getValue(int index) throws ExcelTableException {
+    Cell cell = cells[index];
+    return cell == null ? null
+        : reader.getCellData(cell, poiBasisTableStartColumnNumber + index + 1);
+  }
+
+  /**
+   * Returns the value of the cell in {@code String} format.
+   *
+   * @param index 0-based column position in the table
+   * @return the value, may be {@code null}.
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see ExcelReadUtil#getStringFromCell(Cell)
+   */
+  public @Nullable String getString(int index) throws ExcelTableException {
+    return ExcelReadUtil.getStringFromCell(cells[index]);
+  }
+
+  /**
+   * Returns the numeric value of the cell without boxing.
+   *
+   * <p>Blank cells return {@code 0}, the same as {@code Cell#getNumericCellValue()} does,
+   *     so call {@link #isBlank(int)} first when blank cells need to be told apart.</p>
+   *
+   * @param index 0-based column position in the table
+   * @return the value
+   * @throws ExcelTableException when the cell contains an error
+   */
+  public double getDouble(int index) throws ExcelTableException {
+    Cell cell = getNonErrorCell(index);
+    return cell == null || ExcelReadUtil.isBlankCell(cell) ? 0 : cell.getNumericCellValue();
+  }
+
+  /**
+   * Returns the numeric value of the cell rounded with {@link Math#round(double)}.
+   *
+   * @param index 0-based column position in the table
+   * @return the value
+   * @throws ExcelTableException when the cell contains an error
+   * @see #getDouble(int)
+   */
+  public long getLong(int index) throws ExcelTableException {
+    return Math.round(getDouble(index));
+  }
+
+  /**
+   * Returns the boolean value of the cell.
+   *
+   * <p>Blank cells return {@code false}.</p>
+   *
+   * @param index 0-based column position in the table
+   * @return the value
+   * @throws ExcelTableException when the cell contains an error
+   */
+  public boolean getBoolean(int index) throws ExcelTableException {
+    Cell cell = getNonErrorCell(index);
+    return cell == null || ExcelReadUtil.isBlankCell(cell) ? false : cell.getBooleanCellValue();
+  }
+
+  /**
+   * Returns the date value of the cell.
+   *
+   * @param index 0-based column position in the table
+   * @return the value, {@code null} when the cell is blank.
+   * @throws ExcelTableException when the cell contains an error
+   */
+  public @Nullable LocalDate getLocalDate(int index) throws ExcelTableException {
+    Cell cell = getNonErrorCell(index);
+    return cell == null || ExcelReadUtil.isBlankCell(cell) ? null
+        : cell.getLocalDateTimeCellValue().toLocalDate();
+  }
+
+  private @Nullable Cell getNonErrorCell(int index) throws ExcelTableException {
+    Cell cell = cells[index];
+    if (cell == null) {
+      return null;
+    }
+
+    CellType cellType = cell.getCellType();
+    if (cellType == CellType.FORMULA) {
+      cellType = cell.getCachedFormulaResultType();
+    }
+
+    if (cellType == CellType.ERROR) {
+      throw new CellContainsErrorException(cell.getRow().getSheet().getSheetName(),
+          cell.getAddress().formatAsString(), null);
+    }
+
+    return cell;
+  }
+}
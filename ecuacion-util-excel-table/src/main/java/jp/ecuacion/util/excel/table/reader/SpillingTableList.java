@@ -0,0 +1,299 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Is the table data read by {@link ExcelTableReader#read(String, long)},
+ *     which keeps the lines in memory up to the memory budget
+ *     and stores the rest in a temporary file.
+ *
+ * <p>It's a read-only {@code List}, so it can be used like the result of
+ *     {@link ExcelTableReader#read(String)}.
+ *     Lines in the file are read through a buffer of consecutive lines,
+ *     so iterating the lines in order reads the file sequentially.
+ *     Every access to a line in the file returns a new list.</p>
+ *
+ * <p>{@link #close()} needs to be called to delete the temporary file.
+ *     Lines in the file cannot be accessed after that.</p>
+ *
+ * <p>The memory used by the lines is estimated from the number and the kind of the values.
+ *     The supported values are the ones of the readers returning {@code String}
+ *     and typed values.</p>
+ *
+ * @param <T> See {@link jp.ecuacion.util.excel.table.IfExcelTable}.
+ */
+public class SpillingTableList<T> extends AbstractList<List<T>> implements AutoCloseable {
+
+  /** Is the size of the buffer used to read the lines in the file. */
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+  /** Is the estimated size of a reference and the header of a line. */
+  private static final int LINE_OVERHEAD_BYTES = 48;
+
+  private final long memoryBudgetBytes;
+
+  private long memoryBytes;
+
+  private final List<List<T>> memoryLines = new ArrayList<>();
+
+  private @Nullable Path spillFile;
+
+  private @Nullable OutputStream spillOut;
+
+  /** Is the buffer a line is encoded into before it's written to the file. */
+  private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream();
+
+  private final DataOutputStream lineOut = new DataOutputStream(lineBuffer);
+
+  private @Nullable FileChannel spillChannel;
+
+  /**
+   * Stores the offset of each line in the file, followed by the end of the file.
+   */
+  private long[] spillOffsets = new long[] {0};
+
+  private int spilledSize;
+
+  private long spillBytes;
+
+  private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+  /** Is the offset in the file of the first byte in {@code readBuffer}. */
+  private long readBufferOffset = -1;
+
+  private boolean closed;
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param memoryBudgetBytes the estimated size of the lines kept in memory
+   */
+  SpillingTableList(long memoryBudgetBytes) {
+    if (memoryBudgetBytes < 0) {
+      throw new RuntimeException(
+          "memoryBudgetBytes must be 0 or greater. memoryBudgetBytes: " + memoryBudgetBytes);
+    }
+
+    this.memoryBudgetBytes = memoryBudgetBytes;
+  }
+
+  /**
+   * Adds the line while reading the table.
+   *
+   * <p>Once a line is stored in the file, the following lines are stored in the file
+   *     to keep the order.</p>
+   *
+   * @param line line
+   * @throws IOException IOException
+   */
+  void addLine(List<T> line) throws IOException {
+    if (spillOut == null) {
+      long bytes = estimateBytes(line);
+      if (memoryBytes + bytes <= memoryBudgetBytes) {
+        memoryLines.add(line);
+        memoryBytes += bytes;
+        return;
+      }
+
+      Path file = Files.createTempFile("ecuacion-table-", ".spill");
+      spillFile = file;
+      spillOut = new BufferedOutputStream(Files.newOutputStream(file));
+    }
+
+    lineBuffer.reset();
+    lineOut.writeInt(line.size());
+    for (T value : line) {
+      lineOut.writeByte(TableValueCodec.getType(value));
+      TableValueCodec.writeValue(lineOut, value);
+    }
+    lineBuffer.writeTo(spillOut);
+
+    spillBytes += lineBuffer.size();
+    if (spilledSize + 1 == spillOffsets.length) {
+      spillOffsets = Arrays.copyOf(spillOffsets, spillOffsets.length * 2);
+    }
+    spilledSize++;
+    spillOffsets[spilledSize] = spillBytes;
+  }
+
+  /**
+   * Finishes adding the lines and makes the lines in the file readable.
+   *
+   * @throws IOException IOException
+   */
+  void finishAdding() throws IOException {
+    OutputStream out = spillOut;
+    if (out == null) {
+      return;
+    }
+
+    out.close();
+    spillOut = null;
+    spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ);
+  }
+
+  /**
+   * Returns whether some lines are stored in the temporary file.
+   *
+   * @return whether some lines are stored in the temporary file
+   */
+  public boolean isSpilled() {
+    return spillFile != null;
+  }
+
+  /**
+   * Returns the number of the lines stored in the temporary file.
+   *
+   * @return the number of the lines stored in the temporary file
+   */
+  public int getSpilledSize() {
+    return spilledSize;
+  }
+
+  @Override
+  public int size() {
+    return memoryLines.size() + spilledSize;
+  }
+
+  @Override
+  public synchronized List<T> get(int index) {
+    if (index < memoryLines.size()) {
+      return memoryLines.get(index);
+    }
+
+    int spillIndex = index - memoryLines.size();
+    if (spillIndex >= spilledSize) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    try {
+      return readSpilledLine(spillOffsets[spillIndex], spillOffsets[spillIndex + 1]);
+
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private List<T> readSpilledLine(long start, long end) throws IOException {
+    FileChannel channel = spillChannel;
+    if (closed || channel == null) {
+      throw new IllegalStateException("The list is already closed.");
+    }
+
+    int length = (int) (end - start);
+    ByteBuffer buffer;
+    if (length > READ_BUFFER_SIZE) {
+      buffer = ByteBuffer.allocate(length);
+      readFully(channel, buffer, start);
+
+    } else {
+      if (readBufferOffset < 0 || start < readBufferOffset
+          || end > readBufferOffset + readBuffer.limit()) {
+        // Reads the following lines too, so iterating the lines reads the file sequentially.
+        readBuffer.clear();
+        readBuffer.limit((int) Math.min(READ_BUFFER_SIZE, spillBytes - start));
+        readFully(channel, readBuffer, start);
+        readBufferOffset = start;
+      }
+
+      buffer = readBuffer.duplicate();
+      buffer.position((int) (start - readBufferOffset));
+    }
+
+    int columnCount = buffer.getInt();
+    List<T> line = new ArrayList<>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      @SuppressWarnings("unchecked")
+      T value = (T) TableValueCodec.readValue(buffer, buffer.get());
+      line.add(value);
+    }
+
+    return line;
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    long pos = position;
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, pos);
+      if (read < 0) {
+        throw new IOException("Unexpected end of the spill file.");
+      }
+      pos += read;
+    }
+    buffer.flip();
+  }
+
+  private long estimateBytes(List<T> line) {
+    long bytes = LINE_OVERHEAD_BYTES;
+    for (T value : line) {
+      long valueBytes = TableReadCache.estimateBytes(value);
+      if (valueBytes < 0) {
+        throw new RuntimeException("The value cannot be stored in SpillingTableList. class: "
+            + value.getClass().getName());
+      }
+
+      bytes += valueBytes;
+    }
+
+    return bytes;
+  }
+
+  /**
+   * Deletes the temporary file.
+   *
+   * @throws IOException IOException
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    try {
+      if (spillOut != null) {
+        spillOut.close();
+      }
+
+      if (spillChannel != null) {
+        spillChannel.close();
+      }
+
+    } finally {
+      if (spillFile != null) {
+        Files.deleteIfExists(spillFile);
+      }
+    }
+  }
+}
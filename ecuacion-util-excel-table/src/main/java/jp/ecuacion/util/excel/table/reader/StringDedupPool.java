@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deduplicates the {@code String} values read from each column of a table,
+ *     so the repeated values like status codes or branch names share one instance.
+ *
+ * <p>Each column has its own pool, which stores at most {@code maxValuesPerColumn} values.
+ *     When a pool is full, values not in it are returned as they are.<br>
+ *     The pool of a column is disabled and cleared when the column turns out to have
+ *     few repeated values, that is, when more than half of the values looked up
+ *     in the last {@value #SAMPLE_SIZE} lookups were new to the pool.
+ *     A disabled column is not pooled any more, so unique values like IDs or comments
+ *     do not cost the lookups and the memory of the pool.</p>
+ *
+ * <p>It's created for each read when {@code StringExcelTableReader#withStringDedup(int)}
+ *     is set, so a pool is not shared by the reads of a reader.
+ *     It's not thread-safe, as readers are not.</p>
+ */
+public class StringDedupPool {
+
+  /** Is the number of lookups after which the ratio of the new values is checked. */
+  static final int SAMPLE_SIZE = 1024;
+
+  private final int maxValuesPerColumn;
+
+  private final Map<Integer, ColumnPool> columnPools = new HashMap<>();
+
+  private long hitCount;
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param maxValuesPerColumn the maximum number of values pooled for each column
+   */
+  public StringDedupPool(int maxValuesPerColumn) {
+    if (maxValuesPerColumn <= 0) {
+      throw new RuntimeException(
+          "maxValuesPerColumn must be greater than 0. maxValuesPerColumn: " + maxValuesPerColumn);
+    }
+
+    this.maxValuesPerColumn = maxValuesPerColumn;
+  }
+
+  /**
+   * Returns the pooled instance equal to {@code value},
+   *     or {@code value} itself when it's not pooled.
+   *
+   * @param columnNumber the column number the value is obtained from
+   * @param value value
+   * @return deduplicated value
+   */
+  public String dedup(int columnNumber, String value) {
+    ColumnPool pool = columnPools.computeIfAbsent(columnNumber, k -> new ColumnPool());
+    if (pool.disabled) {
+      return value;
+    }
+
+    String pooled = pool.values.get(value);
+    if (pooled != null) {
+      hitCount++;
+
+    } else {
+      pool.newValueCount++;
+      if (pool.values.size() < maxValuesPerColumn) {
+        pool.values.put(value, value);
+      }
+    }
+
+    if (++pool.lookupCount == SAMPLE_SIZE) {
+      if (pool.newValueCount * 2 > SAMPLE_SIZE) {
+        pool.disabled = true;
+        pool.values = Map.of();
+      }
+
+      pool.lookupCount = 0;
+      pool.newValueCount = 0;
+    }
+
+    return pooled == null ? value : pooled;
+  }
+
+  /**
+   * Returns whether the column is still pooled.
+   *
+   * @param columnNumber the column number
+   * @return whether the column is still pooled
+   */
+  public boolean isEnabled(int columnNumber) {
+    ColumnPool pool = columnPools.get(columnNumber);
+    return pool == null || !pool.disabled;
+  }
+
+  /**
+   * Returns the number of the values replaced with the pooled instances.
+   *
+   * @return hit count
+   */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Holds the pooled values of a column.
+   */
+  private static class ColumnPool {
+    private Map<String, String> values = new HashMap<>();
+    private int lookupCount;
+    private int newValueCount;
+    private boolean disabled;
+  }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import jp.ecuacion.util.excel.exception.DuplicateKeyException;
+import jp.ecuacion.util.excel.exception.ExcelTableException;
+import jp.ecuacion.util.excel.table.ExcelTable.ContextContainer;
+import jp.ecuacion.util.excel.table.IfExcelTable;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Stores the differences between two versions of a table,
+ *     that is, inserted, deleted and changed lines identified by key columns.
+ *
+ * <p>It's created by {@link ExcelTableReader#diff(Workbook, Workbook, int...)}.
+ *     The old table is read first and only the key and a 64-bit fingerprint of
+ *     the other cells are kept for each line.
+ *     Then the new table is read and each line is compared with the fingerprint
+ *     of the line with the same key.
+ *     The values of a line are converted only when the line is a part of the differences,
+ *     so the memory used is about one key and one {@code long} per line
+ *     plus the differences.</p>
+ *
+ * <p>The fingerprint is calculated from the raw values of the cells
+ *     (the cached result for formula cells), so a change of only the cell format
+ *     is not a difference. Two different lines can have the same fingerprint
+ *     in a very rare case, in which the change is not detected.<br>
+ *     Empty lines within a fixed {@code tableRowSize} are ignored,
+ *     and the same key appearing twice in a table throws {@link DuplicateKeyException}.</p>
+ *
+ * @param <T> See {@link IfExcelTable}.
+ */
+public class TableDiff<T> {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final List<RowChange<T>> inserted = new ArrayList<>();
+
+  private final List<RowChange<T>> deleted = new ArrayList<>();
+
+  private final List<RowChange<T>> changed = new ArrayList<>();
+
+  private TableDiff() {}
+
+  /**
+   * Reads both tables and computes the differences.
+   *
+   * @param reader reader
+   * @param oldWorkbook the workbook of the old version
+   * @param newWorkbook the workbook of the new version
+   * @param keyColumnIndexes 0-based column positions of the key columns
+   * @return differences
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  static <T> TableDiff<T> compute(ExcelTableReader<T> reader, Workbook oldWorkbook,
+      Workbook newWorkbook, int[] keyColumnIndexes) throws ExcelTableException {
+    if (keyColumnIndexes.length == 0) {
+      throw new RuntimeException("At least one key column is needed.");
+    }
+
+    TableDiff<T> diff = new TableDiff<>();
+
+    // 1st pass: key -> position in fingerprints and rowNumbers
+    ContextContainer oldContext = reader.getReadyToReadDataLines(oldWorkbook);
+    int tableColumnSize = Objects.requireNonNull(oldContext.tableColumnSize);
+    boolean[] isKeyColumn = toKeyColumnFlags(keyColumnIndexes, tableColumnSize);
+
+    Map<List<@Nullable T>, Integer> oldKeys = new HashMap<>();
+    long[] oldFingerprints = new long[64];
+    int[] oldRowNumbers = new int[64];
+    ExcelTableReader.RowViewIterator<T> oldIterator = new ExcelTableReader.RowViewIterator<>(
+        reader, oldContext, reader.getNumberOfHeaderLines());
+    while (oldIterator.hasNext()) {
+      RowView<T> view = oldIterator.next();
+      if (view.isEmptyRow()) {
+        continue;
+      }
+
+      int position = oldKeys.size();
+      Integer existing = oldKeys.putIfAbsent(getKey(view, keyColumnIndexes), position);
+      if (existing != null) {
+        throw duplicateKey(reader, oldContext, view, keyColumnIndexes, oldRowNumbers[existing]);
+      }
+
+      if (position == oldFingerprints.length) {
+        oldFingerprints = Arrays.copyOf(oldFingerprints, position * 2);
+        oldRowNumbers = Arrays.copyOf(oldRowNumbers, position * 2);
+      }
+
+      oldFingerprints[position] = fingerprint(view, isKeyColumn);
+      oldRowNumbers[position] = view.getRowNumber();
+    }
+
+    // 2nd pass: compare the new table with the fingerprints
+    ContextContainer newContext = reader.getReadyToReadDataLines(newWorkbook);
+    if (!Objects.equals(newContext.tableColumnSize, oldContext.tableColumnSize)) {
+      throw new RuntimeException("The column sizes of the tables differ. old: "
+          + oldContext.tableColumnSize + ", new: " + newContext.tableColumnSize);
+    }
+
+    BitSet matched = new BitSet(oldKeys.size());
+    Map<List<@Nullable T>, Integer> newRowNumbers = new HashMap<>();
+    List<int[]> changedPositions = new ArrayList<>();
+    ExcelTableReader.RowViewIterator<T> newIterator = new ExcelTableReader.RowViewIterator<>(
+        reader, newContext, reader.getNumberOfHeaderLines());
+    while (newIterator.hasNext()) {
+      RowView<T> view = newIterator.next();
+      if (view.isEmptyRow()) {
+        continue;
+      }
+
+      List<@Nullable T> key = getKey(view, keyColumnIndexes);
+      Integer firstRowNumber = newRowNumbers.putIfAbsent(key, view.getRowNumber());
+      if (firstRowNumber != null) {
+        throw duplicateKey(reader, newContext, view, keyColumnIndexes, firstRowNumber);
+      }
+
+      Integer position = oldKeys.get(key);
+      if (position == null) {
+        diff.inserted.add(new RowChange<>(0, null, view.getRowNumber(), toLine(view)));
+        continue;
+      }
+
+      matched.set(position);
+      if (oldFingerprints[position] != fingerprint(view, isKeyColumn)) {
+        diff.changed.add(new RowChange<>(oldRowNumbers[position], null, view.getRowNumber(),
+            toLine(view)));
+        changedPositions.add(new int[] {diff.changed.size() - 1, position});
+      }
+    }
+
+    // The old lines of the differences are read again by their row numbers.
+    RowView<T> oldView = new RowView<>(reader, oldContext.poiBasisTableStartColumnNumber,
+        tableColumnSize);
+    for (int[] changedPosition : changedPositions) {
+      RowChange<T> change = diff.changed.get(changedPosition[0]);
+      change.oldLine = readLine(reader, oldContext, change.oldRowNumber, oldView);
+    }
+
+    for (int position = matched.nextClearBit(0); position < oldKeys.size();
+        position = matched.nextClearBit(position + 1)) {
+      int rowNumber = oldRowNumbers[position];
+      diff.deleted.add(new RowChange<>(rowNumber,
+          readLine(reader, oldContext, rowNumber, oldView), 0, null));
+    }
+
+    return diff;
+  }
+
+  private static boolean[] toKeyColumnFlags(int[] keyColumnIndexes, int tableColumnSize) {
+    boolean[] isKeyColumn = new boolean[tableColumnSize];
+    for (int colIdx : keyColumnIndexes) {
+      isKeyColumn[Objects.checkIndex(colIdx, tableColumnSize)] = true;
+    }
+
+    return isKeyColumn;
+  }
+
+  private static <T> List<@Nullable T> getKey(RowView<T> view, int[] keyColumnIndexes)
+      throws ExcelTableException {
+    List<@Nullable T> key = new ArrayList<>(keyColumnIndexes.length);
+    for (int colIdx : keyColumnIndexes) {
+      key.add(view.getValue(colIdx));
+    }
+
+    return key;
+  }
+
+  /*
+   * The sheet of the context is the one the table is located on by tableName,
+   * which may differ from the sheet name of the reader.
+   */
+  private static <T> DuplicateKeyException duplicateKey(ExcelTableReader<T> reader,
+      ContextContainer context, RowView<T> view, int[] keyColumnIndexes, int firstRowNumber)
+      throws ExcelTableException {
+    List<String> key = new ArrayList<>();
+    for (int colIdx : keyColumnIndexes) {
+      key.add(reader.getStringValue(view.getValue(colIdx)));
+    }
+
+    return new DuplicateKeyException(context.sheet.getSheetName(), String.join(", ", key),
+        firstRowNumber, view.getRowNumber());
+  }
+
+  private static <T> List<@Nullable T> toLine(RowView<T> view) throws ExcelTableException {
+    List<@Nullable T> line = new ArrayList<>(view.size());
+    for (int i = 0; i < view.size(); i++) {
+      line.add(view.getValue(i));
+    }
+
+    return Collections.unmodifiableList(line);
+  }
+
+  private static <T> List<@Nullable T> readLine(ExcelTableReader<T> reader,
+      ContextContainer context, int rowNumber, RowView<T> view) throws ExcelTableException {
+    ExcelTableReader.loadRowView(reader, context, rowNumber - 1, view);
+    return toLine(view);
+  }
+
+  /*
+   * Returns the FNV-1a hash of the raw values of the cells other than key columns.
+   */
+  private static <T> long fingerprint(RowView<T> view, boolean[] isKeyColumn)
+      throws ExcelTableException {
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = 0; i < view.size(); i++) {
+      if (isKeyColumn[i]) {
+        continue;
+      }
+
+      Cell cell = view.getCell(i);
+      if (cell == null || view.isBlank(i)) {
+        hash = mix(hash, 0);
+        continue;
+      }
+
+      CellType cellType = PrimitiveColumn.getResultCellType(cell);
+      if (cellType == CellType.NUMERIC) {
+        hash = mix(hash, 1);
+        hash = mix(hash, Double.doubleToLongBits(cell.getNumericCellValue()));
+
+      } else if (cellType == CellType.BOOLEAN) {
+        hash = mix(hash, cell.getBooleanCellValue() ? 2 : 3);
+
+      } else {
+        hash = mix(hash, 4);
+        String value = cell.getStringCellValue();
+        for (int j = 0; j < value.length(); j++) {
+          hash = mix(hash, value.charAt(j));
+        }
+        hash = mix(hash, value.length());
+      }
+    }
+
+    return hash;
+  }
+
+  private static long mix(long hash, long value) {
+    return (hash ^ value) * FNV_PRIME;
+  }
+
+  /**
+   * Returns the lines which exist only in the new table, in the order of the new table.
+   *
+   * @return unmodifiable list of the inserted lines, whose old line is {@code null}.
+   */
+  public List<RowChange<T>> getInserted() {
+    return Collections.unmodifiableList(inserted);
+  }
+
+  /**
+   * Returns the lines which exist only in the old table, in the order of the old table.
+   *
+   * @return unmodifiable list of the deleted lines, whose new line is {@code null}.
+   */
+  public List<RowChange<T>> getDeleted() {
+    return Collections.unmodifiableList(deleted);
+  }
+
+  /**
+   * Returns the lines whose key exists in both tables but whose other cells differ,
+   *     in the order of the new table.
+   *
+   * @return unmodifiable list of the changed lines
+   */
+  public List<RowChange<T>> getChanged() {
+    return Collections.unmodifiableList(changed);
+  }
+
+  /**
+   * Returns whether the two tables have no differences.
+   *
+   * @return whether there's no difference
+   */
+  public boolean isEmpty() {
+    return inserted.isEmpty() && deleted.isEmpty() && changed.isEmpty();
+  }
+
+  /**
+   * Stores a line which differs between two versions of a table.
+   *
+   * @param <T> See {@link IfExcelTable}.
+   */
+  public static class RowChange<T> {
+    private final int oldRowNumber;
+    private @Nullable List<@Nullable T> oldLine;
+    private final int newRowNumber;
+    private final @Nullable List<@Nullable T> newLine;
+
+    private RowChange(int oldRowNumber, @Nullable List<@Nullable T> oldLine, int newRowNumber,
+        @Nullable List<@Nullable T> newLine) {
+      this.oldRowNumber = oldRowNumber;
+      this.oldLine = oldLine;
+      this.newRowNumber = newRowNumber;
+      this.newLine = newLine;
+    }
+
+    /**
+     * Returns the row number of the line in the old table, <b>starting with 1</b> like Excel.
+     *
+     * @return row number, {@code 0} when the line is inserted.
+     */
+    public int getOldRowNumber() {
+      return oldRowNumber;
+    }
+
+    /**
+     * Returns the line in the old table.
+     *
+     * @return unmodifiable line, {@code null} when the line is inserted.
+     */
+    public @Nullable List<@Nullable T> getOldLine() {
+      return oldLine;
+    }
+
+    /**
+     * Returns the row number of the line in the new table, <b>starting with 1</b> like Excel.
+     *
+     * @return row number, {@code 0} when the line is deleted.
+     */
+    public int getNewRowNumber() {
+      return newRowNumber;
+    }
+
+    /**
+     * Returns the line in the new table.
+     *
+     * @return unmodifiable line, {@code null} when the line is deleted.
+     */
+    public @Nullable List<@Nullable T> getNewLine() {
+      return newLine;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import jp.ecuacion.util.excel.exception.DuplicateKeyException;
+import jp.ecuacion.util.excel.exception.ExcelTableException;
+import jp.ecuacion.util.excel.table.ExcelTable.ContextContainer;
+import jp.ecuacion.util.excel.table.IfExcelTable;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Is a hash index of the lines of a table keyed by the value of one column.
+ *
+ * <p>It's created by {@link ExcelTableReader#buildIndex(Workbook, int)}
+ *     and used to look up the lines of a small table like a master table
+ *     from another table, e.g. by {@link ExcelTableReader#join}.</p>
+ *
+ * <p>Keys are the values of the key column converted in the same way as
+ *     {@link ExcelTableReader#read(String)} does and are compared by {@code equals},
+ *     so a numeric code read by a typed reader ({@code Double}) does not match
+ *     the same code read by a string reader ({@code String}).
+ *     Use the same kind of reader for both tables,
+ *     and not a reader returning {@code Cell}, whose values are not equal to each other.<br>
+ *     Lines whose key is {@code null} are not indexed.</p>
+ *
+ * @param <T> See {@link IfExcelTable}.
+ */
+public class TableIndex<T> {
+
+  private final int keyColumnIndex;
+
+  private final Map<T, List<T>> lines;
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param keyColumnIndex keyColumnIndex
+   * @param lines lines
+   */
+  private TableIndex(int keyColumnIndex, Map<T, List<T>> lines) {
+    this.keyColumnIndex = keyColumnIndex;
+    this.lines = lines;
+  }
+
+  /**
+   * Reads the table and builds the index.
+   *
+   * @param reader reader
+   * @param workbook workbook
+   * @param keyColumnIndex 0-based column position of the key column in the table
+   * @return index
+   * @throws DuplicateKeyException when the same key appears in multiple lines
+   * @throws ExcelTableException when an Excel parsing error occurs
+   */
+  static <T> TableIndex<T> build(ExcelTableReader<T> reader, Workbook workbook,
+      int keyColumnIndex) throws ExcelTableException {
+    // The table may be located by tableName on another sheet than the one of the reader.
+    ContextContainer context = reader.getReadyToReadDataLines(workbook);
+    List<Integer> rowNumbers = new ArrayList<>();
+    List<List<T>> tableData = reader.readDataLines(context, rowNumbers);
+
+    Map<T, List<T>> lines = new HashMap<>();
+    Map<T, Integer> keyRowNumbers = new HashMap<>();
+    for (int i = 0; i < tableData.size(); i++) {
+      List<T> line = tableData.get(i);
+      if (line.isEmpty()) {
+        // An empty row within a fixed row size
+        continue;
+      }
+
+      T key = line.get(Objects.checkIndex(keyColumnIndex, line.size()));
+      if (reader.isCellDataEmpty(key)) {
+        continue;
+      }
+
+      Integer firstRowNumber = keyRowNumbers.putIfAbsent(key, rowNumbers.get(i));
+      if (firstRowNumber != null) {
+        throw new DuplicateKeyException(context.sheet.getSheetName(), reader.getStringValue(key),
+            firstRowNumber, rowNumbers.get(i));
+      }
+
+      lines.put(key, Collections.unmodifiableList(line));
+    }
+
+    return new TableIndex<>(keyColumnIndex, lines);
+  }
+
+  /**
+   * Returns the 0-based column position of the key column in the table.
+   *
+   * @return keyColumnIndex
+   */
+  public int getKeyColumnIndex() {
+    return keyColumnIndex;
+  }
+
+  /**
+   * Returns the number of the indexed lines.
+   *
+   * @return the number of the indexed lines
+   */
+  public int size() {
+    return lines.size();
+  }
+
+  /**
+   * Returns the keys of the index.
+   *
+   * @return unmodifiable set of the keys
+   */
+  public Set<T> keySet() {
+    return Collections.unmodifiableSet(lines.keySet());
+  }
+
+  /**
+   * Returns whether the key exists in the index.
+   *
+   * @param key key, may be {@code null}.
+   * @return whether the key exists
+   */
+  public boolean containsKey(@Nullable Object key) {
+    return key != null && lines.containsKey(key);
+  }
+
+  /**
+   * Returns the line of the key.
+   *
+   * @param key key, may be {@code null}.
+   * @return unmodifiable line, {@code null} when the key does not exist.
+   */
+  public @Nullable List<T> get(@Nullable Object key) {
+    return key == null ? null : lines.get(key);
+  }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Caches the results of {@link ExcelTableReader#read(String)} in memory.
+ *
+ * <p>Results are keyed by the SHA-256 digest of the file content
+ *     and the settings of the reader, so the same upload read by readers with the same settings
+ *     is parsed only once, even if it's saved at different paths.
+ *     The cache is opt-in: pass an instance to
+ *     {@link ExcelTableReader#withReadCache(TableReadCache)}.
+ *     One instance can be shared by multiple readers and threads.</p>
+ *
+ * <p>The total estimated size of the cached results is bounded by {@code maxBytes}.
+ *     When it's exceeded, the least recently used results are evicted.
+ *     The size of a result is estimated from the number and the kind of its values.<br>
+ *     Only results whose values are immutable ({@code String}, {@code Number},
+ *     {@code Boolean} and the {@code java.time} types) are cached,
+ *     so the results of readers returning {@code Cell} are never cached.
+ *     Results are copied when stored and returned,
+ *     so modifying a returned list does not affect the cache.</p>
+ */
+public class TableReadCache {
+
+  /** Is the estimated size of a reference and the header of a list. */
+  private static final int LIST_OVERHEAD_BYTES = 48;
+
+  private final long maxBytes;
+
+  /** Is in access order, so the first entry is the least recently used one. */
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long currentBytes;
+
+  private long hitCount;
+
+  private long missCount;
+
+  private long evictionCount;
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param maxBytes the maximum total estimated size of the cached results in bytes
+   */
+  public TableReadCache(long maxBytes) {
+    if (maxBytes <= 0) {
+      throw new RuntimeException("maxBytes must be greater than 0. maxBytes: " + maxBytes);
+    }
+
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Returns the cache key of the file read with the settings.
+   *
+   * @param filePath filePath
+   * @param configurationFingerprint the settings of the reader
+   * @return cache key
+   * @throws IOException IOException
+   */
+  static String getKey(String filePath, String configurationFingerprint) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new RuntimeException(ex);
+    }
+
+    try (InputStream in = new DigestInputStream(Files.newInputStream(Path.of(filePath)), digest)) {
+      in.transferTo(OutputStream.nullOutputStream());
+    }
+
+    return HexFormat.of().formatHex(digest.digest()) + "|" + configurationFingerprint;
+  }
+
+  /**
+   * Returns a copy of the cached result, or {@code null} when it's not cached.
+   *
+   * @param key key
+   * @return result, may be {@code null}.
+   */
+  synchronized <T> @Nullable List<List<T>> get(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      missCount++;
+      return null;
+    }
+
+    hitCount++;
+    @SuppressWarnings("unchecked")
+    List<List<T>> data = (List<List<T>>) (List<?>) entry.data;
+    return copy(data);
+  }
+
+  /**
+   * Stores a copy of the result, evicting the least recently used results if needed.
+   *
+   * <p>The result is not stored when it contains mutable values
+   *     or it's larger than {@code maxBytes}.</p>
+   *
+   * @param key key
+   * @param data result
+   */
+  synchronized <T> void put(String key, List<List<T>> data) {
+    long bytes = estimateBytes(data);
+    if (bytes < 0 || bytes > maxBytes) {
+      return;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<List<Object>> copied = (List<List<Object>>) (List<?>) copy(data);
+    Entry previous = entries.put(key, new Entry(copied, bytes));
+    if (previous != null) {
+      currentBytes -= previous.bytes;
+    }
+    currentBytes += bytes;
+
+    Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+    while (currentBytes > maxBytes && it.hasNext()) {
+      Map.Entry<String, Entry> eldest = it.next();
+      if (eldest.getKey().equals(key)) {
+        continue;
+      }
+
+      currentBytes -= eldest.getValue().bytes;
+      it.remove();
+      evictionCount++;
+    }
+  }
+
+  /**
+   * Removes all the cached results. The statistics are not reset.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    currentBytes = 0;
+  }
+
+  /**
+   * Returns the maximum total estimated size of the cached results in bytes.
+   *
+   * @return maxBytes
+   */
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  /**
+   * Returns the total estimated size of the cached results in bytes.
+   *
+   * @return the total estimated size
+   */
+  public synchronized long getCurrentBytes() {
+    return currentBytes;
+  }
+
+  /**
+   * Returns the number of the cached results.
+   *
+   * @return the number of the cached results
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the number of the reads served from the cache.
+   *
+   * @return hit count
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Returns the number of the reads which parsed the file because the result was not cached.
+   *
+   * @return miss count
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Returns the number of the results evicted to keep the size within {@code maxBytes}.
+   *
+   * @return eviction count
+   */
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  private static <T> List<List<T>> copy(List<List<T>> data) {
+    List<List<T>> copied = new ArrayList<>(data.size());
+    for (List<T> line : data) {
+      copied.add(new ArrayList<>(line));
+    }
+
+    return copied;
+  }
+
+  /*
+   * Returns the estimated size of the result, or -1 when it contains a mutable value.
+   */
+  private static <T> long estimateBytes(List<List<T>> data) {
+    long bytes = LIST_OVERHEAD_BYTES;
+    for (List<T> line : data) {
+      bytes += LIST_OVERHEAD_BYTES;
+      for (T value : line) {
+        long valueBytes = estimateBytes(value);
+        if (valueBytes < 0) {
+          return -1;
+        }
+
+        bytes += valueBytes;
+      }
+    }
+
+    return bytes;
+  }
+
+  /**
+   * Returns the estimated size of the value including the reference to it,
+   *     or -1 when it's a mutable value.
+   *
+   * @param value value, may be {@code null}.
+   * @return estimated size in bytes
+   */
+  static long estimateBytes(@Nullable Object value) {
+    if (value == null) {
+      return 8;
+
+    } else if (value instanceof String str) {
+      return 8 + 40 + str.length();
+
+    } else if (value instanceof Number || value instanceof Boolean) {
+      return 8 + 16;
+
+    } else if (value instanceof Temporal) {
+      return 8 + 48;
+
+    } else {
+      return -1;
+    }
+  }
+
+  /**
+   * Holds a cached result and its estimated size.
+   */
+  private static class Entry {
+    private final List<List<Object>> data;
+    private final long bytes;
+
+    private Entry(List<List<Object>> data, long bytes) {
+      this.data = data;
+      this.bytes = bytes;
+    }
+  }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Writes and loads the snapshot file of a table read by {@link ExcelTableReader}.
+ *
+ * <p>A snapshot stores the values column by column with their types,
+ *     and the key which identifies the content of the source file and the settings of the reader.
+ *     It's loaded through a memory-mapped {@link FileChannel},
+ *     so no XML is parsed when the source file is not changed.</p>
+ *
+ * <p>The supported values are the ones {@link TableValueCodec} supports.
+ *     Empty lines, which are read from the empty rows within a fixed {@code tableRowSize},
+ *     are stored with a flag and restored as empty lines.</p>
+ */
+final class TableSnapshot {
+
+  /** Is "ETSB", which identifies the snapshot file. */
+  private static final int MAGIC = 0x45545342;
+
+  /**
+   * Is the version of the format, which needs to be incremented
+   *     when the format or {@link TableValueCodec} changes.
+   */
+  private static final int FORMAT_VERSION = 2;
+
+  private TableSnapshot() {}
+
+  /**
+   * Writes the table data to the snapshot file.
+   *
+   * <p>The data is written to a temporary file first and moved to {@code snapshotPath},
+   *     so a reader never sees a half-written snapshot.</p>
+   *
+   * @param snapshotPath snapshotPath
+   * @param key the key of the source file and the settings of the reader
+   * @param tableData table data
+   * @throws IOException IOException
+   */
+  static <T> void write(Path snapshotPath, String key, List<List<T>> tableData)
+      throws IOException {
+    int columnCount = 0;
+    for (List<T> line : tableData) {
+      if (!line.isEmpty()) {
+        columnCount = line.size();
+        break;
+      }
+    }
+
+    for (List<T> line : tableData) {
+      if (!line.isEmpty() && line.size() != columnCount) {
+        throw new RuntimeException("All the lines need to have the same number of columns.");
+      }
+    }
+
+    Path dir = snapshotPath.toAbsolutePath().getParent();
+    Path tmp = Files.createTempFile(dir, snapshotPath.getFileName().toString(), ".tmp");
+    try {
+      try (DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        TableValueCodec.writeString(out, key);
+        out.writeInt(tableData.size());
+        out.writeInt(columnCount);
+
+        for (List<T> line : tableData) {
+          out.writeBoolean(line.isEmpty());
+        }
+
+        // The values of empty lines are stored as null.
+        for (int col = 0; col < columnCount; col++) {
+          for (List<T> line : tableData) {
+            out.writeByte(TableValueCodec.getType(line.isEmpty() ? null : line.get(col)));
+          }
+
+          for (List<T> line : tableData) {
+            TableValueCodec.writeValue(out, line.isEmpty() ? null : line.get(col));
+          }
+        }
+      }
+
+      Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  /**
+   * Loads the table data from the snapshot file.
+   *
+   * @param snapshotPath snapshotPath
+   * @param key the key of the source file and the settings of the reader
+   * @return table data, or {@code null} when the file does not exist, is broken,
+   *     or was written from another source file, other settings or another format version.
+   * @throws IOException IOException
+   */
+  static <T> @Nullable List<List<T>> load(Path snapshotPath, String key) throws IOException {
+    if (!Files.isRegularFile(snapshotPath)) {
+      return null;
+    }
+
+    try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION
+          || !key.equals(TableValueCodec.readString(buffer))) {
+        return null;
+      }
+
+      int rowCount = buffer.getInt();
+      int columnCount = buffer.getInt();
+      if (rowCount < 0 || columnCount < 0
+          || (long) rowCount * (columnCount + 1) > buffer.remaining()) {
+        return null;
+      }
+
+      boolean[] emptyRows = new boolean[rowCount];
+      for (int row = 0; row < rowCount; row++) {
+        emptyRows[row] = buffer.get() != 0;
+      }
+
+      Object[][] rows = new Object[rowCount][columnCount];
+      byte[] types = new byte[rowCount];
+      for (int col = 0; col < columnCount; col++) {
+        buffer.get(types);
+        for (int row = 0; row < rowCount; row++) {
+          rows[row][col] = TableValueCodec.readValue(buffer, types[row]);
+        }
+      }
+
+      List<List<T>> tableData = new ArrayList<>(rowCount);
+      for (int row = 0; row < rowCount; row++) {
+        @SuppressWarnings("unchecked")
+        List<T> line = emptyRows[row] ? new ArrayList<>()
+            : (List<T>) new ArrayList<>(Arrays.asList(rows[row]));
+        tableData.add(line);
+      }
+
+      return tableData;
+
+    } catch (BufferUnderflowException | IllegalArgumentException ex) {
+      // The file is broken. It's overwritten by the caller.
+      return null;
+    }
+  }
+}
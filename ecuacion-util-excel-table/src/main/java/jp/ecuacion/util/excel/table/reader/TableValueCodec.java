@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Encodes and decodes the values of a table in a binary form
+ *     for the files written by {@link TableSnapshot} and {@link SpillingTableList}.
+ *
+ * <p>A value is stored as a type tag and the value itself, which may be written separately.
+ *     The supported values are {@code null}, {@code String}, {@code Double}, {@code Boolean},
+ *     {@code LocalDate} and {@code LocalDateTime},
+ *     that is, the values returned by the readers of {@code String} and typed values.</p>
+ */
+final class TableValueCodec {
+
+  private static final byte TYPE_NULL = 0;
+  private static final byte TYPE_STRING = 1;
+  private static final byte TYPE_DOUBLE = 2;
+  private static final byte TYPE_BOOLEAN = 3;
+  private static final byte TYPE_LOCAL_DATE = 4;
+  private static final byte TYPE_LOCAL_DATE_TIME = 5;
+
+  private TableValueCodec() {}
+
+  static byte getType(@Nullable Object value) {
+    if (value == null) {
+      return TYPE_NULL;
+
+    } else if (value instanceof String) {
+      return TYPE_STRING;
+
+    } else if (value instanceof Double) {
+      return TYPE_DOUBLE;
+
+    } else if (value instanceof Boolean) {
+      return TYPE_BOOLEAN;
+
+    } else if (value instanceof LocalDate) {
+      return TYPE_LOCAL_DATE;
+
+    } else if (value instanceof LocalDateTime) {
+      return TYPE_LOCAL_DATE_TIME;
+
+    } else {
+      throw new RuntimeException(
+          "The value cannot be stored in a snapshot. class: " + value.getClass().getName());
+    }
+  }
+
+  static void writeValue(DataOutputStream out, @Nullable Object value)
+      throws IOException {
+    if (value instanceof String str) {
+      writeString(out, str);
+
+    } else if (value instanceof Double dbl) {
+      out.writeDouble(dbl);
+
+    } else if (value instanceof Boolean bool) {
+      out.writeBoolean(bool);
+
+    } else if (value instanceof LocalDate date) {
+      out.writeLong(date.toEpochDay());
+
+    } else if (value instanceof LocalDateTime dateTime) {
+      out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+      out.writeInt(dateTime.getNano());
+    }
+  }
+
+  static @Nullable Object readValue(ByteBuffer buffer, byte type) {
+    return switch (type) {
+      case TYPE_NULL -> null;
+      case TYPE_STRING -> readString(buffer);
+      case TYPE_DOUBLE -> buffer.getDouble();
+      case TYPE_BOOLEAN -> buffer.get() != 0;
+      case TYPE_LOCAL_DATE -> LocalDate.ofEpochDay(buffer.getLong());
+      case TYPE_LOCAL_DATE_TIME -> LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(),
+          ZoneOffset.UTC);
+      default -> throw new IllegalArgumentException("Unknown type: " + type);
+    };
+  }
+
+  /*
+   * Writes the length and the UTF-8 bytes.
+   * writeUTF is not used because it cannot write a string longer than 65535 bytes.
+   */
+  static void writeString(DataOutputStream out, String str) throws IOException {
+    byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("Illegal string length: " + length);
+    }
+
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -15,9 +15,11 @@
  */
 package jp.ecuacion.util.excel.table.reader.concrete;
 
+import java.util.function.Predicate;
 import jp.ecuacion.util.excel.table.reader.ExcelTableReader;
 import jp.ecuacion.util.excel.table.reader.IfDataTypeCellExcelTableReader;
 import jp.ecuacion.util.excel.table.reader.IfFormatFreeExcelTableReader;
+import jp.ecuacion.util.excel.table.reader.TableReadCache;
 import org.apache.poi.ss.usermodel.Cell;
 import org.jspecify.annotations.Nullable;
 
@@ -56,6 +58,11 @@ public class CellFreeExcelTableReader extends ExcelTableReader<Cell>
     return (CellFreeExcelTableReader) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public CellFreeExcelTableReader tableName(@Nullable String value) {
+    return (CellFreeExcelTableReader) super.tableName(value);
+  }
+
   @Override
   public CellFreeExcelTableReader tableRowSize(@Nullable Integer value) {
     return (CellFreeExcelTableReader) super.tableRowSize(value);
@@ -66,6 +73,17 @@ public class CellFreeExcelTableReader extends ExcelTableReader<Cell>
     return (CellFreeExcelTableReader) super.tableColumnSize(value);
   }
 
+  @Override
+  public CellFreeExcelTableReader withRowFilter(int columnIndex,
+      Predicate<@Nullable Cell> condition) {
+    return (CellFreeExcelTableReader) super.withRowFilter(columnIndex, condition);
+  }
+
+  @Override
+  public CellFreeExcelTableReader withReadCache(@Nullable TableReadCache cache) {
+    return (CellFreeExcelTableReader) super.withReadCache(cache);
+  }
+
   @Override
   public CellFreeExcelTableReader withIgnoresAdditionalColumnsOfHeaderData(boolean value) {
     return (CellFreeExcelTableReader) super.withIgnoresAdditionalColumnsOfHeaderData(value);
@@ -17,11 +17,13 @@ package jp.ecuacion.util.excel.table.reader.concrete;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 import jp.ecuacion.lib.core.util.ObjectsUtil;
 import jp.ecuacion.util.excel.exception.ExcelTableException;
 import jp.ecuacion.util.excel.table.reader.ExcelTableReader;
 import jp.ecuacion.util.excel.table.reader.IfDataTypeCellExcelTableReader;
 import jp.ecuacion.util.excel.table.reader.IfFormatHeaderExcelTableReader;
+import jp.ecuacion.util.excel.table.reader.TableReadCache;
 import org.apache.poi.ss.usermodel.Cell;
 import org.jspecify.annotations.Nullable;
 
@@ -106,6 +108,11 @@ public class CellHeaderExcelTableReader extends ExcelTableReader<Cell>
     return (CellHeaderExcelTableReader) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public CellHeaderExcelTableReader tableName(@Nullable String value) {
+    return (CellHeaderExcelTableReader) super.tableName(value);
+  }
+
   @Override
   public CellHeaderExcelTableReader tableRowSize(@Nullable Integer value) {
     return (CellHeaderExcelTableReader) super.tableRowSize(value);
@@ -116,6 +123,17 @@ public class CellHeaderExcelTableReader extends ExcelTableReader<Cell>
     return (CellHeaderExcelTableReader) super.tableColumnSize(value);
   }
 
+  @Override
+  public CellHeaderExcelTableReader withRowFilter(int columnIndex,
+      Predicate<@Nullable Cell> condition) {
+    return (CellHeaderExcelTableReader) super.withRowFilter(columnIndex, condition);
+  }
+
+  @Override
+  public CellHeaderExcelTableReader withReadCache(@Nullable TableReadCache cache) {
+    return (CellHeaderExcelTableReader) super.withReadCache(cache);
+  }
+
   @Override
   public CellHeaderExcelTableReader withIgnoresAdditionalColumnsOfHeaderData(boolean value) {
     return (CellHeaderExcelTableReader) super.withIgnoresAdditionalColumnsOfHeaderData(value);
@@ -15,6 +15,9 @@
  */
 package jp.ecuacion.util.excel.table.reader.concrete;
 
+import java.util.function.Predicate;
+import jp.ecuacion.util.excel.table.reader.TableReadCache;
+import org.apache.poi.ss.usermodel.Cell;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -49,6 +52,11 @@ public class CellOneLineHeaderExcelTableReader extends CellHeaderExcelTableReade
     return (CellOneLineHeaderExcelTableReader) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public CellOneLineHeaderExcelTableReader tableName(@Nullable String value) {
+    return (CellOneLineHeaderExcelTableReader) super.tableName(value);
+  }
+
   @Override
   public CellOneLineHeaderExcelTableReader tableRowSize(@Nullable Integer value) {
     return (CellOneLineHeaderExcelTableReader) super.tableRowSize(value);
@@ -59,6 +67,17 @@ public class CellOneLineHeaderExcelTableReader extends CellHeaderExcelTableReade
     return (CellOneLineHeaderExcelTableReader) super.tableColumnSize(value);
   }
 
+  @Override
+  public CellOneLineHeaderExcelTableReader withRowFilter(int columnIndex,
+      Predicate<@Nullable Cell> condition) {
+    return (CellOneLineHeaderExcelTableReader) super.withRowFilter(columnIndex, condition);
+  }
+
+  @Override
+  public CellOneLineHeaderExcelTableReader withReadCache(@Nullable TableReadCache cache) {
+    return (CellOneLineHeaderExcelTableReader) super.withReadCache(cache);
+  }
+
   @Override
   public CellOneLineHeaderExcelTableReader withIgnoresAdditionalColumnsOfHeaderData(
       boolean value) {
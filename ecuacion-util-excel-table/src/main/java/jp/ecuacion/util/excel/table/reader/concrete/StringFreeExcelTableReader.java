@@ -16,8 +16,10 @@
 package jp.ecuacion.util.excel.table.reader.concrete;
 
 import java.time.format.DateTimeFormatter;
+import java.util.function.Predicate;
 import jp.ecuacion.util.excel.enums.NoDataString;
 import jp.ecuacion.util.excel.table.reader.IfFormatFreeExcelTableReader;
+import jp.ecuacion.util.excel.table.reader.TableReadCache;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -75,6 +77,11 @@ public class StringFreeExcelTableReader extends StringExcelTableReader
     return (StringFreeExcelTableReader) super.columnDateTimeFormat(columnNumber, dateTimeFormat);
   }
 
+  @Override
+  public StringFreeExcelTableReader withStringDedup(int maxValuesPerColumn) {
+    return (StringFreeExcelTableReader) super.withStringDedup(maxValuesPerColumn);
+  }
+
   @Override
   public StringFreeExcelTableReader tableStartRowNumber(@Nullable Integer value) {
     return (StringFreeExcelTableReader) super.tableStartRowNumber(value);
@@ -85,6 +92,11 @@ public class StringFreeExcelTableReader extends StringExcelTableReader
     return (StringFreeExcelTableReader) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public StringFreeExcelTableReader tableName(@Nullable String value) {
+    return (StringFreeExcelTableReader) super.tableName(value);
+  }
+
   @Override
   public StringFreeExcelTableReader tableRowSize(@Nullable Integer value) {
     return (StringFreeExcelTableReader) super.tableRowSize(value);
@@ -95,6 +107,17 @@ public class StringFreeExcelTableReader extends StringExcelTableReader
     return (StringFreeExcelTableReader) super.tableColumnSize(value);
   }
 
+  @Override
+  public StringFreeExcelTableReader withRowFilter(int columnIndex,
+      Predicate<@Nullable String> condition) {
+    return (StringFreeExcelTableReader) super.withRowFilter(columnIndex, condition);
+  }
+
+  @Override
+  public StringFreeExcelTableReader withReadCache(@Nullable TableReadCache cache) {
+    return (StringFreeExcelTableReader) super.withReadCache(cache);
+  }
+
   @Override
   public StringFreeExcelTableReader withIgnoresAdditionalColumnsOfHeaderData(boolean value) {
     return (StringFreeExcelTableReader) super.withIgnoresAdditionalColumnsOfHeaderData(value);
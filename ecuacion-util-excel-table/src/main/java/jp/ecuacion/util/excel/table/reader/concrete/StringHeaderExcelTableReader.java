@@ -19,11 +19,19 @@ import java.io.IOException;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 import jp.ecuacion.lib.core.util.ObjectsUtil;
+import jp.ecuacion.util.excel.enums.JoinType;
 import jp.ecuacion.util.excel.enums.NoDataString;
 import jp.ecuacion.util.excel.exception.ExcelTableException;
 import jp.ecuacion.util.excel.exception.HeaderCellIsBlankException;
+import jp.ecuacion.util.excel.table.ExcelTable.ContextContainer;
 import jp.ecuacion.util.excel.table.IfFormatHeaderExcelTable;
+import jp.ecuacion.util.excel.table.reader.ExcelTableReader;
+import jp.ecuacion.util.excel.table.reader.TableDiff;
+import jp.ecuacion.util.excel.table.reader.TableIndex;
+import jp.ecuacion.util.excel.table.reader.TableReadCache;
 import org.apache.poi.EncryptedDocumentException;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -56,12 +64,15 @@ public class StringHeaderExcelTableReader extends StringExcelTableReader
 
   private NoDataString noDataString;
 
-  /** Set in {@link #read(Workbook)} before delegating to the parent. */
+  /** Set in {@link #validateHeader(Workbook)} before delegating to the parent. */
   protected @Nullable Sheet currentSheet;
 
-  /** POI-basis (0-based) start row of the table header, set in {@link #read(Workbook)}. */
+  /** POI-basis (0-based) start row of the table header, set in {@link #validateHeader}. */
   protected int poiBasisHeaderStartRow;
 
+  /** POI-basis (0-based) start column of the table header, set in {@link #validateHeader}. */
+  protected int poiBasisHeaderStartColumn;
+
   /**
    * Constructs a new instance with the sheet name and multiple header rows.
    *
@@ -122,23 +133,20 @@ public class StringHeaderExcelTableReader extends StringExcelTableReader
   }
 
   /**
-   * Stores the current sheet and the header start row, then delegates to the parent.
+   * Stores the current sheet and the header start position, then delegates to the parent.
    *
    * <p>Both are used by {@link #validateHeaderData} for merged-cell expansion.</p>
    *
    * @param workbook workbook
-   * @throws EncryptedDocumentException EncryptedDocumentException
-   * @throws IOException IOException
+   * @throws ExcelTableException when an Excel parsing error occurs
    */
   @Override
-  public List<List<String>> read(Workbook workbook) throws EncryptedDocumentException, IOException {
-    Sheet sheet = workbook.getSheet(getSheetName());
-    if (sheet != null) {
-      this.currentSheet = sheet;
-      this.poiBasisHeaderStartRow =
-          getPoiBasisDeterminedTableStartRowNumber(sheet, tableStartColumnNumber);
-    }
-    return super.read(workbook);
+  protected void validateHeader(Workbook workbook) throws ExcelTableException {
+    ContextContainer context = getReadyToReadHeaderLines(workbook);
+    this.currentSheet = context.sheet;
+    this.poiBasisHeaderStartRow = context.poiBasisTableStartRowNumber;
+    this.poiBasisHeaderStartColumn = context.poiBasisTableStartColumnNumber;
+    super.validateHeader(workbook);
   }
 
   /**
@@ -191,7 +199,7 @@ public class StringHeaderExcelTableReader extends StringExcelTableReader
   private void expandMergedCells(List<List<String>> headerData) {
     Sheet sheet = ObjectsUtil.requireNonNull(currentSheet);
     int numHeaderRows = headerLabels2d.length;
-    int poiBasisStartCol = tableStartColumnNumber - 1;
+    int poiBasisStartCol = poiBasisHeaderStartColumn;
     int numCols = getHeaderLabels().length;
 
     for (CellRangeAddress region : sheet.getMergedRegions()) {
@@ -252,8 +260,9 @@ public class StringHeaderExcelTableReader extends StringExcelTableReader
         String val = row.get(colIdx);
         if (val == null || val.isEmpty()) {
           int excelRow = poiBasisHeaderStartRow + rowIdx + 1;
-          int excelCol = tableStartColumnNumber + colIdx;
-          throw new HeaderCellIsBlankException(getSheetName(), excelRow, excelCol);
+          int excelCol = poiBasisHeaderStartColumn + colIdx + 1;
+          throw new HeaderCellIsBlankException(
+              ObjectsUtil.requireNonNull(currentSheet).getSheetName(), excelRow, excelCol);
         }
       }
     }
@@ -288,6 +297,107 @@ public class StringHeaderExcelTableReader extends StringExcelTableReader
         poiBasisDeterminedTableStartColumnNumber, ignoresColumnSizeSetInReader);
   }
 
+  /**
+   * Reads the table and builds a hash index of the lines
+   *     keyed by the value of the column specified by the header label.
+   *
+   * @param workbook workbook
+   * @param keyHeaderLabel header label of the key column.
+   *     See {@link #getColumnIndex(String...)}.
+   * @return index
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see ExcelTableReader#buildIndex(Workbook, int)
+   */
+  public TableIndex<String> buildIndex(Workbook workbook, String keyHeaderLabel)
+      throws ExcelTableException {
+    return buildIndex(workbook, requireColumnIndex(keyHeaderLabel));
+  }
+
+  /**
+   * Returns the index of the column specified by the header label,
+   *     which is built only once for each {@code workbook}.
+   *
+   * @param workbook workbook
+   * @param keyHeaderLabel header label of the key column.
+   *     See {@link #getColumnIndex(String...)}.
+   * @return index
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see ExcelTableReader#getIndex(Workbook, int)
+   */
+  public TableIndex<String> getIndex(Workbook workbook, String keyHeaderLabel)
+      throws ExcelTableException {
+    return getIndex(workbook, requireColumnIndex(keyHeaderLabel));
+  }
+
+  /**
+   * Joins the table with the other table by the column specified by the header label.
+   *
+   * @param <U> the type of the values of the lines in {@code index}
+   * @param workbook workbook
+   * @param keyHeaderLabel header label of the key column in this table.
+   *     See {@link #getColumnIndex(String...)}.
+   * @param index the index of the other table
+   * @param joinType joinType
+   * @param action the action which receives the line of this table
+   *     and the matching line of the other table, which is {@code null} when not found
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see ExcelTableReader#join(Workbook, int, TableIndex, JoinType, BiConsumer)
+   */
+  public <U> void join(Workbook workbook, String keyHeaderLabel, TableIndex<U> index,
+      JoinType joinType, BiConsumer<List<String>, @Nullable List<U>> action)
+      throws ExcelTableException {
+    join(workbook, requireColumnIndex(keyHeaderLabel), index, joinType, action);
+  }
+
+  /**
+   * Reads two versions of the table and returns the differences,
+   *     where lines are identified by the values of the columns specified by header labels.
+   *
+   * @param oldFilePath the file path of the old version
+   * @param newFilePath the file path of the new version
+   * @param keyHeaderLabels header labels of the key columns,
+   *     each of which is passed to {@link #getColumnIndex(String...)}
+   * @return differences
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   * @see ExcelTableReader#diff(Workbook, Workbook, int...)
+   */
+  public TableDiff<String> diff(String oldFilePath, String newFilePath, String... keyHeaderLabels)
+      throws EncryptedDocumentException, IOException {
+    return diff(oldFilePath, newFilePath, requireColumnIndexes(keyHeaderLabels));
+  }
+
+  /**
+   * Reads two versions of the table and returns the differences,
+   *     where lines are identified by the values of the columns specified by header labels.
+   *
+   * @param oldWorkbook the workbook of the old version
+   * @param newWorkbook the workbook of the new version
+   * @param keyHeaderLabels header labels of the key columns,
+   *     each of which is passed to {@link #getColumnIndex(String...)}
+   * @return differences
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see ExcelTableReader#diff(Workbook, Workbook, int...)
+   */
+  public TableDiff<String> diff(Workbook oldWorkbook, Workbook newWorkbook,
+      String... keyHeaderLabels) throws ExcelTableException {
+    return diff(oldWorkbook, newWorkbook, requireColumnIndexes(keyHeaderLabels));
+  }
+
+  /**
+   * Adds a row filter on the column specified by the header label
+   *     and returns {@code this} for method chaining.
+   *
+   * @param headerLabel header label of the column. See {@link #getColumnIndex(String...)}.
+   * @param condition condition the value of the column must satisfy
+   * @return this reader
+   * @see ExcelTableReader#withRowFilter(int, Predicate)
+   */
+  public StringHeaderExcelTableReader withRowFilter(String headerLabel,
+      Predicate<@Nullable String> condition) {
+    return withRowFilter(requireColumnIndex(headerLabel), condition);
+  }
+
   /**
    * Sets {@code noDataString} and returns {@code this} for method chaining.
    *
@@ -310,6 +420,11 @@ public class StringHeaderExcelTableReader extends StringExcelTableReader
     return (StringHeaderExcelTableReader) super.columnDateTimeFormat(columnNumber, dateTimeFormat);
   }
 
+  @Override
+  public StringHeaderExcelTableReader withStringDedup(int maxValuesPerColumn) {
+    return (StringHeaderExcelTableReader) super.withStringDedup(maxValuesPerColumn);
+  }
+
   @Override
   public StringHeaderExcelTableReader withIgnoresAdditionalColumnsOfHeaderData(boolean value) {
     this.ignoresAdditionalColumnsOfHeaderData = value;
@@ -332,6 +447,11 @@ public class StringHeaderExcelTableReader extends StringExcelTableReader
     return (StringHeaderExcelTableReader) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public StringHeaderExcelTableReader tableName(@Nullable String value) {
+    return (StringHeaderExcelTableReader) super.tableName(value);
+  }
+
   @Override
   public StringHeaderExcelTableReader tableRowSize(@Nullable Integer value) {
     return (StringHeaderExcelTableReader) super.tableRowSize(value);
@@ -341,4 +461,15 @@ public class StringHeaderExcelTableReader extends StringExcelTableReader
   public StringHeaderExcelTableReader tableColumnSize(@Nullable Integer value) {
     return (StringHeaderExcelTableReader) super.tableColumnSize(value);
   }
+
+  @Override
+  public StringHeaderExcelTableReader withRowFilter(int columnIndex,
+      Predicate<@Nullable String> condition) {
+    return (StringHeaderExcelTableReader) super.withRowFilter(columnIndex, condition);
+  }
+
+  @Override
+  public StringHeaderExcelTableReader withReadCache(@Nullable TableReadCache cache) {
+    return (StringHeaderExcelTableReader) super.withReadCache(cache);
+  }
 }
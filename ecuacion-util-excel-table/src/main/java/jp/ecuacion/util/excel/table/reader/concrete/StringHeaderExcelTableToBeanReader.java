@@ -23,15 +23,21 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Predicate;
 import jp.ecuacion.lib.core.util.PropertiesFileUtil.Arg;
 import jp.ecuacion.lib.core.violation.Violations;
 import jp.ecuacion.util.excel.enums.NoDataString;
+import jp.ecuacion.util.excel.table.ExcelTable.ContextContainer;
+import jp.ecuacion.util.excel.table.ExcelTable.NamedTableLocation;
 import jp.ecuacion.util.excel.table.bean.ExcelColumn;
 import jp.ecuacion.util.excel.table.bean.StringExcelTableBean;
+import jp.ecuacion.util.excel.table.reader.TableReadCache;
 import jp.ecuacion.util.excel.util.ExcelReadUtil;
 import org.apache.poi.EncryptedDocumentException;
 import org.apache.poi.ss.usermodel.Cell;
@@ -67,6 +73,29 @@ public class StringHeaderExcelTableToBeanReader<T extends StringExcelTableBean>
    */
   protected int dataStartExcelRowNumber = 0;
 
+  /**
+   * Stores the columns bound to {@link ExcelColumn} fields while reading,
+   *     {@code null} otherwise.
+   */
+  private @Nullable BitSet neededColumns;
+
+  /**
+   * Stores the 1-based Excel row number of each bean read by
+   *     {@link #excelTableToBeanList(String)}, {@code null} when it's overridden.
+   *
+   * <p>Rows rejected by row filters are not converted to beans,
+   *     so the row numbers are not always continuous.</p>
+   */
+  private @Nullable List<Integer> beanRowNumbers;
+
+  /**
+   * Stores the name of the sheet the beans are read from by
+   *     {@link #excelTableToBeanList(String)}, {@code null} when it's overridden.
+   *
+   * <p>It differs from {@code sheetName} when the table is located by {@code tableName}.</p>
+   */
+  private @Nullable String beanSheetName;
+
   // ── single-row constructors ────────────────────────────────────────────────
 
   /**
@@ -117,11 +146,12 @@ public class StringHeaderExcelTableToBeanReader<T extends StringExcelTableBean>
     if (validates) {
       for (int i = 0; i < rtnList.size(); i++) {
         T bean = rtnList.get(i);
-        int excelRowNumber = dataStartExcelRowNumber + i;
+        int excelRowNumber = getExcelRowNumber(i);
         new Violations()
             .addAll(Validation.buildDefaultValidatorFactory().getValidator().validate(bean))
             .messageParameters(Violations.newMessageParameters().isMessageWithItemName(true)
-                .messagePostfix(Arg.message(msgId, getSheetName(), String.valueOf(excelRowNumber))))
+                .messagePostfix(Arg.message(msgId, getBeanSheetName(),
+                    String.valueOf(excelRowNumber))))
             .throwIfAny();
 
         bean.afterReading();
@@ -145,18 +175,31 @@ public class StringHeaderExcelTableToBeanReader<T extends StringExcelTableBean>
    */
   protected List<T> excelTableToBeanList(String filePath) throws IOException {
     try (Workbook workbook = ExcelReadUtil.openForRead(filePath)) {
-      List<List<String>> lines = read(workbook);
+      boolean usesAnnotation = usesExcelColumnAnnotation(beanClass);
+      int[] annotatedColumnIndexes = usesAnnotation ? resolveAnnotatedColumnIndexes() : null;
 
-      Sheet sheet = workbook.getSheet(getSheetName());
-      int poiBasisHeaderRow =
-          getPoiBasisDeterminedTableStartRowNumber(sheet, tableStartColumnNumber);
-      dataStartExcelRowNumber = poiBasisHeaderRow + getNumberOfHeaderLines() + 1;
+      // Columns not bound to @ExcelColumn fields are not converted.
+      List<List<String>> lines;
+      List<Integer> rowNumbers = new ArrayList<>();
+      try {
+        neededColumns = annotatedColumnIndexes == null ? null : toBitSet(annotatedColumnIndexes);
+        lines = read(workbook, rowNumbers);
+
+      } finally {
+        neededColumns = null;
+      }
+
+      ContextContainer context = getReadyToReadHeaderLines(workbook);
+      dataStartExcelRowNumber = context.poiBasisTableStartRowNumber + getNumberOfHeaderLines() + 1;
+      beanRowNumbers = rowNumbers;
+      beanSheetName = context.sheet.getSheetName();
 
-      boolean usesAnnotation = usesExcelColumnAnnotation(beanClass);
       List<T> rtnList = new ArrayList<>();
       for (List<String> line : lines) {
         try {
-          List<String> colList = usesAnnotation ? buildReorderedColList(line) : line;
+          List<String> colList = annotatedColumnIndexes != null
+              ? buildReorderedColList(line, annotatedColumnIndexes)
+              : line;
           @SuppressWarnings("unchecked")
           T bean = (T) beanClass.getConstructor(List.class).newInstance(colList);
           rtnList.add(bean);
@@ -168,6 +211,35 @@ public class StringHeaderExcelTableToBeanReader<T extends StringExcelTableBean>
     }
   }
 
+  /*
+   * Returns the name of the sheet the beans are read from.
+   */
+  private String getBeanSheetName() {
+    String name = beanSheetName;
+    return name == null ? getSheetName() : name;
+  }
+
+  /*
+   * Returns the Excel row number of the i-th bean.
+   */
+  private int getExcelRowNumber(int i) {
+    List<Integer> rowNumbers = beanRowNumbers;
+    return rowNumbers == null ? dataStartExcelRowNumber + i : rowNumbers.get(i);
+  }
+
+  /**
+   * Returns {@code false} for the columns not bound to {@link ExcelColumn} fields
+   *     while {@link #excelTableToBeanList(String)} is reading.
+   *
+   * @param columnIndex 0-based column position in the table
+   * @return whether the values of the column are needed
+   */
+  @Override
+  protected boolean needsColumnData(int columnIndex) {
+    BitSet columns = neededColumns;
+    return columns == null || columns.get(columnIndex);
+  }
+
   // ── @ExcelColumn matching ──────────────────────────────────────────────────
 
   private boolean usesExcelColumnAnnotation(Class<?> clazz) {
@@ -184,77 +256,58 @@ public class StringHeaderExcelTableToBeanReader<T extends StringExcelTableBean>
   }
 
   /**
-   * Builds a column-value list ordered by {@link ExcelColumn} field declaration,
-   *     matched to the header labels by annotation value.
+   * Returns the 0-based column index of each {@link ExcelColumn} field
+   *     in the field declaration order, matched to the header labels by annotation value.
    *
    * <p>For multi-row headers, the annotation value array is matched against
    *     the corresponding header row values for each column.
    *     A single-element annotation matches any column where all header rows
    *     have that same value (vertically merged).</p>
    *
-   * @param colList column values in table-column order
-   * @return reordered list aligned to the {@link ExcelColumn} field scan order
+   * @return column indexes aligned to the {@link ExcelColumn} field scan order
    */
-  private List<String> buildReorderedColList(List<String> colList) {
-    String[][] h = getHeaderLabels2d();
-    int numCols = getHeaderLabels().length;
-
+  private int[] resolveAnnotatedColumnIndexes() {
     List<Class<?>> hierarchy = buildClassHierarchy(beanClass);
 
-    List<String> reordered = new ArrayList<>();
+    List<Integer> colIdxList = new ArrayList<>();
     for (Class<?> c : hierarchy) {
       for (Field f : c.getDeclaredFields()) {
         if (f.isAnnotationPresent(ExcelColumn.class)) {
           @SuppressWarnings("null")
           String[] annotLabels = f.getAnnotation(ExcelColumn.class).value();
-          int colIdx = findColumnIndex(h, numCols, annotLabels);
+          int colIdx = getColumnIndex(annotLabels);
           if (colIdx < 0) {
-            throw new RuntimeException("@ExcelColumn " + java.util.Arrays.toString(annotLabels)
+            throw new RuntimeException("@ExcelColumn " + Arrays.toString(annotLabels)
                 + " not found in headerLabels of " + getSheetName() + ".");
           }
-          reordered.add(colList.get(colIdx));
+          colIdxList.add(colIdx);
         }
       }
     }
-    return reordered;
+    return colIdxList.stream().mapToInt(Integer::intValue).toArray();
   }
 
-  /**
-   * Finds the 0-based column index whose header-label key matches {@code annotLabels}.
-   *
-   * @param headerLabels2d all header rows
-   * @param numCols number of columns
-   * @param annotLabels {@link ExcelColumn#value()}
-   * @return 0-based column index, or {@code -1} if not found
-   */
-  private int findColumnIndex(String[][] headerLabels2d, int numCols, String[] annotLabels) {
-    for (int i = 0; i < numCols; i++) {
-      if (columnMatches(headerLabels2d, i, annotLabels)) {
-        return i;
-      }
+  private BitSet toBitSet(int[] columnIndexes) {
+    BitSet bitSet = new BitSet();
+    for (int colIdx : columnIndexes) {
+      bitSet.set(colIdx);
     }
-    return -1;
+    return bitSet;
   }
 
-  private boolean columnMatches(String[][] headerLabels2d, int colIdx, String[] annotLabels) {
-    if (annotLabels.length == 1) {
-      // Single label: match if all header rows have the same value.
-      for (String[] headerRow : headerLabels2d) {
-        if (!annotLabels[0].equals(headerRow[colIdx])) {
-          return false;
-        }
-      }
-      return true;
-    }
-    if (annotLabels.length != headerLabels2d.length) {
-      return false;
-    }
-    for (int rowIdx = 0; rowIdx < headerLabels2d.length; rowIdx++) {
-      if (!annotLabels[rowIdx].equals(headerLabels2d[rowIdx][colIdx])) {
-        return false;
-      }
+  /**
+   * Builds a column-value list ordered by {@link ExcelColumn} field declaration.
+   *
+   * @param colList column values in table-column order
+   * @param columnIndexes the result of {@link #resolveAnnotatedColumnIndexes()}
+   * @return reordered list aligned to the {@link ExcelColumn} field scan order
+   */
+  private List<String> buildReorderedColList(List<String> colList, int[] columnIndexes) {
+    List<String> reordered = new ArrayList<>(columnIndexes.length);
+    for (int colIdx : columnIndexes) {
+      reordered.add(colList.get(colIdx));
     }
-    return true;
+    return reordered;
   }
 
   private List<Class<?>> buildClassHierarchy(Class<?> leaf) {
@@ -311,9 +364,13 @@ public class StringHeaderExcelTableToBeanReader<T extends StringExcelTableBean>
 
     try (Workbook workbook = WorkbookFactory.create(new File(originalPath));
         FileOutputStream fos = new FileOutputStream(outputPath)) {
-      Sheet sheet = workbook.getSheet(getSheetName());
+      NamedTableLocation location = locateNamedTable(workbook);
+      String sheetName = location == null ? getSheetName() : location.sheetName;
+      int poiBasisStartCol = location == null ? tableStartColumnNumber - 1
+          : location.area.getFirstColumn();
+      Sheet sheet = workbook.getSheet(sheetName);
       if (sheet == null) {
-        throw new RuntimeException("Sheet not found: " + getSheetName());
+        throw new RuntimeException("Sheet not found: " + sheetName);
       }
       int poiRowIndex = excelRowNumber - 1;
       Row row = sheet.getRow(poiRowIndex);
@@ -326,7 +383,7 @@ public class StringHeaderExcelTableToBeanReader<T extends StringExcelTableBean>
       errorStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
 
       if (usesExcelColumnAnnotation(beanClass)) {
-        for (int poiColIdx : resolvePoiColumnIndices(violatedFieldNames)) {
+        for (int poiColIdx : resolvePoiColumnIndices(violatedFieldNames, poiBasisStartCol)) {
           Cell cell = row.getCell(poiColIdx);
           if (cell == null) {
             cell = row.createCell(poiColIdx);
@@ -335,7 +392,7 @@ public class StringHeaderExcelTableToBeanReader<T extends StringExcelTableBean>
         }
       } else {
         for (int i = 0; i < getHeaderLabels().length; i++) {
-          int poiColIdx = tableStartColumnNumber - 1 + i;
+          int poiColIdx = poiBasisStartCol + i;
           Cell cell = row.getCell(poiColIdx);
           if (cell == null) {
             cell = row.createCell(poiColIdx);
@@ -348,19 +405,16 @@ public class StringHeaderExcelTableToBeanReader<T extends StringExcelTableBean>
     }
   }
 
-  private List<Integer> resolvePoiColumnIndices(Set<String> fieldNames) {
-    String[][] h = getHeaderLabels2d();
-    int numCols = getHeaderLabels().length;
-
+  private List<Integer> resolvePoiColumnIndices(Set<String> fieldNames, int poiBasisStartCol) {
     List<Class<?>> hierarchy = buildClassHierarchy(beanClass);
     java.util.Map<String, Integer> fieldToColIdx = new java.util.HashMap<>();
     for (Class<?> c : hierarchy) {
       for (Field f : c.getDeclaredFields()) {
         if (f.isAnnotationPresent(ExcelColumn.class)) {
           String[] annotLabels = Objects.requireNonNull(f.getAnnotation(ExcelColumn.class)).value();
-          int colIdx = findColumnIndex(h, numCols, annotLabels);
+          int colIdx = getColumnIndex(annotLabels);
           if (colIdx >= 0) {
-            fieldToColIdx.put(f.getName(), tableStartColumnNumber - 1 + colIdx);
+            fieldToColIdx.put(f.getName(), poiBasisStartCol + colIdx);
           }
         }
       }
@@ -393,6 +447,12 @@ public class StringHeaderExcelTableToBeanReader<T extends StringExcelTableBean>
         dateTimeFormat);
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public StringHeaderExcelTableToBeanReader<T> withStringDedup(int maxValuesPerColumn) {
+    return (StringHeaderExcelTableToBeanReader<T>) super.withStringDedup(maxValuesPerColumn);
+  }
+
   @Override
   public StringHeaderExcelTableToBeanReader<T> withIgnoresAdditionalColumnsOfHeaderData(
       boolean value) {
@@ -424,6 +484,12 @@ public class StringHeaderExcelTableToBeanReader<T extends StringExcelTableBean>
     return (StringHeaderExcelTableToBeanReader<T>) super.tableStartColumnNumber(value);
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public StringHeaderExcelTableToBeanReader<T> tableName(@Nullable String value) {
+    return (StringHeaderExcelTableToBeanReader<T>) super.tableName(value);
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public StringHeaderExcelTableToBeanReader<T> tableRowSize(@Nullable Integer value) {
@@ -435,4 +501,24 @@ public class StringHeaderExcelTableToBeanReader<T extends StringExcelTableBean>
   public StringHeaderExcelTableToBeanReader<T> tableColumnSize(@Nullable Integer value) {
     return (StringHeaderExcelTableToBeanReader<T>) super.tableColumnSize(value);
   }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public StringHeaderExcelTableToBeanReader<T> withRowFilter(int columnIndex,
+      Predicate<@Nullable String> condition) {
+    return (StringHeaderExcelTableToBeanReader<T>) super.withRowFilter(columnIndex, condition);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public StringHeaderExcelTableToBeanReader<T> withReadCache(@Nullable TableReadCache cache) {
+    return (StringHeaderExcelTableToBeanReader<T>) super.withReadCache(cache);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public StringHeaderExcelTableToBeanReader<T> withRowFilter(String headerLabel,
+      Predicate<@Nullable String> condition) {
+    return (StringHeaderExcelTableToBeanReader<T>) super.withRowFilter(headerLabel, condition);
+  }
 }
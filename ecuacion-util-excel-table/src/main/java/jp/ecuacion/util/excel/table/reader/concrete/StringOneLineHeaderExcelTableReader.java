@@ -16,7 +16,9 @@
 package jp.ecuacion.util.excel.table.reader.concrete;
 
 import java.time.format.DateTimeFormatter;
+import java.util.function.Predicate;
 import jp.ecuacion.util.excel.enums.NoDataString;
+import jp.ecuacion.util.excel.table.reader.TableReadCache;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -63,6 +65,11 @@ public class StringOneLineHeaderExcelTableReader extends StringHeaderExcelTableR
         dateTimeFormat);
   }
 
+  @Override
+  public StringOneLineHeaderExcelTableReader withStringDedup(int maxValuesPerColumn) {
+    return (StringOneLineHeaderExcelTableReader) super.withStringDedup(maxValuesPerColumn);
+  }
+
   @Override
   public StringOneLineHeaderExcelTableReader withIgnoresAdditionalColumnsOfHeaderData(
       boolean value) {
@@ -85,6 +92,11 @@ public class StringOneLineHeaderExcelTableReader extends StringHeaderExcelTableR
     return (StringOneLineHeaderExcelTableReader) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public StringOneLineHeaderExcelTableReader tableName(@Nullable String value) {
+    return (StringOneLineHeaderExcelTableReader) super.tableName(value);
+  }
+
   @Override
   public StringOneLineHeaderExcelTableReader tableRowSize(@Nullable Integer value) {
     return (StringOneLineHeaderExcelTableReader) super.tableRowSize(value);
@@ -94,4 +106,21 @@ public class StringOneLineHeaderExcelTableReader extends StringHeaderExcelTableR
   public StringOneLineHeaderExcelTableReader tableColumnSize(@Nullable Integer value) {
     return (StringOneLineHeaderExcelTableReader) super.tableColumnSize(value);
   }
+
+  @Override
+  public StringOneLineHeaderExcelTableReader withRowFilter(int columnIndex,
+      Predicate<@Nullable String> condition) {
+    return (StringOneLineHeaderExcelTableReader) super.withRowFilter(columnIndex, condition);
+  }
+
+  @Override
+  public StringOneLineHeaderExcelTableReader withReadCache(@Nullable TableReadCache cache) {
+    return (StringOneLineHeaderExcelTableReader) super.withReadCache(cache);
+  }
+
+  @Override
+  public StringOneLineHeaderExcelTableReader withRowFilter(String headerLabel,
+      Predicate<@Nullable String> condition) {
+    return (StringOneLineHeaderExcelTableReader) super.withRowFilter(headerLabel, condition);
+  }
 }
@@ -16,8 +16,10 @@
 package jp.ecuacion.util.excel.table.reader.concrete;
 
 import java.time.format.DateTimeFormatter;
+import java.util.function.Predicate;
 import jp.ecuacion.util.excel.enums.NoDataString;
 import jp.ecuacion.util.excel.table.bean.StringExcelTableBean;
+import jp.ecuacion.util.excel.table.reader.TableReadCache;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -65,6 +67,11 @@ public class StringOneLineHeaderExcelTableToBeanReader<T extends StringExcelTabl
         dateTimeFormat);
   }
 
+  @Override
+  public StringOneLineHeaderExcelTableToBeanReader<T> withStringDedup(int maxValuesPerColumn) {
+    return (StringOneLineHeaderExcelTableToBeanReader<T>) super.withStringDedup(maxValuesPerColumn);
+  }
+
   @Override
   public StringOneLineHeaderExcelTableToBeanReader<T> withIgnoresAdditionalColumnsOfHeaderData(
       boolean value) {
@@ -94,6 +101,11 @@ public class StringOneLineHeaderExcelTableToBeanReader<T extends StringExcelTabl
     return (StringOneLineHeaderExcelTableToBeanReader<T>) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public StringOneLineHeaderExcelTableToBeanReader<T> tableName(@Nullable String value) {
+    return (StringOneLineHeaderExcelTableToBeanReader<T>) super.tableName(value);
+  }
+
   @Override
   public StringOneLineHeaderExcelTableToBeanReader<T> tableRowSize(@Nullable Integer value) {
     return (StringOneLineHeaderExcelTableToBeanReader<T>) super.tableRowSize(value);
@@ -103,4 +115,24 @@ public class StringOneLineHeaderExcelTableToBeanReader<T extends StringExcelTabl
   public StringOneLineHeaderExcelTableToBeanReader<T> tableColumnSize(@Nullable Integer value) {
     return (StringOneLineHeaderExcelTableToBeanReader<T>) super.tableColumnSize(value);
   }
+
+  @Override
+  public StringOneLineHeaderExcelTableToBeanReader<T> withRowFilter(int columnIndex,
+      Predicate<@Nullable String> condition) {
+    return (StringOneLineHeaderExcelTableToBeanReader<T>) super.withRowFilter(columnIndex,
+        condition);
+  }
+
+  @Override
+  public StringOneLineHeaderExcelTableToBeanReader<T> withReadCache(
+      @Nullable TableReadCache cache) {
+    return (StringOneLineHeaderExcelTableToBeanReader<T>) super.withReadCache(cache);
+  }
+
+  @Override
+  public StringOneLineHeaderExcelTableToBeanReader<T> withRowFilter(String headerLabel,
+      Predicate<@Nullable String> condition) {
+    return (StringOneLineHeaderExcelTableToBeanReader<T>) super.withRowFilter(headerLabel,
+        condition);
+  }
 }
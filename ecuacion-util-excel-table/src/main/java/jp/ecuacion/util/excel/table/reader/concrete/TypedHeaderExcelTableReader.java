@@ -15,13 +15,27 @@
  */
 package jp.ecuacion.util.excel.table.reader.concrete;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 import jp.ecuacion.lib.core.util.ObjectsUtil;
+import jp.ecuacion.util.excel.enums.JoinType;
 import jp.ecuacion.util.excel.exception.ExcelTableException;
+import jp.ecuacion.util.excel.table.reader.DoubleColumn;
+import jp.ecuacion.util.excel.table.reader.EpochDayColumn;
 import jp.ecuacion.util.excel.table.reader.ExcelTableReader;
+import jp.ecuacion.util.excel.table.reader.GroupAggregation;
 import jp.ecuacion.util.excel.table.reader.IfDataTypeTypedExcelTableReader;
 import jp.ecuacion.util.excel.table.reader.IfFormatHeaderExcelTableReader;
+import jp.ecuacion.util.excel.table.reader.LongColumn;
+import jp.ecuacion.util.excel.table.reader.TableDiff;
+import jp.ecuacion.util.excel.table.reader.TableIndex;
+import jp.ecuacion.util.excel.table.reader.TableReadCache;
+import jp.ecuacion.util.excel.util.ExcelReadUtil;
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -97,6 +111,244 @@ public class TypedHeaderExcelTableReader extends ExcelTableReader<Object>
     return headerRows;
   }
 
+  /**
+   * Reads the column specified by header labels into a {@code double[]} based
+   *     {@link DoubleColumn}, skipping all the other columns.
+   *
+   * @param filePath filePath
+   * @param headerLabels header labels of the column. See {@link #getColumnIndex(String...)}.
+   * @return column values
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   * @see ExcelTableReader#readDoubleColumn(Workbook, int)
+   */
+  public DoubleColumn readDoubleColumn(String filePath, String... headerLabels)
+      throws EncryptedDocumentException, IOException {
+    try (Workbook workbook = ExcelReadUtil.openForRead(ObjectsUtil.requireNonNull(filePath))) {
+      return readDoubleColumn(workbook, headerLabels);
+    }
+  }
+
+  /**
+   * Reads the column specified by header labels into a {@code double[]} based
+   *     {@link DoubleColumn}, skipping all the other columns.
+   *
+   * @param workbook workbook
+   * @param headerLabels header labels of the column. See {@link #getColumnIndex(String...)}.
+   * @return column values
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see ExcelTableReader#readDoubleColumn(Workbook, int)
+   */
+  public DoubleColumn readDoubleColumn(Workbook workbook, String... headerLabels)
+      throws ExcelTableException {
+    return readDoubleColumn(workbook, requireColumnIndex(headerLabels));
+  }
+
+  /**
+   * Reads the column specified by header labels into a {@code long[]} based
+   *     {@link LongColumn}, skipping all the other columns.
+   *
+   * @param filePath filePath
+   * @param headerLabels header labels of the column. See {@link #getColumnIndex(String...)}.
+   * @return column values
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   * @see ExcelTableReader#readLongColumn(Workbook, int)
+   */
+  public LongColumn readLongColumn(String filePath, String... headerLabels)
+      throws EncryptedDocumentException, IOException {
+    try (Workbook workbook = ExcelReadUtil.openForRead(ObjectsUtil.requireNonNull(filePath))) {
+      return readLongColumn(workbook, headerLabels);
+    }
+  }
+
+  /**
+   * Reads the column specified by header labels into a {@code long[]} based
+   *     {@link LongColumn}, skipping all the other columns.
+   *
+   * @param workbook workbook
+   * @param headerLabels header labels of the column. See {@link #getColumnIndex(String...)}.
+   * @return column values
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see ExcelTableReader#readLongColumn(Workbook, int)
+   */
+  public LongColumn readLongColumn(Workbook workbook, String... headerLabels)
+      throws ExcelTableException {
+    return readLongColumn(workbook, requireColumnIndex(headerLabels));
+  }
+
+  /**
+   * Reads the column specified by header labels into an epoch-day {@code int[]} based
+   *     {@link EpochDayColumn}, skipping all the other columns.
+   *
+   * @param filePath filePath
+   * @param headerLabels header labels of the column. See {@link #getColumnIndex(String...)}.
+   * @return column values
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   * @see ExcelTableReader#readEpochDayColumn(Workbook, int)
+   */
+  public EpochDayColumn readEpochDayColumn(String filePath, String... headerLabels)
+      throws EncryptedDocumentException, IOException {
+    try (Workbook workbook = ExcelReadUtil.openForRead(ObjectsUtil.requireNonNull(filePath))) {
+      return readEpochDayColumn(workbook, headerLabels);
+    }
+  }
+
+  /**
+   * Reads the column specified by header labels into an epoch-day {@code int[]} based
+   *     {@link EpochDayColumn}, skipping all the other columns.
+   *
+   * @param workbook workbook
+   * @param headerLabels header labels of the column. See {@link #getColumnIndex(String...)}.
+   * @return column values
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see ExcelTableReader#readEpochDayColumn(Workbook, int)
+   */
+  public EpochDayColumn readEpochDayColumn(Workbook workbook, String... headerLabels)
+      throws ExcelTableException {
+    return readEpochDayColumn(workbook, requireColumnIndex(headerLabels));
+  }
+
+  /**
+   * Counts the rows and sums the columns of the table in {@code filePath},
+   *     grouped by the values of the group-by columns specified by header labels.
+   *
+   * @param filePath filePath
+   * @param groupByHeaderLabels header labels of the group-by columns,
+   *     each of which is passed to {@link #getColumnIndex(String...)}
+   * @param sumHeaderLabels header labels of the columns to sum
+   * @return aggregation result, whose sum column positions follow {@code sumHeaderLabels}
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   * @see ExcelTableReader#aggregate(Workbook, int[], int[])
+   */
+  public GroupAggregation<Object> aggregate(String filePath, String[] groupByHeaderLabels,
+      String[] sumHeaderLabels) throws EncryptedDocumentException, IOException {
+    try (Workbook workbook = ExcelReadUtil.openForRead(ObjectsUtil.requireNonNull(filePath))) {
+      return aggregate(workbook, groupByHeaderLabels, sumHeaderLabels);
+    }
+  }
+
+  /**
+   * Counts the rows and sums the columns of the table,
+   *     grouped by the values of the group-by columns specified by header labels.
+   *
+   * @param workbook workbook
+   * @param groupByHeaderLabels header labels of the group-by columns,
+   *     each of which is passed to {@link #getColumnIndex(String...)}
+   * @param sumHeaderLabels header labels of the columns to sum
+   * @return aggregation result, whose sum column positions follow {@code sumHeaderLabels}
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see ExcelTableReader#aggregate(Workbook, int[], int[])
+   */
+  public GroupAggregation<Object> aggregate(Workbook workbook, String[] groupByHeaderLabels,
+      String[] sumHeaderLabels) throws ExcelTableException {
+    return aggregate(workbook, requireColumnIndexes(groupByHeaderLabels),
+        requireColumnIndexes(sumHeaderLabels));
+  }
+
+  /**
+   * Reads the table and builds a hash index of the lines
+   *     keyed by the value of the column specified by the header label.
+   *
+   * @param workbook workbook
+   * @param keyHeaderLabel header label of the key column.
+   *     See {@link #getColumnIndex(String...)}.
+   * @return index
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see ExcelTableReader#buildIndex(Workbook, int)
+   */
+  public TableIndex<Object> buildIndex(Workbook workbook, String keyHeaderLabel)
+      throws ExcelTableException {
+    return buildIndex(workbook, requireColumnIndex(keyHeaderLabel));
+  }
+
+  /**
+   * Returns the index of the column specified by the header label,
+   *     which is built only once for each {@code workbook}.
+   *
+   * @param workbook workbook
+   * @param keyHeaderLabel header label of the key column.
+   *     See {@link #getColumnIndex(String...)}.
+   * @return index
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see ExcelTableReader#getIndex(Workbook, int)
+   */
+  public TableIndex<Object> getIndex(Workbook workbook, String keyHeaderLabel)
+      throws ExcelTableException {
+    return getIndex(workbook, requireColumnIndex(keyHeaderLabel));
+  }
+
+  /**
+   * Joins the table with the other table by the column specified by the header label.
+   *
+   * @param <U> the type of the values of the lines in {@code index}
+   * @param workbook workbook
+   * @param keyHeaderLabel header label of the key column in this table.
+   *     See {@link #getColumnIndex(String...)}.
+   * @param index the index of the other table
+   * @param joinType joinType
+   * @param action the action which receives the line of this table
+   *     and the matching line of the other table, which is {@code null} when not found
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see ExcelTableReader#join(Workbook, int, TableIndex, JoinType, BiConsumer)
+   */
+  public <U> void join(Workbook workbook, String keyHeaderLabel, TableIndex<U> index,
+      JoinType joinType, BiConsumer<List<Object>, @Nullable List<U>> action)
+      throws ExcelTableException {
+    join(workbook, requireColumnIndex(keyHeaderLabel), index, joinType, action);
+  }
+
+  /**
+   * Reads two versions of the table and returns the differences,
+   *     where lines are identified by the values of the columns specified by header labels.
+   *
+   * @param oldFilePath the file path of the old version
+   * @param newFilePath the file path of the new version
+   * @param keyHeaderLabels header labels of the key columns,
+   *     each of which is passed to {@link #getColumnIndex(String...)}
+   * @return differences
+   * @throws IOException IOException
+   * @throws EncryptedDocumentException EncryptedDocumentException
+   * @see ExcelTableReader#diff(Workbook, Workbook, int...)
+   */
+  public TableDiff<Object> diff(String oldFilePath, String newFilePath, String... keyHeaderLabels)
+      throws EncryptedDocumentException, IOException {
+    return diff(oldFilePath, newFilePath, requireColumnIndexes(keyHeaderLabels));
+  }
+
+  /**
+   * Reads two versions of the table and returns the differences,
+   *     where lines are identified by the values of the columns specified by header labels.
+   *
+   * @param oldWorkbook the workbook of the old version
+   * @param newWorkbook the workbook of the new version
+   * @param keyHeaderLabels header labels of the key columns,
+   *     each of which is passed to {@link #getColumnIndex(String...)}
+   * @return differences
+   * @throws ExcelTableException when an Excel parsing error occurs
+   * @see ExcelTableReader#diff(Workbook, Workbook, int...)
+   */
+  public TableDiff<Object> diff(Workbook oldWorkbook, Workbook newWorkbook,
+      String... keyHeaderLabels) throws ExcelTableException {
+    return diff(oldWorkbook, newWorkbook, requireColumnIndexes(keyHeaderLabels));
+  }
+
+  /**
+   * Adds a row filter on the column specified by the header label
+   *     and returns {@code this} for method chaining.
+   *
+   * @param headerLabel header label of the column. See {@link #getColumnIndex(String...)}.
+   * @param condition condition the value of the column must satisfy
+   * @return this reader
+   * @see ExcelTableReader#withRowFilter(int, Predicate)
+   */
+  public TypedHeaderExcelTableReader withRowFilter(String headerLabel,
+      Predicate<@Nullable Object> condition) {
+    return withRowFilter(requireColumnIndex(headerLabel), condition);
+  }
+
   @Override
   public TypedHeaderExcelTableReader tableStartRowNumber(@Nullable Integer value) {
     return (TypedHeaderExcelTableReader) super.tableStartRowNumber(value);
@@ -107,6 +359,11 @@ public class TypedHeaderExcelTableReader extends ExcelTableReader<Object>
     return (TypedHeaderExcelTableReader) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public TypedHeaderExcelTableReader tableName(@Nullable String value) {
+    return (TypedHeaderExcelTableReader) super.tableName(value);
+  }
+
   @Override
   public TypedHeaderExcelTableReader tableRowSize(@Nullable Integer value) {
     return (TypedHeaderExcelTableReader) super.tableRowSize(value);
@@ -117,6 +374,17 @@ public class TypedHeaderExcelTableReader extends ExcelTableReader<Object>
     return (TypedHeaderExcelTableReader) super.tableColumnSize(value);
   }
 
+  @Override
+  public TypedHeaderExcelTableReader withRowFilter(int columnIndex,
+      Predicate<@Nullable Object> condition) {
+    return (TypedHeaderExcelTableReader) super.withRowFilter(columnIndex, condition);
+  }
+
+  @Override
+  public TypedHeaderExcelTableReader withReadCache(@Nullable TableReadCache cache) {
+    return (TypedHeaderExcelTableReader) super.withReadCache(cache);
+  }
+
   @Override
   public TypedHeaderExcelTableReader withIgnoresAdditionalColumnsOfHeaderData(boolean value) {
     return (TypedHeaderExcelTableReader) super.withIgnoresAdditionalColumnsOfHeaderData(value);
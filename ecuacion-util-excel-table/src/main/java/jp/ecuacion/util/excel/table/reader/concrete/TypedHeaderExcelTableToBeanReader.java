@@ -20,14 +20,17 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.function.Predicate;
 import jp.ecuacion.lib.core.util.PropertiesFileUtil.Arg;
 import jp.ecuacion.lib.core.violation.Violations;
+import jp.ecuacion.util.excel.table.ExcelTable.ContextContainer;
 import jp.ecuacion.util.excel.table.bean.ExcelColumn;
 import jp.ecuacion.util.excel.table.bean.TypedExcelTableBean;
+import jp.ecuacion.util.excel.table.reader.TableReadCache;
 import jp.ecuacion.util.excel.util.ExcelReadUtil;
 import org.apache.poi.EncryptedDocumentException;
-import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.jspecify.annotations.Nullable;
 
@@ -52,6 +55,29 @@ public class TypedHeaderExcelTableToBeanReader<T extends TypedExcelTableBean>
    */
   protected int dataStartExcelRowNumber = 0;
 
+  /**
+   * Stores the columns bound to {@link ExcelColumn} fields while reading,
+   *     {@code null} otherwise.
+   */
+  private @Nullable BitSet neededColumns;
+
+  /**
+   * Stores the 1-based Excel row number of each bean read by
+   *     {@link #excelTableToBeanList(String)}, {@code null} when it's overridden.
+   *
+   * <p>Rows rejected by row filters are not converted to beans,
+   *     so the row numbers are not always continuous.</p>
+   */
+  private @Nullable List<Integer> beanRowNumbers;
+
+  /**
+   * Stores the name of the sheet the beans are read from by
+   *     {@link #excelTableToBeanList(String)}, {@code null} when it's overridden.
+   *
+   * <p>It differs from {@code sheetName} when the table is located by {@code tableName}.</p>
+   */
+  private @Nullable String beanSheetName;
+
   /**
    * Constructs a new instance with multiple header rows.
    *
@@ -98,11 +124,12 @@ public class TypedHeaderExcelTableToBeanReader<T extends TypedExcelTableBean>
     if (validates) {
       for (int i = 0; i < rtnList.size(); i++) {
         T bean = rtnList.get(i);
-        int excelRowNumber = dataStartExcelRowNumber + i;
+        int excelRowNumber = getExcelRowNumber(i);
         new Violations()
             .addAll(Validation.buildDefaultValidatorFactory().getValidator().validate(bean))
             .messageParameters(Violations.newMessageParameters().isMessageWithItemName(true)
-                .messagePostfix(Arg.message(msgId, getSheetName(), String.valueOf(excelRowNumber))))
+                .messagePostfix(Arg.message(msgId, getBeanSheetName(),
+                    String.valueOf(excelRowNumber))))
             .throwIfAny();
 
         bean.afterReading();
@@ -125,18 +152,31 @@ public class TypedHeaderExcelTableToBeanReader<T extends TypedExcelTableBean>
    */
   protected List<T> excelTableToBeanList(String filePath) throws IOException {
     try (Workbook workbook = ExcelReadUtil.openForRead(filePath)) {
-      List<List<Object>> lines = read(workbook);
+      boolean usesAnnotation = usesExcelColumnAnnotation(beanClass);
+      int[] annotatedColumnIndexes = usesAnnotation ? resolveAnnotatedColumnIndexes() : null;
 
-      Sheet sheet = workbook.getSheet(getSheetName());
-      int poiBasisHeaderRow =
-          getPoiBasisDeterminedTableStartRowNumber(sheet, tableStartColumnNumber);
-      dataStartExcelRowNumber = poiBasisHeaderRow + getNumberOfHeaderLines() + 1;
+      // Columns not bound to @ExcelColumn fields are not converted.
+      List<List<Object>> lines;
+      List<Integer> rowNumbers = new ArrayList<>();
+      try {
+        neededColumns = annotatedColumnIndexes == null ? null : toBitSet(annotatedColumnIndexes);
+        lines = read(workbook, rowNumbers);
+
+      } finally {
+        neededColumns = null;
+      }
+
+      ContextContainer context = getReadyToReadHeaderLines(workbook);
+      dataStartExcelRowNumber = context.poiBasisTableStartRowNumber + getNumberOfHeaderLines() + 1;
+      beanRowNumbers = rowNumbers;
+      beanSheetName = context.sheet.getSheetName();
 
-      boolean usesAnnotation = usesExcelColumnAnnotation(beanClass);
       List<T> rtnList = new ArrayList<>();
       for (List<Object> line : lines) {
         try {
-          List<Object> colList = usesAnnotation ? buildReorderedColList(line) : line;
+          List<Object> colList = annotatedColumnIndexes != null
+              ? buildReorderedColList(line, annotatedColumnIndexes)
+              : line;
           @SuppressWarnings("unchecked")
           T bean = (T) beanClass.getConstructor(List.class).newInstance(colList);
           rtnList.add(bean);
@@ -148,6 +188,35 @@ public class TypedHeaderExcelTableToBeanReader<T extends TypedExcelTableBean>
     }
   }
 
+  /*
+   * Returns the name of the sheet the beans are read from.
+   */
+  private String getBeanSheetName() {
+    String name = beanSheetName;
+    return name == null ? getSheetName() : name;
+  }
+
+  /*
+   * Returns the Excel row number of the i-th bean.
+   */
+  private int getExcelRowNumber(int i) {
+    List<Integer> rowNumbers = beanRowNumbers;
+    return rowNumbers == null ? dataStartExcelRowNumber + i : rowNumbers.get(i);
+  }
+
+  /**
+   * Returns {@code false} for the columns not bound to {@link ExcelColumn} fields
+   *     while {@link #excelTableToBeanList(String)} is reading.
+   *
+   * @param columnIndex 0-based column position in the table
+   * @return whether the values of the column are needed
+   */
+  @Override
+  protected boolean needsColumnData(int columnIndex) {
+    BitSet columns = neededColumns;
+    return columns == null || columns.get(columnIndex);
+  }
+
   private boolean usesExcelColumnAnnotation(Class<?> clazz) {
     Class<?> current = clazz;
     while (current != null && current != TypedExcelTableBean.class) {
@@ -161,57 +230,44 @@ public class TypedHeaderExcelTableToBeanReader<T extends TypedExcelTableBean>
     return false;
   }
 
-  private List<Object> buildReorderedColList(List<Object> colList) {
-    String[][] h = getHeaderLabelData();
-    int numCols = getHeaderLabels().length;
-
+  /*
+   * Returns the column index of each @ExcelColumn field in the field scan order.
+   */
+  private int[] resolveAnnotatedColumnIndexes() {
     List<Class<?>> hierarchy = buildClassHierarchy(beanClass);
 
-    List<Object> reordered = new ArrayList<>();
+    List<Integer> colIdxList = new ArrayList<>();
     for (Class<?> c : hierarchy) {
       for (Field f : c.getDeclaredFields()) {
         if (f.isAnnotationPresent(ExcelColumn.class)) {
           @SuppressWarnings("null")
           String[] annotLabels = f.getAnnotation(ExcelColumn.class).value();
-          int colIdx = findColumnIndex(h, numCols, annotLabels);
+          int colIdx = getColumnIndex(annotLabels);
           if (colIdx < 0) {
             throw new RuntimeException("@ExcelColumn " + Arrays.toString(annotLabels)
                 + " not found in headerLabels of " + getSheetName() + ".");
           }
-          reordered.add(colList.get(colIdx));
+          colIdxList.add(colIdx);
         }
       }
     }
-    return reordered;
+    return colIdxList.stream().mapToInt(Integer::intValue).toArray();
   }
 
-  private int findColumnIndex(String[][] headerLabels2d, int numCols, String[] annotLabels) {
-    for (int i = 0; i < numCols; i++) {
-      if (columnMatches(headerLabels2d, i, annotLabels)) {
-        return i;
-      }
+  private BitSet toBitSet(int[] columnIndexes) {
+    BitSet bitSet = new BitSet();
+    for (int colIdx : columnIndexes) {
+      bitSet.set(colIdx);
     }
-    return -1;
+    return bitSet;
   }
 
-  private boolean columnMatches(String[][] headerLabels2d, int colIdx, String[] annotLabels) {
-    if (annotLabels.length == 1) {
-      for (String[] headerRow : headerLabels2d) {
-        if (!annotLabels[0].equals(headerRow[colIdx])) {
-          return false;
-        }
-      }
-      return true;
+  private List<Object> buildReorderedColList(List<Object> colList, int[] columnIndexes) {
+    List<Object> reordered = new ArrayList<>(columnIndexes.length);
+    for (int colIdx : columnIndexes) {
+      reordered.add(colList.get(colIdx));
     }
-    if (annotLabels.length != headerLabels2d.length) {
-      return false;
-    }
-    for (int rowIdx = 0; rowIdx < headerLabels2d.length; rowIdx++) {
-      if (!annotLabels[rowIdx].equals(headerLabels2d[rowIdx][colIdx])) {
-        return false;
-      }
-    }
-    return true;
+    return reordered;
   }
 
   private List<Class<?>> buildClassHierarchy(Class<?> leaf) {
@@ -236,6 +292,12 @@ public class TypedHeaderExcelTableToBeanReader<T extends TypedExcelTableBean>
     return (TypedHeaderExcelTableToBeanReader<T>) super.tableStartColumnNumber(value);
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public TypedHeaderExcelTableToBeanReader<T> tableName(@Nullable String value) {
+    return (TypedHeaderExcelTableToBeanReader<T>) super.tableName(value);
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public TypedHeaderExcelTableToBeanReader<T> tableRowSize(@Nullable Integer value) {
@@ -248,6 +310,26 @@ public class TypedHeaderExcelTableToBeanReader<T extends TypedExcelTableBean>
     return (TypedHeaderExcelTableToBeanReader<T>) super.tableColumnSize(value);
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public TypedHeaderExcelTableToBeanReader<T> withRowFilter(int columnIndex,
+      Predicate<@Nullable Object> condition) {
+    return (TypedHeaderExcelTableToBeanReader<T>) super.withRowFilter(columnIndex, condition);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public TypedHeaderExcelTableToBeanReader<T> withReadCache(@Nullable TableReadCache cache) {
+    return (TypedHeaderExcelTableToBeanReader<T>) super.withReadCache(cache);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public TypedHeaderExcelTableToBeanReader<T> withRowFilter(String headerLabel,
+      Predicate<@Nullable Object> condition) {
+    return (TypedHeaderExcelTableToBeanReader<T>) super.withRowFilter(headerLabel, condition);
+  }
+
   @Override
   public TypedHeaderExcelTableToBeanReader<T> withIgnoresAdditionalColumnsOfHeaderData(
       boolean value) {
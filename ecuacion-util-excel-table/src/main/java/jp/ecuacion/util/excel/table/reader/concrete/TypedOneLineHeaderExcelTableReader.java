@@ -15,6 +15,8 @@
  */
 package jp.ecuacion.util.excel.table.reader.concrete;
 
+import java.util.function.Predicate;
+import jp.ecuacion.util.excel.table.reader.TableReadCache;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -49,6 +51,11 @@ public class TypedOneLineHeaderExcelTableReader extends TypedHeaderExcelTableRea
     return (TypedOneLineHeaderExcelTableReader) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public TypedOneLineHeaderExcelTableReader tableName(@Nullable String value) {
+    return (TypedOneLineHeaderExcelTableReader) super.tableName(value);
+  }
+
   @Override
   public TypedOneLineHeaderExcelTableReader tableRowSize(@Nullable Integer value) {
     return (TypedOneLineHeaderExcelTableReader) super.tableRowSize(value);
@@ -59,6 +66,23 @@ public class TypedOneLineHeaderExcelTableReader extends TypedHeaderExcelTableRea
     return (TypedOneLineHeaderExcelTableReader) super.tableColumnSize(value);
   }
 
+  @Override
+  public TypedOneLineHeaderExcelTableReader withRowFilter(int columnIndex,
+      Predicate<@Nullable Object> condition) {
+    return (TypedOneLineHeaderExcelTableReader) super.withRowFilter(columnIndex, condition);
+  }
+
+  @Override
+  public TypedOneLineHeaderExcelTableReader withReadCache(@Nullable TableReadCache cache) {
+    return (TypedOneLineHeaderExcelTableReader) super.withReadCache(cache);
+  }
+
+  @Override
+  public TypedOneLineHeaderExcelTableReader withRowFilter(String headerLabel,
+      Predicate<@Nullable Object> condition) {
+    return (TypedOneLineHeaderExcelTableReader) super.withRowFilter(headerLabel, condition);
+  }
+
   @Override
   public TypedOneLineHeaderExcelTableReader withIgnoresAdditionalColumnsOfHeaderData(
       boolean value) {
@@ -15,7 +15,9 @@
  */
 package jp.ecuacion.util.excel.table.reader.concrete;
 
+import java.util.function.Predicate;
 import jp.ecuacion.util.excel.table.bean.TypedExcelTableBean;
+import jp.ecuacion.util.excel.table.reader.TableReadCache;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -56,6 +58,11 @@ public class TypedOneLineHeaderExcelTableToBeanReader<T extends TypedExcelTableB
     return (TypedOneLineHeaderExcelTableToBeanReader<T>) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public TypedOneLineHeaderExcelTableToBeanReader<T> tableName(@Nullable String value) {
+    return (TypedOneLineHeaderExcelTableToBeanReader<T>) super.tableName(value);
+  }
+
   @Override
   public TypedOneLineHeaderExcelTableToBeanReader<T> tableRowSize(@Nullable Integer value) {
     return (TypedOneLineHeaderExcelTableToBeanReader<T>) super.tableRowSize(value);
@@ -66,6 +73,26 @@ public class TypedOneLineHeaderExcelTableToBeanReader<T extends TypedExcelTableB
     return (TypedOneLineHeaderExcelTableToBeanReader<T>) super.tableColumnSize(value);
   }
 
+  @Override
+  public TypedOneLineHeaderExcelTableToBeanReader<T> withRowFilter(int columnIndex,
+      Predicate<@Nullable Object> condition) {
+    return (TypedOneLineHeaderExcelTableToBeanReader<T>) super.withRowFilter(columnIndex,
+        condition);
+  }
+
+  @Override
+  public TypedOneLineHeaderExcelTableToBeanReader<T> withReadCache(
+      @Nullable TableReadCache cache) {
+    return (TypedOneLineHeaderExcelTableToBeanReader<T>) super.withReadCache(cache);
+  }
+
+  @Override
+  public TypedOneLineHeaderExcelTableToBeanReader<T> withRowFilter(String headerLabel,
+      Predicate<@Nullable Object> condition) {
+    return (TypedOneLineHeaderExcelTableToBeanReader<T>) super.withRowFilter(headerLabel,
+        condition);
+  }
+
   @Override
   public TypedOneLineHeaderExcelTableToBeanReader<T> withIgnoresAdditionalColumnsOfHeaderData(
       boolean value) {
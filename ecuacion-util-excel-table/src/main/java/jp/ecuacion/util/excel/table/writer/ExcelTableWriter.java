@@ -230,6 +230,22 @@ public abstract class ExcelTableWriter<T> extends ExcelTable<T> implements IfExc
     return this;
   }
 
+  /**
+   * Sets {@code tableName} and returns {@code this} for method chaining.
+   *
+   * <p>The table is written at the position obtained from the Excel table
+   *     or the defined name of the workbook, instead of {@code sheetName},
+   *     {@code tableStartRowNumber} and {@code tableStartColumnNumber}.
+   *     The range of the Excel table is not changed by the written lines.</p>
+   *
+   * @param value See {@link ExcelTable#tableName}.
+   * @return this writer
+   */
+  public ExcelTableWriter<T> tableName(@Nullable String value) {
+    this.tableName = value;
+    return this;
+  }
+
   @Override
   public ExcelTableWriter<T> withIgnoresAdditionalColumnsOfHeaderData(boolean value) {
     this.ignoresAdditionalColumnsOfHeaderData = value;
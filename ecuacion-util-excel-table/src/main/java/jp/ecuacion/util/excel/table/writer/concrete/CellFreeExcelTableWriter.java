@@ -93,6 +93,11 @@ public class CellFreeExcelTableWriter extends ExcelTableWriter<Cell>
     return (CellFreeExcelTableWriter) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public CellFreeExcelTableWriter tableName(@Nullable String value) {
+    return (CellFreeExcelTableWriter) super.tableName(value);
+  }
+
   @Override
   public CellFreeExcelTableWriter withIgnoresAdditionalColumnsOfHeaderData(boolean value) {
     return (CellFreeExcelTableWriter) super.withIgnoresAdditionalColumnsOfHeaderData(value);
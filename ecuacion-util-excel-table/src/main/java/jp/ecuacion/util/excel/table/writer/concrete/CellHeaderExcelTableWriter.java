@@ -90,7 +90,7 @@ public class CellHeaderExcelTableWriter extends ExcelTableWriter<Cell>
     new StringHeaderExcelTableReader(getSheetName(), headerLabels2d)
         .tableStartRowNumber(tableStartRowNumber)
         .tableStartColumnNumber(tableStartColumnNumber)
-        .tableRowSize(1)
+        .tableRowSize(1).tableName(tableName)
         .withIgnoresAdditionalColumnsOfHeaderData(ignoresAdditionalColumnsOfHeaderData())
         .withVerticalAndHorizontalOpposite(isVerticalAndHorizontalOpposite()).read(workbook);
   }
@@ -123,6 +123,11 @@ public class CellHeaderExcelTableWriter extends ExcelTableWriter<Cell>
     return (CellHeaderExcelTableWriter) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public CellHeaderExcelTableWriter tableName(@Nullable String value) {
+    return (CellHeaderExcelTableWriter) super.tableName(value);
+  }
+
   @Override
   public CellHeaderExcelTableWriter withIgnoresAdditionalColumnsOfHeaderData(boolean value) {
     return (CellHeaderExcelTableWriter) super.withIgnoresAdditionalColumnsOfHeaderData(value);
@@ -48,6 +48,11 @@ public class CellOneLineHeaderExcelTableWriter extends CellHeaderExcelTableWrite
     return (CellOneLineHeaderExcelTableWriter) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public CellOneLineHeaderExcelTableWriter tableName(@Nullable String value) {
+    return (CellOneLineHeaderExcelTableWriter) super.tableName(value);
+  }
+
   @Override
   public CellOneLineHeaderExcelTableWriter withIgnoresAdditionalColumnsOfHeaderData(boolean value) {
     return (CellOneLineHeaderExcelTableWriter) super.withIgnoresAdditionalColumnsOfHeaderData(
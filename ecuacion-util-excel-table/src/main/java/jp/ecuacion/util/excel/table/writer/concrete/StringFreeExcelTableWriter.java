@@ -61,6 +61,11 @@ public class StringFreeExcelTableWriter extends ExcelTableWriter<String>
     return (StringFreeExcelTableWriter) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public StringFreeExcelTableWriter tableName(@Nullable String value) {
+    return (StringFreeExcelTableWriter) super.tableName(value);
+  }
+
   @Override
   public StringFreeExcelTableWriter withIgnoresAdditionalColumnsOfHeaderData(boolean value) {
     return (StringFreeExcelTableWriter) super.withIgnoresAdditionalColumnsOfHeaderData(value);
@@ -108,7 +108,7 @@ public class StringHeaderExcelTableWriter extends ExcelTableWriter<String>
   protected void headerCheck(Workbook workbook) throws EncryptedDocumentException, IOException {
     new StringHeaderExcelTableReader(getSheetName(), headerLabels2d)
         .tableStartRowNumber(tableStartRowNumber).tableStartColumnNumber(tableStartColumnNumber)
-        .tableRowSize(1)
+        .tableRowSize(1).tableName(tableName)
         .withIgnoresAdditionalColumnsOfHeaderData(ignoresAdditionalColumnsOfHeaderData())
         .withVerticalAndHorizontalOpposite(isVerticalAndHorizontalOpposite()).read(workbook);
   }
@@ -186,6 +186,11 @@ public class StringHeaderExcelTableWriter extends ExcelTableWriter<String>
     return (StringHeaderExcelTableWriter) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public StringHeaderExcelTableWriter tableName(@Nullable String value) {
+    return (StringHeaderExcelTableWriter) super.tableName(value);
+  }
+
   @Override
   public StringHeaderExcelTableWriter withIgnoresAdditionalColumnsOfHeaderData(boolean value) {
     return (StringHeaderExcelTableWriter) super.withIgnoresAdditionalColumnsOfHeaderData(value);
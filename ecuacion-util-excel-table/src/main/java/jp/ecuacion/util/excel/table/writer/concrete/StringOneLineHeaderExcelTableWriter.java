@@ -53,6 +53,11 @@ public class StringOneLineHeaderExcelTableWriter extends StringHeaderExcelTableW
     return (StringOneLineHeaderExcelTableWriter) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public StringOneLineHeaderExcelTableWriter tableName(@Nullable String value) {
+    return (StringOneLineHeaderExcelTableWriter) super.tableName(value);
+  }
+
   @Override
   public StringOneLineHeaderExcelTableWriter withIgnoresAdditionalColumnsOfHeaderData(
       boolean value) {
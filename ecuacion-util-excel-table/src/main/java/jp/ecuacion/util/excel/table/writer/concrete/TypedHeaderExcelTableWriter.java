@@ -113,7 +113,7 @@ public class TypedHeaderExcelTableWriter extends ExcelTableWriter<Object>
   protected void headerCheck(Workbook workbook) throws EncryptedDocumentException, IOException {
     new TypedHeaderExcelTableReader(getSheetName(), headerLabels2d)
         .tableStartRowNumber(tableStartRowNumber).tableStartColumnNumber(tableStartColumnNumber)
-        .tableRowSize(1)
+        .tableRowSize(1).tableName(tableName)
         .withIgnoresAdditionalColumnsOfHeaderData(ignoresAdditionalColumnsOfHeaderData())
         .withVerticalAndHorizontalOpposite(isVerticalAndHorizontalOpposite()).read(workbook);
   }
@@ -231,6 +231,11 @@ public class TypedHeaderExcelTableWriter extends ExcelTableWriter<Object>
     return (TypedHeaderExcelTableWriter) super.tableStartColumnNumber(value);
   }
 
+  @Override
+  public TypedHeaderExcelTableWriter tableName(@Nullable String value) {
+    return (TypedHeaderExcelTableWriter) super.tableName(value);
+  }
+
   @Override
   public TypedHeaderExcelTableWriter withIgnoresAdditionalColumnsOfHeaderData(boolean value) {
     return (TypedHeaderExcelTableWriter) super.withIgnoresAdditionalColumnsOfHeaderData(value);
@@ -64,6 +64,37 @@ public class ExcelReadUtil {
     }
   }
 
+  /**
+   * Returns whether the cell has no value, without converting the value to {@code String}.
+   *
+   * <p>{@code null} cells, {@code BLANK} cells and {@code STRING} cells with an empty value
+   *     are blank. Formula cells are judged by their cached result.<br>
+   *     Cells with an error are not blank.</p>
+   *
+   * @param cell the cell of the excel file, may be {@code null}.
+   * @return whether the cell is blank
+   */
+  public static boolean isBlankCell(@Nullable Cell cell) {
+    if (cell == null) {
+      return true;
+    }
+
+    CellType cellType = cell.getCellType();
+    if (cellType == CellType.FORMULA) {
+      cellType = cell.getCachedFormulaResultType();
+    }
+
+    if (cellType == CellType.BLANK) {
+      return true;
+
+    } else if (cellType == CellType.STRING) {
+      return cell.getStringCellValue().isEmpty();
+
+    } else {
+      return false;
+    }
+  }
+
   /**
    * Returns {@code String} format cell value
    * in spite of the format or value kind of the cell.
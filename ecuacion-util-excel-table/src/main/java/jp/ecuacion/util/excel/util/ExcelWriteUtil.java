@@ -34,6 +34,7 @@ import jp.ecuacion.util.excel.exception.ExternalWorkbookNotFoundException;
 import jp.ecuacion.util.excel.exception.FormulaEvaluationUnknownErrorException;
 import jp.ecuacion.util.excel.exception.SheetNotExistException;
 import jp.ecuacion.util.excel.table.ExcelTable.ContextContainer;
+import jp.ecuacion.util.excel.table.ExcelTable.NamedTableLocation;
 import jp.ecuacion.util.excel.table.writer.ExcelTableWriter;
 import org.apache.poi.EncryptedDocumentException;
 import org.apache.poi.ss.formula.CollaboratingWorkbooksEnvironment.WorkbookNotFoundException;
@@ -118,23 +119,31 @@ public class ExcelWriteUtil {
 
   /**
    * Gets ready to write table data.
+   *
+   * <p>When {@code tableName} of the writer is set, the table is located in {@code workbook}
+   *     and {@code sheetName}, {@code tableStartColumnNumber} and the position
+   *     set in the writer are not used.</p>
    */
   public static <T> ContextContainer getReadyToWriteTableData(ExcelTableWriter<T> writer,
       Workbook workbook, String sheetName, int tableStartColumnNumber) {
+    NamedTableLocation location = writer.locateNamedTable(workbook);
+    String locatedSheetName = location == null ? sheetName : location.sheetName;
 
     detailLog.debug(EclibCoreConstants.PARTITION_LARGE);
     detailLog.debug("starting to write excel file.");
-    detailLog.debug("sheet name :" + sheetName);
+    detailLog.debug("sheet name :" + locatedSheetName);
 
-    Sheet sheet = workbook.getSheet(sheetName);
+    Sheet sheet = workbook.getSheet(locatedSheetName);
 
     if (sheet == null) {
-      throw new SheetNotExistException(sheetName);
+      throw new SheetNotExistException(locatedSheetName);
     }
 
-    int poiBasisTableStartColumnNumber = writer.getPoiBasisDeterminedTableStartColumnNumber();
-    int poiBasisTableStartRowNumber =
-        writer.getPoiBasisDeterminedTableStartRowNumber(sheet, tableStartColumnNumber);
+    int poiBasisTableStartColumnNumber = location == null
+        ? writer.getPoiBasisDeterminedTableStartColumnNumber() : location.area.getFirstColumn();
+    int poiBasisTableStartRowNumber = location == null
+        ? writer.getPoiBasisDeterminedTableStartRowNumber(sheet, tableStartColumnNumber)
+        : location.area.getFirstRow();
 
     // // Skip the header line if the writer is HeaderFormat
     // if (writer instanceof IfFormatHeaderExcelTable) {
@@ -0,0 +1,459 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import jp.ecuacion.lib.core.util.ObjectsUtil;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Is the summary of an {@code .xlsx} file obtained without loading the workbook.
+ *
+ * <p>{@link #probe(String, int)} reads only {@code workbook.xml},
+ *     the {@code <dimension>} element of each sheet and the first rows of each sheet
+ *     with a streaming XML parser, and stops reading a sheet there.
+ *     It's meant to decide which reader applies to an uploaded file
+ *     before opening it with {@link ExcelReadUtil#openForRead(String)}.</p>
+ *
+ * <p>Cell values are the raw values stored in the file, not formatted by the cell styles.
+ *     For example, a date is its serial number and a boolean is {@code "1"} or {@code "0"}.
+ *     Only the shared strings referred to by the read rows are read.<br>
+ *     {@code .xls} and encrypted files are not supported.</p>
+ */
+public class WorkbookProbe {
+
+  private static final String REL_NS =
+      "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+  private final List<SheetProbe> sheets;
+
+  private WorkbookProbe(List<SheetProbe> sheets) {
+    this.sheets = Collections.unmodifiableList(sheets);
+  }
+
+  /**
+   * Reads the sheet names, the used ranges and the first {@code rowCount} rows of each sheet.
+   *
+   * @param filePath the path of an {@code .xlsx} file
+   * @param rowCount the number of rows read from the top of each sheet
+   * @return probe result
+   * @throws IOException when the file cannot be read or is not an {@code .xlsx} file
+   */
+  public static WorkbookProbe probe(String filePath, int rowCount) throws IOException {
+    ObjectsUtil.requireNonNull(filePath);
+    if (rowCount < 0) {
+      throw new RuntimeException("rowCount must be 0 or greater. rowCount: " + rowCount);
+    }
+
+    try (ZipFile zip = new ZipFile(filePath)) {
+      Map<String, String> relationships = readRelationships(zip);
+
+      List<SheetProbe> sheets = new ArrayList<>();
+      TreeSet<Integer> sharedStringIndexes = new TreeSet<>();
+      for (String[] sheet : readSheetEntries(zip)) {
+        String target = relationships.get(sheet[1]);
+        ZipEntry entry = target == null ? null : zip.getEntry(target);
+        if (entry == null) {
+          throw new IOException("The sheet is not found in the file. sheet: " + sheet[0]);
+        }
+
+        sheets.add(readSheet(zip, entry, sheet[0], Boolean.parseBoolean(sheet[2]), rowCount,
+            sharedStringIndexes));
+      }
+
+      if (!sharedStringIndexes.isEmpty()) {
+        Map<Integer, String> sharedStrings = readSharedStrings(zip, relationships,
+            sharedStringIndexes.last());
+        for (SheetProbe sheet : sheets) {
+          sheet.resolveSharedStrings(sharedStrings);
+        }
+      }
+
+      return new WorkbookProbe(sheets);
+
+    } catch (XMLStreamException ex) {
+      throw new IOException("Failed to probe the file. file: " + filePath, ex);
+    }
+  }
+
+  /**
+   * Returns the sheets in the order in the workbook.
+   *
+   * @return sheets
+   */
+  public List<SheetProbe> getSheets() {
+    return sheets;
+  }
+
+  /**
+   * Returns the sheet names in the order in the workbook.
+   *
+   * @return sheet names
+   */
+  public List<String> getSheetNames() {
+    return sheets.stream().map(SheetProbe::getName).toList();
+  }
+
+  /**
+   * Returns the sheet of the name.
+   *
+   * @param sheetName sheetName
+   * @return sheet, may be {@code null}.
+   */
+  public @Nullable SheetProbe getSheet(String sheetName) {
+    for (SheetProbe sheet : sheets) {
+      if (sheet.getName().equals(sheetName)) {
+        return sheet;
+      }
+    }
+
+    return null;
+  }
+
+  /*
+   * Returns the reader of the stream.
+   * XMLStreamReader#close does not close the stream, so callers close both.
+   */
+  private static XMLStreamReader newXmlReader(InputStream in) throws XMLStreamException {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory.createXMLStreamReader(in);
+  }
+
+  private static InputStream open(ZipFile zip, String entryName) throws IOException {
+    ZipEntry entry = zip.getEntry(entryName);
+    if (entry == null) {
+      throw new IOException("The entry is not found in the file. entry: " + entryName);
+    }
+
+    return zip.getInputStream(entry);
+  }
+
+  /*
+   * Returns the map of relationship ids to the entry names in the zip file,
+   * with the shared strings entry stored with the key "sharedStrings".
+   */
+  private static Map<String, String> readRelationships(ZipFile zip)
+      throws IOException, XMLStreamException {
+    Map<String, String> map = new HashMap<>();
+    try (InputStream in = open(zip, "xl/_rels/workbook.xml.rels")) {
+      XMLStreamReader xml = newXmlReader(in);
+      try {
+        while (xml.hasNext()) {
+          if (xml.next() == XMLStreamConstants.START_ELEMENT
+              && xml.getLocalName().equals("Relationship")) {
+            String target = xml.getAttributeValue(null, "Target");
+            String entryName = target.startsWith("/") ? target.substring(1) : "xl/" + target;
+            map.put(xml.getAttributeValue(null, "Id"), entryName);
+            if (xml.getAttributeValue(null, "Type").endsWith("/sharedStrings")) {
+              map.put("sharedStrings", entryName);
+            }
+          }
+        }
+      } finally {
+        xml.close();
+      }
+    }
+
+    return map;
+  }
+
+  /*
+   * Returns {name, relationship id, hidden} of each sheet.
+   */
+  private static List<String[]> readSheetEntries(ZipFile zip)
+      throws IOException, XMLStreamException {
+    List<String[]> list = new ArrayList<>();
+    try (InputStream in = open(zip, "xl/workbook.xml")) {
+      XMLStreamReader xml = newXmlReader(in);
+      try {
+        while (xml.hasNext()) {
+          int event = xml.next();
+          if (event == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("sheet")) {
+            String state = xml.getAttributeValue(null, "state");
+            list.add(new String[] {xml.getAttributeValue(null, "name"),
+                xml.getAttributeValue(REL_NS, "id"),
+                String.valueOf(state != null && !state.equals("visible"))});
+
+          } else if (event == XMLStreamConstants.END_ELEMENT
+              && xml.getLocalName().equals("sheets")) {
+            break;
+          }
+        }
+      } finally {
+        xml.close();
+      }
+    }
+
+    return list;
+  }
+
+  private static SheetProbe readSheet(ZipFile zip, ZipEntry entry, String name, boolean hidden,
+      int rowCount, TreeSet<Integer> sharedStringIndexes) throws IOException, XMLStreamException {
+    String dimension = null;
+    TreeMap<Integer, TreeMap<Integer, String>> rows = new TreeMap<>();
+    List<int[]> sharedStringCells = new ArrayList<>();
+
+    try (InputStream in = zip.getInputStream(entry)) {
+      XMLStreamReader xml = newXmlReader(in);
+      try {
+        int rowNumber = 0;
+        int columnIndex = -1;
+        String cellType = null;
+        boolean inValue = false;
+        StringBuilder value = new StringBuilder();
+
+        loop: while (xml.hasNext()) {
+          int event = xml.next();
+          if (event == XMLStreamConstants.START_ELEMENT) {
+            switch (xml.getLocalName()) {
+              case "dimension" -> dimension = xml.getAttributeValue(null, "ref");
+              case "row" -> {
+                String r = xml.getAttributeValue(null, "r");
+                rowNumber = r == null ? rowNumber + 1 : Integer.parseInt(r);
+                columnIndex = -1;
+                if (rowNumber > rowCount) {
+                  // The rest of the sheet is not read.
+                  break loop;
+                }
+              }
+              case "c" -> {
+                String r = xml.getAttributeValue(null, "r");
+                columnIndex = r == null ? columnIndex + 1 : toColumnIndex(r);
+                cellType = xml.getAttributeValue(null, "t");
+                value.setLength(0);
+              }
+              case "v", "t" -> inValue = true;
+              default -> { }
+            }
+
+          } else if (event == XMLStreamConstants.CHARACTERS && inValue) {
+            value.append(xml.getText());
+
+          } else if (event == XMLStreamConstants.END_ELEMENT) {
+            switch (xml.getLocalName()) {
+              case "v", "t" -> inValue = false;
+              case "c" -> {
+                if (!value.isEmpty()) {
+                  rows.computeIfAbsent(rowNumber, k -> new TreeMap<>()).put(columnIndex,
+                      value.toString());
+                  if ("s".equals(cellType)) {
+                    int index = Integer.parseInt(value.toString().trim());
+                    sharedStringIndexes.add(index);
+                    sharedStringCells.add(new int[] {rowNumber, columnIndex, index});
+                  }
+                }
+              }
+              case "sheetData" -> {
+                break loop;
+              }
+              default -> { }
+            }
+          }
+        }
+      } finally {
+        xml.close();
+      }
+    }
+
+    return new SheetProbe(name, hidden, dimension, rows, sharedStringCells);
+  }
+
+  /*
+   * Reads the shared strings up to maxIndex.
+   * Phonetic runs (rPh) are not a part of the string.
+   */
+  private static Map<Integer, String> readSharedStrings(ZipFile zip,
+      Map<String, String> relationships, int maxIndex) throws IOException, XMLStreamException {
+    Map<Integer, String> map = new HashMap<>();
+    try (InputStream in = open(zip,
+        relationships.getOrDefault("sharedStrings", "xl/sharedStrings.xml"))) {
+      XMLStreamReader xml = newXmlReader(in);
+      try {
+        int index = -1;
+        boolean inText = false;
+        boolean inPhonetic = false;
+        StringBuilder text = new StringBuilder();
+
+        while (xml.hasNext()) {
+          int event = xml.next();
+          if (event == XMLStreamConstants.START_ELEMENT) {
+            switch (xml.getLocalName()) {
+              case "si" -> {
+                index++;
+                text.setLength(0);
+              }
+              case "rPh" -> inPhonetic = true;
+              case "t" -> inText = !inPhonetic;
+              default -> { }
+            }
+
+          } else if (event == XMLStreamConstants.CHARACTERS && inText) {
+            text.append(xml.getText());
+
+          } else if (event == XMLStreamConstants.END_ELEMENT) {
+            switch (xml.getLocalName()) {
+              case "t" -> inText = false;
+              case "rPh" -> inPhonetic = false;
+              case "si" -> {
+                map.put(index, text.toString());
+                if (index >= maxIndex) {
+                  return map;
+                }
+              }
+              default -> { }
+            }
+          }
+        }
+      } finally {
+        xml.close();
+      }
+    }
+
+    return map;
+  }
+
+  /*
+   * Returns the 0-based column index of a cell reference like "AB12".
+   */
+  private static int toColumnIndex(String cellReference) {
+    int index = 0;
+    for (int i = 0; i < cellReference.length(); i++) {
+      char ch = cellReference.charAt(i);
+      if (ch < 'A' || ch > 'Z') {
+        break;
+      }
+      index = index * 26 + (ch - 'A' + 1);
+    }
+
+    return index - 1;
+  }
+
+  /**
+   * Is the summary of a sheet.
+   */
+  public static class SheetProbe {
+
+    private final String name;
+
+    private final boolean hidden;
+
+    private final @Nullable String dimension;
+
+    private final TreeMap<Integer, TreeMap<Integer, String>> rows;
+
+    /** Stores {row number, column index, shared string index} of the shared string cells. */
+    private final List<int[]> sharedStringCells;
+
+    private SheetProbe(String name, boolean hidden, @Nullable String dimension,
+        TreeMap<Integer, TreeMap<Integer, String>> rows, List<int[]> sharedStringCells) {
+      this.name = name;
+      this.hidden = hidden;
+      this.dimension = dimension;
+      this.rows = rows;
+      this.sharedStringCells = sharedStringCells;
+    }
+
+    private void resolveSharedStrings(Map<Integer, String> sharedStrings) {
+      for (int[] cell : sharedStringCells) {
+        rows.get(cell[0]).put(cell[1], sharedStrings.getOrDefault(cell[2], ""));
+      }
+    }
+
+    /**
+     * Returns the sheet name.
+     *
+     * @return sheet name
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Returns whether the sheet is hidden.
+     *
+     * @return whether the sheet is hidden
+     */
+    public boolean isHidden() {
+      return hidden;
+    }
+
+    /**
+     * Returns the used range recorded in the file like {@code "A1:D120"}.
+     *
+     * <p>It's the value written by the application which saved the file,
+     *     so it may be wider than the actual range or may not be recorded.</p>
+     *
+     * @return used range, may be {@code null}.
+     */
+    public @Nullable String getDimension() {
+      return dimension;
+    }
+
+    /**
+     * Returns the values of the row.
+     *
+     * @param rowNumber the row number, <b>starting with 1</b> like Excel
+     * @return the values from column A to the last column with a value,
+     *     where the cells without a value are {@code null}.
+     *     Empty when the row has no values or is not read.
+     */
+    public List<@Nullable String> getRow(int rowNumber) {
+      TreeMap<Integer, String> row = rows.get(rowNumber);
+      if (row == null) {
+        return List.of();
+      }
+
+      List<@Nullable String> list = new ArrayList<>(Collections.nCopies(row.lastKey() + 1, null));
+      row.forEach(list::set);
+      return list;
+    }
+
+    /**
+     * Returns the number of the first read row with a value, that is, the header row
+     *     of a typical table.
+     *
+     * @return the row number, <b>starting with 1</b>, or {@code 0} when no value is read.
+     */
+    public int getHeaderRowNumber() {
+      return rows.isEmpty() ? 0 : rows.firstKey();
+    }
+
+    /**
+     * Returns the values of the row returned by {@link #getHeaderRowNumber()}.
+     *
+     * @return header labels, empty when no value is read.
+     */
+    public List<@Nullable String> getHeaderLabels() {
+      return getRow(getHeaderRowNumber());
+    }
+  }
+}
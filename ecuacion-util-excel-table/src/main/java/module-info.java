@@ -35,6 +35,7 @@ module jp.ecuacion.util.excel {
       with jp.ecuacion.util.excel.spi.impl.internal.MessagesUtilExcelTableProviderImpl;
 
   requires jakarta.validation;
+  requires java.xml;
   requires transitive jp.ecuacion.lib.core;
 
   requires org.apache.commons.lang3;
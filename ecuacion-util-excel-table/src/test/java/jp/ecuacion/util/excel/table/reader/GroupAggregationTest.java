@@ -0,0 +1,178 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import jp.ecuacion.util.excel.exception.ExcelTableException;
+import jp.ecuacion.util.excel.table.reader.concrete.TypedOneLineHeaderExcelTableReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("GroupAggregation")
+public class GroupAggregationTest {
+
+  @SuppressWarnings("null")
+  @TempDir
+  Path tempDir;
+
+  // --- helpers ---
+
+  private static Row getOrCreateRow(Sheet sheet, int poiRow) {
+    Row row = sheet.getRow(poiRow);
+    return row == null ? sheet.createRow(poiRow) : row;
+  }
+
+  private static void setStringCell(Sheet sheet, int poiRow, int poiCol, String value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private static void setNumericCell(Sheet sheet, int poiRow, int poiCol, double value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private static void setBlankCell(Sheet sheet, int poiRow, int poiCol) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol);
+  }
+
+  private Path writeTempExcel(Workbook wb) throws Exception {
+    Path file = tempDir.resolve("test.xlsx");
+    try (FileOutputStream fos = new FileOutputStream(file.toFile())) {
+      wb.write(fos);
+    }
+    return file;
+  }
+
+  private Path writeSampleTable(Workbook wb) throws Exception {
+    Sheet sheet = wb.createSheet("Sheet1");
+    setStringCell(sheet, 0, 0, "branch");
+    setStringCell(sheet, 0, 1, "type");
+    setStringCell(sheet, 0, 2, "amount");
+    setStringCell(sheet, 1, 0, "A");
+    setStringCell(sheet, 1, 1, "x");
+    setNumericCell(sheet, 1, 2, 10.0);
+    setStringCell(sheet, 2, 0, "B");
+    setStringCell(sheet, 2, 1, "x");
+    setNumericCell(sheet, 2, 2, 20.0);
+    setStringCell(sheet, 3, 0, "A");
+    setStringCell(sheet, 3, 1, "y");
+    setStringCell(sheet, 3, 2, "5.5");
+    setStringCell(sheet, 4, 0, "A");
+    setStringCell(sheet, 4, 1, "x");
+    setBlankCell(sheet, 4, 2);
+    return writeTempExcel(wb);
+  }
+
+  private TypedOneLineHeaderExcelTableReader newReader() {
+    return new TypedOneLineHeaderExcelTableReader("Sheet1",
+        new String[] {"branch", "type", "amount"}).tableStartRowNumber(1);
+  }
+
+  @Test
+  @DisplayName("グループごとの件数と合計が出現順に集計される（空白セルは合計に含まれない）")
+  void groupBy() throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      Path file = writeSampleTable(wb);
+
+      var result = newReader().aggregate(file.toString(), new String[] {"branch"},
+          new String[] {"amount"});
+
+      assertThat(result.getGroupKeys()).containsExactly(List.of("A"), List.of("B"));
+      assertThat(result.getCount(List.of("A"))).isEqualTo(3);
+      assertThat(result.getSum(List.of("A"), 0)).isEqualTo(15.5);
+      assertThat(result.getSum(List.of("B"), 0)).isEqualTo(20.0);
+      assertThat(result.getCount(List.of("C"))).isEqualTo(0);
+      assertThat(result.getTotalCount()).isEqualTo(4);
+      assertThat(result.getTotalSum(0)).isEqualTo(35.5);
+    }
+  }
+
+  @Test
+  @DisplayName("複数列でのグループ化と、グループ化なしの全体集計")
+  void multipleAndNoGroupByColumns() throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      Path file = writeSampleTable(wb);
+
+      var byTwo = newReader().aggregate(file.toString(), new int[] {0, 1}, new int[] {2});
+      assertThat(byTwo.size()).isEqualTo(3);
+      assertThat(byTwo.getCount(List.of("A", "x"))).isEqualTo(2);
+      assertThat(byTwo.getSum(List.of("A", "y"), 0)).isEqualTo(5.5);
+
+      var whole = newReader().aggregate(file.toString(), new int[0], new int[] {2});
+      assertThat(whole.getGroupKeys()).containsExactly(List.of());
+      assertThat(whole.getSum(List.of(), 0)).isEqualTo(35.5);
+    }
+  }
+
+  @Test
+  @DisplayName("行フィルタが適用される")
+  void withRowFilter() throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      Path file = writeSampleTable(wb);
+
+      var result = newReader().withRowFilter("type", v -> "x".equals(v))
+          .aggregate(file.toString(), new String[] {"branch"}, new String[] {"amount"});
+
+      assertThat(result.getCount(List.of("A"))).isEqualTo(2);
+      assertThat(result.getSum(List.of("A"), 0)).isEqualTo(10.0);
+    }
+  }
+
+  @Test
+  @DisplayName("tableRowSize 指定ありで途中・末尾に空行 → 空行はグループとして数えられない")
+  void emptyRowsWithinFixedSize() throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      Sheet sheet = wb.createSheet("Sheet1");
+      setStringCell(sheet, 0, 0, "branch");
+      setStringCell(sheet, 0, 1, "type");
+      setStringCell(sheet, 0, 2, "amount");
+      setStringCell(sheet, 1, 0, "A");
+      setStringCell(sheet, 1, 1, "x");
+      setNumericCell(sheet, 1, 2, 10.0);
+      setBlankCell(sheet, 2, 0);
+      setStringCell(sheet, 3, 0, "B");
+      setStringCell(sheet, 3, 1, "x");
+      setNumericCell(sheet, 3, 2, 20.0);
+      Path file = writeTempExcel(wb);
+
+      var result = newReader().tableRowSize(5).aggregate(file.toString(),
+          new String[] {"branch"}, new String[] {"amount"});
+
+      assertThat(result.getGroupKeys()).containsExactly(List.of("A"), List.of("B"));
+      assertThat(result.getTotalCount()).isEqualTo(2);
+      assertThat(result.getTotalSum(0)).isEqualTo(30.0);
+    }
+  }
+
+  @Test
+  @DisplayName("合計列に数値として読めない値 → ExcelTableException")
+  void notNumeric() throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      Path file = writeSampleTable(wb);
+
+      assertThatThrownBy(() -> newReader().aggregate(file.toString(), new String[0],
+          new String[] {"branch"})).isInstanceOf(ExcelTableException.class);
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.util.ArrayList;
+import java.util.List;
+import jp.ecuacion.util.excel.exception.FarLeftHeaderLabelNotFoundException;
+import jp.ecuacion.util.excel.table.reader.concrete.StringOneLineHeaderExcelTableReader;
+import jp.ecuacion.util.excel.table.reader.concrete.TypedOneLineHeaderExcelTableReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MultiTableReader")
+public class MultiTableReaderTest {
+
+  // --- helpers ---
+
+  private static Row getOrCreateRow(Sheet sheet, int poiRow) {
+    Row row = sheet.getRow(poiRow);
+    return row == null ? sheet.createRow(poiRow) : row;
+  }
+
+  private static void setStringCell(Sheet sheet, int poiRow, int poiCol, String value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private static void setNumericCell(Sheet sheet, int poiRow, int poiCol, double value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private Workbook createWorkbook() {
+    Workbook wb = new XSSFWorkbook();
+    Sheet sheet = wb.createSheet("Sheet1");
+    // header block
+    setStringCell(sheet, 0, 0, "orderNo");
+    setStringCell(sheet, 0, 1, "customer");
+    setStringCell(sheet, 1, 0, "A-1");
+    setStringCell(sheet, 1, 1, "ACME");
+    // detail lines
+    setStringCell(sheet, 3, 0, "item");
+    setStringCell(sheet, 3, 1, "qty");
+    setStringCell(sheet, 4, 0, "pen");
+    setNumericCell(sheet, 4, 1, 2.0);
+    setStringCell(sheet, 5, 0, "ink");
+    setNumericCell(sheet, 5, 1, 3.0);
+    setStringCell(sheet, 6, 0, "cap");
+    setNumericCell(sheet, 6, 1, 0.0);
+    // summary
+    setStringCell(sheet, 8, 0, "total");
+    setNumericCell(sheet, 9, 0, 5.0);
+    return wb;
+  }
+
+  @Test
+  @DisplayName("縦に並んだ3つの表 → ヘッダーラベルで位置を決めて上から順に読み込まれる")
+  void stackedTables() throws Exception {
+    try (Workbook wb = createWorkbook()) {
+      TypedOneLineHeaderExcelTableReader header =
+          new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"orderNo", "customer"});
+      TypedOneLineHeaderExcelTableReader detail =
+          new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"item", "qty"});
+      TypedOneLineHeaderExcelTableReader summary =
+          new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"total"});
+
+      MultiTableReader.Result result =
+          new MultiTableReader().add(header).add(detail).add(summary).read(wb);
+
+      assertThat(result.get(header)).containsExactly(List.of("A-1", "ACME"));
+      assertThat(result.get(detail)).containsExactly(List.of("pen", 2.0), List.of("ink", 3.0),
+          List.of("cap", 0.0));
+      assertThat(result.get(summary)).containsExactly(List.of(5.0));
+    }
+  }
+
+  @Test
+  @DisplayName("consumer 指定 + 行フィルタ → 行は consumer に渡され結果には保持されない")
+  void consumer() throws Exception {
+    try (Workbook wb = createWorkbook()) {
+      TypedOneLineHeaderExcelTableReader detail =
+          new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"item", "qty"})
+              .withRowFilter("item", v -> !"cap".equals(v));
+      TypedOneLineHeaderExcelTableReader summary =
+          new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"total"});
+      List<List<Object>> streamed = new ArrayList<>();
+
+      MultiTableReader.Result result =
+          new MultiTableReader().add(detail, streamed::add).add(summary).read(wb);
+
+      assertThat(streamed).containsExactly(List.of("pen", 2.0), List.of("ink", 3.0));
+      assertThat(result.get(detail)).isEmpty();
+      assertThat(result.get(summary)).containsExactly(List.of(5.0));
+    }
+  }
+
+  @Test
+  @DisplayName("前の表より上にあるラベル → FarLeftHeaderLabelNotFoundException")
+  void labelAbovePreviousTable() throws Exception {
+    try (Workbook wb = createWorkbook()) {
+      MultiTableReader reader = new MultiTableReader()
+          .add(new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"item", "qty"}))
+          .add(new TypedOneLineHeaderExcelTableReader("Sheet1",
+              new String[] {"orderNo", "customer"}));
+
+      assertThatThrownBy(() -> reader.read(wb))
+          .isInstanceOf(FarLeftHeaderLabelNotFoundException.class);
+    }
+  }
+
+  @Test
+  @DisplayName("シート名の異なる reader → RuntimeException")
+  void differentSheet() throws Exception {
+    try (Workbook wb = createWorkbook()) {
+      MultiTableReader reader = new MultiTableReader()
+          .add(new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"item", "qty"}))
+          .add(new TypedOneLineHeaderExcelTableReader("Sheet2", new String[] {"total"}));
+
+      assertThatThrownBy(() -> reader.read(wb)).isInstanceOf(RuntimeException.class);
+    }
+  }
+
+  @Test
+  @DisplayName("数値や数式のヘッダーラベル → 文字列として比較され見つかる")
+  void nonStringLabel() throws Exception {
+    try (Workbook wb = createWorkbook()) {
+      Sheet sheet = wb.getSheet("Sheet1");
+      setNumericCell(sheet, 11, 0, 2024.0);
+      setNumericCell(sheet, 12, 0, 7.0);
+      getOrCreateRow(sheet, 14).createCell(0).setCellFormula("\"no\"&\"te\"");
+      setStringCell(sheet, 15, 0, "ok");
+      wb.getCreationHelper().createFormulaEvaluator().evaluateAll();
+      TypedOneLineHeaderExcelTableReader summary =
+          new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"total"})
+              .tableRowSize(2);
+      StringOneLineHeaderExcelTableReader year =
+          new StringOneLineHeaderExcelTableReader("Sheet1", new String[] {"2024"});
+      TypedOneLineHeaderExcelTableReader note =
+          new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"note"});
+
+      MultiTableReader.Result result =
+          new MultiTableReader().add(summary).add(year).add(note).read(wb);
+
+      assertThat(result.get(year)).containsExactly(List.of("7"));
+      assertThat(result.get(note)).containsExactly(List.of("ok"));
+    }
+  }
+
+  @Test
+  @DisplayName("tableName を指定した reader → RuntimeException")
+  void tableName() throws Exception {
+    try (Workbook wb = createWorkbook()) {
+      MultiTableReader reader = new MultiTableReader()
+          .add(new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"item", "qty"})
+              .tableName("Items"));
+
+      assertThatThrownBy(() -> reader.read(wb)).isInstanceOf(RuntimeException.class)
+          .hasMessageContaining("tableName");
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import jp.ecuacion.util.excel.table.reader.concrete.TypedOneLineHeaderExcelTableReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("SpillingTableList")
+public class SpillingTableListTest {
+
+  @SuppressWarnings("null")
+  @TempDir
+  Path tempDir;
+
+  // --- helpers ---
+
+  private static Row getOrCreateRow(Sheet sheet, int poiRow) {
+    Row row = sheet.getRow(poiRow);
+    return row == null ? sheet.createRow(poiRow) : row;
+  }
+
+  private static void setStringCell(Sheet sheet, int poiRow, int poiCol, String value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private static void setNumericCell(Sheet sheet, int poiRow, int poiCol, double value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private static void setBooleanCell(Sheet sheet, int poiRow, int poiCol, boolean value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private Path writeTempExcel(Workbook wb) throws Exception {
+    Path file = tempDir.resolve("test.xlsx");
+    try (FileOutputStream fos = new FileOutputStream(file.toFile())) {
+      wb.write(fos);
+    }
+    return file;
+  }
+
+  private Path writeTable(int rows) throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      Sheet sheet = wb.createSheet("Sheet1");
+      setStringCell(sheet, 0, 0, "code");
+      setStringCell(sheet, 0, 1, "price");
+      setStringCell(sheet, 0, 2, "valid");
+      for (int i = 1; i <= rows; i++) {
+        setStringCell(sheet, i, 0, "K" + i);
+        setNumericCell(sheet, i, 1, i);
+        if (i % 2 == 0) {
+          setBooleanCell(sheet, i, 2, true);
+        }
+      }
+      // a line larger than the read buffer
+      setStringCell(sheet, rows + 1, 0, "長".repeat(30000));
+      return writeTempExcel(wb);
+    }
+  }
+
+  private TypedOneLineHeaderExcelTableReader newReader() {
+    return new TypedOneLineHeaderExcelTableReader("Sheet1",
+        new String[] {"code", "price", "valid"}).tableStartRowNumber(1);
+  }
+
+  @Test
+  @DisplayName("上限を超えた行は一時ファイルに退避され、read と同じ内容が順に読める")
+  void spillsPastBudget() throws Exception {
+    Path file = writeTable(3000);
+    List<List<Object>> expected = newReader().read(file.toString());
+
+    try (SpillingTableList<Object> result = newReader().read(file.toString(), 10_000)) {
+      assertThat(result.isSpilled()).isTrue();
+      assertThat(result.getSpilledSize()).isPositive().isLessThan(result.size());
+      assertThat(result).hasSize(expected.size());
+
+      List<List<Object>> iterated = new ArrayList<>();
+      result.forEach(iterated::add);
+      assertThat(iterated).isEqualTo(expected);
+      assertThat(result.get(1500)).isEqualTo(expected.get(1500));
+      assertThat(result.get(10)).isEqualTo(expected.get(10));
+    }
+  }
+
+  @Test
+  @DisplayName("上限内であれば一時ファイルは作られない")
+  void notSpilledWithinBudget() throws Exception {
+    Path file = writeTable(10);
+
+    try (SpillingTableList<Object> result =
+        newReader().read(file.toString(), 1024 * 1024)) {
+      assertThat(result.isSpilled()).isFalse();
+      assertThat(result).isEqualTo(newReader().read(file.toString()));
+    }
+  }
+
+  @Test
+  @DisplayName("close 後は退避された行にアクセスできない")
+  void closed() throws Exception {
+    Path file = writeTable(10);
+
+    SpillingTableList<Object> result = newReader().read(file.toString(), 0);
+    result.close();
+
+    assertThat(result.getSpilledSize()).isEqualTo(result.size());
+    assertThatThrownBy(() -> result.get(0)).isInstanceOf(IllegalStateException.class);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import jp.ecuacion.util.excel.exception.DuplicateKeyException;
+import jp.ecuacion.util.excel.table.reader.concrete.TypedOneLineHeaderExcelTableReader;
+import org.apache.poi.ss.usermodel.Name;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TableDiff")
+public class TableDiffTest {
+
+  // --- helpers ---
+
+  private static Row getOrCreateRow(Sheet sheet, int poiRow) {
+    Row row = sheet.getRow(poiRow);
+    return row == null ? sheet.createRow(poiRow) : row;
+  }
+
+  private static void setStringCell(Sheet sheet, int poiRow, int poiCol, String value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private static void setNumericCell(Sheet sheet, int poiRow, int poiCol, double value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private void writeTable(Workbook wb, Object[][] lines) {
+    Sheet sheet = wb.createSheet("Sheet1");
+    setStringCell(sheet, 0, 0, "code");
+    setStringCell(sheet, 0, 1, "name");
+    setStringCell(sheet, 0, 2, "price");
+    for (int i = 0; i < lines.length; i++) {
+      setStringCell(sheet, i + 1, 0, (String) lines[i][0]);
+      setStringCell(sheet, i + 1, 1, (String) lines[i][1]);
+      setNumericCell(sheet, i + 1, 2, (Double) lines[i][2]);
+    }
+  }
+
+  private TypedOneLineHeaderExcelTableReader newReader() {
+    return new TypedOneLineHeaderExcelTableReader("Sheet1",
+        new String[] {"code", "name", "price"}).tableStartRowNumber(1);
+  }
+
+  @Test
+  @DisplayName("追加・削除・変更された行のみが返される")
+  void insertedDeletedChanged() throws Exception {
+    try (Workbook oldWb = new XSSFWorkbook(); Workbook newWb = new XSSFWorkbook()) {
+      writeTable(oldWb, new Object[][] {{"K1", "a", 1.0}, {"K2", "b", 2.0}, {"K3", "c", 3.0}});
+      writeTable(newWb, new Object[][] {{"K3", "c", 30.0}, {"K1", "a", 1.0}, {"K4", "d", 4.0}});
+
+      var diff = newReader().diff(oldWb, newWb, "code");
+
+      assertThat(diff.getInserted()).hasSize(1);
+      assertThat(diff.getInserted().get(0).getNewLine()).containsExactly("K4", "d", 4.0);
+      assertThat(diff.getInserted().get(0).getNewRowNumber()).isEqualTo(4);
+      assertThat(diff.getInserted().get(0).getOldLine()).isNull();
+
+      assertThat(diff.getDeleted()).hasSize(1);
+      assertThat(diff.getDeleted().get(0).getOldLine()).containsExactly("K2", "b", 2.0);
+      assertThat(diff.getDeleted().get(0).getOldRowNumber()).isEqualTo(3);
+
+      assertThat(diff.getChanged()).hasSize(1);
+      assertThat(diff.getChanged().get(0).getOldLine()).containsExactly("K3", "c", 3.0);
+      assertThat(diff.getChanged().get(0).getNewLine()).containsExactly("K3", "c", 30.0);
+      assertThat(diff.getChanged().get(0).getOldRowNumber()).isEqualTo(4);
+      assertThat(diff.getChanged().get(0).getNewRowNumber()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  @DisplayName("複合キーで比較し、同一内容なら差分なし")
+  void compositeKeyNoDifference() throws Exception {
+    try (Workbook oldWb = new XSSFWorkbook(); Workbook newWb = new XSSFWorkbook()) {
+      writeTable(oldWb, new Object[][] {{"K1", "a", 1.0}, {"K1", "b", 2.0}});
+      writeTable(newWb, new Object[][] {{"K1", "b", 2.0}, {"K1", "a", 1.0}});
+
+      assertThat(newReader().diff(oldWb, newWb, 0, 1).isEmpty()).isTrue();
+    }
+  }
+
+  @Test
+  @DisplayName("キーが重複している → DuplicateKeyException")
+  void duplicateKey() throws Exception {
+    try (Workbook oldWb = new XSSFWorkbook(); Workbook newWb = new XSSFWorkbook()) {
+      writeTable(oldWb, new Object[][] {{"K1", "a", 1.0}});
+      writeTable(newWb, new Object[][] {{"K1", "a", 1.0}, {"K1", "b", 2.0}});
+
+      assertThatThrownBy(() -> newReader().diff(oldWb, newWb, "code"))
+          .isInstanceOf(DuplicateKeyException.class);
+    }
+  }
+
+  @Test
+  @DisplayName("tableName で別シートの表を読む → DuplicateKeyException のシート名は表のシート")
+  void duplicateKeyOnLocatedSheet() throws Exception {
+    try (Workbook oldWb = new XSSFWorkbook(); Workbook newWb = new XSSFWorkbook()) {
+      writeTable(oldWb, new Object[][] {{"K1", "a", 1.0}});
+      writeTable(newWb, new Object[][] {{"K1", "a", 1.0}, {"K1", "b", 2.0}});
+      for (Workbook wb : new Workbook[] {oldWb, newWb}) {
+        Name name = wb.createName();
+        name.setNameName("Items");
+        name.setRefersToFormula("Sheet1!$A$1:$C$3");
+      }
+
+      var reader = new TypedOneLineHeaderExcelTableReader("Other",
+          new String[] {"code", "name", "price"}).tableName("Items");
+
+      assertThatThrownBy(() -> reader.diff(oldWb, newWb, "code"))
+          .isInstanceOfSatisfying(DuplicateKeyException.class, e -> assertThat(
+              e.getViolations().getBusinessViolations().get(0).getMessageArgs()[0])
+                  .isEqualTo("Sheet1"));
+    }
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import jp.ecuacion.util.excel.enums.JoinType;
+import jp.ecuacion.util.excel.enums.NoDataString;
+import jp.ecuacion.util.excel.exception.DuplicateKeyException;
+import jp.ecuacion.util.excel.table.reader.concrete.CellOneLineHeaderExcelTableReader;
+import jp.ecuacion.util.excel.table.reader.concrete.StringOneLineHeaderExcelTableReader;
+import jp.ecuacion.util.excel.table.reader.concrete.TypedOneLineHeaderExcelTableReader;
+import org.apache.poi.ss.usermodel.Name;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("TableIndex")
+public class TableIndexTest {
+
+  @SuppressWarnings("null")
+  @TempDir
+  Path tempDir;
+
+  // --- helpers ---
+
+  private static Row getOrCreateRow(Sheet sheet, int poiRow) {
+    Row row = sheet.getRow(poiRow);
+    return row == null ? sheet.createRow(poiRow) : row;
+  }
+
+  private static void setStringCell(Sheet sheet, int poiRow, int poiCol, String value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private static void setNumericCell(Sheet sheet, int poiRow, int poiCol, double value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private Path writeTempExcel(Workbook wb) throws Exception {
+    Path file = tempDir.resolve("test.xlsx");
+    try (FileOutputStream fos = new FileOutputStream(file.toFile())) {
+      wb.write(fos);
+    }
+    return file;
+  }
+
+  private Path writeSampleWorkbook(Workbook wb, boolean hasDuplicateKey) throws Exception {
+    Sheet master = wb.createSheet("master");
+    setStringCell(master, 0, 0, "code");
+    setStringCell(master, 0, 1, "product");
+    setStringCell(master, 1, 0, "P1");
+    setStringCell(master, 1, 1, "apple");
+    setStringCell(master, 2, 0, "P2");
+    setStringCell(master, 2, 1, "banana");
+    if (hasDuplicateKey) {
+      setStringCell(master, 3, 0, "P1");
+      setStringCell(master, 3, 1, "apricot");
+    }
+
+    Sheet tx = wb.createSheet("tx");
+    setStringCell(tx, 0, 0, "no");
+    setStringCell(tx, 0, 1, "code");
+    setNumericCell(tx, 1, 0, 1);
+    setStringCell(tx, 1, 1, "P2");
+    setNumericCell(tx, 2, 0, 2);
+    setStringCell(tx, 2, 1, "P9");
+    setNumericCell(tx, 3, 0, 3);
+    setStringCell(tx, 3, 1, "P1");
+    return writeTempExcel(wb);
+  }
+
+  private TypedOneLineHeaderExcelTableReader masterReader() {
+    return new TypedOneLineHeaderExcelTableReader("master", new String[] {"code", "product"})
+        .tableStartRowNumber(1);
+  }
+
+  private TypedOneLineHeaderExcelTableReader txReader() {
+    return new TypedOneLineHeaderExcelTableReader("tx", new String[] {"no", "code"})
+        .tableStartRowNumber(1);
+  }
+
+  @Test
+  @DisplayName("INNER は一致する行のみ、LEFT は一致しない行も null と組で渡される")
+  void innerAndLeft() throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      writeSampleWorkbook(wb, false);
+
+      var index = masterReader().buildIndex(wb, "code");
+      assertThat(index.size()).isEqualTo(2);
+      assertThat(index.get("P1")).containsExactly("P1", "apple");
+
+      List<String> inner = new ArrayList<>();
+      txReader().join(wb, "code", index, JoinType.INNER,
+          (line, matched) -> inner.add(line.get(0) + ":" + matched.get(1)));
+      assertThat(inner).containsExactly("1.0:banana", "3.0:apple");
+
+      List<String> left = new ArrayList<>();
+      txReader().join(wb, 1, index, JoinType.LEFT, (line, matched) -> left
+          .add(line.get(0) + ":" + (matched == null ? null : matched.get(1))));
+      assertThat(left).containsExactly("1.0:banana", "2.0:null", "3.0:apple");
+    }
+  }
+
+  @Test
+  @DisplayName("キーが重複している → DuplicateKeyException")
+  void duplicateKey() throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      writeSampleWorkbook(wb, true);
+
+      assertThatThrownBy(() -> masterReader().buildIndex(wb, 0))
+          .isInstanceOf(DuplicateKeyException.class);
+    }
+  }
+
+  @Test
+  @DisplayName("tableName で別シートの表を読む → DuplicateKeyException のシート名は表のシート")
+  void duplicateKeyOnLocatedSheet() throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      writeSampleWorkbook(wb, true);
+      Name name = wb.createName();
+      name.setNameName("MasterTable");
+      name.setRefersToFormula("master!$A$1:$B$4");
+
+      var reader = new TypedOneLineHeaderExcelTableReader("tx",
+          new String[] {"code", "product"}).tableName("MasterTable");
+
+      assertThatThrownBy(() -> reader.buildIndex(wb, 0))
+          .isInstanceOfSatisfying(DuplicateKeyException.class, e -> assertThat(
+              e.getViolations().getBusinessViolations().get(0).getMessageArgs()[0])
+                  .isEqualTo("master"));
+    }
+  }
+
+  @Test
+  @DisplayName("キーが空文字の行 → インデックスされず、複数あっても DuplicateKeyException にならない")
+  void emptyKey() throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      Sheet master = wb.createSheet("master");
+      setStringCell(master, 0, 0, "code");
+      setStringCell(master, 0, 1, "product");
+      setStringCell(master, 1, 0, "P1");
+      setStringCell(master, 1, 1, "apple");
+      setStringCell(master, 2, 0, "");
+      setStringCell(master, 2, 1, "banana");
+      setStringCell(master, 3, 0, "");
+      setStringCell(master, 3, 1, "cherry");
+
+      var index = new StringOneLineHeaderExcelTableReader("master",
+          new String[] {"code", "product"}).noDataString(NoDataString.EMPTY_STRING)
+          .tableStartRowNumber(1).buildIndex(wb, "code");
+
+      assertThat(index.keySet()).containsExactly("P1");
+      assertThat(index.get("")).isNull();
+    }
+  }
+
+  @Test
+  @DisplayName("tableRowSize 指定ありで途中・末尾に空行 → INNER でも LEFT でも空行は渡されない")
+  void emptyRowsWithinFixedSize() throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      writeSampleWorkbook(wb, false);
+      var index = masterReader().buildIndex(wb, "code");
+      wb.getSheet("tx").removeRow(wb.getSheet("tx").getRow(2));
+
+      for (JoinType joinType : JoinType.values()) {
+        List<String> joined = new ArrayList<>();
+        txReader().tableRowSize(5).join(wb, "code", index, joinType, (line, matched) -> joined
+            .add(line.get(0) + ":" + (matched == null ? null : matched.get(1))));
+        assertThat(joined).containsExactly("1.0:banana", "3.0:apple");
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("getIndex は同じ Workbook とキー列に対して同じインデックスを返す")
+  void indexCachedPerWorkbook() throws Exception {
+    try (Workbook wb = new XSSFWorkbook(); Workbook other = new XSSFWorkbook()) {
+      writeSampleWorkbook(wb, false);
+      writeSampleWorkbook(other, false);
+
+      var reader = masterReader();
+      var index = reader.getIndex(wb, "code");
+
+      assertThat(reader.getIndex(wb, 0)).isSameAs(index);
+      assertThat(reader.getIndex(wb, 1)).isNotSameAs(index);
+      assertThat(reader.getIndex(other, 0)).isNotSameAs(index);
+    }
+  }
+
+  @Test
+  @DisplayName("Cell の reader → 値が Workbook を参照するため getIndex はインデックスを保持しない")
+  void cellIndexNotCached() throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      writeSampleWorkbook(wb, false);
+
+      var reader = new CellOneLineHeaderExcelTableReader("master",
+          new String[] {"code", "product"}).tableStartRowNumber(1);
+      var index = reader.getIndex(wb, 0);
+
+      assertThat(index.size()).isEqualTo(2);
+      assertThat(reader.getIndex(wb, 0)).isNotSameAs(index);
+    }
+  }
+}
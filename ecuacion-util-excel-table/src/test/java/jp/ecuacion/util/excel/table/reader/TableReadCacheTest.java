@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jp.ecuacion.util.excel.table.reader.concrete.TypedOneLineHeaderExcelTableReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("TableReadCache")
+public class TableReadCacheTest {
+
+  @SuppressWarnings("null")
+  @TempDir
+  Path tempDir;
+
+  // --- helpers ---
+
+  private static Row getOrCreateRow(Sheet sheet, int poiRow) {
+    Row row = sheet.getRow(poiRow);
+    return row == null ? sheet.createRow(poiRow) : row;
+  }
+
+  private static void setStringCell(Sheet sheet, int poiRow, int poiCol, String value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private static void setNumericCell(Sheet sheet, int poiRow, int poiCol, double value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private Path writeTable(String fileName, double price) throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      Sheet sheet = wb.createSheet("Sheet1");
+      setStringCell(sheet, 0, 0, "code");
+      setStringCell(sheet, 0, 1, "price");
+      setStringCell(sheet, 1, 0, "K1");
+      setNumericCell(sheet, 1, 1, price);
+      setStringCell(sheet, 2, 0, "K2");
+      setNumericCell(sheet, 2, 1, 2.0);
+
+      Path file = tempDir.resolve(fileName);
+      try (FileOutputStream fos = new FileOutputStream(file.toFile())) {
+        wb.write(fos);
+      }
+      return file;
+    }
+  }
+
+  private TypedOneLineHeaderExcelTableReader newReader(TableReadCache cache) {
+    return new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"code", "price"})
+        .tableStartRowNumber(1).withReadCache(cache);
+  }
+
+  @Test
+  @DisplayName("同一内容のファイルはパスが異なってもキャッシュから返される")
+  void hitBySameContent() throws Exception {
+    Path file1 = writeTable("a.xlsx", 1.0);
+    Path file2 = tempDir.resolve("b.xlsx");
+    Files.copy(file1, file2);
+    TableReadCache cache = new TableReadCache(1024 * 1024);
+
+    List<List<Object>> first = newReader(cache).read(file1.toString());
+    List<List<Object>> second = newReader(cache).read(file2.toString());
+
+    assertThat(second).isEqualTo(first);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.getCurrentBytes()).isPositive();
+  }
+
+  @Test
+  @DisplayName("内容または設定が異なればキャッシュされた結果は使われない")
+  void missByContentOrConfiguration() throws Exception {
+    TableReadCache cache = new TableReadCache(1024 * 1024);
+    newReader(cache).read(writeTable("a.xlsx", 1.0).toString());
+
+    List<List<Object>> changed = newReader(cache).read(writeTable("b.xlsx", 10.0).toString());
+    List<List<Object>> oneRow = newReader(cache).tableRowSize(2)
+        .read(tempDir.resolve("a.xlsx").toString());
+
+    assertThat(changed.get(0)).containsExactly("K1", 10.0);
+    assertThat(oneRow).hasSize(1);
+    assertThat(cache.getHitCount()).isZero();
+    assertThat(cache.getMissCount()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("返された結果を変更してもキャッシュには影響しない")
+  void returnedResultIsCopy() throws Exception {
+    Path file = writeTable("a.xlsx", 1.0);
+    TableReadCache cache = new TableReadCache(1024 * 1024);
+
+    newReader(cache).read(file.toString()).get(0).set(1, 99.0);
+
+    assertThat(newReader(cache).read(file.toString()).get(0)).containsExactly("K1", 1.0);
+  }
+
+  @Test
+  @DisplayName("maxBytes を超えると最も古い結果から削除される")
+  void evictsLeastRecentlyUsed() throws Exception {
+    Path file1 = writeTable("a.xlsx", 1.0);
+    Path file2 = writeTable("b.xlsx", 10.0);
+    TableReadCache sizing = new TableReadCache(1024 * 1024);
+    newReader(sizing).read(file1.toString());
+    TableReadCache cache = new TableReadCache(sizing.getCurrentBytes() + 10);
+
+    newReader(cache).read(file1.toString());
+    newReader(cache).read(file2.toString());
+    newReader(cache).read(file1.toString());
+
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.getEvictionCount()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("行フィルタがある場合はキャッシュされない")
+  void notCachedWithRowFilter() throws Exception {
+    Path file = writeTable("a.xlsx", 1.0);
+    TableReadCache cache = new TableReadCache(1024 * 1024);
+
+    List<List<Object>> result =
+        newReader(cache).withRowFilter(0, "K2"::equals).read(file.toString());
+
+    assertThat(result).hasSize(1);
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getMissCount()).isZero();
+  }
+}
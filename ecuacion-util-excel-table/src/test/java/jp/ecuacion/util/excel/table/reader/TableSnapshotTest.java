@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.table.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.List;
+import jp.ecuacion.util.excel.table.reader.concrete.TypedOneLineHeaderExcelTableReader;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("TableSnapshot")
+public class TableSnapshotTest {
+
+  @SuppressWarnings("null")
+  @TempDir
+  Path tempDir;
+
+  // --- helpers ---
+
+  private static Row getOrCreateRow(Sheet sheet, int poiRow) {
+    Row row = sheet.getRow(poiRow);
+    return row == null ? sheet.createRow(poiRow) : row;
+  }
+
+  private static void setStringCell(Sheet sheet, int poiRow, int poiCol, String value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private static void setNumericCell(Sheet sheet, int poiRow, int poiCol, double value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private static void setBooleanCell(Sheet sheet, int poiRow, int poiCol, boolean value) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol).setCellValue(value);
+  }
+
+  private static void setBlankCell(Sheet sheet, int poiRow, int poiCol) {
+    getOrCreateRow(sheet, poiRow).createCell(poiCol);
+  }
+
+  private static void setDateFormattedCell(Workbook wb, Sheet sheet, int poiRow, int poiCol,
+      LocalDateTime value, String formatPattern) {
+    Cell cell = getOrCreateRow(sheet, poiRow).createCell(poiCol);
+    CellStyle style = wb.createCellStyle();
+    style.setDataFormat(wb.createDataFormat().getFormat(formatPattern));
+    cell.setCellStyle(style);
+    cell.setCellValue(value);
+  }
+
+  private Path writeTable(String fileName, String name) throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      Sheet sheet = wb.createSheet("Sheet1");
+      setStringCell(sheet, 0, 0, "name");
+      setStringCell(sheet, 0, 1, "price");
+      setStringCell(sheet, 0, 2, "valid");
+      setStringCell(sheet, 0, 3, "date");
+      setStringCell(sheet, 0, 4, "timestamp");
+      setStringCell(sheet, 1, 0, name);
+      setNumericCell(sheet, 1, 1, 1.5);
+      setBooleanCell(sheet, 1, 2, true);
+      setDateFormattedCell(wb, sheet, 1, 3, LocalDateTime.of(2024, 1, 2, 0, 0), "yyyy/mm/dd");
+      setDateFormattedCell(wb, sheet, 1, 4, LocalDateTime.of(2024, 1, 2, 3, 4, 5),
+          "yyyy/mm/dd hh:mm:ss");
+      setStringCell(sheet, 2, 0, "長い名前".repeat(100));
+      setBlankCell(sheet, 2, 1);
+
+      Path file = tempDir.resolve(fileName);
+      try (FileOutputStream fos = new FileOutputStream(file.toFile())) {
+        wb.write(fos);
+      }
+      return file;
+    }
+  }
+
+  private TypedOneLineHeaderExcelTableReader newReader() {
+    return new TypedOneLineHeaderExcelTableReader("Sheet1",
+        new String[] {"name", "price", "valid", "date", "timestamp"}).tableStartRowNumber(1);
+  }
+
+  @Test
+  @DisplayName("2回目はスナップショットから同じ型・値で読み込まれ、スナップショットは再作成されない")
+  void reloadFromSnapshot() throws Exception {
+    Path file = writeTable("a.xlsx", "a");
+    Path snapshot = tempDir.resolve("a.snapshot");
+
+    List<List<Object>> expected = newReader().read(file.toString());
+    List<List<Object>> first = newReader().readWithSnapshot(file.toString(), snapshot);
+    FileTime written = FileTime.fromMillis(0);
+    Files.setLastModifiedTime(snapshot, written);
+    List<List<Object>> second = newReader().readWithSnapshot(file.toString(), snapshot);
+
+    assertThat(first).isEqualTo(expected);
+    assertThat(second).isEqualTo(expected);
+    assertThat(Files.getLastModifiedTime(snapshot)).isEqualTo(written);
+  }
+
+  @Test
+  @DisplayName("tableRowSize 指定ありで途中・末尾に空行 → 空行は空リストとして復元される")
+  void emptyRowsWithinFixedSize() throws Exception {
+    Path file = tempDir.resolve("empty.xlsx");
+    try (Workbook wb = new XSSFWorkbook()) {
+      Sheet sheet = wb.createSheet("Sheet1");
+      setStringCell(sheet, 0, 0, "name");
+      setStringCell(sheet, 0, 1, "price");
+      setStringCell(sheet, 1, 0, "a");
+      setNumericCell(sheet, 1, 1, 1.0);
+      setBlankCell(sheet, 2, 0);
+      setStringCell(sheet, 3, 0, "c");
+      try (FileOutputStream fos = new FileOutputStream(file.toFile())) {
+        wb.write(fos);
+      }
+    }
+    Path snapshot = tempDir.resolve("empty.snapshot");
+
+    List<List<Object>> first = new TypedOneLineHeaderExcelTableReader("Sheet1",
+        new String[] {"name", "price"}).tableStartRowNumber(1).tableRowSize(5)
+        .readWithSnapshot(file.toString(), snapshot);
+    List<List<Object>> second = new TypedOneLineHeaderExcelTableReader("Sheet1",
+        new String[] {"name", "price"}).tableStartRowNumber(1).tableRowSize(5)
+        .readWithSnapshot(file.toString(), snapshot);
+
+    assertThat(first).hasSize(4);
+    assertThat(first.get(1)).isEmpty();
+    assertThat(first.get(3)).isEmpty();
+    assertThat(second).isEqualTo(first);
+    assertThat(second.get(2)).containsExactly("c", null);
+  }
+
+  @Test
+  @DisplayName("元ファイルまたは設定が変わるとスナップショットは作り直される")
+  void rewrittenWhenSourceOrConfigurationChanges() throws Exception {
+    Path snapshot = tempDir.resolve("a.snapshot");
+    newReader().readWithSnapshot(writeTable("a.xlsx", "a").toString(), snapshot);
+
+    List<List<Object>> changed =
+        newReader().readWithSnapshot(writeTable("a.xlsx", "b").toString(), snapshot);
+    List<List<Object>> oneRow =
+        newReader().tableRowSize(2).readWithSnapshot(tempDir.resolve("a.xlsx").toString(),
+            snapshot);
+
+    assertThat(changed.get(0).get(0)).isEqualTo("b");
+    assertThat(oneRow).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("壊れたスナップショットは無視され上書きされる")
+  void brokenSnapshotIsOverwritten() throws Exception {
+    Path file = writeTable("a.xlsx", "a");
+    Path snapshot = tempDir.resolve("a.snapshot");
+    Files.write(snapshot, new byte[] {1, 2, 3});
+
+    List<List<Object>> result = newReader().readWithSnapshot(file.toString(), snapshot);
+
+    assertThat(result).isEqualTo(newReader().read(file.toString()));
+    assertThat(Files.size(snapshot)).isGreaterThan(3);
+  }
+}
@@ -175,6 +175,52 @@ public class StringFreeExcelTableReaderTest {
         assertThat(result.get(2)).containsExactly("c", "d");
       }
     }
+
+    @Test
+    @DisplayName("isCellDataEmpty で空と判定される値だけの行 → read と RowView の空行判定が一致する")
+    void emptyRowJudgedByIsCellDataEmpty() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Sheet sheet = wb.createSheet("Sheet1");
+        setCell(sheet, 0, 0, "a");
+        setCell(sheet, 0, 1, "b");
+        setCell(sheet, 1, 0, "-");
+        setCell(sheet, 2, 0, "c");
+        setCell(sheet, 2, 1, "d");
+
+        StringFreeExcelTableReader fixed = new DashAsEmptyReader("Sheet1")
+            .tableStartRowNumber(1).tableRowSize(3).tableColumnSize(2);
+        List<Boolean> emptyRows = new ArrayList<>();
+        try (var iterable = fixed.getRowViewIterable(wb)) {
+          iterable.forEach(view -> emptyRows.add(view.isEmptyRow()));
+        }
+
+        assertThat(fixed.read(wb).get(1)).isEmpty();
+        assertThat(emptyRows).containsExactly(false, true, false);
+
+        StringFreeExcelTableReader unsized =
+            new DashAsEmptyReader("Sheet1").tableStartRowNumber(1).tableColumnSize(2);
+        List<Integer> rowNumbers = new ArrayList<>();
+        try (var iterable = unsized.getRowViewIterable(wb)) {
+          iterable.forEach(view -> rowNumbers.add(view.getRowNumber()));
+        }
+
+        assertThat(unsized.read(wb)).hasSize(1);
+        assertThat(rowNumbers).containsExactly(1);
+      }
+    }
+
+    /** Treats {@code "-"} as no data. */
+    private static class DashAsEmptyReader extends StringFreeExcelTableReader {
+
+      DashAsEmptyReader(String sheetName) {
+        super(sheetName);
+      }
+
+      @Override
+      public boolean isCellDataEmpty(@Nullable String cellData) {
+        return super.isCellDataEmpty(cellData) || "-".equals(cellData);
+      }
+    }
   }
 
   @Nested
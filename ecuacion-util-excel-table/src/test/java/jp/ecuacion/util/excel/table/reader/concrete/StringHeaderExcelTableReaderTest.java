@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.util.List;
 import java.util.stream.Stream;
 import jp.ecuacion.util.excel.exception.ExcelTableException;
+import jp.ecuacion.util.excel.table.reader.StringDedupPool;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -351,4 +352,77 @@ public class StringHeaderExcelTableReaderTest {
       }
     }
   }
+
+  @Nested
+  @DisplayName("文字列の重複排除")
+  class StringDedup {
+
+    private Workbook createWorkbook(Workbook wb, int rows) {
+      Sheet sheet = wb.createSheet("Sheet1");
+      setCell(sheet, 0, 0, "status");
+      setCell(sheet, 0, 1, "id");
+      for (int i = 1; i <= rows; i++) {
+        setCell(sheet, i, 0, new String[] {"A", "B", "C"}[i % 3]);
+        setCell(sheet, i, 1, "ID" + i);
+      }
+      return wb;
+    }
+
+    @Test
+    @DisplayName("同じ値は同一インスタンスになり、値の種類が多い列はプールが無効化される")
+    void dedupAndDisable() throws Exception {
+      try (Workbook wb = createWorkbook(new XSSFWorkbook(), 2100)) {
+        StringOneLineHeaderExcelTableReader reader = new StringOneLineHeaderExcelTableReader(
+            "Sheet1", new String[] {"status", "id"}).tableStartRowNumber(1).withStringDedup(100);
+
+        List<List<String>> result = reader.read(wb);
+
+        assertThat(result).isEqualTo(new StringOneLineHeaderExcelTableReader(
+            "Sheet1", new String[] {"status", "id"}).tableStartRowNumber(1).read(wb));
+        assertThat(result.get(3).get(0)).isSameAs(result.get(0).get(0));
+        assertThat(result.get(2000).get(0)).isSameAs(result.get(2).get(0));
+
+        StringDedupPool pool = reader.getStringDedupPool();
+        assertThat(pool).isNotNull();
+        assertThat(pool.isEnabled(1)).isTrue();
+        assertThat(pool.isEnabled(2)).isFalse();
+        assertThat(pool.getHitCount()).isGreaterThan(2000);
+      }
+    }
+
+    @Test
+    @DisplayName("プールが上限に達した後の新しい値はそのまま返される")
+    void bounded() throws Exception {
+      try (Workbook wb = createWorkbook(new XSSFWorkbook(), 10)) {
+        StringOneLineHeaderExcelTableReader reader = new StringOneLineHeaderExcelTableReader(
+            "Sheet1", new String[] {"status", "id"}).tableStartRowNumber(1).withStringDedup(3);
+
+        List<List<String>> result = reader.read(wb);
+
+        // The header label "status" is also pooled, so "A" is not pooled in the status column.
+        // hits: "B" x 3 and "C" x 2.
+        assertThat(result.get(2)).containsExactly("A", "ID3");
+        assertThat(result.get(4).get(0)).isSameAs(result.get(1).get(0));
+        assertThat(reader.getStringDedupPool().getHitCount()).isEqualTo(5);
+      }
+    }
+
+    @Test
+    @DisplayName("プールは読み込みごとに作られ、読み込み間で共有されない")
+    void poolPerRead() throws Exception {
+      try (Workbook wb = createWorkbook(new XSSFWorkbook(), 10)) {
+        StringOneLineHeaderExcelTableReader reader = new StringOneLineHeaderExcelTableReader(
+            "Sheet1", new String[] {"status", "id"}).tableStartRowNumber(1).withStringDedup(100);
+
+        List<List<String>> first = reader.read(wb);
+        StringDedupPool firstPool = reader.getStringDedupPool();
+        List<List<String>> second = reader.read(wb);
+        StringDedupPool secondPool = reader.getStringDedupPool();
+
+        assertThat(secondPool).isNotSameAs(firstPool);
+        assertThat(secondPool.getHitCount()).isEqualTo(firstPool.getHitCount());
+        assertThat(second).isEqualTo(first);
+      }
+    }
+  }
 }
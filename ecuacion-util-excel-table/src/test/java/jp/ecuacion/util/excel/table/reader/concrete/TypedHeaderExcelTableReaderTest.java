@@ -21,14 +21,23 @@ import java.io.FileOutputStream;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import jp.ecuacion.util.excel.exception.ExcelTableException;
+import jp.ecuacion.util.excel.exception.TableNameNotAreaException;
+import jp.ecuacion.util.excel.exception.TableNameNotExistException;
+import jp.ecuacion.util.excel.table.reader.TableReadCache;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Name;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.AreaReference;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFTable;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.DisplayName;
@@ -255,4 +264,563 @@ public class TypedHeaderExcelTableReaderTest {
       }
     }
   }
+
+  @Nested
+  @DisplayName("RowView による逐次取得")
+  class RowViewIteration {
+
+    private Path writeSampleTable(Workbook wb) throws Exception {
+      Sheet sheet = wb.createSheet("Sheet1");
+      setStringCell(sheet, 0, 0, "name");
+      setStringCell(sheet, 0, 1, "score");
+      setStringCell(sheet, 0, 2, "active");
+      setStringCell(sheet, 1, 0, "Alice");
+      setNumericCell(sheet, 1, 1, 92.5);
+      setBooleanCell(sheet, 1, 2, true);
+      setStringCell(sheet, 2, 0, "Bob");
+      setBlankCell(sheet, 2, 1);
+      setBooleanCell(sheet, 2, 2, false);
+      return writeTempExcel(wb);
+    }
+
+    @Test
+    @DisplayName("同一インスタンスが行ごとに上書きされ、プリミティブで値を取得できる")
+    void sameInstanceOverwritten() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        var reader = new TypedOneLineHeaderExcelTableReader("Sheet1",
+            new String[] {"name", "score", "active"}).tableStartRowNumber(1);
+        List<Object> views = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Double> scores = new ArrayList<>();
+        List<Integer> rowNumbers = new ArrayList<>();
+        try (var iterable = reader.getRowViewIterable(file.toString())) {
+          for (var view : iterable) {
+            views.add(view);
+            names.add(view.getString(0));
+            scores.add(view.isBlank(1) ? null : view.getDouble(1));
+            rowNumbers.add(view.getRowNumber());
+          }
+        }
+
+        assertThat(views).hasSize(2);
+        assertThat(views.get(0)).isSameAs(views.get(1));
+        assertThat(names).containsExactly("Alice", "Bob");
+        assertThat(scores).containsExactly(92.5, null);
+        assertThat(rowNumbers).containsExactly(2, 3);
+      }
+    }
+
+    @Test
+    @DisplayName("getValue は read と同じ型変換結果を返す")
+    void getValueSameAsRead() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        var reader = new TypedOneLineHeaderExcelTableReader("Sheet1",
+            new String[] {"name", "score", "active"}).tableStartRowNumber(1);
+        List<List<Object>> expected = reader.read(file.toString());
+        List<List<Object>> actual = new ArrayList<>();
+        try (var iterable = reader.getRowViewIterable(file.toString())) {
+          for (var view : iterable) {
+            List<Object> line = new ArrayList<>();
+            for (int i = 0; i < view.size(); i++) {
+              line.add(view.getValue(i));
+            }
+            actual.add(line);
+          }
+        }
+
+        assertThat(actual).isEqualTo(expected);
+      }
+    }
+
+    @Test
+    @DisplayName("tableRowSize 指定時は空行も isEmptyRow=true で返る")
+    void emptyRowWithinFixedRowSize() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Sheet sheet = wb.createSheet("Sheet1");
+        setStringCell(sheet, 0, 0, "value");
+        setNumericCell(sheet, 1, 0, 1.0);
+        setNumericCell(sheet, 3, 0, 3.0);
+        Path file = writeTempExcel(wb);
+
+        var reader = new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"value"})
+            .tableStartRowNumber(1).tableRowSize(4);
+        List<Boolean> emptyRows = new ArrayList<>();
+        List<Long> values = new ArrayList<>();
+        try (var iterable = reader.getRowViewIterable(file.toString())) {
+          for (var view : iterable) {
+            emptyRows.add(view.isEmptyRow());
+            values.add(view.getLong(0));
+          }
+        }
+
+        assertThat(emptyRows).containsExactly(false, true, false);
+        assertThat(values).containsExactly(1L, 0L, 3L);
+      }
+    }
+
+    @Test
+    @DisplayName("データ行がない → 要素なし")
+    void noDataRows() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Sheet sheet = wb.createSheet("Sheet1");
+        setStringCell(sheet, 0, 0, "value");
+        Path file = writeTempExcel(wb);
+
+        var reader = new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"value"})
+            .tableStartRowNumber(1);
+        try (var iterable = reader.getRowViewIterable(file.toString())) {
+          assertThat(iterable.iterator().hasNext()).isFalse();
+        }
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("1列のみをプリミティブ配列に取得")
+  class PrimitiveColumnRead {
+
+    private Path writeSampleTable(Workbook wb) throws Exception {
+      Sheet sheet = wb.createSheet("Sheet1");
+      setStringCell(sheet, 0, 0, "name");
+      setStringCell(sheet, 0, 1, "amount");
+      setStringCell(sheet, 0, 2, "date");
+      setStringCell(sheet, 1, 0, "Alice");
+      setNumericCell(sheet, 1, 1, 100.4);
+      setDateFormattedCell(wb, sheet, 1, 2, LocalDateTime.of(2026, 1, 15, 0, 0), "yyyy-mm-dd");
+      setStringCell(sheet, 2, 0, "Bob");
+      setStringCell(sheet, 2, 2, "");
+      setStringCell(sheet, 3, 0, "Carol");
+      setStringCell(sheet, 3, 1, "200.6");
+      setDateFormattedCell(wb, sheet, 3, 2, LocalDateTime.of(2026, 2, 1, 9, 30),
+          "yyyy-mm-dd hh:mm");
+      return writeTempExcel(wb);
+    }
+
+    private TypedOneLineHeaderExcelTableReader newReader() {
+      return new TypedOneLineHeaderExcelTableReader("Sheet1",
+          new String[] {"name", "amount", "date"}).tableStartRowNumber(1);
+    }
+
+    @Test
+    @DisplayName("double[] と null ビットセット（空白セルはnull、文字列の数値は解釈される）")
+    void doubleColumn() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        var column = newReader().readDoubleColumn(file.toString(), "amount");
+
+        assertThat(column.size()).isEqualTo(3);
+        assertThat(column.toArray()).containsExactly(100.4, 0.0, 200.6);
+        assertThat(column.isNull(1)).isTrue();
+        assertThat(column.getNullCount()).isEqualTo(1);
+        assertThat(column.sum()).isEqualTo(301.0);
+      }
+    }
+
+    @Test
+    @DisplayName("long[] は四捨五入される")
+    void longColumn() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        var column = newReader().readLongColumn(file.toString(), "amount");
+
+        assertThat(column.toArray()).containsExactly(100L, 0L, 201L);
+        assertThat(column.sum()).isEqualTo(301L);
+      }
+    }
+
+    @Test
+    @DisplayName("日付列は epoch day の int[] になり、時刻は切り捨てられる")
+    void epochDayColumn() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        var column = newReader().readEpochDayColumn(file.toString(), "date");
+
+        assertThat(column.size()).isEqualTo(3);
+        assertThat(column.get(0)).isEqualTo((int) LocalDate.of(2026, 1, 15).toEpochDay());
+        assertThat(column.getLocalDate(1)).isNull();
+        assertThat(column.getLocalDate(2)).isEqualTo(LocalDate.of(2026, 2, 1));
+      }
+    }
+
+    @Test
+    @DisplayName("数値として読めない文字列 → ExcelTableException")
+    void notNumeric() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        assertThatThrownBy(() -> newReader().readDoubleColumn(file.toString(), "name"))
+            .isInstanceOf(ExcelTableException.class);
+      }
+    }
+
+    @Test
+    @DisplayName("存在しないヘッダー → RuntimeException")
+    void columnNotFound() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        assertThatThrownBy(() -> newReader().readDoubleColumn(file.toString(), "unknown"))
+            .isInstanceOf(RuntimeException.class).hasMessageContaining("unknown");
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("行フィルタ")
+  class RowFilter {
+
+    private Path writeSampleTable(Workbook wb) throws Exception {
+      Sheet sheet = wb.createSheet("Sheet1");
+      setStringCell(sheet, 0, 0, "branch");
+      setStringCell(sheet, 0, 1, "amount");
+      setStringCell(sheet, 1, 0, "A");
+      setNumericCell(sheet, 1, 1, 10.0);
+      setStringCell(sheet, 2, 0, "B");
+      setErrorCell(sheet, 2, 1, FormulaError.DIV0);
+      setStringCell(sheet, 3, 0, "A");
+      setNumericCell(sheet, 3, 1, 30.0);
+      return writeTempExcel(wb);
+    }
+
+    private TypedOneLineHeaderExcelTableReader newReader() {
+      return new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"branch", "amount"})
+          .tableStartRowNumber(1).withRowFilter("branch", v -> "A".equals(v));
+    }
+
+    @Test
+    @DisplayName("条件を満たさない行は変換されずに除外される（エラーセルがあっても例外にならない）")
+    void read() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        List<List<Object>> result = newReader().read(file.toString());
+
+        assertThat(result).containsExactly(List.of("A", 10.0), List.of("A", 30.0));
+      }
+    }
+
+    @Test
+    @DisplayName("getIterable でも除外され、最終行が除外されても hasNext が正しい")
+    void iterable() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        var reader = newReader().withRowFilter(1, v -> ((Double) v) < 20.0);
+        List<List<Object>> result = new ArrayList<>();
+        try (var iterable = reader.getIterable(file.toString())) {
+          for (List<Object> line : iterable) {
+            result.add(line);
+          }
+        }
+
+        assertThat(result).containsExactly(List.of("A", 10.0));
+      }
+    }
+
+    @Test
+    @DisplayName("getRowViewIterable と列読み込みでも除外される")
+    void rowViewAndColumn() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        List<Integer> rowNumbers = new ArrayList<>();
+        try (var iterable = newReader().getRowViewIterable(file.toString())) {
+          for (var view : iterable) {
+            rowNumbers.add(view.getRowNumber());
+          }
+        }
+
+        assertThat(rowNumbers).containsExactly(2, 4);
+        assertThat(newReader().readDoubleColumn(file.toString(), "amount").toArray())
+            .containsExactly(10.0, 30.0);
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("ページ読み込み")
+  class ReadPage {
+
+    private Path writeSampleTable(Workbook wb) throws Exception {
+      Sheet sheet = wb.createSheet("Sheet1");
+      setStringCell(sheet, 1, 1, "no");
+      setStringCell(sheet, 1, 2, "name");
+      for (int i = 1; i <= 5; i++) {
+        setNumericCell(sheet, 1 + i, 1, i);
+        setStringCell(sheet, 1 + i, 2, "name" + i);
+      }
+      // out of the table, after the blank row
+      setNumericCell(sheet, 8, 1, 99);
+      return writeTempExcel(wb);
+    }
+
+    private TypedOneLineHeaderExcelTableReader newReader() {
+      return new TypedOneLineHeaderExcelTableReader("Sheet1", new String[] {"no", "name"})
+          .tableStartRowNumber(2).tableStartColumnNumber(2);
+    }
+
+    @Test
+    @DisplayName("read の subList と同じ結果を返す")
+    void sameAsSubList() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        List<List<Object>> all = newReader().read(file.toString());
+
+        assertThat(newReader().readPage(file.toString(), 1, 2)).isEqualTo(all.subList(1, 3));
+        assertThat(newReader().readPage(file.toString(), 3, 10)).isEqualTo(all.subList(3, 5));
+        assertThat(newReader().readPage(file.toString(), 5, 10)).isEmpty();
+        assertThat(newReader().readPage(file.toString(), 0, 0)).isEmpty();
+      }
+    }
+
+    @Test
+    @DisplayName("tableRowSize 指定時も表の範囲内で読み込む")
+    void fixedRowSize() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        // header line + 4 data lines
+        var reader = newReader().tableRowSize(5);
+
+        assertThat(reader.readPage(file.toString(), 2, 10))
+            .containsExactly(List.of(3.0, "name3"), List.of(4.0, "name4"));
+        assertThat(reader.readPage(file.toString(), 100, 10)).isEmpty();
+      }
+    }
+
+    @Test
+    @DisplayName("行フィルタ適用後の行に対して offset / limit が適用される")
+    void withRowFilter() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        var reader = newReader().withRowFilter(0, v -> ((Double) v) % 2 == 1);
+
+        assertThat(reader.readPage(file.toString(), 1, 1))
+            .containsExactly(List.of(3.0, "name3"));
+      }
+    }
+
+    @Test
+    @DisplayName("負の offset → RuntimeException")
+    void negativeOffset() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Path file = writeSampleTable(wb);
+
+        assertThatThrownBy(() -> newReader().readPage(file.toString(), -1, 1))
+            .isInstanceOf(RuntimeException.class);
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("テーブル名・名前定義による位置指定")
+  class TableName {
+
+    private XSSFWorkbook createWorkbook() {
+      XSSFWorkbook wb = new XSSFWorkbook();
+      XSSFSheet sheet = wb.createSheet("Items");
+      setStringCell(sheet, 0, 0, "unrelated");
+      setStringCell(sheet, 2, 1, "code");
+      setStringCell(sheet, 2, 2, "price");
+      setStringCell(sheet, 3, 1, "K1");
+      setNumericCell(sheet, 3, 2, 1.0);
+      setStringCell(sheet, 4, 1, "K2");
+      setNumericCell(sheet, 4, 2, 2.0);
+      // not a part of the table
+      setStringCell(sheet, 5, 1, "total");
+      setNumericCell(sheet, 5, 2, 3.0);
+      setStringCell(sheet, 2, 3, "memo");
+      XSSFTable table =
+          sheet.createTable(new AreaReference("B3:C5", SpreadsheetVersion.EXCEL2007));
+      table.setName("ItemTable");
+
+      Sheet codes = wb.createSheet("Codes");
+      setStringCell(codes, 1, 0, "code");
+      setStringCell(codes, 1, 1, "name");
+      setStringCell(codes, 2, 0, "A");
+      setStringCell(codes, 2, 1, "apple");
+      setStringCell(codes, 3, 0, "B");
+      setStringCell(codes, 3, 1, "banana");
+      Name name = wb.createName();
+      name.setNameName("CodeList");
+      name.setRefersToFormula("Codes!$A$2:$B$3");
+      return wb;
+    }
+
+    @Test
+    @DisplayName("Excel テーブル名 → ヘッダー位置・列数・行範囲がテーブル定義から決まる")
+    void excelTable() throws Exception {
+      try (Workbook wb = createWorkbook()) {
+        List<List<Object>> result = new TypedOneLineHeaderExcelTableReader("Sheet1",
+            new String[] {"code", "price"}).tableName("itemtable").read(wb);
+
+        assertThat(result).containsExactly(List.of("K1", 1.0), List.of("K2", 2.0));
+      }
+    }
+
+    @Test
+    @DisplayName("ヘッダーのない表 → テーブルのデータ行のみが読み込まれる")
+    void excelTableWithoutHeader() throws Exception {
+      try (Workbook wb = createWorkbook()) {
+        List<List<String>> result =
+            new StringFreeExcelTableReader("Sheet1").tableName("ItemTable").read(wb);
+
+        assertThat(result).containsExactly(List.of("K1", "1"), List.of("K2", "2"));
+      }
+    }
+
+    @Test
+    @DisplayName("名前定義 → 範囲全体がヘッダーを含む表として読み込まれる")
+    void definedName() throws Exception {
+      try (Workbook wb = createWorkbook()) {
+        List<List<Object>> result = new TypedOneLineHeaderExcelTableReader("Sheet1",
+            new String[] {"code", "name"}).tableName("CodeList").read(wb);
+
+        assertThat(result).containsExactly(List.of("A", "apple"));
+      }
+    }
+
+    @Test
+    @DisplayName("読み込み後もシート名・行数などの設定値は変更されない")
+    void settingsNotChanged() throws Exception {
+      try (Workbook wb = createWorkbook()) {
+        var reader = new TypedOneLineHeaderExcelTableReader("Sheet1",
+            new String[] {"code", "price"}).tableName("ItemTable");
+        reader.read(wb);
+
+        assertThat(reader.getSheetName()).isEqualTo("Sheet1");
+        assertThat(reader.getTableRowSize()).isNull();
+      }
+    }
+
+    @Test
+    @DisplayName("同じ reader で 2 回読み込み → 2 回目はキャッシュにヒットする")
+    void cacheHitOnSecondRead() throws Exception {
+      Path file;
+      try (Workbook wb = createWorkbook()) {
+        file = writeTempExcel(wb);
+      }
+      TableReadCache cache = new TableReadCache(1024 * 1024);
+      var reader = new TypedOneLineHeaderExcelTableReader("Sheet1",
+          new String[] {"code", "price"}).tableName("ItemTable").withReadCache(cache);
+
+      List<List<Object>> first = reader.read(file.toString());
+      List<List<Object>> second = reader.read(file.toString());
+
+      assertThat(second).isEqualTo(first);
+      assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("名前定義の範囲が広がった後の再読み込み → 広がった範囲で読み込まれる")
+    void rangeGrown() throws Exception {
+      try (Workbook wb = createWorkbook()) {
+        var reader = new TypedOneLineHeaderExcelTableReader("Sheet1",
+            new String[] {"code", "name"}).tableName("CodeList");
+        assertThat(reader.read(wb)).containsExactly(List.of("A", "apple"));
+
+        wb.getName("CodeList").setRefersToFormula("Codes!$A$2:$B$4");
+
+        assertThat(reader.read(wb)).containsExactly(List.of("A", "apple"),
+            List.of("B", "banana"));
+      }
+    }
+
+    @Test
+    @DisplayName("同じ名前のシートスコープの名前定義 → ブックスコープの名前定義が使われる")
+    void sheetScopedName() throws Exception {
+      try (Workbook wb = createWorkbook()) {
+        Name sheetScoped = wb.createName();
+        sheetScoped.setSheetIndex(wb.getSheetIndex("Items"));
+        sheetScoped.setNameName("CodeList");
+        sheetScoped.setRefersToFormula("Items!$B$3:$C$5");
+        Name onlySheetScoped = wb.createName();
+        onlySheetScoped.setSheetIndex(wb.getSheetIndex("Codes"));
+        onlySheetScoped.setNameName("LocalList");
+        onlySheetScoped.setRefersToFormula("Codes!$A$2:$B$4");
+
+        assertThat(new TypedOneLineHeaderExcelTableReader("Sheet1",
+            new String[] {"code", "name"}).tableName("CodeList").read(wb))
+                .containsExactly(List.of("A", "apple"));
+        var reader = new TypedOneLineHeaderExcelTableReader("Sheet1",
+            new String[] {"code", "name"}).tableName("LocalList");
+        assertThatThrownBy(() -> reader.read(wb)).isInstanceOf(TableNameNotExistException.class);
+      }
+    }
+
+    @Test
+    @DisplayName("列全体の名前定義 → 空行まで読み込まれる")
+    void wholeColumns() throws Exception {
+      try (Workbook wb = createWorkbook()) {
+        Sheet codes = wb.getSheet("Codes");
+        setStringCell(codes, 0, 0, "code");
+        setStringCell(codes, 0, 1, "name");
+        setStringCell(codes, 1, 0, "Z");
+        setStringCell(codes, 1, 1, "zebra");
+        wb.getName("CodeList").setRefersToFormula("Codes!$A:$B");
+
+        List<List<Object>> result = new TypedOneLineHeaderExcelTableReader("Sheet1",
+            new String[] {"code", "name"}).tableName("CodeList").read(wb);
+
+        assertThat(result).containsExactly(List.of("Z", "zebra"), List.of("A", "apple"),
+            List.of("B", "banana"));
+      }
+    }
+
+    @Test
+    @DisplayName("行全体の名前定義 → 列数はヘッダーから決まる")
+    void wholeRows() throws Exception {
+      try (Workbook wb = createWorkbook()) {
+        Sheet codes = wb.getSheet("Codes");
+        setStringCell(codes, 1, 0, "code");
+        setStringCell(codes, 1, 1, "name");
+        wb.getName("CodeList").setRefersToFormula("Codes!$2:$3");
+
+        List<List<String>> result = new StringOneLineHeaderExcelTableReader("Sheet1",
+            new String[] {"code", "name"}).tableName("CodeList").read(wb);
+
+        assertThat(result).containsExactly(List.of("A", "apple"));
+      }
+    }
+
+    @Test
+    @DisplayName("セル範囲でない名前定義 → TableNameNotAreaException")
+    void notArea() throws Exception {
+      try (Workbook wb = createWorkbook()) {
+        Name formula = wb.createName();
+        formula.setNameName("Dynamic");
+        formula.setRefersToFormula("OFFSET(Codes!$A$2,0,0,3,2)");
+        Name constant = wb.createName();
+        constant.setNameName("Rate");
+        constant.setRefersToFormula("0.1");
+
+        for (String name : new String[] {"Dynamic", "Rate"}) {
+          var reader = new TypedOneLineHeaderExcelTableReader("Sheet1",
+              new String[] {"code", "name"}).tableName(name);
+          assertThatThrownBy(() -> reader.read(wb))
+              .isInstanceOf(TableNameNotAreaException.class);
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("存在しない名前 → TableNameNotExistException")
+    void notExist() throws Exception {
+      try (Workbook wb = createWorkbook()) {
+        var reader = new TypedOneLineHeaderExcelTableReader("Sheet1",
+            new String[] {"code", "price"}).tableName("None");
+
+        assertThatThrownBy(() -> reader.read(wb)).isInstanceOf(TableNameNotExistException.class);
+      }
+    }
+  }
 }
@@ -29,6 +29,7 @@ import jp.ecuacion.util.excel.table.bean.ExcelColumn;
 import jp.ecuacion.util.excel.table.bean.TypedExcelTableBean;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FormulaError;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -273,6 +274,51 @@ public class TypedHeaderExcelTableToBeanReaderTest {
         assertThat(result.get(0).age).isEqualTo(25);
       }
     }
+
+    @Test
+    @DisplayName("@ExcelColumn に対応しない列は変換されないため、エラーセルがあっても例外にならない")
+    void unboundColumnNotConverted() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Sheet sheet = wb.createSheet("Sheet1");
+        setStringCell(sheet, 0, 0, "name");
+        setStringCell(sheet, 0, 1, "memo");
+        setStringCell(sheet, 0, 2, "age");
+        setStringCell(sheet, 1, 0, "Alice");
+        getOrCreateRow(sheet, 1).createCell(1).setCellErrorValue(FormulaError.DIV0.getCode());
+        setNumericCell(sheet, 1, 2, 25.0);
+        Path file = writeTempExcel(wb);
+
+        var reader = new TypedOneLineHeaderExcelTableToBeanReader<AnnotatedBean>(AnnotatedBean.class,
+            "Sheet1", new String[] {"name", "memo", "age"}).tableStartRowNumber(1);
+        List<AnnotatedBean> result = reader.readToBean(file.toString(), false);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).age).isEqualTo(25);
+      }
+    }
+
+    @Test
+    @DisplayName("@ExcelColumn に対応しない列だけに値がある行も表の終端とみなされない")
+    void rowWithOnlyUnboundValueIsNotEndOfTable() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Sheet sheet = wb.createSheet("Sheet1");
+        setStringCell(sheet, 0, 0, "name");
+        setStringCell(sheet, 0, 1, "memo");
+        setStringCell(sheet, 0, 2, "age");
+        setStringCell(sheet, 1, 1, "memo only");
+        setStringCell(sheet, 2, 0, "Bob");
+        setNumericCell(sheet, 2, 2, 30.0);
+        Path file = writeTempExcel(wb);
+
+        var reader = new TypedOneLineHeaderExcelTableToBeanReader<AnnotatedBean>(AnnotatedBean.class,
+            "Sheet1", new String[] {"name", "memo", "age"}).tableStartRowNumber(1);
+        List<AnnotatedBean> result = reader.readToBean(file.toString(), false);
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).name).isNull();
+        assertThat(result.get(1).name).isEqualTo("Bob");
+      }
+    }
   }
 
   @Nested
@@ -317,4 +363,37 @@ public class TypedHeaderExcelTableToBeanReaderTest {
       }
     }
   }
+
+  @Nested
+  @DisplayName("行フィルタ")
+  class RowFilter {
+
+    @Test
+    @DisplayName("除外された行は Bean 化・バリデーションされず、エラーメッセージの行番号は実際の行番号になる")
+    void rejectedRowsSkipped() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Sheet sheet = wb.createSheet("Sheet1");
+        setStringCell(sheet, 0, 0, "name");
+        setStringCell(sheet, 0, 1, "age");
+        setStringCell(sheet, 1, 0, "Alice");
+        setNumericCell(sheet, 1, 1, -1.0); // @Min(1) violation, but filtered out
+        setStringCell(sheet, 2, 0, "Bob");
+        setNumericCell(sheet, 2, 1, 30.0);
+        setStringCell(sheet, 3, 0, "Carol");
+        setNumericCell(sheet, 3, 1, 0.0); // @Min(1) violation
+        Path file = writeTempExcel(wb);
+
+        var reader = new TypedOneLineHeaderExcelTableToBeanReader<AnnotatedBean>(AnnotatedBean.class,
+            "Sheet1", new String[] {"name", "age"}).tableStartRowNumber(1)
+            .withRowFilter("name", v -> !"Alice".equals(v));
+
+        assertThat(reader.readToBean(file.toString(), false)).extracting(b -> b.name)
+            .containsExactly("Bob", "Carol");
+        assertThatThrownBy(() -> reader.readToBean(file.toString()))
+            .isInstanceOfSatisfying(ViolationException.class, ex -> assertThat(
+                ex.getViolations().messageParameters().getMessagePostfix().getMessageArgs()[1])
+                .isEqualTo("4"));
+      }
+    }
+  }
 }
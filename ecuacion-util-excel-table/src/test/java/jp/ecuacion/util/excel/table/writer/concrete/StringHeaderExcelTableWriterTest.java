@@ -19,9 +19,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.util.List;
 import jp.ecuacion.util.excel.exception.ExcelTableException;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.AreaReference;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -164,4 +167,27 @@ public class StringHeaderExcelTableWriterTest {
       }
     }
   }
+
+  @Nested
+  @DisplayName("テーブル名による位置指定")
+  class TableName {
+
+    @Test
+    @DisplayName("Excel テーブル名 → テーブルのヘッダー行の次から書き込まれる")
+    void writesIntoExcelTable() throws Exception {
+      try (XSSFWorkbook wb = new XSSFWorkbook()) {
+        XSSFSheet sheet = wb.createSheet("Items");
+        setCell(sheet, 4, 2, "h1");
+        setCell(sheet, 4, 3, "h2");
+        sheet.createTable(new AreaReference("C5:D7", SpreadsheetVersion.EXCEL2007))
+            .setName("ItemTable");
+
+        new StringOneLineHeaderExcelTableWriter("Sheet1", new String[] {"h1", "h2"})
+            .tableName("ItemTable").write(wb, List.of(List.of("d1", "d2")));
+
+        assertThat(getCellValue(sheet, 5, 2)).isEqualTo("d1");
+        assertThat(getCellValue(sheet, 5, 3)).isEqualTo("d2");
+      }
+    }
+  }
 }
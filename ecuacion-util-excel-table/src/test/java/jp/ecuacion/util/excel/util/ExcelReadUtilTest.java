@@ -26,6 +26,7 @@ import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.jspecify.annotations.Nullable;
@@ -330,4 +331,52 @@ public class ExcelReadUtilTest {
       }
     }
   }
+
+  @Nested
+  @DisplayName("isBlankCell()")
+  class IsBlankCell {
+
+    @Test
+    @DisplayName("null・BLANK・空文字の STRING セル → true")
+    void blank() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Row row = wb.createSheet().createRow(0);
+        row.createCell(1).setCellValue("");
+
+        assertThat(ExcelReadUtil.isBlankCell(null)).isTrue();
+        assertThat(ExcelReadUtil.isBlankCell(row.createCell(0))).isTrue();
+        assertThat(ExcelReadUtil.isBlankCell(row.getCell(1))).isTrue();
+      }
+    }
+
+    @Test
+    @DisplayName("値のあるセル・ERROR セル → false")
+    void notBlank() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Row row = wb.createSheet().createRow(0);
+        row.createCell(0).setCellValue(" ");
+        row.createCell(1).setCellValue(0.0);
+        row.createCell(2).setCellValue(false);
+        row.createCell(3).setCellErrorValue(FormulaError.NA.getCode());
+
+        for (int i = 0; i <= 3; i++) {
+          assertThat(ExcelReadUtil.isBlankCell(row.getCell(i))).isFalse();
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("FORMULA セル → キャッシュ結果で判定される")
+    void formula() throws Exception {
+      try (Workbook wb = new XSSFWorkbook()) {
+        Row row = wb.createSheet().createRow(0);
+        row.createCell(0).setCellFormula("\"\"");
+        row.createCell(1).setCellFormula("\"a\"");
+        wb.getCreationHelper().createFormulaEvaluator().evaluateAll();
+
+        assertThat(ExcelReadUtil.isBlankCell(row.getCell(0))).isTrue();
+        assertThat(ExcelReadUtil.isBlankCell(row.getCell(1))).isFalse();
+      }
+    }
+  }
 }
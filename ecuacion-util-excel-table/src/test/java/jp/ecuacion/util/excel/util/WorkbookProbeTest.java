@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2012 ecuacion.jp (info@ecuacion.jp)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.ecuacion.util.excel.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("WorkbookProbe")
+public class WorkbookProbeTest {
+
+  @SuppressWarnings("null")
+  @TempDir
+  Path tempDir;
+
+  private Path writeWorkbook() throws Exception {
+    try (Workbook wb = new XSSFWorkbook()) {
+      Sheet data = wb.createSheet("data");
+      data.createRow(0).createCell(0).setCellValue("title");
+      Row header = data.createRow(2);
+      header.createCell(0).setCellValue("code");
+      header.createCell(2).setCellValue("金額");
+      Row line = data.createRow(3);
+      line.createCell(0).setCellValue("code");
+      line.createCell(1).setCellValue(12.5);
+      line.createCell(2).setCellValue(true);
+      for (int i = 4; i < 1000; i++) {
+        data.createRow(i).createCell(0).setCellValue("row" + i);
+      }
+
+      wb.createSheet("empty");
+      wb.setSheetHidden(wb.getSheetIndex("empty"), true);
+
+      Path file = tempDir.resolve("probe.xlsx");
+      try (FileOutputStream fos = new FileOutputStream(file.toFile())) {
+        wb.write(fos);
+      }
+      return file;
+    }
+  }
+
+  @Nested
+  @DisplayName("probe()")
+  class Probe {
+
+    @Test
+    @DisplayName("シート名・使用範囲・非表示を取得できる")
+    void sheets() throws Exception {
+      WorkbookProbe probe = WorkbookProbe.probe(writeWorkbook().toString(), 5);
+
+      assertThat(probe.getSheetNames()).containsExactly("data", "empty");
+      assertThat(probe.getSheet("data").getDimension()).isEqualTo("A1:C1000");
+      assertThat(probe.getSheet("data").isHidden()).isFalse();
+      assertThat(probe.getSheet("empty").isHidden()).isTrue();
+      assertThat(probe.getSheet("empty").getHeaderRowNumber()).isZero();
+      assertThat(probe.getSheet("empty").getHeaderLabels()).isEmpty();
+      assertThat(probe.getSheet("none")).isNull();
+    }
+
+    @Test
+    @DisplayName("先頭 rowCount 行のみ読み込まれ、共有文字列も解決される")
+    void firstRows() throws Exception {
+      WorkbookProbe.SheetProbe sheet =
+          WorkbookProbe.probe(writeWorkbook().toString(), 4).getSheet("data");
+
+      assertThat(sheet.getHeaderRowNumber()).isEqualTo(1);
+      assertThat(sheet.getHeaderLabels()).containsExactly("title");
+      assertThat(sheet.getRow(2)).isEmpty();
+      assertThat(sheet.getRow(3)).containsExactly("code", null, "金額");
+      assertThat(sheet.getRow(4)).containsExactly("code", "12.5", "1");
+      assertThat(sheet.getRow(5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("xlsx 以外のファイル → IOException")
+    void notXlsx() throws Exception {
+      Path file = tempDir.resolve("text.xlsx");
+      Files.writeString(file, "not a workbook");
+
+      assertThatThrownBy(() -> WorkbookProbe.probe(file.toString(), 1))
+          .isInstanceOf(IOException.class);
+    }
+  }
+}